@@ -0,0 +1,130 @@
+-- =========================================
+-- BENCHMARK: device search, LIKE over LOWER(col) vs trigram-indexed search_text,
+-- and a deep device page, OFFSET vs keyset cursor
+--
+-- Usage (against a scratch database, needs pg_trgm):
+--   psql -d <db> -f benchmark/search-latency.sql
+--
+-- Seeds 1,000,000 devices (10% soft-deleted) across 2,000 clusters in an
+-- isolated "bench" schema, then runs each query shape with EXPLAIN ANALYZE.
+-- Compare "Execution Time" of the legacy and trigram runs per term. The
+-- keyset run must show an Index Scan on idx_devices_created_at_id with no Sort.
+-- =========================================
+\set ON_ERROR_STOP on
+\timing on
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+DROP SCHEMA IF EXISTS bench CASCADE;
+CREATE SCHEMA bench;
+SET search_path = bench, public;
+
+CREATE TABLE devices (
+    id BIGSERIAL PRIMARY KEY,
+    device_id VARCHAR(20) NOT NULL UNIQUE,
+    device_name VARCHAR(255) NOT NULL,
+    device_type VARCHAR(100) NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    cluster_id VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+    deleted_at TIMESTAMP,
+    search_text TEXT GENERATED ALWAYS AS (
+        lower(cluster_id || chr(31) || device_name || chr(31) || device_type)
+    ) STORED
+);
+
+INSERT INTO devices (device_id, device_name, device_type, status, cluster_id, created_at, deleted_at)
+SELECT
+    'DVC-' || LPAD(g::TEXT, 7, '0'),
+    (ARRAY['Soil Moisture', 'Air Temperature', 'Leaf Wetness', 'Light Intensity', 'CO2 Level'])[1 + g % 5]
+        || ' Sensor ' || g,
+    (ARRAY['SENSOR', 'ACTUATOR', 'GATEWAY', 'CAMERA'])[1 + g % 4],
+    CASE WHEN g % 3 = 0 THEN 'ONLINE' ELSE 'OFFLINE' END,
+    'CL-' || LPAD((1 + g % 2000)::TEXT, 5, '0'),
+    now() - (g || ' seconds')::INTERVAL,
+    CASE WHEN g % 10 = 0 THEN now() END
+FROM generate_series(1, 1000000) AS g;
+
+CREATE INDEX idx_devices_cluster_id ON devices(cluster_id);
+CREATE INDEX idx_devices_search_trgm
+    ON devices USING gin (search_text gin_trgm_ops)
+    WHERE deleted_at IS NULL;
+CREATE INDEX idx_devices_created_at_id
+    ON devices (created_at, id)
+    WHERE deleted_at IS NULL;
+
+VACUUM ANALYZE devices;
+
+-- ===== Selective term ===== --
+\echo '--- legacy: sensor 4242 ---'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM devices
+WHERE deleted_at IS NULL
+  AND (lower(cluster_id) LIKE '%sensor 4242%'
+    OR lower(device_name) LIKE '%sensor 4242%'
+    OR lower(device_type) LIKE '%sensor 4242%')
+ORDER BY created_at DESC LIMIT 10;
+
+\echo '--- trigram: sensor 4242 ---'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM devices
+WHERE deleted_at IS NULL
+  AND search_text LIKE '%sensor 4242%' ESCAPE '\'
+ORDER BY created_at DESC LIMIT 10;
+
+-- ===== Cluster id fragment ===== --
+\echo '--- legacy: cl-01234 ---'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM devices
+WHERE deleted_at IS NULL
+  AND (lower(cluster_id) LIKE '%cl-01234%'
+    OR lower(device_name) LIKE '%cl-01234%'
+    OR lower(device_type) LIKE '%cl-01234%')
+ORDER BY created_at DESC LIMIT 10;
+
+\echo '--- trigram: cl-01234 ---'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM devices
+WHERE deleted_at IS NULL
+  AND search_text LIKE '%cl-01234%' ESCAPE '\'
+ORDER BY created_at DESC LIMIT 10;
+
+-- ===== Miss ===== --
+\echo '--- legacy: hydroponic ---'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM devices
+WHERE deleted_at IS NULL
+  AND (lower(cluster_id) LIKE '%hydroponic%'
+    OR lower(device_name) LIKE '%hydroponic%'
+    OR lower(device_type) LIKE '%hydroponic%');
+
+\echo '--- trigram: hydroponic ---'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM devices
+WHERE deleted_at IS NULL
+  AND search_text LIKE '%hydroponic%' ESCAPE '\';
+
+-- ===== Deep page (newest first) ===== --
+\echo '--- offset: page 50,001 ---'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM devices
+WHERE deleted_at IS NULL
+ORDER BY created_at DESC, id DESC
+OFFSET 500000 LIMIT 10;
+
+-- Same row the cursor of the previous page points at
+SELECT created_at AS cursor_created_at, id AS cursor_id FROM devices
+WHERE deleted_at IS NULL
+ORDER BY created_at DESC, id DESC
+OFFSET 499999 LIMIT 1 \gset
+
+\echo '--- keyset: page 50,001 ---'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM devices
+WHERE deleted_at IS NULL
+  AND (created_at, id) < (:'cursor_created_at', :cursor_id)
+ORDER BY created_at DESC, id DESC
+LIMIT 10;
+
+DROP SCHEMA bench CASCADE;
@@ -0,0 +1,89 @@
+#!/usr/bin/env bash
+# =========================================
+# BENCHMARK: time-to-first-request and RSS, JVM build against native build
+#
+# Usage (Linux, reads RSS from /proc):
+#   benchmark/startup.sh <probe-url> <jvm-command> <native-command> [runs]
+#
+# Example, from any of the three modules after packaging both builds:
+#   mvn package -DskipTests && mvn package -DskipTests -Dnative -Dquarkus.native.container-build=true
+#   ../device-cluster-management/benchmark/startup.sh http://localhost:8080/api/clusters \
+#       "java -jar target/quarkus-app/quarkus-run.jar" \
+#       "target/device-cluster-management-1.0-SNAPSHOT-runner" 10
+#
+# Each run starts the command, polls the probe URL until it answers with any HTTP status, and records
+# the time since launch and the resident set size at that point, plus the RSS after WARM_REQUESTS more
+# requests (default 100). The process is stopped before the next run. Datasource settings come from the
+# environment as usual; a 500 from an unreachable database still counts as a served request.
+#
+# Output: one CSV line per run on stdout, then the median of each column per build on stderr.
+# =========================================
+set -euo pipefail
+
+PROBE_URL=${1:?probe url}
+JVM_COMMAND=${2:?jvm command}
+NATIVE_COMMAND=${3:?native command}
+RUNS=${4:-5}
+WARM_REQUESTS=${WARM_REQUESTS:-100}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-60}
+
+rss_kb() {
+    awk '/^VmRSS:/ { print $2 }' "/proc/$1/status"
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+run_once() {
+    local label=$1 command=$2 started pid status elapsed_ms first_rss warm_rss
+
+    started=$(date +%s%N)
+    bash -c "exec $command" > "/tmp/startup-$label.log" 2>&1 &
+    pid=$!
+
+    status=000
+    while [ "$status" = 000 ]; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "$label exited before serving a request, see /tmp/startup-$label.log" >&2
+            exit 1
+        fi
+        if [ $(( ($(date +%s%N) - started) / 1000000000 )) -ge "$TIMEOUT_SECONDS" ]; then
+            kill "$pid"
+            echo "$label did not answer within ${TIMEOUT_SECONDS}s" >&2
+            exit 1
+        fi
+        status=$(curl -s -o /dev/null -w '%{http_code}' --max-time 1 "$PROBE_URL" || true)
+    done
+
+    elapsed_ms=$(( ($(date +%s%N) - started) / 1000000 ))
+    first_rss=$(rss_kb "$pid")
+
+    for _ in $(seq "$WARM_REQUESTS"); do
+        curl -s -o /dev/null --max-time 5 "$PROBE_URL" || true
+    done
+    warm_rss=$(rss_kb "$pid")
+
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+
+    echo "$label,$elapsed_ms,$first_rss,$warm_rss"
+}
+
+echo "build,first_request_ms,rss_first_kb,rss_warm_kb"
+for label in jvm native; do
+    command=$JVM_COMMAND
+    [ "$label" = native ] && command=$NATIVE_COMMAND
+
+    results=()
+    for _ in $(seq "$RUNS"); do
+        line=$(run_once "$label" "$command")
+        echo "$line"
+        results+=("$line")
+    done
+
+    printf '%s\n' "${results[@]}" > "/tmp/startup-$label.csv"
+    echo "$label median: first request $(cut -d, -f2 "/tmp/startup-$label.csv" | median) ms," \
+        "RSS $(cut -d, -f3 "/tmp/startup-$label.csv" | median) kB at first request," \
+        "$(cut -d, -f4 "/tmp/startup-$label.csv" | median) kB after $WARM_REQUESTS requests" >&2
+done
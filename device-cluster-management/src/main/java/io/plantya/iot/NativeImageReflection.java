@@ -0,0 +1,65 @@
+package io.plantya.iot;
+
+import io.plantya.iot.cluster.dto.request.ClusterCreateRequest;
+import io.plantya.iot.cluster.dto.request.ClusterUpdateRequest;
+import io.plantya.iot.cluster.dto.response.*;
+import io.plantya.iot.common.dto.query.ClusterSummary;
+import io.plantya.iot.common.dto.response.ErrorResponse;
+import io.plantya.iot.device.domain.DeviceBulkOutcome;
+import io.plantya.iot.device.domain.DeviceEvent;
+import io.plantya.iot.device.domain.DeviceEventType;
+import io.plantya.iot.device.domain.DeviceStatus;
+import io.plantya.iot.device.dto.request.*;
+import io.plantya.iot.device.dto.response.*;
+import io.plantya.iot.telemetry.dto.request.TelemetryBatchReadingRequest;
+import io.plantya.iot.telemetry.dto.request.TelemetryBatchRequest;
+import io.plantya.iot.telemetry.dto.request.TelemetryIngestRequest;
+import io.plantya.iot.telemetry.dto.request.TelemetryReadingRequest;
+import io.plantya.iot.telemetry.dto.response.TelemetryAcceptedResponse;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Classes the native image reaches only through reflection. Most controllers return a plain
+ * {@code Response}, so Quarkus cannot see which DTOs Jackson serializes; list and projection queries
+ * also build {@link ClusterSummary} and {@link DeviceGetResponse} through their constructors.
+ */
+@RegisterForReflection(targets = {
+        ClusterCreateRequest.class,
+        ClusterUpdateRequest.class,
+        ClusterCreateResponse.class,
+        ClusterDeviceStatsResponse.class,
+        ClusterGetResponse.class,
+        ClusterListResponse.class,
+        ClusterUpdateResponse.class,
+        PagedClusterResponse.class,
+        ClusterSummary.class,
+
+        DeviceBulkCreateRequest.class,
+        DeviceBulkMoveRequest.class,
+        DeviceBulkStatusRequest.class,
+        DeviceCreateRequest.class,
+        DeviceUpdateRequest.class,
+        CursorDeviceResponse.class,
+        DeviceBulkCreateResponse.class,
+        DeviceBulkResult.class,
+        DeviceBulkUpdateResponse.class,
+        DeviceCreateResponse.class,
+        DeviceGetResponse.class,
+        DeviceListResponse.class,
+        DeviceUpdateResponse.class,
+        PagedDeviceResponse.class,
+        DeviceEvent.class,
+        DeviceEventType.class,
+        DeviceStatus.class,
+        DeviceBulkOutcome.class,
+
+        TelemetryBatchReadingRequest.class,
+        TelemetryBatchRequest.class,
+        TelemetryIngestRequest.class,
+        TelemetryReadingRequest.class,
+        TelemetryAcceptedResponse.class,
+
+        ErrorResponse.class
+})
+public class NativeImageReflection {
+}
@@ -3,16 +3,26 @@ package io.plantya.iot.cluster.controller;
 import io.plantya.iot.cluster.dto.request.ClusterCreateRequest;
 import io.plantya.iot.cluster.dto.request.ClusterUpdateRequest;
 import io.plantya.iot.cluster.dto.response.ClusterCreateResponse;
-import io.plantya.iot.cluster.dto.response.ClusterGetResponse;
 import io.plantya.iot.cluster.dto.response.ClusterUpdateResponse;
-import io.plantya.iot.cluster.dto.response.PagedClusterResponse;
 import io.plantya.iot.cluster.service.ClusterService;
-import io.plantya.iot.common.dto.request.ClusterQueryParam;
+import io.plantya.iot.common.dto.param.DeviceParam;
+import io.plantya.iot.common.dto.query.PageVersion;
+import io.plantya.iot.common.dto.request.DeviceQueryParam;
+import io.plantya.iot.common.util.ETags;
+import io.plantya.iot.common.validator.RequestValidator;
+import io.plantya.iot.device.dto.response.CursorDeviceResponse;
+import io.plantya.iot.device.dto.response.PagedDeviceResponse;
+import io.plantya.iot.device.service.DeviceService;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 
 @Path( "/api/clusters")
+@RunOnVirtualThread
 @Produces("application/json")
 @Consumes("application/json")
 public class ClusterController {
@@ -20,14 +30,6 @@ public class ClusterController {
     @Inject
     ClusterService clusterService;
 
-    @GET
-    public Response findAllExistingClusters(@BeanParam ClusterQueryParam queryParam) {
-        PagedClusterResponse response = clusterService.findAllExistingClusters(queryParam);
-        return Response.status(Response.Status.OK)
-                .entity(response)
-                .build();
-    }
-
     @POST
     public Response createCluster(ClusterCreateRequest request) {
         ClusterCreateResponse response = clusterService.createCluster(request);
@@ -37,12 +39,52 @@ public class ClusterController {
     }
 
     @GET
-    @Path("/{clusterId}")
-    public Response findByClusterId(@PathParam("clusterId") String clusterId) {
-        ClusterGetResponse response = clusterService.findByClusterId(clusterId);
-        return Response.status(Response.Status.OK)
-                .entity(response)
-                .build();
+    @Path("/{clusterId}/devices")
+    public Response findDevicesByClusterId(
+            @PathParam("clusterId") String clusterId,
+            @BeanParam DeviceQueryParam queryParam,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+            @Context Request request
+    ) {
+        DeviceParam deviceParam = new DeviceParam(
+                queryParam.getPage(),
+                queryParam.getSize(),
+                queryParam.getSearch(),
+                queryParam.getSort(),
+                queryParam.getOrder(),
+                queryParam.getStatus(),
+                queryParam.getCursor(),
+                queryParam.getIncludeTotal(),
+                RequestValidator.validateCountMode(queryParam.getCount()),
+                clusterId
+        );
+
+        // Nothing to compare against: load the page once and tag it with the version of its own rows
+        if (ifNoneMatch == null) {
+            if (deviceParam.cursor() != null) {
+                CursorDeviceResponse response = clusterService.findDevicesByClusterIdByCursor(clusterId, deviceParam, null);
+                return ETags.conditional(request, DeviceService.versionOf(deviceParam, response), () -> response);
+            }
+
+            PagedDeviceResponse response = clusterService.findDevicesByClusterId(clusterId, deviceParam, null);
+            return ETags.conditional(request, DeviceService.versionOf(deviceParam, response), () -> response);
+        }
+
+        PageVersion version = clusterService.findDevicesVersion(clusterId, deviceParam);
+
+        if (deviceParam.cursor() != null) {
+            return ETags.conditional(
+                    request,
+                    version.version(),
+                    () -> clusterService.findDevicesByClusterIdByCursor(clusterId, deviceParam, version.totalCount())
+            );
+        }
+
+        return ETags.conditional(
+                request,
+                version.version(),
+                () -> clusterService.findDevicesByClusterId(clusterId, deviceParam, version.totalCount())
+        );
     }
 
     @PATCH
@@ -0,0 +1,53 @@
+package io.plantya.iot.cluster.controller;
+
+import io.plantya.iot.cluster.dto.response.PagedClusterResponse;
+import io.plantya.iot.cluster.service.ClusterService;
+import io.plantya.iot.common.dto.request.ClusterQueryParam;
+import io.plantya.iot.common.service.SingleFlight;
+import io.plantya.iot.common.util.ETags;
+import io.quarkus.arc.profile.UnlessBuildProfile;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Blocking cluster list and detail. The {@code reactive} build profile replaces this resource with
+ * {@link ReactiveClusterReadController}.
+ */
+@Path( "/api/clusters")
+@Produces("application/json")
+@Consumes("application/json")
+@RunOnVirtualThread
+@UnlessBuildProfile("reactive")
+public class ClusterReadController {
+
+    @Inject
+    ClusterService clusterService;
+
+    @Inject
+    SingleFlight singleFlight;
+
+    @GET
+    public Response findAllExistingClusters(@BeanParam ClusterQueryParam queryParam, @Context Request request) {
+        PagedClusterResponse response = singleFlight.execute(
+                SingleFlight.CLUSTER_LIST,
+                queryParam,
+                () -> clusterService.findAllExistingClusters(queryParam)
+        );
+        return ETags.conditional(request, ClusterService.versionOf(queryParam, response), () -> response);
+    }
+
+    @GET
+    @Path("/{clusterId}")
+    public Response findByClusterId(@PathParam("clusterId") String clusterId, @Context Request request) {
+        String version = clusterService.findClusterVersion(clusterId);
+        return ETags.conditional(request, version, () -> singleFlight.execute(
+                SingleFlight.CLUSTER_DETAIL,
+                clusterId,
+                () -> clusterService.findByClusterId(clusterId)
+        ));
+    }
+}
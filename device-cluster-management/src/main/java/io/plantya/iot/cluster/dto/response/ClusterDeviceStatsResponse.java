@@ -0,0 +1,7 @@
+package io.plantya.iot.cluster.dto.response;
+
+public record ClusterDeviceStatsResponse(
+        long total,
+        long online,
+        long offline
+) {}
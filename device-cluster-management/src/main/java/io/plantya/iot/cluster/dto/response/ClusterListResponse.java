@@ -1,6 +1,10 @@
 package io.plantya.iot.cluster.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public record ClusterListResponse(
         String clusterId,
-        String clusterName
+        String clusterName,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        ClusterDeviceStatsResponse deviceStats
 ) {}
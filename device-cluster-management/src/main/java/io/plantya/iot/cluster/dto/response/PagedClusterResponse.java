@@ -1,11 +1,15 @@
 package io.plantya.iot.cluster.dto.response;
 
+import io.plantya.iot.common.dto.response.TotalMode;
+
 import java.util.List;
 
 public record PagedClusterResponse(
         long countData,
         int page,
         int size,
-        int totalPages,
+        Integer totalPages,
+        Long totalData,
+        TotalMode totalMode,
         List<ClusterListResponse> clusters
 ) {}
@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import java.time.Instant;
 
 @Entity
+@Cacheable
 @Table(name = "clusters")
 public class Cluster {
 
@@ -31,6 +32,13 @@ public class Cluster {
         @Column(name = "deleted_at")
         private Instant deletedAt;
 
+        /**
+         * Lower-cased search haystack
+         * Generated by database (V1_3)
+         */
+        @Column(name = "search_text", insertable = false, updatable = false)
+        private String searchText;
+
         @PrePersist
         protected void onCreate() {
             this.createdAt = Instant.now();
@@ -1,34 +1,113 @@
 package io.plantya.iot.cluster.repository;
 
+import io.micrometer.core.annotation.Timed;
 import io.plantya.iot.cluster.entity.Cluster;
+import io.plantya.iot.common.dto.query.ClusterSummary;
+import io.plantya.iot.common.dto.query.PatchResult;
 import io.plantya.iot.common.dto.query.QueryData;
 import io.plantya.iot.common.dto.request.ClusterQueryParam;
+import io.plantya.iot.common.repository.ReadReplicaTenantResolver;
+import io.plantya.iot.common.repository.SecondLevelCache;
+import io.plantya.iot.common.util.LikePattern;
+import io.plantya.iot.common.util.PlannerEstimates;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import io.quarkus.panache.common.Page;
 import io.quarkus.panache.common.Parameters;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.hibernate.jpa.HibernateHints;
 
 import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
 
 @ApplicationScoped
+@Timed(value = "repository.method", histogram = true)
 public class ClusterRepository implements PanacheRepository<Cluster> {
 
-    public List<Cluster> findAllExistingClusters(ClusterQueryParam queryParam) {
+    static final String LIVE_CLUSTERS_SQL = "SELECT 1 FROM clusters WHERE deleted_at IS NULL";
+    static final String CLUSTER_VERSION_HQL =
+            "SELECT c.updatedAt, c.deletedAt, COUNT(d), MAX(COALESCE(d.updatedAt, d.createdAt)) "
+            + "FROM Cluster c LEFT JOIN Device d ON d.clusterId = c.clusterId AND d.deletedAt IS NULL "
+            + "WHERE c.clusterId = :clusterId "
+            + "GROUP BY c.id, c.updatedAt, c.deletedAt";
+
+    /**
+     * Query cache region of the lookups by cluster id and cluster name.
+     */
+    public static final String CLUSTER_LOOKUPS_REGION = "cluster-lookups";
+
+    @Inject
+    SecondLevelCache secondLevelCache;
+
+    /**
+     * A page of live clusters projected to the listed columns, without loading entities.
+     */
+    public List<ClusterSummary> findAllExistingClusters(ClusterQueryParam queryParam) {
         QueryData queryData = buildQuery(queryParam);
         return find(queryData.query(), queryData.params().toArray())
+                .project(ClusterSummary.class)
+                .withHint(HibernateHints.HINT_READ_ONLY, true)
                 .page(Page.of(queryParam.getPage() - 1, queryParam.getSize()))
                 .list();
     }
 
+    /**
+     * Cheap projection of what changes with the cluster detail, for ETags: the cluster's own timestamps and
+     * the count and latest change of its live devices.
+     */
+    public Optional<Object[]> findVersionByClusterId(String clusterId) {
+        return getEntityManager()
+                .createQuery(CLUSTER_VERSION_HQL, Object[].class)
+                .setParameter("clusterId", clusterId)
+                .getResultStream()
+                .findFirst();
+    }
+
+    /**
+     * Served from the query and entity caches on the primary; a miss, or a replica read, costs one query.
+     */
     public Optional<Cluster> findByClusterId(String clusterId) {
-        return find("clusterId", clusterId).firstResultOptional();
+        ReadReplicaTenantResolver.bypassCacheOnReplica(getEntityManager());
+        return find("clusterId", clusterId)
+                .withHint(HibernateHints.HINT_CACHEABLE, true)
+                .withHint(HibernateHints.HINT_CACHE_REGION, CLUSTER_LOOKUPS_REGION)
+                .firstResultOptional();
+    }
+
+    public boolean existsActiveByClusterId(String clusterId) {
+        return count("clusterId = ?1 AND deletedAt IS NULL", clusterId) > 0;
     }
 
     public Optional<Cluster> findByClusterName(String clusterName) {
-        return find("clusterName", clusterName).firstResultOptional();
+        ReadReplicaTenantResolver.bypassCacheOnReplica(getEntityManager());
+        return find("clusterName", clusterName)
+                .withHint(HibernateHints.HINT_CACHEABLE, true)
+                .withHint(HibernateHints.HINT_CACHE_REGION, CLUSTER_LOOKUPS_REGION)
+                .firstResultOptional();
+    }
+
+    /**
+     * Returns which of the given cluster ids belong to live clusters, in one query.
+     */
+    public Set<String> findExistingClusterIds(Collection<String> clusterIds) {
+        if (clusterIds.isEmpty()) {
+            return Set.of();
+        }
+
+        return new HashSet<>(getEntityManager()
+                .createQuery(
+                        "SELECT c.clusterId FROM Cluster c WHERE c.clusterId IN :clusterIds AND c.deletedAt IS NULL",
+                        String.class
+                )
+                .setParameter("clusterIds", clusterIds)
+                .getResultList());
     }
 
     public Cluster save(Cluster cluster) {
@@ -39,6 +118,51 @@ public class ClusterRepository implements PanacheRepository<Cluster> {
         return cluster;
     }
 
+    /**
+     * Renames a live cluster in one round trip: no row back means the cluster does not exist, a row
+     * of nulls means it is soft-deleted. The native update bypasses Hibernate, so the cached cluster
+     * and lookups are evicted here.
+     */
+    public PatchResult<Cluster> patchCluster(String clusterId, String clusterName, Instant updatedAt) {
+        List<?> rows = getEntityManager()
+                .createNativeQuery("""
+                        WITH target AS (
+                            SELECT id, deleted_at FROM clusters WHERE cluster_id = :clusterId FOR UPDATE
+                        ), updated AS (
+                            UPDATE clusters c SET cluster_name = :clusterName, updated_at = :updatedAt
+                            FROM target t
+                            WHERE c.id = t.id AND t.deleted_at IS NULL
+                            RETURNING c.cluster_id, c.cluster_name
+                        )
+                        SELECT u.cluster_id, u.cluster_name FROM target LEFT JOIN updated u ON true
+                        """)
+                .setParameter("clusterId", clusterId)
+                .setParameter("clusterName", clusterName)
+                .setParameter("updatedAt", updatedAt.atOffset(ZoneOffset.UTC))
+                .getResultList();
+
+        if (rows.isEmpty()) {
+            return PatchResult.notFound();
+        }
+
+        Object[] row = (Object[]) rows.getFirst();
+        if (row[0] == null) {
+            return PatchResult.deleted();
+        }
+
+        secondLevelCache.evict(Cluster.class, CLUSTER_LOOKUPS_REGION);
+
+        Cluster cluster = new Cluster();
+        cluster.setClusterId((String) row[0]);
+        cluster.setClusterName((String) row[1]);
+        cluster.setUpdatedAt(updatedAt);
+
+        return PatchResult.updated(cluster);
+    }
+
+    /**
+     * A JPQL bulk update, so Hibernate evicts the cached clusters and invalidates the lookups itself.
+     */
     public void softDelete(String clusterId) {
         update(
                 "deletedAt = :deletedAt WHERE clusterId = :clusterId AND deletedAt IS NULL",
@@ -52,15 +176,21 @@ public class ClusterRepository implements PanacheRepository<Cluster> {
         return count(queryData.query(), queryData.params().toArray());
     }
 
+    public OptionalLong estimateExistingClusters() {
+        return PlannerEstimates.estimateRows(getEntityManager(), LIVE_CLUSTERS_SQL);
+    }
+
     // ===== HELPER ===== //
-    private QueryData buildQuery(ClusterQueryParam param) {
+    // Package-visible and static so ReactiveClusterRepository builds the very same queries
+
+    static QueryData buildQuery(ClusterQueryParam param) {
         StringBuilder query = new StringBuilder("deletedAt IS NULL");
         List<Object> params = new ArrayList<>();
 
-        // Search
+        // Search (served by idx_clusters_search_trgm)
         if (param.getSearch() != null && !param.getSearch().isBlank()) {
-            query.append(" AND (LOWER(clusterId) LIKE ?1 OR LOWER(clusterName) LIKE ?1)");
-            params.add("%" + param.getSearch().toLowerCase() + "%");
+            query.append(" AND searchText LIKE ?1 ESCAPE '\\'");
+            params.add(LikePattern.contains(param.getSearch()));
         }
 
         // Sorting
@@ -72,7 +202,7 @@ public class ClusterRepository implements PanacheRepository<Cluster> {
         return new QueryData(query.toString(), params);
     }
 
-    private String resolveSortColumn(String sort) {
+    static String resolveSortColumn(String sort) {
         if (sort == null) return "createdAt";
 
         return switch (sort) {
@@ -82,7 +212,7 @@ public class ClusterRepository implements PanacheRepository<Cluster> {
         };
     }
 
-    private String resolveSortOrder(String order) {
+    static String resolveSortOrder(String order) {
         return "asc".equalsIgnoreCase(order) ? "ASC" : "DESC";
     }
 }
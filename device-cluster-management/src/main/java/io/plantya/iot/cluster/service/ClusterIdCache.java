@@ -0,0 +1,111 @@
+package io.plantya.iot.cluster.service;
+
+import io.plantya.iot.cluster.repository.ClusterRepository;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CaffeineCache;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.jboss.logging.Logger;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bounded cache of live cluster ids, used by device writes to check that a cluster exists.
+ *
+ * <p>Only live ids are cached, so a cluster created on another instance is visible immediately;
+ * a cluster deleted on another instance stays cached until {@code expire-after-write}.
+ * Size, expiry and hit/miss metrics are configured under {@code quarkus.cache.caffeine."live-cluster-ids"}.
+ */
+@ApplicationScoped
+public class ClusterIdCache {
+
+    public static final String CACHE_NAME = "live-cluster-ids";
+
+    @Inject
+    @CacheName(CACHE_NAME)
+    Cache cache;
+
+    @Inject
+    ClusterRepository clusterRepository;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    private final Logger LOG = Logger.getLogger(ClusterIdCache.class);
+
+    public boolean isLive(String clusterId) {
+        CaffeineCache caffeine = cache.as(CaffeineCache.class);
+        if (caffeine.getIfPresent(clusterId) != null) {
+            return true;
+        }
+
+        boolean live = clusterRepository.existsActiveByClusterId(clusterId);
+        if (live) {
+            caffeine.put(clusterId, CompletableFuture.completedFuture(Boolean.TRUE));
+        }
+
+        return live;
+    }
+
+    /**
+     * Returns the live subset of {@code clusterIds}; all cache misses are resolved with one query.
+     */
+    public Set<String> findLive(Collection<String> clusterIds) {
+        CaffeineCache caffeine = cache.as(CaffeineCache.class);
+
+        Set<String> live = new HashSet<>();
+        List<String> misses = clusterIds.stream()
+                .filter(clusterId -> {
+                    if (caffeine.getIfPresent(clusterId) != null) {
+                        live.add(clusterId);
+                        return false;
+                    }
+                    return true;
+                })
+                .toList();
+
+        if (!misses.isEmpty()) {
+            for (String clusterId : clusterRepository.findExistingClusterIds(misses)) {
+                caffeine.put(clusterId, CompletableFuture.completedFuture(Boolean.TRUE));
+                live.add(clusterId);
+            }
+        }
+
+        return live;
+    }
+
+    /**
+     * Drops the id now and, when called inside a transaction, again after it completes, so a
+     * concurrent lookup that read the pre-commit state cannot leave a stale entry behind.
+     */
+    public void invalidate(String clusterId) {
+        evict(clusterId);
+
+        if (transactionRegistry.getTransactionStatus() == Status.STATUS_ACTIVE) {
+            transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    evict(clusterId);
+                }
+            });
+        }
+    }
+
+    // ===== HELPER ===== //
+    private void evict(String clusterId) {
+        cache.invalidate(clusterId).await().indefinitely();
+        LOG.debugf("Cluster id evicted from cache: clusterId=%s", clusterId);
+    }
+}
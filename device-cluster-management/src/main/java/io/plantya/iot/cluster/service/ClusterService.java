@@ -5,14 +5,30 @@ import io.plantya.iot.cluster.dto.request.ClusterUpdateRequest;
 import io.plantya.iot.cluster.dto.response.*;
 import io.plantya.iot.cluster.entity.Cluster;
 import io.plantya.iot.cluster.repository.ClusterRepository;
+import io.plantya.iot.common.dto.param.CountMode;
+import io.plantya.iot.common.dto.param.DeviceParam;
+import io.plantya.iot.common.dto.query.ClusterSummary;
+import io.plantya.iot.common.dto.query.DeviceStatusCount;
+import io.plantya.iot.common.dto.query.PageVersion;
+import io.plantya.iot.common.dto.query.PatchOutcome;
+import io.plantya.iot.common.dto.query.PatchResult;
+import io.plantya.iot.common.dto.query.TotalCount;
 import io.plantya.iot.common.dto.request.ClusterQueryParam;
+import io.plantya.iot.common.dto.response.TotalMode;
 import io.plantya.iot.common.exception.BadRequestException;
 import io.plantya.iot.common.exception.ConflictException;
 import io.plantya.iot.common.exception.NotFoundException;
 import io.plantya.iot.common.mapper.ClusterResponseMapper;
+import io.plantya.iot.common.service.TotalCountService;
+import io.plantya.iot.common.util.ETags;
 import io.plantya.iot.common.validator.RequestValidator;
-import io.plantya.iot.device.domain.Device;
+import io.plantya.iot.device.domain.DeviceEvent;
+import io.plantya.iot.device.domain.DeviceEventType;
+import io.plantya.iot.device.dto.response.CursorDeviceResponse;
+import io.plantya.iot.device.dto.response.PagedDeviceResponse;
 import io.plantya.iot.device.repository.DeviceRepository;
+import io.plantya.iot.device.service.DeviceEventBroadcaster;
+import io.plantya.iot.device.service.DeviceHeartbeatService;
 import io.plantya.iot.device.service.DeviceService;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -20,7 +36,10 @@ import jakarta.transaction.Transactional;
 import org.jboss.logging.Logger;
 
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static io.plantya.iot.common.exception.message.ErrorMessage.*;
 
@@ -33,6 +52,21 @@ public class ClusterService {
     @Inject
     DeviceRepository deviceRepository;
 
+    @Inject
+    DeviceService deviceService;
+
+    @Inject
+    ClusterIdCache clusterIdCache;
+
+    @Inject
+    DeviceEventBroadcaster deviceEventBroadcaster;
+
+    @Inject
+    DeviceHeartbeatService deviceHeartbeatService;
+
+    @Inject
+    TotalCountService totalCountService;
+
     private final Logger LOG = Logger.getLogger(DeviceService.class);
 
     public PagedClusterResponse findAllExistingClusters(ClusterQueryParam queryParam) {
@@ -40,20 +74,38 @@ public class ClusterService {
             throw new BadRequestException(PAGE_LOWER_THAN_ONE);
         }
 
-        List<Cluster> clusterList = clusterRepository.findAllExistingClusters(queryParam);
-        long totalData = clusterRepository.countExistingDevices(queryParam);
-
-        List<ClusterListResponse> responses = clusterList.stream()
-                .map(ClusterResponseMapper::toClusterListResponse)
-                .toList();
-
-        int totalPages = (int) Math.ceil((double) totalData / queryParam.getSize());
+        Set<String> includes = RequestValidator.validateClusterInclude(queryParam.getInclude());
+        CountMode countMode = RequestValidator.validateCountMode(queryParam.getCount());
+
+        List<ClusterSummary> clusterList = clusterRepository.findAllExistingClusters(queryParam);
+        TotalCount totalCount = countClusters(queryParam, countMode);
+
+        List<ClusterListResponse> responses;
+        if (includes.contains(RequestValidator.INCLUDE_DEVICE_STATS)) {
+            // One grouped query for the whole page instead of one detail call per cluster
+            Map<String, DeviceStatusCount> statusCounts = deviceRepository.countDevicesByStatusForClusters(
+                    clusterList.stream().map(ClusterSummary::clusterId).toList()
+            );
+
+            responses = clusterList.stream()
+                    .map(cluster -> ClusterResponseMapper.toClusterListResponse(
+                            cluster,
+                            statusCounts.getOrDefault(cluster.clusterId(), DeviceStatusCount.EMPTY)
+                    ))
+                    .toList();
+        } else {
+            responses = clusterList.stream()
+                    .map(ClusterResponseMapper::toClusterListResponse)
+                    .toList();
+        }
 
         return new PagedClusterResponse(
                 responses.size(),
                 queryParam.getPage(),
                 queryParam.getSize(),
-                totalPages,
+                totalCount.totalPages(queryParam.getSize()),
+                totalCount.total(),
+                totalCount.mode(),
                 responses
         );
     }
@@ -73,24 +125,79 @@ public class ClusterService {
         cluster.setClusterName(request.clusterName());
 
         Cluster savedCluster = clusterRepository.save(cluster);
+        clusterIdCache.invalidate(savedCluster.getClusterId());
 
         LOG.infof("Cluster created successfully: clusterId=%s", savedCluster.getClusterId());
         return ClusterResponseMapper.toClusterCreateResponse(savedCluster);
     }
 
+    /**
+     * ETag version of a loaded cluster list page. A page is two small queries (the clusters and, with device
+     * stats, one grouped count), so there is no cheaper projection to compare first: the version is taken
+     * from what the page shows, its clusters, their device stats and its total.
+     */
+    public static String versionOf(ClusterQueryParam queryParam, PagedClusterResponse response) {
+        return ETags.version(
+                queryParam.getPage(),
+                queryParam.getSize(),
+                queryParam.getSearch(),
+                queryParam.getSort(),
+                queryParam.getOrder(),
+                new TotalCount(response.totalData(), response.totalMode()),
+                response.clusters()
+        );
+    }
+
+    /**
+     * ETag version of a cluster detail, or null when the cluster does not exist.
+     */
+    public String findClusterVersion(String clusterId) {
+        return clusterRepository.findVersionByClusterId(clusterId)
+                .map(ETags::version)
+                .orElse(null);
+    }
+
     public ClusterGetResponse findByClusterId(String clusterId) {
-        Cluster cluster = clusterRepository.findByClusterId(clusterId).orElse(null);
-        if (cluster == null) {
-            throw new NotFoundException(CLUSTER_NOT_FOUND);
-        }
+        Cluster cluster = findActiveCluster(clusterId);
 
-        if (cluster.getDeletedAt() != null) {
-            throw new ConflictException(CLUSTER_ALREADY_DELETED);
-        }
+        DeviceStatusCount statusCount = deviceRepository.countDevicesByStatus(clusterId);
 
-        List<Device> devices = deviceRepository.findAllDevicesByClusterId(clusterId);
+        return ClusterResponseMapper.toClusterGetResponse(cluster, statusCount);
+    }
+
+    /**
+     * ETag version of a cluster's device list page, as {@link DeviceService#findDevicesVersion}; fails like the
+     * list itself when the cluster is missing or deleted.
+     */
+    public PageVersion findDevicesVersion(String clusterId, DeviceParam param) {
+        findActiveCluster(clusterId);
+        return deviceService.findDevicesVersion(param);
+    }
+
+    public PagedDeviceResponse findDevicesByClusterId(String clusterId, DeviceParam param) {
+        findActiveCluster(clusterId);
+        return deviceService.findAllExistingDevices(param);
+    }
+
+    /**
+     * @param totalCount total already counted for the page's ETag version, or null to count it here
+     */
+    public PagedDeviceResponse findDevicesByClusterId(String clusterId, DeviceParam param, TotalCount totalCount) {
+        findActiveCluster(clusterId);
+        return deviceService.findAllExistingDevices(param, totalCount);
+    }
+
+    public CursorDeviceResponse findDevicesByClusterIdByCursor(String clusterId, DeviceParam param) {
+        findActiveCluster(clusterId);
+        return deviceService.findExistingDevicesByCursor(param);
+    }
 
-        return ClusterResponseMapper.toClusterGetResponse(cluster, devices);
+    /**
+     * @param totalCount total already counted for the page's ETag version, or null to count it here
+     */
+    public CursorDeviceResponse findDevicesByClusterIdByCursor(String clusterId, DeviceParam param, TotalCount totalCount) {
+        findActiveCluster(clusterId);
+        return deviceService.findExistingDevicesByCursor(param, totalCount);
     }
 
     @Transactional
@@ -99,30 +206,28 @@ public class ClusterService {
 
         RequestValidator.validateClusterUpdateRequest(request);
 
-        Cluster cluster = clusterRepository.findByClusterId(clusterId).orElse(null);
-        if (cluster == null) {
-            LOG.warnf("Cluster not found: clusterId=%s", clusterId);
-            throw new NotFoundException(CLUSTER_NOT_FOUND);
-        }
-
-        boolean isUpdated = false;
-
-        if (request.clusterName() != null) {
-            cluster.setClusterName(request.clusterName());
-            isUpdated = true;
-        }
-
-        if (!isUpdated) {
+        if (request.clusterName() == null) {
             LOG.warnf("Patch cluster ignored - no fields provided: clusterId=%s", clusterId);
             throw new BadRequestException(CLUSTER_UPDATE_EMPTY);
         }
 
         LOG.debugf("Patch fields: clusterName=%s", request.clusterName());
 
-        cluster.setUpdatedAt(Instant.now());
+        // One UPDATE ... RETURNING instead of a load, dirty check and flush
+        PatchResult<Cluster> result = clusterRepository.patchCluster(clusterId, request.clusterName(), Instant.now());
+
+        if (result.outcome() == PatchOutcome.NOT_FOUND) {
+            LOG.warnf("Cluster not found: clusterId=%s", clusterId);
+            throw new NotFoundException(CLUSTER_NOT_FOUND);
+        }
+
+        if (result.outcome() == PatchOutcome.DELETED) {
+            LOG.warnf("Cluster already deleted: clusterId=%s", clusterId);
+            throw new ConflictException(CLUSTER_ALREADY_DELETED);
+        }
 
         LOG.infof("Cluster patched successfully: clusterId=%s", clusterId);
-        return ClusterResponseMapper.toClusterUpdateResponse(cluster);
+        return ClusterResponseMapper.toClusterUpdateResponse(result.value());
     }
 
     @Transactional
@@ -141,7 +246,46 @@ public class ClusterService {
         }
 
         clusterRepository.softDelete(clusterId);
-        deviceRepository.softDeleteDevicesByClusterId(clusterId);
+        clusterIdCache.invalidate(clusterId);
+        List<String> deletedDeviceIds = deviceRepository.softDeleteDevicesByClusterId(clusterId);
+        deviceHeartbeatService.forgetAll(deletedDeviceIds);
+
+        Instant now = Instant.now();
+        deviceEventBroadcaster.publishAll(deletedDeviceIds.stream()
+                .map(deviceId -> new DeviceEvent(DeviceEventType.DELETED, deviceId, clusterId, null, now))
+                .toList());
         LOG.infof("Cluster deleted successfully: clusterId=%s", clusterId);
     }
+
+    // ===== HELPER ===== //
+    private TotalCount countClusters(ClusterQueryParam queryParam, CountMode countMode) {
+        if (Boolean.FALSE.equals(queryParam.getIncludeTotal())) {
+            return TotalCount.NONE;
+        }
+
+        if (countMode != CountMode.APPROXIMATE) {
+            return new TotalCount(clusterRepository.countExistingDevices(queryParam), TotalMode.EXACT);
+        }
+
+        String search = queryParam.getSearch();
+        return totalCountService.approximate(
+                Arrays.asList("clusters", search),
+                search != null && !search.isBlank(),
+                () -> clusterRepository.countExistingDevices(queryParam),
+                clusterRepository::estimateExistingClusters
+        );
+    }
+
+    private Cluster findActiveCluster(String clusterId) {
+        Cluster cluster = clusterRepository.findByClusterId(clusterId).orElse(null);
+        if (cluster == null) {
+            throw new NotFoundException(CLUSTER_NOT_FOUND);
+        }
+
+        if (cluster.getDeletedAt() != null) {
+            throw new ConflictException(CLUSTER_ALREADY_DELETED);
+        }
+
+        return cluster;
+    }
 }
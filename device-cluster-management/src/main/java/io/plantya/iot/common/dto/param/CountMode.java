@@ -0,0 +1,6 @@
+package io.plantya.iot.common.dto.param;
+
+public enum CountMode {
+    EXACT,
+    APPROXIMATE
+}
@@ -0,0 +1,12 @@
+package io.plantya.iot.common.dto.param;
+
+/**
+ * Position of the last device returned by a keyset page.
+ * The sort column and order are kept so a cursor cannot be replayed against a different ordering.
+ */
+public record DeviceCursor(
+        String sort,
+        String order,
+        String value,
+        long id
+) {}
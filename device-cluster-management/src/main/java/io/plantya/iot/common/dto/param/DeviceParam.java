@@ -8,5 +8,9 @@ public record DeviceParam(
         String search,
         String sort,
         String order,
-        DeviceStatus status
+        DeviceStatus status,
+        String cursor,
+        Boolean includeTotal,
+        CountMode countMode,
+        String clusterId
 ) {}
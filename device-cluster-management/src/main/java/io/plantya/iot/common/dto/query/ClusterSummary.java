@@ -0,0 +1,6 @@
+package io.plantya.iot.common.dto.query;
+
+/**
+ * The columns of a cluster shown in the cluster list, projected without loading the entity.
+ */
+public record ClusterSummary(String clusterId, String clusterName) {}
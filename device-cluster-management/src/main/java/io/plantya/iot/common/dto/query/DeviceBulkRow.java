@@ -0,0 +1,9 @@
+package io.plantya.iot.common.dto.query;
+
+import io.plantya.iot.device.domain.DeviceBulkOutcome;
+import io.plantya.iot.device.domain.DeviceStatus;
+
+/**
+ * A device matched by a set-based bulk write, with its cluster and status as they are after the write.
+ */
+public record DeviceBulkRow(String deviceId, String clusterId, DeviceStatus status, DeviceBulkOutcome outcome) {}
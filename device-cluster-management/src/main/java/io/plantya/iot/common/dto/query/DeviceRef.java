@@ -0,0 +1,6 @@
+package io.plantya.iot.common.dto.query;
+
+/**
+ * Identifies a device row touched by a set-based write, with the cluster it belongs to.
+ */
+public record DeviceRef(String deviceId, String clusterId) {}
@@ -0,0 +1,10 @@
+package io.plantya.iot.common.dto.query;
+
+public record DeviceStatusCount(long online, long offline) {
+
+    public static final DeviceStatusCount EMPTY = new DeviceStatusCount(0, 0);
+
+    public long total() {
+        return online + offline;
+    }
+}
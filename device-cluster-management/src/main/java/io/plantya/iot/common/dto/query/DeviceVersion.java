@@ -0,0 +1,8 @@
+package io.plantya.iot.common.dto.query;
+
+import java.time.Instant;
+
+/**
+ * The columns of a listed device that change whenever its list entry does, projected for list ETags.
+ */
+public record DeviceVersion(String deviceId, Instant createdAt, Instant updatedAt) {}
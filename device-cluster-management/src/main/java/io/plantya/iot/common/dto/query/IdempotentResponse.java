@@ -0,0 +1,6 @@
+package io.plantya.iot.common.dto.query;
+
+/**
+ * A completed response recorded under an idempotency key, with the fingerprint of the request that produced it.
+ */
+public record IdempotentResponse(String fingerprint, int status, String body) {}
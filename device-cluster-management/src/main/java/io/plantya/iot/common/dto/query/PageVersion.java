@@ -0,0 +1,6 @@
+package io.plantya.iot.common.dto.query;
+
+/**
+ * ETag version of a list page and the total counted for it, which loading the page reuses.
+ */
+public record PageVersion(String version, TotalCount totalCount) {}
@@ -0,0 +1,7 @@
+package io.plantya.iot.common.dto.query;
+
+public enum PatchOutcome {
+    UPDATED,
+    NOT_FOUND,
+    DELETED
+}
@@ -0,0 +1,19 @@
+package io.plantya.iot.common.dto.query;
+
+/**
+ * Outcome of a single-statement partial update, with the row as written when it was updated.
+ */
+public record PatchResult<T>(PatchOutcome outcome, T value) {
+
+    public static <T> PatchResult<T> updated(T value) {
+        return new PatchResult<>(PatchOutcome.UPDATED, value);
+    }
+
+    public static <T> PatchResult<T> notFound() {
+        return new PatchResult<>(PatchOutcome.NOT_FOUND, null);
+    }
+
+    public static <T> PatchResult<T> deleted() {
+        return new PatchResult<>(PatchOutcome.DELETED, null);
+    }
+}
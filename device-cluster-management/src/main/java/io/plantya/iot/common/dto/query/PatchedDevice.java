@@ -0,0 +1,9 @@
+package io.plantya.iot.common.dto.query;
+
+import io.plantya.iot.device.domain.Device;
+import io.plantya.iot.device.domain.DeviceStatus;
+
+/**
+ * A device as written by a partial update, with the status it had before.
+ */
+public record PatchedDevice(Device device, DeviceStatus previousStatus) {}
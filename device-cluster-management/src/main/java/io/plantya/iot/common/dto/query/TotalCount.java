@@ -0,0 +1,12 @@
+package io.plantya.iot.common.dto.query;
+
+import io.plantya.iot.common.dto.response.TotalMode;
+
+public record TotalCount(Long total, TotalMode mode) {
+
+    public static final TotalCount NONE = new TotalCount(null, TotalMode.NONE);
+
+    public Integer totalPages(int size) {
+        return total == null ? null : (int) Math.ceil((double) total / size);
+    }
+}
@@ -3,6 +3,11 @@ package io.plantya.iot.common.dto.request;
 import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.QueryParam;
 
+import java.util.Objects;
+
+/**
+ * Compared by value, so identical list requests share one {@link io.plantya.iot.common.service.SingleFlight} key.
+ */
 public class ClusterQueryParam {
 
     @DefaultValue("1")
@@ -22,6 +27,15 @@ public class ClusterQueryParam {
     @QueryParam("order")
     private String order;
 
+    @QueryParam("include")
+    private String include;
+
+    @QueryParam("include_total")
+    private Boolean includeTotal;
+
+    @QueryParam("count")
+    private String count;
+
     public int getPage() {
         return page;
     }
@@ -42,6 +56,18 @@ public class ClusterQueryParam {
         return order;
     }
 
+    public String getInclude() {
+        return include;
+    }
+
+    public Boolean getIncludeTotal() {
+        return includeTotal;
+    }
+
+    public String getCount() {
+        return count;
+    }
+
     public void setSize(int size) {
         this.size = size;
     }
@@ -49,4 +75,43 @@ public class ClusterQueryParam {
     public void setPage(int page) {
         this.page = page;
     }
-}
\ No newline at end of file
+
+    public void setSearch(String search) {
+        this.search = search;
+    }
+
+    public void setInclude(String include) {
+        this.include = include;
+    }
+
+    public void setIncludeTotal(Boolean includeTotal) {
+        this.includeTotal = includeTotal;
+    }
+
+    public void setCount(String count) {
+        this.count = count;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ClusterQueryParam that)) {
+            return false;
+        }
+        return page == that.page
+                && size == that.size
+                && Objects.equals(search, that.search)
+                && Objects.equals(sort, that.sort)
+                && Objects.equals(order, that.order)
+                && Objects.equals(include, that.include)
+                && Objects.equals(includeTotal, that.includeTotal)
+                && Objects.equals(count, that.count);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(page, size, search, sort, order, include, includeTotal, count);
+    }
+}
@@ -26,6 +26,15 @@ public class DeviceQueryParam {
     @QueryParam("status")
     private DeviceStatus status;
 
+    @QueryParam("cursor")
+    private String cursor;
+
+    @QueryParam("include_total")
+    private Boolean includeTotal;
+
+    @QueryParam("count")
+    private String count;
+
     public int getPage() {
         return page;
     }
@@ -49,4 +58,16 @@ public class DeviceQueryParam {
     public DeviceStatus getStatus() {
         return status;
     }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public Boolean getIncludeTotal() {
+        return includeTotal;
+    }
+
+    public String getCount() {
+        return count;
+    }
 }
\ No newline at end of file
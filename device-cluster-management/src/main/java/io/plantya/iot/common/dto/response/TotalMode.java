@@ -0,0 +1,11 @@
+package io.plantya.iot.common.dto.response;
+
+/**
+ * How the total of a list response was obtained.
+ */
+public enum TotalMode {
+    NONE,
+    EXACT,
+    ESTIMATED,
+    CACHED
+}
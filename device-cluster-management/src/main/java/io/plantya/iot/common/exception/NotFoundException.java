@@ -4,4 +4,8 @@ public class NotFoundException extends ApiException {
     public NotFoundException(ApiError error) {
         super(error);
     }
+
+    public NotFoundException(ApiError error, String detail) {
+        super(error, detail);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package io.plantya.iot.common.exception;
+
+public class TooManyRequestsException extends ApiException {
+    public TooManyRequestsException(ApiError error) {
+        super(error);
+    }
+}
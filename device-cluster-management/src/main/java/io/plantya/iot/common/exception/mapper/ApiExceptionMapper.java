@@ -5,6 +5,7 @@ import io.plantya.iot.common.exception.ApiException;
 import io.plantya.iot.common.exception.BadRequestException;
 import io.plantya.iot.common.exception.ConflictException;
 import io.plantya.iot.common.exception.NotFoundException;
+import io.plantya.iot.common.exception.TooManyRequestsException;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.UriInfo;
@@ -18,6 +19,7 @@ import java.time.Instant;
 public class ApiExceptionMapper implements ExceptionMapper<ApiException> {
 
     private static final Logger LOG = Logger.getLogger(ApiExceptionMapper.class);
+    private static final int RETRY_AFTER_SECONDS = 1;
 
     @Context
     UriInfo uriInfo;
@@ -51,9 +53,14 @@ public class ApiExceptionMapper implements ExceptionMapper<ApiException> {
                 Instant.now()
         );
 
-        return Response.status(status)
-                .entity(response)
-                .build();
+        Response.ResponseBuilder builder = Response.status(status)
+                .entity(response);
+
+        if (status == Response.Status.TOO_MANY_REQUESTS) {
+            builder.header("Retry-After", RETRY_AFTER_SECONDS);
+        }
+
+        return builder.build();
     }
 
     private Response.Status getStatus(ApiException e) {
@@ -61,6 +68,7 @@ public class ApiExceptionMapper implements ExceptionMapper<ApiException> {
             case BadRequestException ignored -> Response.Status.BAD_REQUEST;
             case NotFoundException ignored -> Response.Status.NOT_FOUND;
             case ConflictException ignored -> Response.Status.CONFLICT;
+            case TooManyRequestsException ignored -> Response.Status.TOO_MANY_REQUESTS;
             default -> Response.Status.INTERNAL_SERVER_ERROR;
         };
     }
@@ -5,6 +5,14 @@ import io.plantya.iot.common.exception.ApiError;
 public enum ErrorMessage implements ApiError {
 
     PAGE_LOWER_THAN_ONE("PAGE_LOWER_THAN_ONE", "page number must be greater than 0"),
+    SIZE_LOWER_THAN_ONE("SIZE_LOWER_THAN_ONE", "page size must be greater than 0"),
+    CURSOR_INVALID("CURSOR_INVALID", "cursor is malformed or does not match the requested sort"),
+    INCLUDE_INVALID("INCLUDE_INVALID", "include must be a comma-separated list of: device_stats"),
+    COUNT_MODE_INVALID("COUNT_MODE_INVALID", "count must be one of: exact, approximate"),
+    EXPORT_FORMAT_INVALID("EXPORT_FORMAT_INVALID", "format must be one of: ndjson, csv"),
+    IDEMPOTENCY_KEY_INVALID("IDEMPOTENCY_KEY_INVALID", "Idempotency-Key must be 1 to 255 characters"),
+    IDEMPOTENCY_KEY_REUSED("IDEMPOTENCY_KEY_REUSED", "Idempotency-Key was already used with a different request"),
+    IDEMPOTENCY_KEY_IN_PROGRESS("IDEMPOTENCY_KEY_IN_PROGRESS", "a request with this Idempotency-Key is still in progress"),
 
     CLUSTER_REQUEST_INVALID("CLUSTER_REQUEST_INVALID", "invalid cluster request"),
     CLUSTER_NAME_REQUIRED("CLUSTER_NAME_REQUIRED", "cluster name is required"),
@@ -21,6 +29,21 @@ public enum ErrorMessage implements ApiError {
     DEVICE_NAME_REQUIRED("DEVICE_NAME_REQUIRED", "device name is required"),
     DEVICE_TYPE_REQUIRED("DEVICE_TYPE_REQUIRED", "device type is required"),
     DEVICE_CLUSTER_REQUIRED("DEVICE_CLUSTER_REQUIRED", "cluster id is required"),
+    DEVICE_BULK_EMPTY("DEVICE_BULK_EMPTY", "devices must contain at least one device"),
+    DEVICE_BULK_TOO_MANY("DEVICE_BULK_TOO_MANY", "too many devices in one request"),
+    DEVICE_BULK_TARGET_INVALID("DEVICE_BULK_TARGET_INVALID", "provide either device_ids or cluster_id, not both"),
+    DEVICE_STATUS_REQUIRED("DEVICE_STATUS_REQUIRED", "status is required"),
+    DEVICE_ID_REQUIRED("DEVICE_ID_REQUIRED", "device id is required for every device"),
+
+    TELEMETRY_REQUEST_INVALID("TELEMETRY_REQUEST_INVALID", "invalid telemetry request"),
+    TELEMETRY_READINGS_REQUIRED("TELEMETRY_READINGS_REQUIRED", "at least one reading is required"),
+    TELEMETRY_READINGS_TOO_MANY("TELEMETRY_READINGS_TOO_MANY", "too many readings in one request"),
+    TELEMETRY_DEVICE_REQUIRED("TELEMETRY_DEVICE_REQUIRED", "device id is required for every reading"),
+    TELEMETRY_METRIC_REQUIRED("TELEMETRY_METRIC_REQUIRED", "metric is required for every reading"),
+    TELEMETRY_FIELD_TOO_LONG("TELEMETRY_FIELD_TOO_LONG", "device id or metric exceeds the maximum length"),
+    TELEMETRY_VALUE_INVALID("TELEMETRY_VALUE_INVALID", "reading value must be a finite number"),
+    TELEMETRY_RECORDED_AT_IN_FUTURE("TELEMETRY_RECORDED_AT_IN_FUTURE", "reading recorded_at is too far in the future"),
+    TELEMETRY_QUEUE_FULL("TELEMETRY_QUEUE_FULL", "telemetry ingestion is saturated, retry later"),
 
     INTERNAL_SERVER_ERROR("INTERNAL_SERVER_ERROR", "internal server error");
 
@@ -0,0 +1,46 @@
+package io.plantya.iot.common.filter;
+
+import io.plantya.iot.common.repository.ReadReplicaTenantResolver;
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.NewCookie;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+
+/**
+ * Pins a client to the primary for {@code read-replica.read-your-writes-window} after each successful write,
+ * so its next reads see what it just wrote even while the replica lags.
+ */
+@Provider
+public class ReadYourWritesFilter implements ContainerResponseFilter {
+
+    @Inject
+    @PersistenceUnitExtension
+    ReadReplicaTenantResolver readReplica;
+
+    @ConfigProperty(name = "read-replica.read-your-writes-window", defaultValue = "5S")
+    Duration window;
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        if (!readReplica.isEnabled()
+                || response.getStatus() >= 400
+                || readReplica.isRead(request.getMethod(), request.getUriInfo().getRequestUri().getPath())) {
+            return;
+        }
+
+        response.getHeaders().add(HttpHeaders.SET_COOKIE, new NewCookie.Builder(ReadReplicaTenantResolver.COOKIE)
+                .value("1")
+                .path("/")
+                .httpOnly(true)
+                .sameSite(NewCookie.SameSite.LAX)
+                .maxAge((int) window.toSeconds())
+                .build());
+    }
+}
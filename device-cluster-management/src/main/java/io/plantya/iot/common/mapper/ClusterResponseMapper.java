@@ -1,21 +1,33 @@
 package io.plantya.iot.common.mapper;
 
 import io.plantya.iot.cluster.dto.response.ClusterCreateResponse;
+import io.plantya.iot.cluster.dto.response.ClusterDeviceStatsResponse;
 import io.plantya.iot.cluster.dto.response.ClusterGetResponse;
 import io.plantya.iot.cluster.dto.response.ClusterListResponse;
 import io.plantya.iot.cluster.dto.response.ClusterUpdateResponse;
 import io.plantya.iot.cluster.entity.Cluster;
-import io.plantya.iot.device.domain.Device;
-import io.plantya.iot.device.dto.response.DeviceListResponse;
-
-import java.util.List;
+import io.plantya.iot.common.dto.query.ClusterSummary;
+import io.plantya.iot.common.dto.query.DeviceStatusCount;
 
 public class ClusterResponseMapper {
 
-    public static ClusterListResponse toClusterListResponse(Cluster cluster) {
+    public static ClusterListResponse toClusterListResponse(ClusterSummary cluster) {
         return new ClusterListResponse(
-                cluster.getClusterId(),
-                cluster.getClusterName()
+                cluster.clusterId(),
+                cluster.clusterName(),
+                null
+        );
+    }
+
+    public static ClusterListResponse toClusterListResponse(ClusterSummary cluster, DeviceStatusCount statusCount) {
+        return new ClusterListResponse(
+                cluster.clusterId(),
+                cluster.clusterName(),
+                new ClusterDeviceStatsResponse(
+                        statusCount.total(),
+                        statusCount.online(),
+                        statusCount.offline()
+                )
         );
     }
 
@@ -35,16 +47,13 @@ public class ClusterResponseMapper {
         );
     }
 
-    public static ClusterGetResponse toClusterGetResponse(Cluster cluster, List<Device> devices) {
-        List<DeviceListResponse> deviceListResponses = devices.stream()
-                .map(DeviceResponseMapper::toDeviceListResponse)
-                .toList();
-
+    public static ClusterGetResponse toClusterGetResponse(Cluster cluster, DeviceStatusCount statusCount) {
         return new ClusterGetResponse(
                 cluster.getClusterId(),
                 cluster.getClusterName(),
-                devices.size(),
-                deviceListResponses
+                statusCount.total(),
+                statusCount.online(),
+                statusCount.offline()
         );
     }
 }
@@ -0,0 +1,36 @@
+package io.plantya.iot.common.repository;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.arc.InjectableInstance;
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import io.quarkus.hibernate.orm.runtime.customized.QuarkusConnectionProvider;
+import io.quarkus.hibernate.orm.runtime.tenant.TenantConnectionResolver;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+
+/**
+ * Connections for the datasource picked by {@link ReadReplicaTenantResolver}: the default datasource for
+ * the primary, the {@code replica} datasource for the replica.
+ */
+@PersistenceUnitExtension
+@ApplicationScoped
+public class ReadReplicaConnectionResolver implements TenantConnectionResolver {
+
+    @Inject
+    AgroalDataSource primary;
+
+    @Inject
+    @DataSource(ReadReplicaTenantResolver.REPLICA)
+    InjectableInstance<AgroalDataSource> replica;
+
+    @Override
+    public ConnectionProvider resolve(String tenantId) {
+        if (ReadReplicaTenantResolver.REPLICA.equals(tenantId)) {
+            return new QuarkusConnectionProvider(replica.get());
+        }
+
+        return new QuarkusConnectionProvider(primary);
+    }
+}
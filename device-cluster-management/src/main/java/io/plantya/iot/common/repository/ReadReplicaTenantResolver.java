@@ -0,0 +1,103 @@
+package io.plantya.iot.common.repository;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import io.quarkus.hibernate.orm.runtime.tenant.TenantResolver;
+import io.quarkus.vertx.http.runtime.CurrentVertxRequest;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Status;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Picks the datasource of each Hibernate session when it opens. A session reads from the replica when
+ * {@code read-replica.enabled} is set, no transaction is active, and the HTTP request is a read: GET, HEAD,
+ * OPTIONS, or a path in {@code read-replica.read-paths}. Everything else, including every
+ * {@code @Transactional} method, runs on the primary.
+ *
+ * <p>A request that must see its own writes is pinned to the primary by the {@value #HEADER} header, or by
+ * the {@value #COOKIE} cookie that {@code ReadYourWritesFilter} sets on responses to writes.
+ */
+@PersistenceUnitExtension
+@ApplicationScoped
+public class ReadReplicaTenantResolver implements TenantResolver {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    public static final String HEADER = "Read-Primary";
+    public static final String COOKIE = "read-primary";
+
+    @ConfigProperty(name = "read-replica.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "read-replica.read-paths")
+    Optional<Set<String>> readPaths;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @Inject
+    CurrentVertxRequest currentVertxRequest;
+
+    @Override
+    public String getDefaultTenantId() {
+        return PRIMARY;
+    }
+
+    @Override
+    public String resolveTenantId() {
+        if (!enabled
+                || transactionRegistry.getTransactionStatus() != Status.STATUS_NO_TRANSACTION
+                || !Arc.container().requestContext().isActive()) {
+            return PRIMARY;
+        }
+
+        RoutingContext context = currentVertxRequest.getCurrent();
+        if (context == null) {
+            return PRIMARY;
+        }
+
+        HttpServerRequest request = context.request();
+        boolean pinnedToPrimary = "true".equalsIgnoreCase(request.getHeader(HEADER)) || request.getCookie(COOKIE) != null;
+        if (pinnedToPrimary || !isRead(request.method().name(), request.path())) {
+            return PRIMARY;
+        }
+
+        return REPLICA;
+    }
+
+    /**
+     * Whether a request only reads; its responses never pin the caller to the primary.
+     */
+    public boolean isRead(String method, String path) {
+        return "GET".equals(method)
+                || "HEAD".equals(method)
+                || "OPTIONS".equals(method)
+                || readPaths.map(paths -> paths.contains(path)).orElse(false);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Keeps replica sessions out of the second-level cache, so rows read during replication lag are never
+     * cached. The primary keeps the cache; replica reads go to the database.
+     */
+    public static void bypassCacheOnReplica(EntityManager entityManager) {
+        Session session = entityManager.unwrap(Session.class);
+        if (REPLICA.equals(session.getTenantIdentifier())) {
+            session.setCacheMode(CacheMode.IGNORE);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package io.plantya.iot.common.repository;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+
+/**
+ * Evicts second-level cache entries for rows changed behind Hibernate's back, e.g. by a native
+ * {@code UPDATE ... RETURNING}. Hibernate only cleans up after JPQL bulk updates and native
+ * {@code executeUpdate}, so native writes read through {@code getResultList} must evict here.
+ *
+ * <p>Entries are evicted right away and again once the transaction completes, so a concurrent reader
+ * cannot put the pre-commit row back into the cache. Cache keys carry the datasource a row was read
+ * from (see {@link ReadReplicaTenantResolver}), so the whole entity region is evicted rather than one key.
+ */
+@ApplicationScoped
+public class SecondLevelCache {
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    public void evict(Class<?> entityClass, String queryRegion) {
+        Cache cache = sessionFactory.getCache();
+        Runnable eviction = () -> {
+            cache.evictEntityData(entityClass);
+            if (queryRegion != null) {
+                cache.evictQueryRegion(queryRegion);
+            }
+        };
+
+        eviction.run();
+        if (transactionRegistry.getTransactionStatus() == Status.STATUS_ACTIVE) {
+            transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
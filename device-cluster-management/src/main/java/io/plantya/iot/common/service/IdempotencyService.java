@@ -0,0 +1,180 @@
+package io.plantya.iot.common.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.plantya.iot.common.dto.query.IdempotentResponse;
+import io.plantya.iot.common.exception.BadRequestException;
+import io.plantya.iot.common.exception.ConflictException;
+import io.plantya.iot.common.exception.InternalErrorException;
+import io.plantya.iot.common.repository.IdempotencyKeyRepository;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static io.plantya.iot.common.exception.message.ErrorMessage.*;
+
+/**
+ * {@code Idempotency-Key} handling for POST endpoints. The first request with a key runs the action and its
+ * response is recorded; retries with the same key and body get that response back without running it again,
+ * and concurrent duplicates wait for the one execution in flight. A failed action records nothing.
+ *
+ * <p>Responses are kept in a bounded cache sized under {@code quarkus.cache.caffeine."idempotency-keys"}.
+ * With {@code idempotency.database.enabled} they are also written to {@code idempotency_keys} in the action's
+ * transaction, so retries that reach another instance are deduplicated too.
+ */
+@ApplicationScoped
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final String CACHE_NAME = "idempotency-keys";
+
+    private static final int KEY_MAX_LENGTH = 255;
+
+    @Inject
+    @CacheName(CACHE_NAME)
+    Cache cache;
+
+    @Inject
+    IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "idempotency.database.enabled", defaultValue = "false")
+    boolean databaseEnabled;
+
+    @ConfigProperty(name = "idempotency.database.retention", defaultValue = "24H")
+    Duration retention;
+
+    private final Logger LOG = Logger.getLogger(IdempotencyService.class);
+
+    record Key(String scope, String idempotencyKey) {
+    }
+
+    /**
+     * @param scope          names the endpoint, so one key can be used against different endpoints
+     * @param idempotencyKey the header value; the action simply runs when it is null
+     * @param request        the request body, fingerprinted to reject a key reused with a different body
+     * @param action         runs the endpoint and builds its JSON response
+     */
+    public Response execute(String scope, String idempotencyKey, Object request, Supplier<Response> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > KEY_MAX_LENGTH) {
+            throw new BadRequestException(IDEMPOTENCY_KEY_INVALID);
+        }
+
+        String fingerprint = fingerprint(request);
+        AtomicReference<Response> executed = new AtomicReference<>();
+
+        IdempotentResponse recorded = cache.<Key, IdempotentResponse>get(
+                new Key(scope, idempotencyKey),
+                key -> databaseEnabled
+                        ? QuarkusTransaction.joiningExisting().call(() -> executeOnce(key, fingerprint, action, executed))
+                        : record(fingerprint, run(action, executed))
+        ).await().indefinitely();
+
+        if (executed.get() != null) {
+            return executed.get();
+        }
+
+        if (!recorded.fingerprint().equals(fingerprint)) {
+            LOG.warnf("Idempotency key reused with a different request: scope=%s, key=%s", scope, idempotencyKey);
+            throw new ConflictException(IDEMPOTENCY_KEY_REUSED);
+        }
+
+        LOG.debugf("Replaying recorded response: scope=%s, key=%s", scope, idempotencyKey);
+        return Response.status(recorded.status())
+                .entity(recorded.body())
+                .type(MediaType.APPLICATION_JSON)
+                .header(REPLAYED_HEADER, "true")
+                .build();
+    }
+
+    @Scheduled(
+            identity = "idempotency-key-purge",
+            every = "${idempotency.database.purge-interval:1h}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP
+    )
+    void purgeExpiredKeys() {
+        if (!databaseEnabled) {
+            return;
+        }
+
+        int deleted = idempotencyKeyRepository.deleteExpired(Instant.now().minus(retention));
+        if (deleted > 0) {
+            LOG.infof("Expired idempotency keys purged: count=%d", deleted);
+        }
+    }
+
+    // ===== HELPER ===== //
+    /**
+     * Claims the key, runs the action and records its response in one transaction. A key claimed by another
+     * instance blocks the claim until that transaction ends; its committed response is returned instead.
+     */
+    private IdempotentResponse executeOnce(
+            Key key,
+            String fingerprint,
+            Supplier<Response> action,
+            AtomicReference<Response> executed
+    ) {
+        Instant now = Instant.now();
+        if (!idempotencyKeyRepository.claim(key.scope(), key.idempotencyKey(), fingerprint, now, now.minus(retention))) {
+            return idempotencyKeyRepository.findCompleted(key.scope(), key.idempotencyKey())
+                    .orElseThrow(() -> new ConflictException(IDEMPOTENCY_KEY_IN_PROGRESS));
+        }
+
+        IdempotentResponse response = record(fingerprint, run(action, executed));
+        idempotencyKeyRepository.complete(key.scope(), key.idempotencyKey(), response);
+        return response;
+    }
+
+    private Response run(Supplier<Response> action, AtomicReference<Response> executed) {
+        Response response = action.get();
+        executed.set(response);
+        return response;
+    }
+
+    private IdempotentResponse record(String fingerprint, Response response) {
+        return new IdempotentResponse(fingerprint, response.getStatus(), toJson(response.getEntity()));
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(toJson(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            LOG.errorf(e, "Idempotent request or response not serializable: type=%s",
+                    value == null ? null : value.getClass().getName());
+            throw new InternalErrorException(INTERNAL_SERVER_ERROR);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.plantya.iot.common.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.plantya.iot.common.repository.ReadReplicaTenantResolver;
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical reads: while one caller computes the result for an endpoint and key, later
+ * callers with the same endpoint and key wait for it instead of computing their own. Nothing is kept once the
+ * computation completes: a caller arriving after that starts a new computation rather than reusing a finished
+ * one. A failure, an {@link Error} included, is rethrown to every waiting caller.
+ *
+ * <p>Only endpoints listed in {@code single-flight.endpoints} are coalesced. Callers are counted in
+ * {@code single_flight_requests_total}, tagged with the endpoint and whether they computed or waited.
+ */
+@ApplicationScoped
+public class SingleFlight {
+
+    public static final String CLUSTER_DETAIL = "cluster-detail";
+    public static final String CLUSTER_LIST = "cluster-list";
+    public static final String DEVICE_DETAIL = "device-detail";
+    public static final String DEVICE_LIST = "device-list";
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    @PersistenceUnitExtension
+    ReadReplicaTenantResolver readReplica;
+
+    @ConfigProperty(name = "single-flight.endpoints", defaultValue = CLUSTER_DETAIL + "," + CLUSTER_LIST + "," + DEVICE_DETAIL + "," + DEVICE_LIST)
+    Set<String> endpoints;
+
+    private final Logger LOG = Logger.getLogger(SingleFlight.class);
+
+    private final ConcurrentHashMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Reads pinned to the primary never wait on a replica read, nor the other way round.
+     */
+    record Key(String endpoint, Object key, String datasource) {
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String endpoint, Object key, Supplier<T> loader) {
+        if (!endpoints.contains(endpoint)) {
+            return loader.get();
+        }
+
+        Key flightKey = new Key(endpoint, key, readReplica.resolveTenantId());
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+
+        if (existing != null) {
+            counter(endpoint, "coalesced").increment();
+            LOG.debugf("Read coalesced: endpoint=%s, key=%s", endpoint, key);
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        counter(endpoint, "executed").increment();
+        try {
+            T value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // Any failure must complete the flight, or its waiters would block forever
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    // ===== HELPER ===== //
+    private Counter counter(String endpoint, String outcome) {
+        return meterRegistry.counter("single_flight.requests", "endpoint", endpoint, "outcome", outcome);
+    }
+}
@@ -0,0 +1,74 @@
+package io.plantya.iot.common.service;
+
+import io.plantya.iot.common.dto.query.TotalCount;
+import io.plantya.iot.common.dto.response.TotalMode;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.util.OptionalLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Approximate list totals. Unfiltered lists use the planner's row estimate, which costs no scan;
+ * filtered lists use an exact count cached for {@code quarkus.cache.caffeine."list-total-counts".expire-after-write}.
+ */
+@ApplicationScoped
+public class TotalCountService {
+
+    public static final String CACHE_NAME = "list-total-counts";
+
+    @Inject
+    @CacheName(CACHE_NAME)
+    Cache cache;
+
+    private final Logger LOG = Logger.getLogger(TotalCountService.class);
+
+    /**
+     * @param cacheKey identifies the filter, not the page; must implement equals and hashCode
+     * @param filtered whether the list has predicates beyond the live-row filter
+     * @param exact    exact count of the filtered list
+     * @param estimate planner estimate of the unfiltered list
+     */
+    public TotalCount approximate(Object cacheKey, boolean filtered, LongSupplier exact, Supplier<OptionalLong> estimate) {
+        if (!filtered) {
+            OptionalLong estimated = estimate.get();
+            if (estimated.isPresent()) {
+                return new TotalCount(estimated.getAsLong(), TotalMode.ESTIMATED);
+            }
+            LOG.debugf("No planner estimate available, falling back to cached count: key=%s", cacheKey);
+        }
+
+        Long total = cache.<Object, Long>get(cacheKey, key -> exact.getAsLong())
+                .await().indefinitely();
+        return new TotalCount(total, TotalMode.CACHED);
+    }
+
+    /**
+     * Non-blocking {@link #approximate}, for the reactive read path.
+     */
+    public Uni<TotalCount> approximateAsync(
+            Object cacheKey,
+            boolean filtered,
+            Supplier<Uni<Long>> exact,
+            Supplier<Uni<OptionalLong>> estimate
+    ) {
+        Uni<OptionalLong> estimated = filtered ? Uni.createFrom().item(OptionalLong.empty()) : estimate.get();
+
+        return estimated.chain(rows -> {
+            if (rows.isPresent()) {
+                return Uni.createFrom().item(new TotalCount(rows.getAsLong(), TotalMode.ESTIMATED));
+            }
+            if (!filtered) {
+                LOG.debugf("No planner estimate available, falling back to cached count: key=%s", cacheKey);
+            }
+
+            return cache.<Object, Long>getAsync(cacheKey, key -> exact.get())
+                    .map(total -> new TotalCount(total, TotalMode.CACHED));
+        });
+    }
+}
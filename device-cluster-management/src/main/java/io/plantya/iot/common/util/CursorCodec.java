@@ -0,0 +1,49 @@
+package io.plantya.iot.common.util;
+
+import io.plantya.iot.common.dto.param.DeviceCursor;
+import io.plantya.iot.common.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+import static io.plantya.iot.common.exception.message.ErrorMessage.CURSOR_INVALID;
+
+public class CursorCodec {
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+    private static final Pattern SEPARATOR_PATTERN = Pattern.compile(Pattern.quote(SEPARATOR));
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public static String encode(DeviceCursor cursor) {
+        String raw = String.join(
+                SEPARATOR,
+                VERSION,
+                cursor.sort(),
+                cursor.order(),
+                Long.toString(cursor.id()),
+                cursor.value()
+        );
+
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static DeviceCursor decode(String token) {
+        try {
+            String raw = new String(DECODER.decode(token), StandardCharsets.UTF_8);
+
+            // value goes last so it may contain the separator itself
+            String[] parts = SEPARATOR_PATTERN.split(raw, 5);
+            if (parts.length != 5 || !VERSION.equals(parts[0])) {
+                throw new BadRequestException(CURSOR_INVALID);
+            }
+
+            return new DeviceCursor(parts[1], parts[2], parts[4], Long.parseLong(parts[3]));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(CURSOR_INVALID);
+        }
+    }
+}
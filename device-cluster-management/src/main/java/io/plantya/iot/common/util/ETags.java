@@ -0,0 +1,72 @@
+package io.plantya.iot.common.util;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+/**
+ * Weak ETags for conditional GETs.
+ *
+ * <p>A version is a 64-bit FNV-1a hash over the string form of its parts. Callers pass cheap
+ * values that change whenever the response would (timestamps, counts, query parameters), so a
+ * matching {@code If-None-Match} is answered with 304 before the response is loaded or serialized.
+ */
+public class ETags {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final byte SEPARATOR = 0x1f;
+
+    public static String version(Object... parts) {
+        long hash = FNV_OFFSET_BASIS;
+        for (Object part : parts) {
+            for (byte b : String.valueOf(part).getBytes(StandardCharsets.UTF_8)) {
+                hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+            }
+            hash = (hash ^ SEPARATOR) * FNV_PRIME;
+        }
+
+        return Long.toHexString(hash);
+    }
+
+    /**
+     * Answers 304 when the request's {@code If-None-Match} matches {@code version}, otherwise 200 with
+     * the body and the ETag. A null version (resource missing or gone) skips the check, so the body
+     * supplier can raise the usual error.
+     */
+    public static Response conditional(Request request, String version, Supplier<?> body) {
+        if (version == null) {
+            return Response.ok(body.get()).build();
+        }
+
+        EntityTag tag = new EntityTag(version, true);
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return notModified.tag(tag).build();
+        }
+
+        return Response.ok(body.get()).tag(tag).build();
+    }
+
+    /**
+     * {@link #conditional} for the reactive read path: the body is only subscribed to when the
+     * precondition does not answer 304.
+     */
+    public static Uni<Response> conditionalAsync(Request request, String version, Supplier<Uni<?>> body) {
+        if (version == null) {
+            return body.get().map(entity -> Response.ok(entity).build());
+        }
+
+        EntityTag tag = new EntityTag(version, true);
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return Uni.createFrom().item(notModified.tag(tag).build());
+        }
+
+        return body.get().map(entity -> Response.ok(entity).tag(tag).build());
+    }
+}
@@ -0,0 +1,23 @@
+package io.plantya.iot.common.util;
+
+public class LikePattern {
+
+    public static final char ESCAPE = '\\';
+
+    /**
+     * Builds a lower-cased {@code %term%} pattern with LIKE wildcards in the term escaped,
+     * so user input such as {@code 50%} is matched literally.
+     */
+    public static String contains(String term) {
+        StringBuilder pattern = new StringBuilder(term.length() + 2).append('%');
+
+        for (char c : term.toLowerCase().toCharArray()) {
+            if (c == '%' || c == '_' || c == ESCAPE) {
+                pattern.append(ESCAPE);
+            }
+            pattern.append(c);
+        }
+
+        return pattern.append('%').toString();
+    }
+}
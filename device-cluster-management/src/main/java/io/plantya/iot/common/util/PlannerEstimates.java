@@ -0,0 +1,33 @@
+package io.plantya.iot.common.util;
+
+import jakarta.persistence.EntityManager;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class PlannerEstimates {
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    /**
+     * Row estimate of the top plan node for a native query, from table statistics and without
+     * executing it. Only as fresh as the last ANALYZE; empty when the plan cannot be read.
+     */
+    public static OptionalLong estimateRows(EntityManager entityManager, String sql) {
+        return parseRows(entityManager.createNativeQuery("EXPLAIN " + sql).getResultList());
+    }
+
+    /**
+     * Row estimate of the top plan node from the lines of an {@code EXPLAIN} result.
+     */
+    public static OptionalLong parseRows(List<?> plan) {
+        if (plan.isEmpty()) {
+            return OptionalLong.empty();
+        }
+
+        Matcher matcher = PLAN_ROWS.matcher(String.valueOf(plan.getFirst()));
+        return matcher.find() ? OptionalLong.of(Long.parseLong(matcher.group(1))) : OptionalLong.empty();
+    }
+}
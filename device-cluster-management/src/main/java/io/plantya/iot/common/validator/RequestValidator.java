@@ -2,13 +2,79 @@ package io.plantya.iot.common.validator;
 
 import io.plantya.iot.cluster.dto.request.ClusterCreateRequest;
 import io.plantya.iot.cluster.dto.request.ClusterUpdateRequest;
+import io.plantya.iot.common.dto.param.CountMode;
 import io.plantya.iot.common.exception.BadRequestException;
+import io.plantya.iot.device.domain.DeviceExportFormat;
+import io.plantya.iot.device.dto.request.DeviceBulkCreateRequest;
+import io.plantya.iot.device.dto.request.DeviceBulkMoveRequest;
+import io.plantya.iot.device.dto.request.DeviceBulkStatusRequest;
 import io.plantya.iot.device.dto.request.DeviceCreateRequest;
+import io.plantya.iot.telemetry.dto.request.TelemetryBatchReadingRequest;
+import io.plantya.iot.telemetry.dto.request.TelemetryBatchRequest;
+import io.plantya.iot.telemetry.dto.request.TelemetryIngestRequest;
+import io.plantya.iot.telemetry.dto.request.TelemetryReadingRequest;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import static io.plantya.iot.common.exception.message.ErrorMessage.*;
 
 public class RequestValidator {
 
+    // Column widths of device_telemetry; a single oversized value would fail the whole flushed batch
+    private static final int DEVICE_ID_MAX_LENGTH = 20;
+    private static final int METRIC_MAX_LENGTH = 64;
+
+    public static final String INCLUDE_DEVICE_STATS = "device_stats";
+    private static final Set<String> CLUSTER_INCLUDES = Set.of(INCLUDE_DEVICE_STATS);
+
+    public static Set<String> validateClusterInclude(String include) {
+        if (isBlank(include)) {
+            return Set.of();
+        }
+
+        Set<String> includes = new HashSet<>();
+        for (String value : include.split(",")) {
+            String trimmed = value.trim();
+            if (!CLUSTER_INCLUDES.contains(trimmed)) {
+                throw new BadRequestException(INCLUDE_INVALID);
+            }
+            includes.add(trimmed);
+        }
+
+        return includes;
+    }
+
+    public static CountMode validateCountMode(String count) {
+        if (isBlank(count)) {
+            return CountMode.EXACT;
+        }
+
+        for (CountMode mode : CountMode.values()) {
+            if (mode.name().equalsIgnoreCase(count.trim())) {
+                return mode;
+            }
+        }
+
+        throw new BadRequestException(COUNT_MODE_INVALID);
+    }
+
+    public static DeviceExportFormat validateExportFormat(String format) {
+        if (isBlank(format)) {
+            return DeviceExportFormat.NDJSON;
+        }
+
+        for (DeviceExportFormat exportFormat : DeviceExportFormat.values()) {
+            if (exportFormat.getValue().equalsIgnoreCase(format.trim())) {
+                return exportFormat;
+            }
+        }
+
+        throw new BadRequestException(EXPORT_FORMAT_INVALID);
+    }
+
     public static void validateDeviceCreateRequest(DeviceCreateRequest request) {
         if (request == null) {
             throw new BadRequestException(DEVICE_REQUEST_INVALID);
@@ -27,6 +93,56 @@ public class RequestValidator {
         }
     }
 
+    public static void validateDeviceBulkCreateRequest(DeviceBulkCreateRequest request, int maxDevices) {
+        if (request == null) {
+            throw new BadRequestException(DEVICE_REQUEST_INVALID);
+        }
+
+        if (request.devices() == null || request.devices().isEmpty()) {
+            throw new BadRequestException(DEVICE_BULK_EMPTY);
+        }
+
+        if (request.devices().size() > maxDevices) {
+            throw new BadRequestException(DEVICE_BULK_TOO_MANY);
+        }
+
+        for (DeviceCreateRequest device : request.devices()) {
+            validateDeviceCreateRequest(device);
+        }
+    }
+
+    public static void validateDeviceBulkStatusRequest(DeviceBulkStatusRequest request, int maxDevices) {
+        if (request == null) {
+            throw new BadRequestException(DEVICE_REQUEST_INVALID);
+        }
+
+        if (request.status() == null) {
+            throw new BadRequestException(DEVICE_STATUS_REQUIRED);
+        }
+
+        boolean byCluster = !isBlank(request.clusterId());
+        boolean byDevices = request.deviceIds() != null;
+        if (byCluster == byDevices) {
+            throw new BadRequestException(DEVICE_BULK_TARGET_INVALID);
+        }
+
+        if (byDevices) {
+            validateDeviceIds(request.deviceIds(), maxDevices);
+        }
+    }
+
+    public static void validateDeviceBulkMoveRequest(DeviceBulkMoveRequest request, int maxDevices) {
+        if (request == null) {
+            throw new BadRequestException(DEVICE_REQUEST_INVALID);
+        }
+
+        if (isBlank(request.targetClusterId())) {
+            throw new BadRequestException(DEVICE_CLUSTER_REQUIRED);
+        }
+
+        validateDeviceIds(request.deviceIds(), maxDevices);
+    }
+
     public static void validateClusterCreateRequest(ClusterCreateRequest request) {
         if (request.clusterName() == null ) {
             throw new BadRequestException(CLUSTER_REQUEST_INVALID);
@@ -43,7 +159,102 @@ public class RequestValidator {
         }
     }
 
+    /**
+     * @param latestRecordedAt latest accepted {@code recorded_at}; later readings would land in the DEFAULT partition
+     *                         and block creating the monthly partition they belong to
+     */
+    public static void validateTelemetryIngestRequest(
+            String deviceId,
+            TelemetryIngestRequest request,
+            int maxReadings,
+            Instant latestRecordedAt
+    ) {
+        if (request == null) {
+            throw new BadRequestException(TELEMETRY_REQUEST_INVALID);
+        }
+
+        if (deviceId.length() > DEVICE_ID_MAX_LENGTH) {
+            throw new BadRequestException(TELEMETRY_FIELD_TOO_LONG);
+        }
+
+        validateReadingCount(request.readings(), maxReadings);
+
+        for (TelemetryReadingRequest reading : request.readings()) {
+            if (reading == null) {
+                throw new BadRequestException(TELEMETRY_REQUEST_INVALID);
+            }
+            validateReading(reading.metric(), reading.value(), reading.recordedAt(), latestRecordedAt);
+        }
+    }
+
+    public static void validateTelemetryBatchRequest(TelemetryBatchRequest request, int maxReadings, Instant latestRecordedAt) {
+        if (request == null) {
+            throw new BadRequestException(TELEMETRY_REQUEST_INVALID);
+        }
+
+        validateReadingCount(request.readings(), maxReadings);
+
+        for (TelemetryBatchReadingRequest reading : request.readings()) {
+            if (reading == null) {
+                throw new BadRequestException(TELEMETRY_REQUEST_INVALID);
+            }
+
+            if (isBlank(reading.deviceId())) {
+                throw new BadRequestException(TELEMETRY_DEVICE_REQUIRED);
+            }
+
+            if (reading.deviceId().length() > DEVICE_ID_MAX_LENGTH) {
+                throw new BadRequestException(TELEMETRY_FIELD_TOO_LONG);
+            }
+            validateReading(reading.metric(), reading.value(), reading.recordedAt(), latestRecordedAt);
+        }
+    }
+
     // ===== HELPER ===== //
+    private static void validateReadingCount(List<?> readings, int maxReadings) {
+        if (readings == null || readings.isEmpty()) {
+            throw new BadRequestException(TELEMETRY_READINGS_REQUIRED);
+        }
+
+        if (readings.size() > maxReadings) {
+            throw new BadRequestException(TELEMETRY_READINGS_TOO_MANY);
+        }
+    }
+
+    private static void validateDeviceIds(List<String> deviceIds, int maxDevices) {
+        if (deviceIds == null || deviceIds.isEmpty()) {
+            throw new BadRequestException(DEVICE_BULK_EMPTY);
+        }
+
+        if (deviceIds.size() > maxDevices) {
+            throw new BadRequestException(DEVICE_BULK_TOO_MANY);
+        }
+
+        for (String deviceId : deviceIds) {
+            if (isBlank(deviceId)) {
+                throw new BadRequestException(DEVICE_ID_REQUIRED);
+            }
+        }
+    }
+
+    private static void validateReading(String metric, Double value, Instant recordedAt, Instant latestRecordedAt) {
+        if (isBlank(metric)) {
+            throw new BadRequestException(TELEMETRY_METRIC_REQUIRED);
+        }
+
+        if (metric.length() > METRIC_MAX_LENGTH) {
+            throw new BadRequestException(TELEMETRY_FIELD_TOO_LONG);
+        }
+
+        if (value == null || !Double.isFinite(value)) {
+            throw new BadRequestException(TELEMETRY_VALUE_INVALID);
+        }
+
+        if (recordedAt != null && recordedAt.isAfter(latestRecordedAt)) {
+            throw new BadRequestException(TELEMETRY_RECORDED_AT_IN_FUTURE);
+        }
+    }
+
     private static boolean isBlank(String value) {
         return value == null || value.trim().isEmpty();
     }
@@ -2,17 +2,35 @@ package io.plantya.iot.device.controller;
 
 import io.plantya.iot.common.dto.param.DeviceParam;
 import io.plantya.iot.common.dto.request.DeviceQueryParam;
+import io.plantya.iot.common.service.IdempotencyService;
+import io.plantya.iot.common.validator.RequestValidator;
+import io.plantya.iot.device.domain.DeviceEvent;
+import io.plantya.iot.device.domain.DeviceExportFormat;
+import io.plantya.iot.device.dto.request.DeviceBulkCreateRequest;
+import io.plantya.iot.device.dto.request.DeviceBulkMoveRequest;
+import io.plantya.iot.device.dto.request.DeviceBulkStatusRequest;
 import io.plantya.iot.device.dto.request.DeviceCreateRequest;
 import io.plantya.iot.device.dto.request.DeviceUpdateRequest;
+import io.plantya.iot.device.dto.response.DeviceBulkCreateResponse;
+import io.plantya.iot.device.dto.response.DeviceBulkUpdateResponse;
 import io.plantya.iot.device.dto.response.DeviceCreateResponse;
-import io.plantya.iot.device.dto.response.DeviceGetResponse;
 import io.plantya.iot.device.dto.response.DeviceUpdateResponse;
-import io.plantya.iot.device.dto.response.PagedDeviceResponse;
+import io.plantya.iot.device.service.DeviceEventBroadcaster;
+import io.plantya.iot.device.service.DeviceExportService;
+import io.plantya.iot.device.service.DeviceHeartbeatService;
 import io.plantya.iot.device.service.DeviceService;
+import io.plantya.iot.telemetry.dto.request.TelemetryBatchRequest;
+import io.plantya.iot.telemetry.dto.request.TelemetryIngestRequest;
+import io.plantya.iot.telemetry.dto.response.TelemetryAcceptedResponse;
+import io.plantya.iot.telemetry.service.TelemetryService;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import io.smallrye.mutiny.Multi;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.jboss.resteasy.reactive.RestStreamElementType;
 
 @Path("/api/devices")
 @Consumes(MediaType.APPLICATION_JSON)
@@ -22,42 +40,134 @@ public class DeviceController {
     @Inject
     DeviceService deviceService;
 
+    @Inject
+    DeviceHeartbeatService deviceHeartbeatService;
+
+    @Inject
+    DeviceExportService deviceExportService;
+
+    @Inject
+    DeviceEventBroadcaster deviceEventBroadcaster;
+
+    @Inject
+    TelemetryService telemetryService;
+
+    @Inject
+    IdempotencyService idempotencyService;
+
     @GET
-    public Response findAllExistingDevices(@BeanParam DeviceQueryParam queryParam) {
+    @Path("/export")
+    @Produces({"application/x-ndjson", "text/csv", MediaType.APPLICATION_JSON})
+    @RunOnVirtualThread
+    public Response exportDevices(@BeanParam DeviceQueryParam queryParam, @QueryParam("format") String format) {
+        DeviceExportFormat exportFormat = RequestValidator.validateExportFormat(format);
         DeviceParam deviceParam = new DeviceParam(
                 queryParam.getPage(),
                 queryParam.getSize(),
                 queryParam.getSearch(),
                 queryParam.getSort(),
                 queryParam.getOrder(),
-                queryParam.getStatus()
+                queryParam.getStatus(),
+                null,
+                false,
+                null,
+                null
         );
 
-        PagedDeviceResponse response = deviceService.findAllExistingDevices(deviceParam);
-        return Response.status(Response.Status.OK)
+        StreamingOutput body = output -> deviceExportService.export(deviceParam, exportFormat, output);
+        return Response.ok(body, exportFormat.getMediaType())
+                .header("Content-Disposition", "attachment; filename=\"devices." + exportFormat.getValue() + "\"")
+                .build();
+    }
+
+    @GET
+    @Path("/events")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    public Multi<DeviceEvent> streamDeviceEvents(@QueryParam("cluster_id") String clusterId) {
+        return deviceEventBroadcaster.subscribe(clusterId);
+    }
+
+    @POST
+    @RunOnVirtualThread
+    public Response createDevice(
+            @HeaderParam(IdempotencyService.HEADER) String idempotencyKey,
+            DeviceCreateRequest request
+    ) {
+        return idempotencyService.execute("POST /api/devices", idempotencyKey, request, () -> {
+            DeviceCreateResponse response = deviceService.createDevice(request);
+            return Response.status(Response.Status.CREATED)
+                    .entity(response)
+                    .build();
+        });
+    }
+
+    @POST
+    @Path("/telemetry")
+    @RunOnVirtualThread
+    public Response ingestTelemetryBatch(TelemetryBatchRequest request) {
+        TelemetryAcceptedResponse response = telemetryService.ingestBatch(request);
+        return Response.status(Response.Status.ACCEPTED)
                 .entity(response)
                 .build();
     }
 
     @POST
-    public Response createDevice(DeviceCreateRequest request) {
-        DeviceCreateResponse response = deviceService.createDevice(request);
-        return Response.status(Response.Status.CREATED)
+    @Path("/bulk")
+    @RunOnVirtualThread
+    public Response createDevices(
+            @HeaderParam(IdempotencyService.HEADER) String idempotencyKey,
+            DeviceBulkCreateRequest request
+    ) {
+        return idempotencyService.execute("POST /api/devices/bulk", idempotencyKey, request, () -> {
+            DeviceBulkCreateResponse response = deviceService.createDevices(request);
+            return Response.status(Response.Status.CREATED)
+                    .entity(response)
+                    .build();
+        });
+    }
+
+    @PATCH
+    @Path("/bulk/status")
+    @RunOnVirtualThread
+    public Response updateDevicesStatus(DeviceBulkStatusRequest request) {
+        DeviceBulkUpdateResponse response = deviceService.updateDevicesStatus(request);
+        return Response.status(Response.Status.OK)
                 .entity(response)
                 .build();
     }
 
-    @GET
-    @Path("/{deviceId}")
-    public Response findDeviceById(@PathParam("deviceId") String deviceId) {
-        DeviceGetResponse response = deviceService.findDeviceByDeviceId(deviceId);
+    @PATCH
+    @Path("/bulk/cluster")
+    @RunOnVirtualThread
+    public Response moveDevices(DeviceBulkMoveRequest request) {
+        DeviceBulkUpdateResponse response = deviceService.moveDevices(request);
         return Response.status(Response.Status.OK)
                 .entity(response)
                 .build();
     }
 
+    @POST
+    @Path("/{deviceId}/heartbeat")
+    @RunOnVirtualThread
+    public Response heartbeat(@PathParam("deviceId") String deviceId) {
+        deviceHeartbeatService.heartbeat(deviceId);
+        return Response.noContent().build();
+    }
+
+    @POST
+    @Path("/{deviceId}/telemetry")
+    @RunOnVirtualThread
+    public Response ingestTelemetry(@PathParam("deviceId") String deviceId, TelemetryIngestRequest request) {
+        TelemetryAcceptedResponse response = telemetryService.ingest(deviceId, request);
+        return Response.status(Response.Status.ACCEPTED)
+                .entity(response)
+                .build();
+    }
+
     @PATCH
     @Path("/{deviceId}")
+    @RunOnVirtualThread
     public Response updateDevice(@PathParam("deviceId") String deviceId, DeviceUpdateRequest request) {
         DeviceUpdateResponse response = deviceService.updateDevice(deviceId, request);
         return Response.status(Response.Status.OK)
@@ -67,6 +177,7 @@ public class DeviceController {
 
     @DELETE
     @Path("/{deviceId}")
+    @RunOnVirtualThread
     public Response deleteDevice(@PathParam("deviceId") String deviceId) {
         deviceService.deleteDevice(deviceId);
         return Response.status(Response.Status.NO_CONTENT).build();
@@ -0,0 +1,105 @@
+package io.plantya.iot.device.controller;
+
+import io.plantya.iot.common.dto.param.DeviceParam;
+import io.plantya.iot.common.dto.query.PageVersion;
+import io.plantya.iot.common.dto.request.DeviceQueryParam;
+import io.plantya.iot.common.service.SingleFlight;
+import io.plantya.iot.common.util.ETags;
+import io.plantya.iot.common.validator.RequestValidator;
+import io.plantya.iot.device.dto.response.CursorDeviceResponse;
+import io.plantya.iot.device.dto.response.PagedDeviceResponse;
+import io.plantya.iot.device.service.DeviceService;
+import io.quarkus.arc.profile.UnlessBuildProfile;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Blocking device reads. The {@code reactive} build profile replaces this resource with
+ * {@link ReactiveDeviceReadController}.
+ */
+@Path("/api/devices")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+@UnlessBuildProfile("reactive")
+public class DeviceReadController {
+
+    @Inject
+    DeviceService deviceService;
+
+    @Inject
+    SingleFlight singleFlight;
+
+    @GET
+    @RunOnVirtualThread
+    public Response findAllExistingDevices(
+            @BeanParam DeviceQueryParam queryParam,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+            @Context Request request
+    ) {
+        DeviceParam deviceParam = new DeviceParam(
+                queryParam.getPage(),
+                queryParam.getSize(),
+                queryParam.getSearch(),
+                queryParam.getSort(),
+                queryParam.getOrder(),
+                queryParam.getStatus(),
+                queryParam.getCursor(),
+                queryParam.getIncludeTotal(),
+                RequestValidator.validateCountMode(queryParam.getCount()),
+                null
+        );
+
+        // Nothing to compare against: load the page once and tag it with the version of its own rows
+        if (ifNoneMatch == null) {
+            if (deviceParam.cursor() != null) {
+                CursorDeviceResponse response = singleFlight.execute(
+                        SingleFlight.DEVICE_LIST,
+                        deviceParam,
+                        () -> deviceService.findExistingDevicesByCursor(deviceParam)
+                );
+                return ETags.conditional(request, DeviceService.versionOf(deviceParam, response), () -> response);
+            }
+
+            PagedDeviceResponse response = singleFlight.execute(
+                    SingleFlight.DEVICE_LIST,
+                    deviceParam,
+                    () -> deviceService.findAllExistingDevices(deviceParam)
+            );
+            return ETags.conditional(request, DeviceService.versionOf(deviceParam, response), () -> response);
+        }
+
+        PageVersion version = deviceService.findDevicesVersion(deviceParam);
+
+        if (deviceParam.cursor() != null) {
+            return ETags.conditional(request, version.version(), () -> singleFlight.execute(
+                    SingleFlight.DEVICE_LIST,
+                    deviceParam,
+                    () -> deviceService.findExistingDevicesByCursor(deviceParam, version.totalCount())
+            ));
+        }
+
+        return ETags.conditional(request, version.version(), () -> singleFlight.execute(
+                SingleFlight.DEVICE_LIST,
+                deviceParam,
+                () -> deviceService.findAllExistingDevices(deviceParam, version.totalCount())
+        ));
+    }
+
+    @GET
+    @Path("/{deviceId}")
+    @RunOnVirtualThread
+    public Response findDeviceById(@PathParam("deviceId") String deviceId, @Context Request request) {
+        String version = deviceService.findDeviceVersion(deviceId);
+        return ETags.conditional(request, version, () -> singleFlight.execute(
+                SingleFlight.DEVICE_DETAIL,
+                deviceId,
+                () -> deviceService.findDeviceByDeviceId(deviceId)
+        ));
+    }
+}
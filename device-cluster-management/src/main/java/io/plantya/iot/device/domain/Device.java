@@ -47,6 +47,13 @@ public class Device {
     @Column(name = "deleted_at")
     private Instant deletedAt;
 
+    /**
+     * Lower-cased search haystack
+     * Generated by database (V1_3)
+     */
+    @Column(name = "search_text", insertable = false, updatable = false)
+    private String searchText;
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = Instant.now();
@@ -0,0 +1,11 @@
+package io.plantya.iot.device.domain;
+
+/**
+ * Per-device result of a bulk write. {@code UNCHANGED} devices already had the requested value.
+ */
+public enum DeviceBulkOutcome {
+    UPDATED,
+    UNCHANGED,
+    NOT_FOUND,
+    DELETED
+}
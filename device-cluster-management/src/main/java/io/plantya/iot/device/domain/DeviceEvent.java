@@ -0,0 +1,14 @@
+package io.plantya.iot.device.domain;
+
+import java.time.Instant;
+
+/**
+ * A committed change to a device, pushed to event subscribers. {@code status} is null for deletions.
+ */
+public record DeviceEvent(
+        DeviceEventType type,
+        String deviceId,
+        String clusterId,
+        DeviceStatus status,
+        Instant occurredAt
+) {}
@@ -0,0 +1,8 @@
+package io.plantya.iot.device.domain;
+
+public enum DeviceEventType {
+    CREATED,
+    UPDATED,
+    STATUS_CHANGED,
+    DELETED
+}
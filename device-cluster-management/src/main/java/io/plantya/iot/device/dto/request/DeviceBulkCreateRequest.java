@@ -0,0 +1,9 @@
+package io.plantya.iot.device.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public record DeviceBulkCreateRequest(
+        @JsonProperty("devices") List<DeviceCreateRequest> devices
+) {}
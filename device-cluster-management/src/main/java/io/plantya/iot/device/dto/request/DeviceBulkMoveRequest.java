@@ -0,0 +1,10 @@
+package io.plantya.iot.device.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public record DeviceBulkMoveRequest(
+        @JsonProperty("device_ids") List<String> deviceIds,
+        @JsonProperty("target_cluster_id") String targetClusterId
+) {}
@@ -0,0 +1,12 @@
+package io.plantya.iot.device.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.plantya.iot.device.domain.DeviceStatus;
+
+import java.util.List;
+
+public record DeviceBulkStatusRequest(
+        @JsonProperty("device_ids") List<String> deviceIds,
+        @JsonProperty("cluster_id") String clusterId,
+        @JsonProperty("status") DeviceStatus status
+) {}
@@ -0,0 +1,14 @@
+package io.plantya.iot.device.dto.response;
+
+import io.plantya.iot.common.dto.response.TotalMode;
+
+import java.util.List;
+
+public record CursorDeviceResponse(
+        long countData,
+        int size,
+        Long totalData,
+        TotalMode totalMode,
+        String nextCursor,
+        List<DeviceGetResponse> devices
+) {}
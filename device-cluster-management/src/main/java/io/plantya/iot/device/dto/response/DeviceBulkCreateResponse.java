@@ -0,0 +1,8 @@
+package io.plantya.iot.device.dto.response;
+
+import java.util.List;
+
+public record DeviceBulkCreateResponse(
+        int created,
+        List<DeviceCreateResponse> devices
+) {}
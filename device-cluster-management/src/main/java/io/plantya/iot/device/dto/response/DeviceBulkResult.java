@@ -0,0 +1,8 @@
+package io.plantya.iot.device.dto.response;
+
+import io.plantya.iot.device.domain.DeviceBulkOutcome;
+
+public record DeviceBulkResult(
+        String deviceId,
+        DeviceBulkOutcome result
+) {}
@@ -0,0 +1,9 @@
+package io.plantya.iot.device.dto.response;
+
+import java.util.List;
+
+public record DeviceBulkUpdateResponse(
+        int requested,
+        int updated,
+        List<DeviceBulkResult> results
+) {}
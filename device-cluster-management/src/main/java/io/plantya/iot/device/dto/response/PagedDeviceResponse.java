@@ -1,11 +1,15 @@
 package io.plantya.iot.device.dto.response;
 
+import io.plantya.iot.common.dto.response.TotalMode;
+
 import java.util.List;
 
 public record PagedDeviceResponse(
         long countData,
         int page,
         int size,
-        int totalPages,
+        Integer totalPages,
+        Long totalData,
+        TotalMode totalMode,
         List<DeviceGetResponse> devices
 ) {}
@@ -1,21 +1,62 @@
 package io.plantya.iot.device.repository;
 
+import io.micrometer.core.annotation.Timed;
+import io.plantya.iot.common.dto.param.DeviceCursor;
 import io.plantya.iot.common.dto.param.DeviceParam;
+import io.plantya.iot.common.dto.query.DeviceBulkRow;
+import io.plantya.iot.common.dto.query.DeviceRef;
+import io.plantya.iot.common.dto.query.DeviceStatusCount;
+import io.plantya.iot.common.dto.query.DeviceVersion;
+import io.plantya.iot.common.dto.query.PatchResult;
+import io.plantya.iot.common.dto.query.PatchedDevice;
 import io.plantya.iot.common.dto.query.QueryData;
+import io.plantya.iot.common.util.LikePattern;
+import io.plantya.iot.common.util.PlannerEstimates;
 import io.plantya.iot.device.domain.Device;
+import io.plantya.iot.device.domain.DeviceBulkOutcome;
+import io.plantya.iot.device.domain.DeviceStatus;
+import io.plantya.iot.device.dto.response.DeviceGetResponse;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import io.quarkus.panache.common.Page;
 import io.quarkus.panache.common.Parameters;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.query.SelectionQuery;
 
+import java.sql.PreparedStatement;
 import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
 
 @ApplicationScoped
+@Timed(value = "repository.method", histogram = true)
 public class DeviceRepository implements PanacheRepository<Device> {
 
+    private static final String DEVICE_ID_FORMAT = "DVC-%05d";
+    private static final int INSERT_BATCH_SIZE = 500;
+    private static final String INSERT_SQL = """
+            INSERT INTO devices (device_id, device_name, device_type, status, cluster_id, created_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+    static final String LIVE_DEVICES_SQL = "SELECT 1 FROM devices WHERE deleted_at IS NULL";
+    static final String DEVICE_VERSION_HQL =
+            "SELECT d.createdAt, d.updatedAt, d.deletedAt FROM Device d WHERE d.deviceId = :deviceId";
+    static final String STATUS_COUNTS_HQL = "SELECT d.clusterId, d.status, COUNT(d) FROM Device d "
+            + "WHERE d.clusterId IN :clusterIds AND d.deletedAt IS NULL "
+            + "GROUP BY d.clusterId, d.status";
+
     public Device save(Device device) {
         persist(device);
         flush();
@@ -24,23 +65,238 @@ public class DeviceRepository implements PanacheRepository<Device> {
         return device;
     }
 
+    /**
+     * Reserves {@code count} values of device_seq in one round trip and formats them like
+     * trg_generate_device_id does since V1_10 (at least five digits, never truncated), so rows
+     * inserted with these ids skip the trigger.
+     */
+    public List<String> allocateDeviceIds(int count) {
+        List<?> values = getEntityManager()
+                .createNativeQuery("SELECT nextval('device_seq') FROM generate_series(1, :count)")
+                .setParameter("count", count)
+                .getResultList();
+
+        List<String> deviceIds = new ArrayList<>(values.size());
+        for (Object value : values) {
+            deviceIds.add(String.format(DEVICE_ID_FORMAT, ((Number) value).longValue()));
+        }
+
+        return deviceIds;
+    }
+
+    /**
+     * Inserts devices whose device_id is already assigned, as JDBC batches on the current
+     * transaction's connection. Nothing is read back and nothing enters the persistence context.
+     */
+    public void insertBatch(List<Device> devices) {
+        getEntityManager().unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+                int pending = 0;
+                for (Device device : devices) {
+                    statement.setString(1, device.getDeviceId());
+                    statement.setString(2, device.getDeviceName());
+                    statement.setString(3, device.getDeviceType());
+                    statement.setString(4, device.getStatus().name());
+                    statement.setString(5, device.getClusterId());
+                    statement.setObject(6, device.getCreatedAt().atOffset(ZoneOffset.UTC));
+                    statement.addBatch();
+
+                    if (++pending == INSERT_BATCH_SIZE) {
+                        statement.executeBatch();
+                        pending = 0;
+                    }
+                }
+
+                if (pending > 0) {
+                    statement.executeBatch();
+                }
+            }
+        });
+    }
+
     public Optional<Device> findByDeviceId(String deviceId) {
         return find("deviceId", deviceId).firstResultOptional();
     }
 
-    public List<Device> findAllExistingDevices(DeviceParam param) {
+    /**
+     * A page of live devices projected straight into responses: nothing is hydrated or snapshotted
+     * in the persistence context.
+     */
+    public List<DeviceGetResponse> findAllExistingDevices(DeviceParam param) {
         QueryData queryData = buildQuery(param);
 
         return find(queryData.query(), queryData.params().toArray())
+                .project(DeviceGetResponse.class)
+                .withHint(HibernateHints.HINT_READ_ONLY, true)
                 .page(Page.of(param.page() - 1, param.size()))
                 .list();
     }
 
-    public long countExistingDevices(DeviceParam param) {
+    /**
+     * Forward-only stream of live devices for export, projected straight into responses so nothing
+     * enters the persistence context. Must be consumed inside a transaction: with autocommit on, the
+     * PostgreSQL driver ignores the fetch size and buffers the whole result.
+     */
+    public Stream<DeviceGetResponse> streamExistingDevices(DeviceParam param, int fetchSize) {
+        QueryData filter = buildFilter(param);
+        String order = resolveSortOrder(param.order());
+
+        SelectionQuery<DeviceGetResponse> query = getEntityManager()
+                .unwrap(Session.class)
+                .createSelectionQuery(
+                        "SELECT new " + DeviceGetResponse.class.getName()
+                                + "(deviceId, deviceName, deviceType, clusterId, status, createdAt, updatedAt) "
+                                + "FROM Device WHERE " + filter.query()
+                                + " ORDER BY " + resolveSortColumn(param.sort()) + " " + order + ", id " + order,
+                        DeviceGetResponse.class
+                );
+        for (int i = 0; i < filter.params().size(); i++) {
+            query.setParameter(i + 1, filter.params().get(i));
+        }
+
+        return query.setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .stream();
+    }
+
+    public List<Device> findExistingDevicesAfter(DeviceParam param, DeviceCursor cursor, int limit) {
+        QueryData queryData = buildKeysetQuery(param, cursor);
+
+        return find(queryData.query(), queryData.params().toArray())
+                .range(0, limit - 1)
+                .list();
+    }
+
+    public DeviceCursor toCursor(Device device, DeviceParam param) {
+        return cursorOf(device, param);
+    }
+
+    public boolean isCursorApplicable(DeviceCursor cursor, DeviceParam param) {
+        return cursorMatches(cursor, param);
+    }
+
+    /**
+     * Cheap projection of the columns that change with the device, for ETags.
+     */
+    public Optional<Object[]> findVersionByDeviceId(String deviceId) {
+        return getEntityManager()
+                .createQuery(DEVICE_VERSION_HQL, Object[].class)
+                .setParameter("deviceId", deviceId)
+                .getResultStream()
+                .findFirst();
+    }
+
+    /**
+     * Ids and timestamps of exactly the rows {@link #findAllExistingDevices} returns for the same page, for ETags.
+     */
+    public List<DeviceVersion> findPageVersions(DeviceParam param) {
         QueryData queryData = buildQuery(param);
+
+        return find(queryData.query(), queryData.params().toArray())
+                .project(DeviceVersion.class)
+                .withHint(HibernateHints.HINT_READ_ONLY, true)
+                .page(Page.of(param.page() - 1, param.size()))
+                .list();
+    }
+
+    /**
+     * Ids and timestamps of exactly the rows {@link #findExistingDevicesAfter} returns for the same cursor, for ETags.
+     */
+    public List<DeviceVersion> findVersionsAfter(DeviceParam param, DeviceCursor cursor, int limit) {
+        QueryData queryData = buildKeysetQuery(param, cursor);
+
+        return find(queryData.query(), queryData.params().toArray())
+                .project(DeviceVersion.class)
+                .withHint(HibernateHints.HINT_READ_ONLY, true)
+                .range(0, limit - 1)
+                .list();
+    }
+
+    public long countExistingDevices(DeviceParam param) {
+        QueryData queryData = buildFilter(param);
         return count(queryData.query(), queryData.params().toArray());
     }
 
+    public OptionalLong estimateExistingDevices() {
+        return PlannerEstimates.estimateRows(getEntityManager(), LIVE_DEVICES_SQL);
+    }
+
+    public boolean isFiltered(DeviceParam param) {
+        return !buildFilter(param).params().isEmpty();
+    }
+
+    /**
+     * Partial update in one round trip. The statement locks the row by business id and updates only
+     * the given columns plus updated_at, and only while the row is live. It returns no row when the
+     * device does not exist, and a row of nulls when it is soft-deleted. Null arguments are left
+     * unchanged; at least one must be set.
+     */
+    @SuppressWarnings("unchecked")
+    public PatchResult<PatchedDevice> patchDevice(
+            String deviceId,
+            String deviceName,
+            String deviceType,
+            DeviceStatus status,
+            Instant updatedAt
+    ) {
+        Map<String, Object> assignments = new LinkedHashMap<>();
+        if (deviceName != null) assignments.put("device_name", deviceName);
+        if (deviceType != null) assignments.put("device_type", deviceType);
+        if (status != null) assignments.put("status", status.name());
+        assignments.put("updated_at", updatedAt.atOffset(ZoneOffset.UTC));
+
+        StringBuilder set = new StringBuilder();
+        for (String column : assignments.keySet()) {
+            set.append(set.isEmpty() ? "" : ", ").append(column).append(" = :").append(column);
+        }
+
+        NativeQuery<Object[]> query = getEntityManager()
+                .createNativeQuery("""
+                        WITH target AS (
+                            SELECT id, status, deleted_at FROM devices WHERE device_id = :deviceId FOR UPDATE
+                        ), updated AS (
+                            UPDATE devices d SET %s
+                            FROM target t
+                            WHERE d.id = t.id AND t.deleted_at IS NULL
+                            RETURNING d.device_id, d.device_name, d.device_type, d.status, d.cluster_id,
+                                      d.created_at, t.status AS previous_status
+                        )
+                        SELECT u.* FROM target LEFT JOIN updated u ON true
+                        """.formatted(set))
+                .unwrap(NativeQuery.class)
+                .addScalar("device_id", String.class)
+                .addScalar("device_name", String.class)
+                .addScalar("device_type", String.class)
+                .addScalar("status", String.class)
+                .addScalar("cluster_id", String.class)
+                .addScalar("created_at", Instant.class)
+                .addScalar("previous_status", String.class);
+
+        query.setParameter("deviceId", deviceId);
+        assignments.forEach(query::setParameter);
+
+        List<Object[]> rows = query.getResultList();
+        if (rows.isEmpty()) {
+            return PatchResult.notFound();
+        }
+
+        Object[] row = rows.getFirst();
+        if (row[0] == null) {
+            return PatchResult.deleted();
+        }
+
+        Device device = new Device();
+        device.setDeviceId((String) row[0]);
+        device.setDeviceName((String) row[1]);
+        device.setDeviceType((String) row[2]);
+        device.setStatus(DeviceStatus.valueOf((String) row[3]));
+        device.setClusterId((String) row[4]);
+        device.setCreatedAt((Instant) row[5]);
+        device.setUpdatedAt(updatedAt);
+
+        return PatchResult.updated(new PatchedDevice(device, DeviceStatus.valueOf((String) row[6])));
+    }
+
     public void softDelete(String deviceId) {
         update(
                 "deletedAt = :deletedAt WHERE deviceId = :deviceId AND deletedAt IS NULL",
@@ -49,32 +305,265 @@ public class DeviceRepository implements PanacheRepository<Device> {
         );
     }
 
-    public List<Device> findAllDevicesByClusterId(String clusterId) {
-        return list("clusterId = :clusterId AND deletedAt IS NULL", Parameters.with("clusterId", clusterId));
+    /**
+     * Live device counts per status for one cluster, from a single grouped query.
+     */
+    public DeviceStatusCount countDevicesByStatus(String clusterId) {
+        return countDevicesByStatusForClusters(List.of(clusterId))
+                .getOrDefault(clusterId, DeviceStatusCount.EMPTY);
     }
 
-    public void softDeleteDevicesByClusterId(String clusterId) {
-        update(
-                "deletedAt = :deletedAt WHERE clusterId = :clusterId AND deletedAt IS NULL",
-                Parameters.with("deletedAt", Instant.now()).and("clusterId", clusterId)
+    /**
+     * Live device counts per status for several clusters, from a single grouped query
+     * (served by idx_devices_cluster_status). Clusters without devices are absent from the map.
+     */
+    public Map<String, DeviceStatusCount> countDevicesByStatusForClusters(Collection<String> clusterIds) {
+        if (clusterIds.isEmpty()) {
+            return Map.of();
+        }
+
+        List<Object[]> rows = getEntityManager()
+                .createQuery(STATUS_COUNTS_HQL, Object[].class)
+                .setParameter("clusterIds", clusterIds)
+                .getResultList();
+
+        return toStatusCounts(rows);
+    }
+
+    /**
+     * Soft-deletes the live devices of a cluster and returns their ids.
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> softDeleteDevicesByClusterId(String clusterId) {
+        return getEntityManager()
+                .createNativeQuery("""
+                        UPDATE devices SET deleted_at = :deletedAt
+                        WHERE cluster_id = :clusterId AND deleted_at IS NULL
+                        RETURNING device_id
+                        """)
+                .setParameter("deletedAt", Instant.now().atOffset(ZoneOffset.UTC))
+                .setParameter("clusterId", clusterId)
+                .getResultList();
+    }
+
+    public Optional<DeviceStatus> findActiveStatusByDeviceId(String deviceId) {
+        return getEntityManager()
+                .createQuery(
+                        "SELECT d.status FROM Device d WHERE d.deviceId = :deviceId AND d.deletedAt IS NULL",
+                        DeviceStatus.class
+                )
+                .setParameter("deviceId", deviceId)
+                .getResultStream()
+                .findFirst();
+    }
+
+    /**
+     * Coalesced heartbeat write: sets the devices ONLINE and moves their {@code last_seen_at} forward to
+     * {@code seenAt}. Returns only the rows that were not ONLINE before, i.e. the ones that came online.
+     */
+    @Transactional
+    public List<DeviceRef> recordHeartbeats(List<String> deviceIds, Instant seenAt, Instant updatedAt) {
+        List<?> rows = getEntityManager()
+                .createNativeQuery("""
+                        WITH target AS (
+                            SELECT id, status FROM devices
+                            WHERE device_id IN (:deviceIds) AND deleted_at IS NULL
+                            ORDER BY id
+                            FOR UPDATE
+                        )
+                        UPDATE devices d
+                        SET status = 'ONLINE',
+                            last_seen_at = GREATEST(d.last_seen_at, :seenAt),
+                            updated_at = CASE WHEN t.status <> 'ONLINE' THEN :updatedAt ELSE d.updated_at END
+                        FROM target t
+                        WHERE d.id = t.id
+                        RETURNING d.device_id, d.cluster_id, t.status
+                        """)
+                .setParameter("deviceIds", deviceIds)
+                .setParameter("seenAt", seenAt.atOffset(ZoneOffset.UTC))
+                .setParameter("updatedAt", updatedAt.atOffset(ZoneOffset.UTC))
+                .getResultList();
+
+        List<DeviceRef> cameOnline = new ArrayList<>();
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            if (!DeviceStatus.ONLINE.name().equals(columns[2])) {
+                cameOnline.add(new DeviceRef((String) columns[0], (String) columns[1]));
+            }
+        }
+
+        return cameOnline;
+    }
+
+    /**
+     * Sets up to {@code limit} ONLINE devices whose last heartbeat is older than {@code silentSince} OFFLINE,
+     * in its own transaction. Rows locked by another instance's sweep or flush are skipped; callers repeat
+     * until fewer than {@code limit} return.
+     */
+    @Transactional
+    public List<DeviceRef> markSilentDevicesOffline(Instant silentSince, int limit, Instant updatedAt) {
+        List<?> rows = getEntityManager()
+                .createNativeQuery("""
+                        UPDATE devices SET status = 'OFFLINE', updated_at = :updatedAt
+                        WHERE id IN (
+                            SELECT id FROM devices
+                            WHERE status = 'ONLINE' AND deleted_at IS NULL AND last_seen_at < :silentSince
+                            LIMIT :limit
+                            FOR UPDATE SKIP LOCKED
+                        )
+                        RETURNING device_id, cluster_id
+                        """)
+                .setParameter("updatedAt", updatedAt.atOffset(ZoneOffset.UTC))
+                .setParameter("silentSince", silentSince.atOffset(ZoneOffset.UTC))
+                .setParameter("limit", limit)
+                .getResultList();
+
+        List<DeviceRef> updated = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            updated.add(new DeviceRef((String) columns[0], (String) columns[1]));
+        }
+
+        return updated;
+    }
+
+    /**
+     * Sets the status of one chunk of devices by id in its own transaction. Rows are locked in primary
+     * key order so concurrent bulk writes cannot deadlock; ids that match no row are left out of the result.
+     */
+    @Transactional
+    public List<DeviceBulkRow> bulkUpdateStatus(DeviceStatus status, List<String> deviceIds, Instant updatedAt) {
+        List<Object[]> rows = bulkUpdate(
+                "status = :value",
+                "d.status <> :value",
+                status.name(),
+                deviceIds,
+                updatedAt
+        );
+
+        List<DeviceBulkRow> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            DeviceBulkOutcome outcome = toBulkOutcome(row);
+            DeviceStatus current = outcome == DeviceBulkOutcome.DELETED ? DeviceStatus.valueOf((String) row[2]) : status;
+            result.add(new DeviceBulkRow((String) row[0], (String) row[1], current, outcome));
+        }
+
+        return result;
+    }
+
+    /**
+     * Moves one chunk of devices by id to {@code clusterId} in its own transaction, locking as
+     * {@link #bulkUpdateStatus}.
+     */
+    @Transactional
+    public List<DeviceBulkRow> bulkMove(String clusterId, List<String> deviceIds, Instant updatedAt) {
+        List<Object[]> rows = bulkUpdate(
+                "cluster_id = :value",
+                "d.cluster_id <> :value",
+                clusterId,
+                deviceIds,
+                updatedAt
         );
+
+        List<DeviceBulkRow> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            DeviceBulkOutcome outcome = toBulkOutcome(row);
+            String current = outcome == DeviceBulkOutcome.DELETED ? (String) row[1] : clusterId;
+            result.add(new DeviceBulkRow((String) row[0], current, DeviceStatus.valueOf((String) row[2]), outcome));
+        }
+
+        return result;
+    }
+
+    /**
+     * Sets the status of up to {@code limit} live devices of a cluster that are not in it yet, in its own
+     * transaction. Changed rows drop out of the filter, so callers repeat until fewer than {@code limit} return.
+     */
+    @Transactional
+    public List<String> bulkUpdateStatusByClusterId(String clusterId, DeviceStatus status, int limit, Instant updatedAt) {
+        List<?> rows = getEntityManager()
+                .createNativeQuery("""
+                        UPDATE devices SET status = :status, updated_at = :updatedAt
+                        WHERE id IN (
+                            SELECT id FROM devices
+                            WHERE cluster_id = :clusterId AND deleted_at IS NULL AND status <> :status
+                            ORDER BY id
+                            LIMIT :limit
+                            FOR UPDATE
+                        )
+                        RETURNING device_id
+                        """)
+                .setParameter("status", status.name())
+                .setParameter("updatedAt", updatedAt.atOffset(ZoneOffset.UTC))
+                .setParameter("clusterId", clusterId)
+                .setParameter("limit", limit)
+                .getResultList();
+
+        List<String> deviceIds = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            deviceIds.add((String) row);
+        }
+
+        return deviceIds;
     }
 
     // ===== HELPER ===== //
-    private QueryData buildQuery(DeviceParam param) {
+    // Package-visible and static so ReactiveDeviceRepository builds the very same queries
+
+    static QueryData buildQuery(DeviceParam param) {
+        QueryData filter = buildFilter(param);
+        StringBuilder query = new StringBuilder(filter.query());
+
+        // Sorting
+        query.append(" ORDER BY ")
+                .append(resolveSortColumn(param.sort()))
+                .append(" ")
+                .append(resolveSortOrder(param.order()));
+
+        return new QueryData(query.toString(), filter.params());
+    }
+
+    static QueryData buildKeysetQuery(DeviceParam param, DeviceCursor cursor) {
+        QueryData filter = buildFilter(param);
+        StringBuilder query = new StringBuilder(filter.query());
+        List<Object> params = new ArrayList<>(filter.params());
+
+        String column = resolveSortColumn(param.sort());
+        String order = resolveSortOrder(param.order());
+
+        // Keyset: continue strictly after (sortKey, id) of the last row. A row-value comparison is one
+        // range over the V1_8 (column, id) indexes, where the expanded OR form is not.
+        if (cursor != null) {
+            String comparator = "ASC".equals(order) ? ">" : "<";
+
+            query.append(" AND (").append(column).append(", id) ").append(comparator)
+                    .append(" (?").append(params.size() + 1)
+                    .append(", ?").append(params.size() + 2).append(")");
+            params.add(resolveSortValue(column, cursor.value()));
+            params.add(cursor.id());
+        }
+
+        query.append(" ORDER BY ")
+                .append(column).append(" ").append(order)
+                .append(", id ").append(order);
+
+        return new QueryData(query.toString(), params);
+    }
+
+    static QueryData buildFilter(DeviceParam param) {
         StringBuilder query = new StringBuilder("deletedAt IS NULL");
         List<Object> params = new ArrayList<>();
 
-        // Search
+        // Search (served by idx_devices_search_trgm)
         if (param.search() != null && !param.search().isBlank()) {
-            query.append("""
-                AND (
-                    LOWER(clusterId) LIKE ?1
-                    OR LOWER(deviceName) LIKE ?1
-                    OR LOWER(deviceType) LIKE ?1
-                )
-            """);
-            params.add("%" + param.search().toLowerCase() + "%");
+            query.append(" AND searchText LIKE ?1 ESCAPE '\\'");
+            params.add(LikePattern.contains(param.search()));
+        }
+
+        // Cluster filter (served by idx_devices_cluster_id)
+        if (param.clusterId() != null) {
+            query.append(" AND clusterId = ?").append(params.size() + 1);
+            params.add(param.clusterId());
         }
 
         // Status filter
@@ -83,16 +572,52 @@ public class DeviceRepository implements PanacheRepository<Device> {
             params.add(param.status());
         }
 
-        // Sorting
-        query.append(" ORDER BY ")
-                .append(resolveSortColumn(param.sort()))
-                .append(" ")
-                .append(resolveSortOrder(param.order()));
-
         return new QueryData(query.toString(), params);
     }
 
-    private String resolveSortColumn(String sort) {
+    static Map<String, DeviceStatusCount> toStatusCounts(List<Object[]> rows) {
+        Map<String, DeviceStatusCount> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            String clusterId = (String) row[0];
+            long count = (Long) row[2];
+            DeviceStatusCount current = counts.getOrDefault(clusterId, DeviceStatusCount.EMPTY);
+
+            counts.put(clusterId, switch ((DeviceStatus) row[1]) {
+                case ONLINE -> new DeviceStatusCount(count, current.offline());
+                case OFFLINE -> new DeviceStatusCount(current.online(), count);
+            });
+        }
+
+        return counts;
+    }
+
+    static DeviceCursor cursorOf(Device device, DeviceParam param) {
+        String column = resolveSortColumn(param.sort());
+        String value = switch (column) {
+            case "deviceName" -> device.getDeviceName();
+            case "deviceType" -> device.getDeviceType();
+            case "clusterId" -> device.getClusterId();
+            default -> device.getCreatedAt().toString();
+        };
+
+        return new DeviceCursor(column, resolveSortOrder(param.order()), value, device.getId());
+    }
+
+    static boolean cursorMatches(DeviceCursor cursor, DeviceParam param) {
+        String column = resolveSortColumn(param.sort());
+        if (!column.equals(cursor.sort()) || !resolveSortOrder(param.order()).equals(cursor.order())) {
+            return false;
+        }
+
+        try {
+            resolveSortValue(column, cursor.value());
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    static String resolveSortColumn(String sort) {
         if (sort == null) return "createdAt";
 
         return switch (sort) {
@@ -103,7 +628,60 @@ public class DeviceRepository implements PanacheRepository<Device> {
         };
     }
 
-    private String resolveSortOrder(String order) {
+    static Object resolveSortValue(String column, String value) {
+        return "createdAt".equals(column) ? Instant.parse(value) : value;
+    }
+
+    static String resolveSortOrder(String order) {
         return "asc".equalsIgnoreCase(order) ? "ASC" : "DESC";
     }
+
+    /**
+     * Locks the matched rows, updates the live ones whose column differs from {@code value}, and returns
+     * every matched row as device_id, cluster_id, status (all before the write), deleted, updated.
+     */
+    private List<Object[]> bulkUpdate(
+            String assignment,
+            String changedCondition,
+            String value,
+            List<String> deviceIds,
+            Instant updatedAt
+    ) {
+        NativeQuery<Object[]> query = getEntityManager()
+                .createNativeQuery("""
+                        WITH target AS (
+                            SELECT id, device_id, cluster_id, status, deleted_at FROM devices
+                            WHERE device_id IN (:deviceIds)
+                            ORDER BY id
+                            FOR UPDATE
+                        ), updated AS (
+                            UPDATE devices d SET %s, updated_at = :updatedAt
+                            FROM target t
+                            WHERE d.id = t.id AND t.deleted_at IS NULL AND %s
+                            RETURNING d.id
+                        )
+                        SELECT t.device_id, t.cluster_id, t.status,
+                               t.deleted_at IS NOT NULL AS deleted, u.id IS NOT NULL AS updated
+                        FROM target t LEFT JOIN updated u ON u.id = t.id
+                        """.formatted(assignment, changedCondition))
+                .unwrap(NativeQuery.class)
+                .addScalar("device_id", String.class)
+                .addScalar("cluster_id", String.class)
+                .addScalar("status", String.class)
+                .addScalar("deleted", Boolean.class)
+                .addScalar("updated", Boolean.class);
+
+        query.setParameter("deviceIds", deviceIds);
+        query.setParameter("value", value);
+        query.setParameter("updatedAt", updatedAt.atOffset(ZoneOffset.UTC));
+
+        return query.getResultList();
+    }
+
+    private static DeviceBulkOutcome toBulkOutcome(Object[] row) {
+        if ((Boolean) row[3]) {
+            return DeviceBulkOutcome.DELETED;
+        }
+        return (Boolean) row[4] ? DeviceBulkOutcome.UPDATED : DeviceBulkOutcome.UNCHANGED;
+    }
 }
@@ -0,0 +1,115 @@
+package io.plantya.iot.device.service;
+
+import io.plantya.iot.device.domain.DeviceEvent;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.subscription.BackPressureFailure;
+import io.smallrye.mutiny.subscription.BackPressureStrategy;
+import io.smallrye.mutiny.subscription.MultiEmitter;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process fan-out of device events to stream subscribers.
+ *
+ * <p>Events published inside a transaction are delivered only after it commits. Delivery never blocks
+ * the publisher: each subscriber has its own buffer of {@code device.events.subscriber-buffer} events,
+ * and a subscriber that lets it fill up is disconnected so it can reconnect and resync, while the
+ * others keep receiving events. Events are local to this instance.
+ */
+@ApplicationScoped
+public class DeviceEventBroadcaster {
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @ConfigProperty(name = "device.events.subscriber-buffer", defaultValue = "1024")
+    int subscriberBuffer;
+
+    private final Logger LOG = Logger.getLogger(DeviceEventBroadcaster.class);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    record Subscriber(String clusterId, MultiEmitter<? super DeviceEvent> emitter) {
+
+        boolean accepts(DeviceEvent event) {
+            return clusterId == null || clusterId.equals(event.clusterId());
+        }
+    }
+
+    /**
+     * Stream of events from now on, optionally restricted to one cluster.
+     */
+    public Multi<DeviceEvent> subscribe(String clusterId) {
+        return Multi.createFrom().<DeviceEvent>emitter(emitter -> {
+            Subscriber subscriber = new Subscriber(clusterId, emitter);
+            subscribers.add(subscriber);
+            emitter.onTermination(() -> subscribers.remove(subscriber));
+
+            LOG.debugf("Device event subscriber added: clusterId=%s, subscribers=%d", clusterId, subscribers.size());
+        }, BackPressureStrategy.IGNORE)
+                .onOverflow().buffer(subscriberBuffer)
+                .onFailure(BackPressureFailure.class).invoke(failure ->
+                        LOG.warnf("Device event subscriber too slow, disconnected: clusterId=%s", clusterId)
+                );
+    }
+
+    public void publish(DeviceEvent event) {
+        publishAll(List.of(event));
+    }
+
+    public void publishAll(List<DeviceEvent> events) {
+        if (events.isEmpty() || subscribers.isEmpty()) {
+            return;
+        }
+
+        if (transactionRegistry.getTransactionStatus() != Status.STATUS_ACTIVE) {
+            dispatch(events);
+            return;
+        }
+
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    dispatch(events);
+                }
+            }
+        });
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    // ===== HELPER ===== //
+    private void dispatch(List<DeviceEvent> events) {
+        for (Subscriber subscriber : subscribers) {
+            try {
+                for (DeviceEvent event : events) {
+                    if (subscriber.emitter().isCancelled()) {
+                        break;
+                    }
+                    if (subscriber.accepts(event)) {
+                        subscriber.emitter().emit(event);
+                    }
+                }
+            } catch (RuntimeException e) {
+                LOG.warnf("Device event subscriber failed, dropping it: %s", e.getMessage());
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package io.plantya.iot.device.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.plantya.iot.common.dto.param.DeviceParam;
+import io.plantya.iot.device.domain.DeviceExportFormat;
+import io.plantya.iot.device.dto.response.DeviceGetResponse;
+import io.plantya.iot.device.repository.DeviceRepository;
+import io.quarkus.narayana.jta.runtime.TransactionConfiguration;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the live devices matching a filter straight from a database cursor to the response body.
+ * Rows are serialized one at a time and flushed in chunks, so heap use does not grow with the table.
+ */
+@ApplicationScoped
+public class DeviceExportService {
+
+    private static final String CSV_HEADER = "device_id,device_name,device_type,cluster_id,status,created_at,updated_at";
+
+    @Inject
+    DeviceRepository deviceRepository;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "device.export.fetch-size", defaultValue = "1000")
+    int fetchSize;
+
+    @ConfigProperty(name = "device.export.flush-every", defaultValue = "1000")
+    int flushEvery;
+
+    private final Logger LOG = Logger.getLogger(DeviceExportService.class);
+
+    /**
+     * Runs in its own transaction because the response is written after the resource method returns,
+     * and because the driver only honours the fetch size with autocommit off.
+     */
+    @Transactional
+    @TransactionConfiguration(timeoutFromConfigProperty = "device.export.transaction-timeout")
+    public void export(DeviceParam param, DeviceExportFormat format, OutputStream output) throws IOException {
+        LOG.infof("Exporting devices: format=%s, search=%s, status=%s", format.getValue(), param.search(), param.status());
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        long rows = 0;
+
+        try (Stream<DeviceGetResponse> devices = deviceRepository.streamExistingDevices(param, fetchSize)) {
+            Iterator<DeviceGetResponse> iterator = devices.iterator();
+            ObjectWriter jsonWriter = objectMapper.writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+            if (format == DeviceExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+
+            while (iterator.hasNext()) {
+                DeviceGetResponse device = iterator.next();
+                if (format == DeviceExportFormat.CSV) {
+                    writeCsvRow(writer, device);
+                } else {
+                    writer.write(jsonWriter.writeValueAsString(device));
+                    writer.write('\n');
+                }
+
+                if (++rows % flushEvery == 0) {
+                    writer.flush();
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            // Usually the client went away; the cursor is closed by try-with-resources
+            LOG.warnf("Device export aborted after %d rows: %s", rows, e.getMessage());
+            throw e;
+        }
+
+        writer.flush();
+        LOG.infof("Devices exported successfully: format=%s, rows=%d", format.getValue(), rows);
+    }
+
+    // ===== HELPER ===== //
+    private void writeCsvRow(Writer writer, DeviceGetResponse device) throws IOException {
+        writer.write(csvField(device.deviceId()));
+        writer.write(',');
+        writer.write(csvField(device.deviceName()));
+        writer.write(',');
+        writer.write(csvField(device.deviceType()));
+        writer.write(',');
+        writer.write(csvField(device.clusterId()));
+        writer.write(',');
+        writer.write(csvField(device.status()));
+        writer.write(',');
+        writer.write(csvField(device.createdAt()));
+        writer.write(',');
+        writer.write(csvField(device.updatedAt()));
+        writer.write('\n');
+    }
+
+    static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+
+        String text = value.toString();
+        boolean needsQuoting = text.indexOf(',') >= 0
+                || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0
+                || text.indexOf('\r') >= 0;
+
+        return needsQuoting ? '"' + text.replace("\"", "\"\"") + '"' : text;
+    }
+}
@@ -0,0 +1,236 @@
+package io.plantya.iot.device.service;
+
+import io.plantya.iot.common.dto.query.DeviceRef;
+import io.plantya.iot.common.exception.NotFoundException;
+import io.plantya.iot.device.domain.DeviceEvent;
+import io.plantya.iot.device.domain.DeviceEventType;
+import io.plantya.iot.device.domain.DeviceStatus;
+import io.plantya.iot.device.repository.DeviceRepository;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.plantya.iot.common.exception.message.ErrorMessage.DEVICE_NOT_FOUND;
+
+/**
+ * Derives device status from heartbeats.
+ *
+ * <p>Heartbeats only touch in-memory tables. A periodic sweep writes the latest heartbeat of every device
+ * seen since the previous sweep to {@code devices.last_seen_at}, setting it ONLINE, with one UPDATE per
+ * second of heartbeat time and chunk. It then flips ONLINE devices whose {@code last_seen_at} is older than
+ * {@code device.heartbeat.offline-after} to OFFLINE with a set-based UPDATE.
+ *
+ * <p>Because the silence is judged from the database, every instance sweeps every device: a device left
+ * ONLINE by a previous run, set ONLINE through the API (V1_9 starts its clock then) or heartbeating to
+ * another instance goes OFFLINE once it has been silent long enough, whichever instance notices first.
+ */
+@ApplicationScoped
+public class DeviceHeartbeatService {
+
+    @Inject
+    DeviceRepository deviceRepository;
+
+    @Inject
+    DeviceEventBroadcaster deviceEventBroadcaster;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @ConfigProperty(name = "device.heartbeat.offline-after", defaultValue = "30s")
+    Duration offlineAfter;
+
+    @ConfigProperty(name = "device.heartbeat.flush.batch-size", defaultValue = "1000")
+    int flushBatchSize;
+
+    private final Logger LOG = Logger.getLogger(DeviceHeartbeatService.class);
+
+    // deviceId -> System.nanoTime() of its last heartbeat on this instance; saves the existence lookup
+    private final ConcurrentHashMap<String, Long> lastSeen = new ConcurrentHashMap<>();
+
+    // deviceId -> latest heartbeat not yet written to the database
+    private final ConcurrentHashMap<String, Instant> pendingHeartbeats = new ConcurrentHashMap<>();
+
+    public void heartbeat(String deviceId) {
+        if (!lastSeen.containsKey(deviceId) && deviceRepository.findActiveStatusByDeviceId(deviceId).isEmpty()) {
+            // First heartbeat since start-up or since the device fell silent
+            LOG.warnf("Heartbeat rejected - device not found: deviceId=%s", deviceId);
+            throw new NotFoundException(DEVICE_NOT_FOUND);
+        }
+
+        lastSeen.put(deviceId, System.nanoTime());
+        pendingHeartbeats.put(deviceId, Instant.now());
+    }
+
+    /**
+     * Drops a heartbeat not yet written once a status set through the API commits, so an older heartbeat
+     * cannot overwrite it. The next heartbeat sets the device ONLINE again.
+     */
+    public void onStatusUpdated(String deviceId, DeviceStatus status) {
+        afterCommit(() -> applyStatusUpdate(deviceId, status));
+    }
+
+    public void forget(String deviceId) {
+        forgetAll(List.of(deviceId));
+    }
+
+    /**
+     * Stops accepting heartbeats of deleted devices without a lookup, once the deleting transaction commits.
+     */
+    public void forgetAll(Collection<String> deviceIds) {
+        if (deviceIds.isEmpty()) {
+            return;
+        }
+
+        afterCommit(() -> {
+            for (String deviceId : deviceIds) {
+                lastSeen.remove(deviceId);
+                pendingHeartbeats.remove(deviceId);
+            }
+        });
+    }
+
+    @Scheduled(
+            identity = "device-heartbeat-sweep",
+            every = "${device.heartbeat.sweep-interval:5s}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP
+    )
+    void sweep() {
+        flushHeartbeats();
+        markSilentDevicesOffline();
+        evictSilentDevices();
+    }
+
+    int pendingHeartbeatCount() {
+        return pendingHeartbeats.size();
+    }
+
+    int trackedDeviceCount() {
+        return lastSeen.size();
+    }
+
+    // ===== HELPER ===== //
+    private void afterCommit(Runnable action) {
+        if (transactionRegistry.getTransactionStatus() != Status.STATUS_ACTIVE) {
+            action.run();
+            return;
+        }
+
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int transactionStatus) {
+                if (transactionStatus == Status.STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    private void applyStatusUpdate(String deviceId, DeviceStatus status) {
+        LOG.debugf("Pending heartbeat dropped after status update: deviceId=%s, status=%s", deviceId, status);
+        pendingHeartbeats.remove(deviceId);
+    }
+
+    private void flushHeartbeats() {
+        if (pendingHeartbeats.isEmpty()) {
+            return;
+        }
+
+        // Whole seconds keep the number of UPDATEs small; last_seen_at is at most a second early
+        Map<Instant, List<String>> bySecond = new HashMap<>();
+        for (String deviceId : pendingHeartbeats.keySet()) {
+            Instant seenAt = pendingHeartbeats.remove(deviceId);
+            if (seenAt != null) {
+                bySecond.computeIfAbsent(seenAt.truncatedTo(ChronoUnit.SECONDS), s -> new ArrayList<>()).add(deviceId);
+            }
+        }
+
+        Instant now = Instant.now();
+        for (Map.Entry<Instant, List<String>> group : bySecond.entrySet()) {
+            List<String> deviceIds = group.getValue();
+
+            for (int from = 0; from < deviceIds.size(); from += flushBatchSize) {
+                List<String> chunk = deviceIds.subList(from, Math.min(from + flushBatchSize, deviceIds.size()));
+
+                try {
+                    List<DeviceRef> cameOnline = deviceRepository.recordHeartbeats(chunk, group.getKey(), now);
+                    LOG.debugf("Heartbeats flushed: seenAt=%s, devices=%d, cameOnline=%d",
+                            group.getKey(), chunk.size(), cameOnline.size());
+
+                    publishStatusChanged(cameOnline, DeviceStatus.ONLINE, now);
+                } catch (Exception e) {
+                    LOG.errorf(e, "Heartbeat flush failed, retrying on next sweep: seenAt=%s, devices=%d",
+                            group.getKey(), chunk.size());
+                    // Requeue unless a newer heartbeat was recorded meanwhile
+                    for (String deviceId : chunk) {
+                        pendingHeartbeats.putIfAbsent(deviceId, group.getKey());
+                    }
+                }
+            }
+        }
+    }
+
+    private void markSilentDevicesOffline() {
+        Instant now = Instant.now();
+        Instant silentSince = now.minus(offlineAfter);
+        int flipped = 0;
+
+        try {
+            List<DeviceRef> updated;
+            do {
+                updated = deviceRepository.markSilentDevicesOffline(silentSince, flushBatchSize, now);
+                publishStatusChanged(updated, DeviceStatus.OFFLINE, now);
+                flipped += updated.size();
+            } while (updated.size() == flushBatchSize);
+        } catch (Exception e) {
+            LOG.errorf(e, "Offline sweep failed, retrying on next sweep: flipped=%d", flipped);
+        }
+
+        if (flipped > 0) {
+            LOG.infof("Devices marked offline after silence: count=%d", flipped);
+        }
+    }
+
+    /**
+     * Devices silent on this instance are dropped once their heartbeat is written; the next heartbeat
+     * looks the device up again. This keeps the table at the size of the fleet heartbeating here.
+     */
+    private void evictSilentDevices() {
+        long now = System.nanoTime();
+        long threshold = offlineAfter.toNanos();
+
+        for (Map.Entry<String, Long> entry : lastSeen.entrySet()) {
+            if (now - entry.getValue() >= threshold && !pendingHeartbeats.containsKey(entry.getKey())) {
+                lastSeen.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private void publishStatusChanged(List<DeviceRef> devices, DeviceStatus status, Instant at) {
+        if (devices.isEmpty()) {
+            return;
+        }
+
+        deviceEventBroadcaster.publishAll(devices.stream()
+                .map(ref -> new DeviceEvent(DeviceEventType.STATUS_CHANGED, ref.deviceId(), ref.clusterId(), status, at))
+                .toList());
+    }
+}
@@ -1,16 +1,39 @@
 package io.plantya.iot.device.service;
 
-import io.plantya.iot.cluster.repository.ClusterRepository;
+import io.plantya.iot.cluster.service.ClusterIdCache;
+import io.plantya.iot.common.dto.param.CountMode;
+import io.plantya.iot.common.dto.param.DeviceCursor;
 import io.plantya.iot.common.dto.param.DeviceParam;
 import io.plantya.iot.common.exception.BadRequestException;
 import io.plantya.iot.common.exception.ConflictException;
 import io.plantya.iot.common.exception.NotFoundException;
 import io.plantya.iot.common.mapper.DeviceResponseMapper;
+import io.plantya.iot.common.dto.query.DeviceBulkRow;
+import io.plantya.iot.common.dto.query.DeviceVersion;
+import io.plantya.iot.common.dto.query.PageVersion;
+import io.plantya.iot.common.dto.query.PatchOutcome;
+import io.plantya.iot.common.dto.query.PatchResult;
+import io.plantya.iot.common.dto.query.PatchedDevice;
+import io.plantya.iot.common.dto.query.TotalCount;
+import io.plantya.iot.common.dto.response.TotalMode;
+import io.plantya.iot.common.service.TotalCountService;
+import io.plantya.iot.common.util.CursorCodec;
+import io.plantya.iot.common.util.ETags;
 import io.plantya.iot.common.validator.RequestValidator;
 import io.plantya.iot.device.domain.Device;
+import io.plantya.iot.device.domain.DeviceBulkOutcome;
+import io.plantya.iot.device.domain.DeviceEvent;
+import io.plantya.iot.device.domain.DeviceEventType;
 import io.plantya.iot.device.domain.DeviceStatus;
+import io.plantya.iot.device.dto.request.DeviceBulkCreateRequest;
+import io.plantya.iot.device.dto.request.DeviceBulkMoveRequest;
+import io.plantya.iot.device.dto.request.DeviceBulkStatusRequest;
 import io.plantya.iot.device.dto.request.DeviceCreateRequest;
 import io.plantya.iot.device.dto.request.DeviceUpdateRequest;
+import io.plantya.iot.device.dto.response.CursorDeviceResponse;
+import io.plantya.iot.device.dto.response.DeviceBulkCreateResponse;
+import io.plantya.iot.device.dto.response.DeviceBulkResult;
+import io.plantya.iot.device.dto.response.DeviceBulkUpdateResponse;
 import io.plantya.iot.device.dto.response.DeviceCreateResponse;
 import io.plantya.iot.device.dto.response.DeviceGetResponse;
 import io.plantya.iot.device.dto.response.DeviceUpdateResponse;
@@ -19,10 +42,18 @@ import io.plantya.iot.device.repository.DeviceRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static io.plantya.iot.common.exception.message.ErrorMessage.*;
 
@@ -33,29 +64,86 @@ public class DeviceService {
     DeviceRepository deviceRepository;
 
     @Inject
-    ClusterRepository clusterRepository;
+    DeviceHeartbeatService deviceHeartbeatService;
+
+    @Inject
+    ClusterIdCache clusterIdCache;
+
+    @Inject
+    DeviceEventBroadcaster deviceEventBroadcaster;
+
+    @Inject
+    TotalCountService totalCountService;
+
+    @ConfigProperty(name = "device.bulk.max-size", defaultValue = "10000")
+    int bulkMaxSize;
+
+    @ConfigProperty(name = "device.bulk.update.chunk-size", defaultValue = "500")
+    int bulkUpdateChunkSize;
 
     private final Logger LOG = Logger.getLogger(DeviceService.class);
 
     public PagedDeviceResponse findAllExistingDevices(DeviceParam param) {
-        if (param.page() < 1) {
-            throw new BadRequestException(PAGE_LOWER_THAN_ONE);
+        return findAllExistingDevices(param, null);
+    }
+
+    /**
+     * @param totalCount total already counted for the page's ETag version, or null to count it here
+     */
+    public PagedDeviceResponse findAllExistingDevices(DeviceParam param, TotalCount totalCount) {
+        validatePage(param);
+
+        List<DeviceGetResponse> responses = deviceRepository.findAllExistingDevices(param);
+        if (totalCount == null) {
+            totalCount = countDevices(param);
         }
 
-        List<Device> devices = deviceRepository.findAllExistingDevices(param);
-        long totalData = deviceRepository.countExistingDevices(param);
+        return new PagedDeviceResponse(
+                responses.size(),
+                param.page(),
+                param.size(),
+                totalCount.totalPages(param.size()),
+                totalCount.total(),
+                totalCount.mode(),
+                responses
+        );
+    }
+
+    public CursorDeviceResponse findExistingDevicesByCursor(DeviceParam param) {
+        return findExistingDevicesByCursor(param, null);
+    }
+
+    /**
+     * @param totalCount total already counted for the page's ETag version, or null to count it here
+     */
+    public CursorDeviceResponse findExistingDevicesByCursor(DeviceParam param, TotalCount totalCount) {
+        DeviceCursor cursor = decodeCursor(param);
+
+        // Fetch one extra row to learn whether another page exists without counting
+        List<Device> devices = deviceRepository.findExistingDevicesAfter(param, cursor, param.size() + 1);
+        boolean hasNext = devices.size() > param.size();
+        if (hasNext) {
+            devices = devices.subList(0, param.size());
+        }
+
+        String nextCursor = hasNext
+                ? CursorCodec.encode(deviceRepository.toCursor(devices.getLast(), param))
+                : null;
+
+        if (totalCount == null) {
+            totalCount = countDevices(param);
+        }
 
         List<DeviceGetResponse> responses = devices.stream()
                 .map(DeviceResponseMapper::toDeviceGetResponse)
                 .toList();
 
-        int totalPages = (int) Math.ceil((double) totalData / param.size());
-
-        return new PagedDeviceResponse(
+        return new CursorDeviceResponse(
                 responses.size(),
-                param.page(),
                 param.size(),
-                totalPages,
+                totalCount.total(),
+                totalCount.mode(),
+                nextCursor,
                 responses
         );
     }
@@ -75,57 +163,216 @@ public class DeviceService {
         device.setClusterId(request.clusterId());
         device.setStatus(DeviceStatus.OFFLINE);
 
-        boolean isClusterPresent = clusterRepository.findByClusterId(request.clusterId()).isPresent();
+        boolean isClusterPresent = clusterIdCache.isLive(request.clusterId());
         if (!isClusterPresent) {
             LOG.errorf("Cluster not found: clusterId=%s", request.clusterId());
             throw new NotFoundException(CLUSTER_NOT_FOUND);
         }
 
         Device savedDevice = deviceRepository.save(device);
+        deviceEventBroadcaster.publish(toEvent(DeviceEventType.CREATED, savedDevice));
 
         LOG.infof("Device created successfully: deviceId=%s", savedDevice.getDeviceId());
         return DeviceResponseMapper.toDeviceCreateResponse(savedDevice);
     }
 
-    public DeviceGetResponse findDeviceByDeviceId(String deviceId) {
-        Device device = deviceRepository.findByDeviceId(deviceId)
-                .orElseThrow(() -> new NotFoundException(DEVICE_NOT_FOUND));
+    @Transactional
+    public DeviceBulkCreateResponse createDevices(DeviceBulkCreateRequest request) {
+        RequestValidator.validateDeviceBulkCreateRequest(request, bulkMaxSize);
+
+        List<DeviceCreateRequest> requests = request.devices();
+        LOG.infof("Creating devices in bulk: count=%d", requests.size());
+
+        Set<String> clusterIds = requests.stream()
+                .map(DeviceCreateRequest::clusterId)
+                .collect(Collectors.toSet());
+        Set<String> existingClusterIds = clusterIdCache.findLive(clusterIds);
+        if (existingClusterIds.size() < clusterIds.size()) {
+            List<String> missing = clusterIds.stream()
+                    .filter(clusterId -> !existingClusterIds.contains(clusterId))
+                    .sorted()
+                    .toList();
+            LOG.errorf("Bulk create rejected - clusters not found: clusterIds=%s", missing);
+            throw new NotFoundException(CLUSTER_NOT_FOUND, "cluster not found: " + String.join(", ", missing));
+        }
 
-        return DeviceResponseMapper.toDeviceGetResponse(device);
+        List<String> deviceIds = deviceRepository.allocateDeviceIds(requests.size());
+        Instant now = Instant.now();
+
+        List<Device> devices = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            DeviceCreateRequest item = requests.get(i);
+
+            Device device = new Device();
+            device.setDeviceId(deviceIds.get(i));
+            device.setDeviceName(item.deviceName());
+            device.setDeviceType(item.deviceType());
+            device.setClusterId(item.clusterId());
+            device.setStatus(DeviceStatus.OFFLINE);
+            device.setCreatedAt(now);
+            devices.add(device);
+        }
+
+        deviceRepository.insertBatch(devices);
+        deviceEventBroadcaster.publishAll(devices.stream()
+                .map(device -> toEvent(DeviceEventType.CREATED, device))
+                .toList());
+
+        List<DeviceCreateResponse> responses = devices.stream()
+                .map(DeviceResponseMapper::toDeviceCreateResponse)
+                .toList();
+
+        LOG.infof("Devices created successfully: count=%d", responses.size());
+        return new DeviceBulkCreateResponse(responses.size(), responses);
     }
 
-    @Transactional
-    public DeviceUpdateResponse updateDevice(String deviceId, DeviceUpdateRequest request) {
-        LOG.infof("Patch device: deviceId=%s", deviceId);
+    /**
+     * Sets the status of the listed devices, or of every live device in a cluster. Each chunk of
+     * {@code device.bulk.update.chunk-size} rows is written and committed on its own, so row locks are
+     * held for one chunk at a time; a failure leaves earlier chunks applied.
+     */
+    public DeviceBulkUpdateResponse updateDevicesStatus(DeviceBulkStatusRequest request) {
+        RequestValidator.validateDeviceBulkStatusRequest(request, bulkMaxSize);
 
-        Device device = deviceRepository.findByDeviceId(deviceId).orElseThrow(() -> {
-            LOG.errorf("Device not found: deviceId=%s", deviceId);
-            return new NotFoundException(DEVICE_NOT_FOUND);
-        });
+        if (request.deviceIds() == null) {
+            return updateClusterDevicesStatus(request.clusterId(), request.status());
+        }
 
-        if (device.getDeletedAt() != null) {
-            LOG.errorf("Device already deleted: deviceId=%s", deviceId);
-            throw new ConflictException(DEVICE_ALREADY_DELETED);
+        List<String> deviceIds = distinct(request.deviceIds());
+        LOG.infof("Bulk status update: status=%s, count=%d", request.status(), deviceIds.size());
+
+        Instant now = Instant.now();
+        Map<String, DeviceBulkRow> rows = new HashMap<>();
+        for (List<String> chunk : chunks(deviceIds)) {
+            List<DeviceBulkRow> chunkRows = deviceRepository.bulkUpdateStatus(request.status(), chunk, now);
+            for (DeviceBulkRow row : chunkRows) {
+                rows.put(row.deviceId(), row);
+                if (row.outcome() == DeviceBulkOutcome.UPDATED) {
+                    deviceHeartbeatService.onStatusUpdated(row.deviceId(), row.status());
+                }
+            }
+            publishUpdated(chunkRows, DeviceEventType.STATUS_CHANGED, now);
         }
 
-        boolean isUpdated = false;
+        return toBulkUpdateResponse(deviceIds, rows);
+    }
+
+    /**
+     * Moves the listed devices to a live cluster, chunked and committed as {@link #updateDevicesStatus}.
+     */
+    public DeviceBulkUpdateResponse moveDevices(DeviceBulkMoveRequest request) {
+        RequestValidator.validateDeviceBulkMoveRequest(request, bulkMaxSize);
+
+        if (!clusterIdCache.isLive(request.targetClusterId())) {
+            LOG.errorf("Bulk move rejected - cluster not found: clusterId=%s", request.targetClusterId());
+            throw new NotFoundException(CLUSTER_NOT_FOUND);
+        }
 
-        if (request.deviceName() != null) {
-            device.setDeviceName(request.deviceName());
-            isUpdated = true;
+        List<String> deviceIds = distinct(request.deviceIds());
+        LOG.infof("Bulk move: targetClusterId=%s, count=%d", request.targetClusterId(), deviceIds.size());
+
+        Instant now = Instant.now();
+        Map<String, DeviceBulkRow> rows = new HashMap<>();
+        for (List<String> chunk : chunks(deviceIds)) {
+            List<DeviceBulkRow> chunkRows = deviceRepository.bulkMove(request.targetClusterId(), chunk, now);
+            for (DeviceBulkRow row : chunkRows) {
+                rows.put(row.deviceId(), row);
+            }
+            publishUpdated(chunkRows, DeviceEventType.UPDATED, now);
         }
 
-        if (request.deviceType() != null) {
-            device.setDeviceType(request.deviceType());
-            isUpdated = true;
+        return toBulkUpdateResponse(deviceIds, rows);
+    }
+
+    /**
+     * ETag version of a device, or null when it does not exist.
+     */
+    public String findDeviceVersion(String deviceId) {
+        return deviceRepository.findVersionByDeviceId(deviceId)
+                .map(ETags::version)
+                .orElse(null);
+    }
+
+    /**
+     * ETag version of a device list page, for requests carrying If-None-Match. It is read from the ids and
+     * timestamps of the page's own rows plus its total, so it never aggregates over the whole filter, and
+     * it equals {@link #versionOf} of the page it describes. The total is returned for the page to reuse.
+     */
+    public PageVersion findDevicesVersion(DeviceParam param) {
+        if (param.cursor() == null) {
+            validatePage(param);
+
+            List<DeviceVersion> rows = deviceRepository.findPageVersions(param);
+            TotalCount totalCount = countDevices(param);
+            return new PageVersion(pageVersion(param, totalCount, false, rows), totalCount);
         }
 
-        if (request.status() != null) {
-            device.setStatus(request.status());
-            isUpdated = true;
+        DeviceCursor cursor = decodeCursor(param);
+        List<DeviceVersion> rows = deviceRepository.findVersionsAfter(param, cursor, param.size() + 1);
+        boolean hasNext = rows.size() > param.size();
+        TotalCount totalCount = countDevices(param);
+
+        return new PageVersion(
+                pageVersion(param, totalCount, hasNext, hasNext ? rows.subList(0, param.size()) : rows),
+                totalCount
+        );
+    }
+
+    /**
+     * ETag version of a loaded device list page, for requests without If-None-Match.
+     */
+    public static String versionOf(DeviceParam param, PagedDeviceResponse response) {
+        return pageVersion(
+                param,
+                new TotalCount(response.totalData(), response.totalMode()),
+                false,
+                rowVersions(response.devices())
+        );
+    }
+
+    public static String versionOf(DeviceParam param, CursorDeviceResponse response) {
+        return pageVersion(
+                param,
+                new TotalCount(response.totalData(), response.totalMode()),
+                response.nextCursor() != null,
+                rowVersions(response.devices())
+        );
+    }
+
+    /**
+     * Total of a device list: paged lists count by default and cursor lists do not; {@code include_total}
+     * overrides either.
+     */
+    public TotalCount countDevices(DeviceParam param) {
+        boolean includeTotal = param.includeTotal() != null ? param.includeTotal() : param.cursor() == null;
+        if (!includeTotal) {
+            return TotalCount.NONE;
         }
 
-        if (!isUpdated) {
+        if (param.countMode() != CountMode.APPROXIMATE) {
+            return new TotalCount(deviceRepository.countExistingDevices(param), TotalMode.EXACT);
+        }
+
+        return totalCountService.approximate(
+                Arrays.asList("devices", param.search(), param.status(), param.clusterId()),
+                deviceRepository.isFiltered(param),
+                () -> deviceRepository.countExistingDevices(param),
+                deviceRepository::estimateExistingDevices
+        );
+    }
+
+    public DeviceGetResponse findDeviceByDeviceId(String deviceId) {
+        Device device = deviceRepository.findByDeviceId(deviceId)
+                .orElseThrow(() -> new NotFoundException(DEVICE_NOT_FOUND));
+
+        return DeviceResponseMapper.toDeviceGetResponse(device);
+    }
+
+    @Transactional
+    public DeviceUpdateResponse updateDevice(String deviceId, DeviceUpdateRequest request) {
+        LOG.infof("Patch device: deviceId=%s", deviceId);
+
+        if (request.deviceName() == null && request.deviceType() == null && request.status() == null) {
             LOG.warnf("Patch device ignored - no fields provided: deviceId=%s", deviceId);
             throw new BadRequestException(DEVICE_UPDATE_EMPTY);
         }
@@ -137,7 +384,36 @@ public class DeviceService {
                 request.status()
         );
 
-        device.setUpdatedAt(Instant.now());
+        // One UPDATE ... RETURNING instead of a load, dirty check and flush
+        PatchResult<PatchedDevice> result = deviceRepository.patchDevice(
+                deviceId,
+                request.deviceName(),
+                request.deviceType(),
+                request.status(),
+                Instant.now()
+        );
+
+        if (result.outcome() == PatchOutcome.NOT_FOUND) {
+            LOG.errorf("Device not found: deviceId=%s", deviceId);
+            throw new NotFoundException(DEVICE_NOT_FOUND);
+        }
+
+        if (result.outcome() == PatchOutcome.DELETED) {
+            LOG.errorf("Device already deleted: deviceId=%s", deviceId);
+            throw new ConflictException(DEVICE_ALREADY_DELETED);
+        }
+
+        Device device = result.value().device();
+        boolean isStatusChanged = false;
+        if (request.status() != null) {
+            isStatusChanged = result.value().previousStatus() != request.status();
+            deviceHeartbeatService.onStatusUpdated(deviceId, request.status());
+        }
+
+        deviceEventBroadcaster.publish(toEvent(
+                isStatusChanged ? DeviceEventType.STATUS_CHANGED : DeviceEventType.UPDATED,
+                device
+        ));
 
         LOG.infof("Device patched successfully: deviceId=%s", deviceId);
         return DeviceResponseMapper.toDeviceUpdateResponse(device);
@@ -156,7 +432,125 @@ public class DeviceService {
         }
 
         deviceRepository.softDelete(deviceId);
+        deviceHeartbeatService.forget(deviceId);
+        deviceEventBroadcaster.publish(new DeviceEvent(
+                DeviceEventType.DELETED, deviceId, device.getClusterId(), null, Instant.now()
+        ));
 
         LOG.infof("Device deleted successfully: deviceId=%s", deviceId);
     }
+
+    // ===== HELPER ===== //
+    private static void validatePage(DeviceParam param) {
+        if (param.page() < 1) {
+            throw new BadRequestException(PAGE_LOWER_THAN_ONE);
+        }
+
+        if (param.size() < 1) {
+            throw new BadRequestException(SIZE_LOWER_THAN_ONE);
+        }
+    }
+
+    /**
+     * Validates a cursor request; returns null for the first page.
+     */
+    private DeviceCursor decodeCursor(DeviceParam param) {
+        if (param.size() < 1) {
+            throw new BadRequestException(SIZE_LOWER_THAN_ONE);
+        }
+
+        if (param.cursor().isBlank()) {
+            return null;
+        }
+
+        DeviceCursor cursor = CursorCodec.decode(param.cursor());
+        if (!deviceRepository.isCursorApplicable(cursor, param)) {
+            LOG.warnf("Cursor does not match requested sort: sort=%s, order=%s", param.sort(), param.order());
+            throw new BadRequestException(CURSOR_INVALID);
+        }
+
+        return cursor;
+    }
+
+    /**
+     * Every query parameter, the total, whether another page follows and the id and timestamps of every row.
+     */
+    private static String pageVersion(DeviceParam param, TotalCount totalCount, boolean hasNext, List<DeviceVersion> rows) {
+        return ETags.version(param, totalCount, hasNext, rows);
+    }
+
+    private static List<DeviceVersion> rowVersions(List<DeviceGetResponse> devices) {
+        return devices.stream()
+                .map(device -> new DeviceVersion(device.deviceId(), device.createdAt(), device.updatedAt()))
+                .toList();
+    }
+
+    private DeviceBulkUpdateResponse updateClusterDevicesStatus(String clusterId, DeviceStatus status) {
+        if (!clusterIdCache.isLive(clusterId)) {
+            LOG.errorf("Bulk status update rejected - cluster not found: clusterId=%s", clusterId);
+            throw new NotFoundException(CLUSTER_NOT_FOUND);
+        }
+
+        LOG.infof("Bulk status update: status=%s, clusterId=%s", status, clusterId);
+
+        Instant now = Instant.now();
+        List<DeviceBulkResult> results = new ArrayList<>();
+        List<String> chunk;
+        do {
+            chunk = deviceRepository.bulkUpdateStatusByClusterId(clusterId, status, bulkUpdateChunkSize, now);
+
+            List<DeviceEvent> events = new ArrayList<>(chunk.size());
+            for (String deviceId : chunk) {
+                deviceHeartbeatService.onStatusUpdated(deviceId, status);
+                events.add(new DeviceEvent(DeviceEventType.STATUS_CHANGED, deviceId, clusterId, status, now));
+                results.add(new DeviceBulkResult(deviceId, DeviceBulkOutcome.UPDATED));
+            }
+            deviceEventBroadcaster.publishAll(events);
+        } while (chunk.size() == bulkUpdateChunkSize);
+
+        LOG.infof("Bulk status update done: clusterId=%s, updated=%d", clusterId, results.size());
+        return new DeviceBulkUpdateResponse(results.size(), results.size(), results);
+    }
+
+    /**
+     * Results in request order; ids that matched no row are reported as not found.
+     */
+    private DeviceBulkUpdateResponse toBulkUpdateResponse(List<String> deviceIds, Map<String, DeviceBulkRow> rows) {
+        List<DeviceBulkResult> results = new ArrayList<>(deviceIds.size());
+        int updated = 0;
+        for (String deviceId : deviceIds) {
+            DeviceBulkRow row = rows.get(deviceId);
+            DeviceBulkOutcome outcome = row == null ? DeviceBulkOutcome.NOT_FOUND : row.outcome();
+            if (outcome == DeviceBulkOutcome.UPDATED) {
+                updated++;
+            }
+            results.add(new DeviceBulkResult(deviceId, outcome));
+        }
+
+        LOG.infof("Bulk update done: requested=%d, updated=%d", deviceIds.size(), updated);
+        return new DeviceBulkUpdateResponse(deviceIds.size(), updated, results);
+    }
+
+    private void publishUpdated(List<DeviceBulkRow> rows, DeviceEventType type, Instant occurredAt) {
+        deviceEventBroadcaster.publishAll(rows.stream()
+                .filter(row -> row.outcome() == DeviceBulkOutcome.UPDATED)
+                .map(row -> new DeviceEvent(type, row.deviceId(), row.clusterId(), row.status(), occurredAt))
+                .toList());
+    }
+
+    private List<List<String>> chunks(List<String> deviceIds) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < deviceIds.size(); from += bulkUpdateChunkSize) {
+            chunks.add(deviceIds.subList(from, Math.min(from + bulkUpdateChunkSize, deviceIds.size())));
+        }
+        return chunks;
+    }
+
+    private static List<String> distinct(List<String> deviceIds) {
+        return List.copyOf(new LinkedHashSet<>(deviceIds));
+    }
+
+    private DeviceEvent toEvent(DeviceEventType type, Device device) {
+        return new DeviceEvent(type, device.getDeviceId(), device.getClusterId(), device.getStatus(), Instant.now());
+    }
 }
@@ -0,0 +1,15 @@
+package io.plantya.iot.telemetry.domain;
+
+import java.time.Instant;
+
+/**
+ * One sensor reading waiting in the ingestion buffer.
+ * Written to the partitioned device_telemetry table by the batch writer, never through Hibernate.
+ */
+public record TelemetryRecord(
+        String deviceId,
+        String metric,
+        double value,
+        Instant recordedAt,
+        Instant receivedAt
+) {}
@@ -0,0 +1,9 @@
+package io.plantya.iot.telemetry.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public record TelemetryBatchRequest(
+        @JsonProperty("readings") List<TelemetryBatchReadingRequest> readings
+) {}
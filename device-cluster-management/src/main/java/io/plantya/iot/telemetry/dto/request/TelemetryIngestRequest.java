@@ -0,0 +1,9 @@
+package io.plantya.iot.telemetry.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public record TelemetryIngestRequest(
+        @JsonProperty("readings") List<TelemetryReadingRequest> readings
+) {}
@@ -0,0 +1,11 @@
+package io.plantya.iot.telemetry.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+
+public record TelemetryReadingRequest(
+        @JsonProperty("metric") String metric,
+        @JsonProperty("value") Double value,
+        @JsonProperty("recorded_at") Instant recordedAt
+) {}
@@ -0,0 +1,8 @@
+package io.plantya.iot.telemetry.dto.response;
+
+import java.time.Instant;
+
+public record TelemetryAcceptedResponse(
+        int accepted,
+        Instant receivedAt
+) {}
@@ -0,0 +1,72 @@
+package io.plantya.iot.telemetry.repository;
+
+import io.plantya.iot.telemetry.domain.TelemetryRecord;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Plain JDBC access to device_telemetry.
+ * Readings bypass Hibernate entirely: no persistence context, no per-row identity fetch.
+ */
+@ApplicationScoped
+public class TelemetryRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO device_telemetry (device_id, metric, value, recorded_at, received_at)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private static final String ENSURE_PARTITIONS_SQL =
+            "SELECT create_device_telemetry_partitions(CAST(date_trunc('month', now()) AS DATE), ?)";
+
+    @Inject
+    DataSource dataSource;
+
+    /**
+     * Inserts all records in one transaction using a JDBC batch.
+     * With reWriteBatchedInserts the driver folds the batch into multi-row INSERTs.
+     */
+    public void insertBatch(List<TelemetryRecord> records) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+                for (TelemetryRecord record : records) {
+                    statement.setString(1, record.deviceId());
+                    statement.setString(2, record.metric());
+                    statement.setDouble(3, record.value());
+                    statement.setTimestamp(4, Timestamp.from(record.recordedAt()));
+                    statement.setTimestamp(5, Timestamp.from(record.receivedAt()));
+                    statement.addBatch();
+                }
+
+                statement.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Makes sure monthly partitions exist from the current month up to {@code monthsAhead} months later.
+     */
+    public void ensurePartitions(int monthsAhead) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(ENSURE_PARTITIONS_SQL)) {
+            statement.setInt(1, monthsAhead);
+            statement.execute();
+        }
+    }
+}
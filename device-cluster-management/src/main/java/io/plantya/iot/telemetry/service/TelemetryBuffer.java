@@ -0,0 +1,258 @@
+package io.plantya.iot.telemetry.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.plantya.iot.telemetry.domain.TelemetryRecord;
+import io.plantya.iot.telemetry.repository.TelemetryRepository;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded in-memory buffer between the ingestion endpoints and the database.
+ *
+ * <p>Request threads only reserve capacity and enqueue; a single writer thread drains the queue
+ * and writes batches of up to {@code telemetry.flush.batch-size} readings, waiting at most
+ * {@code telemetry.flush.interval} for a batch to fill up. A batch failing with a transient database
+ * error (connection loss, deadlock, resource shortage) is retried up to {@code telemetry.flush.max-attempts}
+ * times with a doubling {@code telemetry.flush.retry-backoff}; readings dropped after that, or on any other
+ * error, are counted in {@code telemetry_readings_dropped_total}.
+ */
+@ApplicationScoped
+public class TelemetryBuffer {
+
+    private static final Logger LOG = Logger.getLogger(TelemetryBuffer.class);
+    private static final Duration PARTITION_CHECK_INTERVAL = Duration.ofHours(6);
+
+    @Inject
+    TelemetryRepository telemetryRepository;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "telemetry.queue.capacity", defaultValue = "200000")
+    int capacity;
+
+    @ConfigProperty(name = "telemetry.flush.batch-size", defaultValue = "5000")
+    int batchSize;
+
+    @ConfigProperty(name = "telemetry.flush.interval", defaultValue = "200ms")
+    Duration flushInterval;
+
+    @ConfigProperty(name = "telemetry.flush.max-attempts", defaultValue = "3")
+    int maxAttempts;
+
+    @ConfigProperty(name = "telemetry.flush.retry-backoff", defaultValue = "500ms")
+    Duration retryBackoff;
+
+    @ConfigProperty(name = "telemetry.partition.months-ahead", defaultValue = "3")
+    int partitionMonthsAhead;
+
+    private final LinkedBlockingQueue<TelemetryRecord> queue = new LinkedBlockingQueue<>();
+
+    // Readings accepted but not yet written; the queue itself is unbounded so a request is admitted all-or-nothing
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private volatile boolean running;
+    private Thread writer;
+    private long nextPartitionCheck;
+
+    void onStart(@Observes StartupEvent event) {
+        running = true;
+        nextPartitionCheck = System.nanoTime();
+        writer = new Thread(this::runWriter, "telemetry-writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        LOG.infof(
+                "Telemetry writer started: capacity=%d, batchSize=%d, flushInterval=%s",
+                capacity, batchSize, flushInterval
+        );
+    }
+
+    void onStop(@Observes ShutdownEvent event) throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            writer.join(flushInterval.toMillis() * 10);
+        }
+
+        // Drain whatever was accepted before shutdown
+        int flushed;
+        do {
+            flushed = flushOnce(0);
+        } while (flushed > 0);
+
+        LOG.infof("Telemetry writer stopped: unflushed=%d", pending.get());
+    }
+
+    /**
+     * Admits every record or none of them.
+     *
+     * @return false when accepting the records would exceed the configured capacity
+     */
+    public boolean offer(List<TelemetryRecord> records) {
+        int size = records.size();
+
+        while (true) {
+            int current = pending.get();
+            if (current + size > capacity) {
+                return false;
+            }
+
+            if (pending.compareAndSet(current, current + size)) {
+                break;
+            }
+        }
+
+        queue.addAll(records);
+        return true;
+    }
+
+    public int pending() {
+        return pending.get();
+    }
+
+    /**
+     * Waits up to {@code waitMillis} for a first record, then keeps collecting until the batch is full
+     * or the flush interval since that first record has elapsed, and writes the batch.
+     *
+     * @return number of records taken off the queue
+     */
+    int flushOnce(long waitMillis) throws InterruptedException {
+        TelemetryRecord first = waitMillis > 0
+                ? queue.poll(waitMillis, TimeUnit.MILLISECONDS)
+                : queue.poll();
+        if (first == null) {
+            return 0;
+        }
+
+        List<TelemetryRecord> batch = new ArrayList<>(batchSize);
+        batch.add(first);
+
+        long deadline = System.nanoTime() + flushInterval.toNanos();
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                break;
+            }
+
+            TelemetryRecord next;
+            try {
+                next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                // Write what was already taken off the queue, then let the caller see the interrupt
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+
+        if (write(batch)) {
+            pending.addAndGet(-batch.size());
+        }
+
+        return batch.size();
+    }
+
+    /**
+     * Writes the batch, retrying transient failures.
+     *
+     * @return false when the writer was interrupted while backing off and the batch went back on the queue,
+     * still holding its capacity, for the shutdown drain to write
+     */
+    private boolean write(List<TelemetryRecord> batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                telemetryRepository.insertBatch(batch);
+                LOG.debugf("Telemetry batch flushed: size=%d", batch.size());
+                return true;
+            } catch (Exception e) {
+                if (attempt >= maxAttempts || !isTransient(e)) {
+                    LOG.errorf(e, "Telemetry batch flush failed, dropping readings: size=%d, attempts=%d",
+                            batch.size(), attempt);
+                    meterRegistry.counter("telemetry.readings.dropped").increment(batch.size());
+                    return true;
+                }
+
+                Duration backoff = retryBackoff.multipliedBy(1L << (attempt - 1));
+                LOG.warnf("Telemetry batch flush failed, retrying: size=%d, attempt=%d, backoff=%s, error=%s",
+                        batch.size(), attempt, backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    queue.addAll(batch);
+                    return false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Connection, transaction rollback and resource SQL states can succeed when retried; constraint and
+     * data errors cannot.
+     */
+    static boolean isTransient(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientException || cause instanceof SQLRecoverableException) {
+                return true;
+            }
+
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null) {
+                String state = sqlException.getSQLState();
+                return state.startsWith("08")
+                        || state.startsWith("40")
+                        || state.startsWith("53")
+                        || state.startsWith("57P");
+            }
+        }
+
+        return false;
+    }
+
+    private void runWriter() {
+        while (running) {
+            try {
+                ensurePartitionsIfDue();
+                flushOnce(flushInterval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                LOG.error("Telemetry writer loop failed", e);
+            }
+        }
+    }
+
+    private void ensurePartitionsIfDue() {
+        long now = System.nanoTime();
+        if (now - nextPartitionCheck < 0) {
+            return;
+        }
+        nextPartitionCheck = now + PARTITION_CHECK_INTERVAL.toNanos();
+
+        try {
+            telemetryRepository.ensurePartitions(partitionMonthsAhead);
+        } catch (Exception e) {
+            LOG.warnf("Could not ensure telemetry partitions: %s", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package io.plantya.iot.telemetry.service;
+
+import io.plantya.iot.common.exception.TooManyRequestsException;
+import io.plantya.iot.common.validator.RequestValidator;
+import io.plantya.iot.telemetry.domain.TelemetryRecord;
+import io.plantya.iot.telemetry.dto.request.TelemetryBatchReadingRequest;
+import io.plantya.iot.telemetry.dto.request.TelemetryBatchRequest;
+import io.plantya.iot.telemetry.dto.request.TelemetryIngestRequest;
+import io.plantya.iot.telemetry.dto.request.TelemetryReadingRequest;
+import io.plantya.iot.telemetry.dto.response.TelemetryAcceptedResponse;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.plantya.iot.common.exception.message.ErrorMessage.TELEMETRY_QUEUE_FULL;
+
+@ApplicationScoped
+public class TelemetryService {
+
+    @Inject
+    TelemetryBuffer telemetryBuffer;
+
+    @ConfigProperty(name = "telemetry.request.max-readings", defaultValue = "10000")
+    int maxReadings;
+
+    @ConfigProperty(name = "telemetry.request.max-clock-skew", defaultValue = "5m")
+    Duration maxClockSkew;
+
+    private final Logger LOG = Logger.getLogger(TelemetryService.class);
+
+    public TelemetryAcceptedResponse ingest(String deviceId, TelemetryIngestRequest request) {
+        Instant receivedAt = Instant.now();
+        RequestValidator.validateTelemetryIngestRequest(deviceId, request, maxReadings, receivedAt.plus(maxClockSkew));
+
+        List<TelemetryRecord> records = new ArrayList<>(request.readings().size());
+        for (TelemetryReadingRequest reading : request.readings()) {
+            records.add(new TelemetryRecord(
+                    deviceId,
+                    reading.metric(),
+                    reading.value(),
+                    reading.recordedAt() != null ? reading.recordedAt() : receivedAt,
+                    receivedAt
+            ));
+        }
+
+        return enqueue(records, receivedAt);
+    }
+
+    public TelemetryAcceptedResponse ingestBatch(TelemetryBatchRequest request) {
+        Instant receivedAt = Instant.now();
+        RequestValidator.validateTelemetryBatchRequest(request, maxReadings, receivedAt.plus(maxClockSkew));
+
+        List<TelemetryRecord> records = new ArrayList<>(request.readings().size());
+        for (TelemetryBatchReadingRequest reading : request.readings()) {
+            records.add(new TelemetryRecord(
+                    reading.deviceId(),
+                    reading.metric(),
+                    reading.value(),
+                    reading.recordedAt() != null ? reading.recordedAt() : receivedAt,
+                    receivedAt
+            ));
+        }
+
+        return enqueue(records, receivedAt);
+    }
+
+    // ===== HELPER ===== //
+    private TelemetryAcceptedResponse enqueue(List<TelemetryRecord> records, Instant receivedAt) {
+        if (!telemetryBuffer.offer(records)) {
+            LOG.warnf(
+                    "Telemetry rejected - buffer full: readings=%d, pending=%d",
+                    records.size(), telemetryBuffer.pending()
+            );
+            throw new TooManyRequestsException(TELEMETRY_QUEUE_FULL);
+        }
+
+        return new TelemetryAcceptedResponse(records.size(), receivedAt);
+    }
+}
@@ -0,0 +1,31 @@
+-- =========================================
+-- FUNCTIONS: generated ids keep every digit
+-- LPAD(..., 5) truncates values from 100000 up, so device 100000 would
+-- become DVC-10000 and collide with device 10000. Pad to at least five
+-- digits instead, like the "%05d" format of ids allocated in bulk.
+-- =========================================
+CREATE OR REPLACE FUNCTION generate_cluster_id()
+    RETURNS TRIGGER AS $$
+DECLARE
+    seq_value TEXT;
+BEGIN
+    IF NEW.cluster_id IS NULL THEN
+        seq_value := nextval('cluster_seq')::TEXT;
+        NEW.cluster_id := 'CL-' || LPAD(seq_value, GREATEST(5, LENGTH(seq_value)), '0');
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION generate_device_id()
+    RETURNS TRIGGER AS $$
+DECLARE
+    seq_value TEXT;
+BEGIN
+    IF NEW.device_id IS NULL THEN
+        seq_value := nextval('device_seq')::TEXT;
+        NEW.device_id := 'DVC-' || LPAD(seq_value, GREATEST(5, LENGTH(seq_value)), '0');
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,31 @@
+-- =========================================
+-- EXTENSION: trigram matching for substring search
+-- =========================================
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- =========================================
+-- GENERATED SEARCH COLUMNS
+-- Searchable fields are lower-cased and joined with the unit separator (chr(31)),
+-- so one LIKE '%term%' matches exactly what the per-column ORs used to match.
+-- =========================================
+ALTER TABLE devices
+    ADD COLUMN search_text TEXT GENERATED ALWAYS AS (
+        lower(cluster_id || chr(31) || device_name || chr(31) || device_type)
+    ) STORED;
+
+ALTER TABLE clusters
+    ADD COLUMN search_text TEXT GENERATED ALWAYS AS (
+        lower(cluster_id || chr(31) || cluster_name)
+    ) STORED;
+
+-- =========================================
+-- TRIGRAM INDEXES (live rows only)
+-- Terms shorter than 3 characters still fall back to a scan.
+-- =========================================
+CREATE INDEX idx_devices_search_trgm
+    ON devices USING gin (search_text gin_trgm_ops)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX idx_clusters_search_trgm
+    ON clusters USING gin (search_text gin_trgm_ops)
+    WHERE deleted_at IS NULL;
@@ -0,0 +1,42 @@
+-- =========================================
+-- TABLE: device telemetry, range-partitioned by month on recorded_at
+-- =========================================
+CREATE TABLE device_telemetry (
+    device_id VARCHAR(20) NOT NULL,
+    metric VARCHAR(64) NOT NULL,
+    value DOUBLE PRECISION NOT NULL,
+    recorded_at TIMESTAMP NOT NULL,
+    received_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+) PARTITION BY RANGE (recorded_at);
+
+-- Catches readings outside every monthly partition (clock skew, late backfill)
+CREATE TABLE device_telemetry_default PARTITION OF device_telemetry DEFAULT;
+
+CREATE INDEX idx_device_telemetry_device_recorded
+    ON device_telemetry (device_id, recorded_at DESC);
+
+-- =========================================
+-- FUNCTION: create monthly partitions ahead of time
+-- Called by the service on startup and periodically; safe to call repeatedly.
+-- =========================================
+CREATE OR REPLACE FUNCTION create_device_telemetry_partitions(from_month DATE, months INT)
+RETURNS VOID AS $$
+DECLARE
+    start_month DATE;
+    end_month DATE;
+    partition_name TEXT;
+BEGIN
+    FOR i IN 0..months LOOP
+        start_month := (date_trunc('month', from_month) + make_interval(months => i))::DATE;
+        end_month := (start_month + INTERVAL '1 month')::DATE;
+        partition_name := 'device_telemetry_' || to_char(start_month, 'YYYY_MM');
+
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF device_telemetry FOR VALUES FROM (%L) TO (%L)',
+            partition_name, start_month, end_month
+        );
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT create_device_telemetry_partitions(CAST(date_trunc('month', now()) AS DATE), 3);
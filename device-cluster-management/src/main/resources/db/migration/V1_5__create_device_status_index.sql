@@ -0,0 +1,8 @@
+-- =========================================
+-- INDEX: live devices per cluster and status
+-- Serves the grouped device counts of the cluster list (include=device_stats)
+-- and cluster detail; (cluster_id, status) allows an index-only scan.
+-- =========================================
+CREATE INDEX IF NOT EXISTS idx_devices_cluster_status
+    ON devices (cluster_id, status)
+    WHERE deleted_at IS NULL;
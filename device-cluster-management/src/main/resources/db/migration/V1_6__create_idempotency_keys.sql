@@ -0,0 +1,18 @@
+-- =========================================
+-- TABLE: idempotency_keys
+-- Responses of POST requests sent with an Idempotency-Key header, shared by
+-- all instances when idempotency.database.enabled=true. A row is inserted and
+-- completed in the transaction of the request it deduplicates.
+-- =========================================
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    scope VARCHAR(64) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    fingerprint VARCHAR(64) NOT NULL,
+    status_code INTEGER,
+    response_body TEXT,
+    created_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (scope, idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created_at
+    ON idempotency_keys (created_at);
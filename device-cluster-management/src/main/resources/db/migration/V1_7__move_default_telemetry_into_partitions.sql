@@ -0,0 +1,56 @@
+-- =========================================
+-- FUNCTION: create monthly partitions ahead of time
+-- A month that already has readings in the DEFAULT partition (written before
+-- its partition existed) cannot be created with PARTITION OF, so the partition
+-- is created standalone, those readings are moved into it and it is attached.
+-- Called by the service on startup and periodically; safe to call repeatedly.
+-- =========================================
+CREATE OR REPLACE FUNCTION create_device_telemetry_partitions(from_month DATE, months INT)
+RETURNS VOID AS $$
+DECLARE
+    start_month DATE;
+    end_month DATE;
+    partition_name TEXT;
+BEGIN
+    FOR i IN 0..months LOOP
+        start_month := (date_trunc('month', from_month) + make_interval(months => i))::DATE;
+        end_month := (start_month + INTERVAL '1 month')::DATE;
+        partition_name := 'device_telemetry_' || to_char(start_month, 'YYYY_MM');
+
+        CONTINUE WHEN to_regclass(partition_name) IS NOT NULL;
+
+        IF NOT EXISTS (
+            SELECT 1 FROM device_telemetry_default
+            WHERE recorded_at >= start_month AND recorded_at < end_month
+        ) THEN
+            EXECUTE format(
+                'CREATE TABLE IF NOT EXISTS %I PARTITION OF device_telemetry FOR VALUES FROM (%L) TO (%L)',
+                partition_name, start_month, end_month
+            );
+            CONTINUE;
+        END IF;
+
+        EXECUTE format(
+            'CREATE TABLE %I (LIKE device_telemetry INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+            partition_name
+        );
+        EXECUTE format(
+            'WITH moved AS (
+                 DELETE FROM device_telemetry_default
+                 WHERE recorded_at >= %L AND recorded_at < %L
+                 RETURNING *
+             )
+             INSERT INTO %I SELECT * FROM moved',
+            start_month, end_month, partition_name
+        );
+        EXECUTE format(
+            'ALTER TABLE device_telemetry ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+            partition_name, start_month, end_month
+        );
+
+        RAISE NOTICE 'Moved DEFAULT partition readings into %', partition_name;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT create_device_telemetry_partitions(CAST(date_trunc('month', now()) AS DATE), 3);
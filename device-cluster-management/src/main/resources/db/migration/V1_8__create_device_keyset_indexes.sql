@@ -0,0 +1,21 @@
+-- =========================================
+-- INDEXES: keyset pagination of live devices
+-- One (sort column, id) index per sortable column, so a cursor page is a
+-- range scan from (value, id) of the previous page's last row, read forward
+-- for ASC and backward for DESC, instead of a sort of every filtered row.
+-- =========================================
+CREATE INDEX IF NOT EXISTS idx_devices_created_at_id
+    ON devices (created_at, id)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_devices_device_name_id
+    ON devices (device_name, id)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_devices_device_type_id
+    ON devices (device_type, id)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_devices_cluster_id_id
+    ON devices (cluster_id, id)
+    WHERE deleted_at IS NULL;
@@ -0,0 +1,45 @@
+-- =========================================
+-- COLUMN: last heartbeat of a device
+-- Written by the coalesced heartbeat flush of whichever instance received
+-- the heartbeats, so any instance can sweep silent devices offline.
+-- Devices already ONLINE get a grace period starting now.
+-- =========================================
+ALTER TABLE devices ADD COLUMN IF NOT EXISTS last_seen_at TIMESTAMP;
+
+UPDATE devices SET last_seen_at = CURRENT_TIMESTAMP
+WHERE status = 'ONLINE' AND deleted_at IS NULL AND last_seen_at IS NULL;
+
+-- =========================================
+-- FUNCTION: start the silence clock when a device goes ONLINE
+-- A status set through the API (create, patch, bulk status) counts as being
+-- seen now; the heartbeat flush sets last_seen_at itself and is kept.
+-- =========================================
+CREATE OR REPLACE FUNCTION touch_device_last_seen()
+    RETURNS TRIGGER AS $$
+BEGIN
+    IF NEW.status <> 'ONLINE' THEN
+        RETURN NEW;
+    END IF;
+
+    IF TG_OP = 'INSERT' THEN
+        NEW.last_seen_at := COALESCE(NEW.last_seen_at, CURRENT_TIMESTAMP);
+    ELSIF OLD.status <> 'ONLINE' AND NEW.last_seen_at IS NOT DISTINCT FROM OLD.last_seen_at THEN
+        NEW.last_seen_at := CURRENT_TIMESTAMP;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_touch_device_last_seen ON devices;
+CREATE TRIGGER trg_touch_device_last_seen
+    BEFORE INSERT OR UPDATE OF status ON devices
+    FOR EACH ROW
+EXECUTE FUNCTION touch_device_last_seen();
+
+-- =========================================
+-- INDEX: online devices by last heartbeat
+-- Serves the offline sweep: a range scan over the silent ones only.
+-- =========================================
+CREATE INDEX IF NOT EXISTS idx_devices_online_last_seen
+    ON devices (last_seen_at)
+    WHERE status = 'ONLINE' AND deleted_at IS NULL;
@@ -0,0 +1,147 @@
+package io.plantya.iot.device.service;
+
+import io.plantya.iot.common.dto.param.CountMode;
+import io.plantya.iot.common.dto.param.DeviceCursor;
+import io.plantya.iot.common.dto.param.DeviceParam;
+import io.plantya.iot.common.dto.query.TotalCount;
+import io.plantya.iot.common.dto.response.TotalMode;
+import io.plantya.iot.common.exception.BadRequestException;
+import io.plantya.iot.common.exception.NotFoundException;
+import io.plantya.iot.common.exception.message.ErrorMessage;
+import io.plantya.iot.common.service.TotalCountService;
+import io.plantya.iot.device.domain.Device;
+import io.plantya.iot.device.dto.response.CursorDeviceResponse;
+import io.plantya.iot.device.dto.response.DeviceGetResponse;
+import io.plantya.iot.device.dto.response.PagedDeviceResponse;
+import io.plantya.iot.device.repository.ReactiveDeviceRepository;
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ReactiveDeviceService Unit Test")
+@ExtendWith(MockitoExtension.class)
+class ReactiveDeviceServiceTest {
+
+    @InjectMocks
+    ReactiveDeviceService reactiveDeviceService;
+
+    @Mock
+    ReactiveDeviceRepository reactiveDeviceRepository;
+
+    @Mock
+    TotalCountService totalCountService;
+
+    private DeviceParam param(String cursor, Boolean includeTotal, CountMode countMode) {
+        return new DeviceParam(1, 2, null, "deviceName", "asc", null, cursor, includeTotal, countMode, null);
+    }
+
+    private Device device(String deviceId) {
+        Device device = new Device();
+        device.setDeviceId(deviceId);
+        device.setDeviceName(deviceId);
+        return device;
+    }
+
+    private DeviceGetResponse response(String deviceId) {
+        return new DeviceGetResponse(deviceId, deviceId, null, null, null, null, null);
+    }
+
+    @Nested
+    @DisplayName("Find All Existing Devices")
+    class FindAllExistingDevices {
+
+        @Test
+        @DisplayName("SUCCESS: Page and exact total are chained on one session")
+        void findAll_exactByDefault() {
+            DeviceParam param = param(null, null, null);
+            when(reactiveDeviceRepository.findAllExistingDevices(param))
+                    .thenReturn(Uni.createFrom().item(List.of(response("D1"), response("D2"))));
+            when(reactiveDeviceRepository.countExistingDevices(param)).thenReturn(Uni.createFrom().item(5L));
+
+            PagedDeviceResponse response = reactiveDeviceService.findAllExistingDevices(param).await().indefinitely();
+
+            assertEquals(2, response.countData());
+            assertEquals(5L, response.totalData());
+            assertEquals(3, response.totalPages());
+            assertEquals(TotalMode.EXACT, response.totalMode());
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Approximate mode goes through the non-blocking total")
+        void findAll_approximate() {
+            DeviceParam param = param(null, null, CountMode.APPROXIMATE);
+            when(reactiveDeviceRepository.findAllExistingDevices(param)).thenReturn(Uni.createFrom().item(List.of()));
+            when(totalCountService.approximateAsync(any(), eq(false), any(), any()))
+                    .thenReturn(Uni.createFrom().item(new TotalCount(1000L, TotalMode.ESTIMATED)));
+
+            PagedDeviceResponse response = reactiveDeviceService.findAllExistingDevices(param).await().indefinitely();
+
+            assertEquals(1000L, response.totalData());
+            assertEquals(TotalMode.ESTIMATED, response.totalMode());
+            verify(reactiveDeviceRepository, never()).countExistingDevices(any());
+        }
+
+        @Test
+        @DisplayName("FAIL: Page lower than one")
+        void findAll_pageLowerThanOne() {
+            DeviceParam param = new DeviceParam(0, 2, null, null, null, null, null, null, null, null);
+
+            BadRequestException exception = assertThrows(
+                    BadRequestException.class,
+                    () -> reactiveDeviceService.findAllExistingDevices(param)
+            );
+
+            assertEquals(ErrorMessage.PAGE_LOWER_THAN_ONE, exception.getError());
+        }
+    }
+
+    @Nested
+    @DisplayName("Find Existing Devices By Cursor")
+    class FindExistingDevicesByCursor {
+
+        @Test
+        @DisplayName("SUCCESS: Extra row is trimmed into a next cursor and the count is skipped")
+        void findByCursor_firstPage() {
+            DeviceParam param = param("", null, null);
+            when(reactiveDeviceRepository.findExistingDevicesAfter(param, null, 3))
+                    .thenReturn(Uni.createFrom().item(List.of(device("D1"), device("D2"), device("D3"))));
+            when(reactiveDeviceRepository.toCursor(any(Device.class), eq(param)))
+                    .thenReturn(new DeviceCursor("deviceName", "ASC", "D2", 2L));
+
+            CursorDeviceResponse response = reactiveDeviceService.findExistingDevicesByCursor(param)
+                    .await().indefinitely();
+
+            assertEquals(2, response.countData());
+            assertNotNull(response.nextCursor());
+            assertEquals(TotalMode.NONE, response.totalMode());
+            verify(reactiveDeviceRepository, never()).countExistingDevices(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Find Device By Device Id")
+    class FindDeviceByDeviceId {
+
+        @Test
+        @DisplayName("FAILED: Missing device fails the Uni with not found")
+        void findById_notFound() {
+            when(reactiveDeviceRepository.findByDeviceId("DVC-404")).thenReturn(Uni.createFrom().nullItem());
+
+            NotFoundException exception = assertThrows(
+                    NotFoundException.class,
+                    () -> reactiveDeviceService.findDeviceByDeviceId("DVC-404").await().indefinitely()
+            );
+
+            assertEquals(ErrorMessage.DEVICE_NOT_FOUND, exception.getError());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package io.plantya.iot.cluster.controller;
+
+import io.plantya.iot.cluster.service.ClusterService;
+import io.plantya.iot.cluster.service.ReactiveClusterService;
+import io.plantya.iot.common.dto.request.ClusterQueryParam;
+import io.plantya.iot.common.util.ETags;
+import io.quarkus.arc.profile.IfBuildProfile;
+import io.quarkus.hibernate.reactive.panache.common.WithSession;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Non-blocking cluster list and detail on the event loop, built with the {@code reactive} profile in
+ * place of {@link ClusterReadController}.
+ */
+@Path( "/api/clusters")
+@Produces("application/json")
+@Consumes("application/json")
+@IfBuildProfile("reactive")
+public class ReactiveClusterReadController {
+
+    @Inject
+    ReactiveClusterService reactiveClusterService;
+
+    @GET
+    @WithSession
+    public Uni<Response> findAllExistingClusters(@BeanParam ClusterQueryParam queryParam, @Context Request request) {
+        return reactiveClusterService.findAllExistingClusters(queryParam)
+                .map(response -> ETags.conditional(request, ClusterService.versionOf(queryParam, response), () -> response));
+    }
+
+    @GET
+    @Path("/{clusterId}")
+    @WithSession
+    public Uni<Response> findByClusterId(@PathParam("clusterId") String clusterId, @Context Request request) {
+        return reactiveClusterService.findClusterVersion(clusterId)
+                .chain(version -> ETags.conditionalAsync(
+                        request,
+                        version,
+                        () -> reactiveClusterService.findByClusterId(clusterId)
+                ));
+    }
+}
@@ -0,0 +1,63 @@
+package io.plantya.iot.cluster.repository;
+
+import io.plantya.iot.cluster.entity.Cluster;
+import io.plantya.iot.common.dto.query.ClusterSummary;
+import io.plantya.iot.common.dto.query.QueryData;
+import io.plantya.iot.common.dto.request.ClusterQueryParam;
+import io.plantya.iot.common.util.PlannerEstimates;
+import io.quarkus.arc.profile.IfBuildProfile;
+import io.quarkus.hibernate.reactive.panache.PanacheRepository;
+import io.quarkus.panache.common.Page;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Non-blocking reads over the same queries as {@link ClusterRepository}, on the reactive PostgreSQL client.
+ * Only built with the {@code reactive} profile; writes always go through {@link ClusterRepository}.
+ */
+@ApplicationScoped
+@IfBuildProfile("reactive")
+public class ReactiveClusterRepository implements PanacheRepository<Cluster> {
+
+    public Uni<List<ClusterSummary>> findAllExistingClusters(ClusterQueryParam queryParam) {
+        QueryData queryData = ClusterRepository.buildQuery(queryParam);
+        return find(queryData.query(), queryData.params().toArray())
+                .project(ClusterSummary.class)
+                .withHint(HibernateHints.HINT_READ_ONLY, true)
+                .page(Page.of(queryParam.getPage() - 1, queryParam.getSize()))
+                .list();
+    }
+
+    /**
+     * Emits null when the cluster does not exist.
+     */
+    public Uni<Cluster> findByClusterId(String clusterId) {
+        return find("clusterId", clusterId).firstResult();
+    }
+
+    /**
+     * Emits null when the cluster does not exist.
+     */
+    public Uni<Object[]> findVersionByClusterId(String clusterId) {
+        return getSession().chain(session -> session
+                .createSelectionQuery(ClusterRepository.CLUSTER_VERSION_HQL, Object[].class)
+                .setParameter("clusterId", clusterId)
+                .getSingleResultOrNull());
+    }
+
+    public Uni<Long> countExistingClusters(ClusterQueryParam queryParam) {
+        QueryData queryData = ClusterRepository.buildQuery(queryParam);
+        return count(queryData.query(), queryData.params().toArray());
+    }
+
+    public Uni<OptionalLong> estimateExistingClusters() {
+        return getSession()
+                .chain(session -> session.<Object>createNativeQuery("EXPLAIN " + ClusterRepository.LIVE_CLUSTERS_SQL)
+                        .getResultList())
+                .map(PlannerEstimates::parseRows);
+    }
+}
@@ -0,0 +1,136 @@
+package io.plantya.iot.cluster.service;
+
+import io.plantya.iot.cluster.dto.response.ClusterGetResponse;
+import io.plantya.iot.cluster.dto.response.ClusterListResponse;
+import io.plantya.iot.cluster.dto.response.PagedClusterResponse;
+import io.plantya.iot.cluster.entity.Cluster;
+import io.plantya.iot.cluster.repository.ReactiveClusterRepository;
+import io.plantya.iot.common.dto.param.CountMode;
+import io.plantya.iot.common.dto.query.ClusterSummary;
+import io.plantya.iot.common.dto.query.DeviceStatusCount;
+import io.plantya.iot.common.dto.query.TotalCount;
+import io.plantya.iot.common.dto.request.ClusterQueryParam;
+import io.plantya.iot.common.dto.response.TotalMode;
+import io.plantya.iot.common.exception.BadRequestException;
+import io.plantya.iot.common.exception.ConflictException;
+import io.plantya.iot.common.exception.NotFoundException;
+import io.plantya.iot.common.mapper.ClusterResponseMapper;
+import io.plantya.iot.common.service.TotalCountService;
+import io.plantya.iot.common.util.ETags;
+import io.plantya.iot.common.validator.RequestValidator;
+import io.plantya.iot.device.repository.ReactiveDeviceRepository;
+import io.quarkus.arc.profile.IfBuildProfile;
+import io.quarkus.hibernate.reactive.panache.common.WithSession;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static io.plantya.iot.common.exception.message.ErrorMessage.*;
+
+/**
+ * Mutiny counterpart of the read side of {@link ClusterService}: the cluster list and the cluster detail.
+ */
+@ApplicationScoped
+@IfBuildProfile("reactive")
+public class ReactiveClusterService {
+
+    @Inject
+    ReactiveClusterRepository reactiveClusterRepository;
+
+    @Inject
+    ReactiveDeviceRepository reactiveDeviceRepository;
+
+    @Inject
+    TotalCountService totalCountService;
+
+    @WithSession
+    public Uni<PagedClusterResponse> findAllExistingClusters(ClusterQueryParam queryParam) {
+        if (queryParam.getPage() < 1) {
+            throw new BadRequestException(PAGE_LOWER_THAN_ONE);
+        }
+
+        Set<String> includes = RequestValidator.validateClusterInclude(queryParam.getInclude());
+        CountMode countMode = RequestValidator.validateCountMode(queryParam.getCount());
+
+        return reactiveClusterRepository.findAllExistingClusters(queryParam)
+                .chain(clusterList -> toListResponses(clusterList, includes))
+                .chain(responses -> countClusters(queryParam, countMode).map(total -> new PagedClusterResponse(
+                        responses.size(),
+                        queryParam.getPage(),
+                        queryParam.getSize(),
+                        total.totalPages(queryParam.getSize()),
+                        total.total(),
+                        total.mode(),
+                        responses
+                )));
+    }
+
+    /**
+     * ETag version of a cluster detail, or null when the cluster does not exist.
+     */
+    @WithSession
+    public Uni<String> findClusterVersion(String clusterId) {
+        return reactiveClusterRepository.findVersionByClusterId(clusterId)
+                .map(row -> row == null ? null : ETags.version(row));
+    }
+
+    @WithSession
+    public Uni<ClusterGetResponse> findByClusterId(String clusterId) {
+        return reactiveClusterRepository.findByClusterId(clusterId)
+                .invoke(ReactiveClusterService::requireActive)
+                .chain(cluster -> reactiveDeviceRepository.countDevicesByStatus(clusterId)
+                        .map(statusCount -> ClusterResponseMapper.toClusterGetResponse(cluster, statusCount)));
+    }
+
+    // ===== HELPER ===== //
+    private Uni<List<ClusterListResponse>> toListResponses(List<ClusterSummary> clusterList, Set<String> includes) {
+        if (!includes.contains(RequestValidator.INCLUDE_DEVICE_STATS)) {
+            return Uni.createFrom().item(clusterList.stream()
+                    .map(ClusterResponseMapper::toClusterListResponse)
+                    .toList());
+        }
+
+        // One grouped query for the whole page instead of one detail call per cluster
+        return reactiveDeviceRepository
+                .countDevicesByStatusForClusters(clusterList.stream().map(ClusterSummary::clusterId).toList())
+                .map(statusCounts -> clusterList.stream()
+                        .map(cluster -> ClusterResponseMapper.toClusterListResponse(
+                                cluster,
+                                statusCounts.getOrDefault(cluster.clusterId(), DeviceStatusCount.EMPTY)
+                        ))
+                        .toList());
+    }
+
+    private Uni<TotalCount> countClusters(ClusterQueryParam queryParam, CountMode countMode) {
+        if (Boolean.FALSE.equals(queryParam.getIncludeTotal())) {
+            return Uni.createFrom().item(TotalCount.NONE);
+        }
+
+        if (countMode != CountMode.APPROXIMATE) {
+            return reactiveClusterRepository.countExistingClusters(queryParam)
+                    .map(total -> new TotalCount(total, TotalMode.EXACT));
+        }
+
+        String search = queryParam.getSearch();
+        return totalCountService.approximateAsync(
+                Arrays.asList("clusters", search),
+                search != null && !search.isBlank(),
+                () -> reactiveClusterRepository.countExistingClusters(queryParam),
+                reactiveClusterRepository::estimateExistingClusters
+        );
+    }
+
+    private static void requireActive(Cluster cluster) {
+        if (cluster == null) {
+            throw new NotFoundException(CLUSTER_NOT_FOUND);
+        }
+
+        if (cluster.getDeletedAt() != null) {
+            throw new ConflictException(CLUSTER_ALREADY_DELETED);
+        }
+    }
+}
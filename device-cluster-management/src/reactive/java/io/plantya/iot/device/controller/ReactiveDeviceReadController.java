@@ -0,0 +1,100 @@
+package io.plantya.iot.device.controller;
+
+import io.plantya.iot.common.dto.param.DeviceParam;
+import io.plantya.iot.common.dto.request.DeviceQueryParam;
+import io.plantya.iot.common.util.ETags;
+import io.plantya.iot.common.validator.RequestValidator;
+import io.plantya.iot.device.service.DeviceService;
+import io.plantya.iot.device.service.ReactiveDeviceService;
+import io.quarkus.arc.profile.IfBuildProfile;
+import io.quarkus.hibernate.reactive.panache.common.WithSession;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Non-blocking device reads on the event loop, built with the {@code reactive} profile in place of
+ * {@link DeviceReadController}. The ETag version and the body share one reactive session.
+ */
+@Path("/api/devices")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+@IfBuildProfile("reactive")
+public class ReactiveDeviceReadController {
+
+    @Inject
+    ReactiveDeviceService reactiveDeviceService;
+
+    @GET
+    @WithSession
+    public Uni<Response> findAllExistingDevices(
+            @BeanParam DeviceQueryParam queryParam,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+            @Context Request request
+    ) {
+        DeviceParam deviceParam = new DeviceParam(
+                queryParam.getPage(),
+                queryParam.getSize(),
+                queryParam.getSearch(),
+                queryParam.getSort(),
+                queryParam.getOrder(),
+                queryParam.getStatus(),
+                queryParam.getCursor(),
+                queryParam.getIncludeTotal(),
+                RequestValidator.validateCountMode(queryParam.getCount()),
+                null
+        );
+
+        // Nothing to compare against: load the page once and tag it with the version of its own rows
+        if (ifNoneMatch == null) {
+            if (deviceParam.cursor() != null) {
+                return reactiveDeviceService.findExistingDevicesByCursor(deviceParam)
+                        .chain(response -> ETags.conditionalAsync(
+                                request,
+                                DeviceService.versionOf(deviceParam, response),
+                                () -> Uni.createFrom().item(response)
+                        ));
+            }
+
+            return reactiveDeviceService.findAllExistingDevices(deviceParam)
+                    .chain(response -> ETags.conditionalAsync(
+                            request,
+                            DeviceService.versionOf(deviceParam, response),
+                            () -> Uni.createFrom().item(response)
+                    ));
+        }
+
+        return reactiveDeviceService.findDevicesVersion(deviceParam).chain(version -> {
+            if (deviceParam.cursor() != null) {
+                return ETags.conditionalAsync(
+                        request,
+                        version.version(),
+                        () -> reactiveDeviceService.findExistingDevicesByCursor(deviceParam, version.totalCount())
+                );
+            }
+
+            return ETags.conditionalAsync(
+                    request,
+                    version.version(),
+                    () -> reactiveDeviceService.findAllExistingDevices(deviceParam, version.totalCount())
+            );
+        });
+    }
+
+    @GET
+    @Path("/{deviceId}")
+    @WithSession
+    public Uni<Response> findDeviceById(@PathParam("deviceId") String deviceId, @Context Request request) {
+        return reactiveDeviceService.findDeviceVersion(deviceId)
+                .chain(version -> ETags.conditionalAsync(
+                        request,
+                        version,
+                        () -> reactiveDeviceService.findDeviceByDeviceId(deviceId)
+                ));
+    }
+}
@@ -0,0 +1,127 @@
+package io.plantya.iot.device.repository;
+
+import io.plantya.iot.common.dto.param.DeviceCursor;
+import io.plantya.iot.common.dto.param.DeviceParam;
+import io.plantya.iot.common.dto.query.DeviceStatusCount;
+import io.plantya.iot.common.dto.query.DeviceVersion;
+import io.plantya.iot.common.dto.query.QueryData;
+import io.plantya.iot.common.util.PlannerEstimates;
+import io.plantya.iot.device.domain.Device;
+import io.plantya.iot.device.dto.response.DeviceGetResponse;
+import io.quarkus.arc.profile.IfBuildProfile;
+import io.quarkus.hibernate.reactive.panache.PanacheRepository;
+import io.quarkus.panache.common.Page;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Non-blocking reads over the same queries as {@link DeviceRepository}, on the reactive PostgreSQL client.
+ * Only built with the {@code reactive} profile; writes always go through {@link DeviceRepository}.
+ */
+@ApplicationScoped
+@IfBuildProfile("reactive")
+public class ReactiveDeviceRepository implements PanacheRepository<Device> {
+
+    /**
+     * Emits null when the device does not exist.
+     */
+    public Uni<Device> findByDeviceId(String deviceId) {
+        return find("deviceId", deviceId).firstResult();
+    }
+
+    public Uni<List<DeviceGetResponse>> findAllExistingDevices(DeviceParam param) {
+        QueryData queryData = DeviceRepository.buildQuery(param);
+
+        return find(queryData.query(), queryData.params().toArray())
+                .project(DeviceGetResponse.class)
+                .withHint(HibernateHints.HINT_READ_ONLY, true)
+                .page(Page.of(param.page() - 1, param.size()))
+                .list();
+    }
+
+    public Uni<List<Device>> findExistingDevicesAfter(DeviceParam param, DeviceCursor cursor, int limit) {
+        QueryData queryData = DeviceRepository.buildKeysetQuery(param, cursor);
+
+        return find(queryData.query(), queryData.params().toArray())
+                .range(0, limit - 1)
+                .list();
+    }
+
+    public DeviceCursor toCursor(Device device, DeviceParam param) {
+        return DeviceRepository.cursorOf(device, param);
+    }
+
+    public boolean isCursorApplicable(DeviceCursor cursor, DeviceParam param) {
+        return DeviceRepository.cursorMatches(cursor, param);
+    }
+
+    /**
+     * Emits null when the device does not exist.
+     */
+    public Uni<Object[]> findVersionByDeviceId(String deviceId) {
+        return getSession().chain(session -> session
+                .createSelectionQuery(DeviceRepository.DEVICE_VERSION_HQL, Object[].class)
+                .setParameter("deviceId", deviceId)
+                .getSingleResultOrNull());
+    }
+
+    public Uni<List<DeviceVersion>> findPageVersions(DeviceParam param) {
+        QueryData queryData = DeviceRepository.buildQuery(param);
+
+        return find(queryData.query(), queryData.params().toArray())
+                .project(DeviceVersion.class)
+                .withHint(HibernateHints.HINT_READ_ONLY, true)
+                .page(Page.of(param.page() - 1, param.size()))
+                .list();
+    }
+
+    public Uni<List<DeviceVersion>> findVersionsAfter(DeviceParam param, DeviceCursor cursor, int limit) {
+        QueryData queryData = DeviceRepository.buildKeysetQuery(param, cursor);
+
+        return find(queryData.query(), queryData.params().toArray())
+                .project(DeviceVersion.class)
+                .withHint(HibernateHints.HINT_READ_ONLY, true)
+                .range(0, limit - 1)
+                .list();
+    }
+
+    public Uni<Long> countExistingDevices(DeviceParam param) {
+        QueryData queryData = DeviceRepository.buildFilter(param);
+        return count(queryData.query(), queryData.params().toArray());
+    }
+
+    public Uni<OptionalLong> estimateExistingDevices() {
+        return getSession()
+                .chain(session -> session.<Object>createNativeQuery("EXPLAIN " + DeviceRepository.LIVE_DEVICES_SQL)
+                        .getResultList())
+                .map(PlannerEstimates::parseRows);
+    }
+
+    public boolean isFiltered(DeviceParam param) {
+        return !DeviceRepository.buildFilter(param).params().isEmpty();
+    }
+
+    public Uni<DeviceStatusCount> countDevicesByStatus(String clusterId) {
+        return countDevicesByStatusForClusters(List.of(clusterId))
+                .map(counts -> counts.getOrDefault(clusterId, DeviceStatusCount.EMPTY));
+    }
+
+    public Uni<Map<String, DeviceStatusCount>> countDevicesByStatusForClusters(Collection<String> clusterIds) {
+        if (clusterIds.isEmpty()) {
+            return Uni.createFrom().item(Map.of());
+        }
+
+        return getSession()
+                .chain(session -> session
+                        .createSelectionQuery(DeviceRepository.STATUS_COUNTS_HQL, Object[].class)
+                        .setParameter("clusterIds", clusterIds)
+                        .getResultList())
+                .map(DeviceRepository::toStatusCounts);
+    }
+}
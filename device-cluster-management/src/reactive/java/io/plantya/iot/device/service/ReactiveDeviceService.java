@@ -0,0 +1,209 @@
+package io.plantya.iot.device.service;
+
+import io.plantya.iot.common.dto.param.CountMode;
+import io.plantya.iot.common.dto.param.DeviceCursor;
+import io.plantya.iot.common.dto.param.DeviceParam;
+import io.plantya.iot.common.dto.query.PageVersion;
+import io.plantya.iot.common.dto.query.TotalCount;
+import io.plantya.iot.common.dto.response.TotalMode;
+import io.plantya.iot.common.exception.BadRequestException;
+import io.plantya.iot.common.exception.NotFoundException;
+import io.plantya.iot.common.mapper.DeviceResponseMapper;
+import io.plantya.iot.common.service.TotalCountService;
+import io.plantya.iot.common.util.CursorCodec;
+import io.plantya.iot.common.util.ETags;
+import io.plantya.iot.device.domain.Device;
+import io.plantya.iot.device.dto.response.CursorDeviceResponse;
+import io.plantya.iot.device.dto.response.DeviceGetResponse;
+import io.plantya.iot.device.dto.response.PagedDeviceResponse;
+import io.plantya.iot.device.repository.ReactiveDeviceRepository;
+import io.quarkus.arc.profile.IfBuildProfile;
+import io.quarkus.hibernate.reactive.panache.common.WithSession;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static io.plantya.iot.common.exception.message.ErrorMessage.*;
+
+/**
+ * Mutiny counterpart of the read side of {@link DeviceService}: same validation, paging, counting
+ * and responses, without holding a worker thread while PostgreSQL answers.
+ */
+@ApplicationScoped
+@IfBuildProfile("reactive")
+public class ReactiveDeviceService {
+
+    @Inject
+    ReactiveDeviceRepository reactiveDeviceRepository;
+
+    @Inject
+    TotalCountService totalCountService;
+
+    private final Logger LOG = Logger.getLogger(ReactiveDeviceService.class);
+
+    @WithSession
+    public Uni<PagedDeviceResponse> findAllExistingDevices(DeviceParam param) {
+        return findAllExistingDevices(param, null);
+    }
+
+    /**
+     * @param totalCount total already counted for the page's ETag version, or null to count it here
+     */
+    @WithSession
+    public Uni<PagedDeviceResponse> findAllExistingDevices(DeviceParam param, TotalCount totalCount) {
+        validatePage(param);
+
+        // One session runs one statement at a time, so the page and the count are chained
+        return reactiveDeviceRepository.findAllExistingDevices(param)
+                .chain(responses -> countDevices(param, totalCount).map(total -> new PagedDeviceResponse(
+                        responses.size(),
+                        param.page(),
+                        param.size(),
+                        total.totalPages(param.size()),
+                        total.total(),
+                        total.mode(),
+                        responses
+                )));
+    }
+
+    @WithSession
+    public Uni<CursorDeviceResponse> findExistingDevicesByCursor(DeviceParam param) {
+        return findExistingDevicesByCursor(param, null);
+    }
+
+    /**
+     * @param totalCount total already counted for the page's ETag version, or null to count it here
+     */
+    @WithSession
+    public Uni<CursorDeviceResponse> findExistingDevicesByCursor(DeviceParam param, TotalCount totalCount) {
+        DeviceCursor cursor = decodeCursor(param);
+
+        // Fetch one extra row to learn whether another page exists without counting
+        return reactiveDeviceRepository.findExistingDevicesAfter(param, cursor, param.size() + 1)
+                .chain(fetched -> countDevices(param, totalCount).map(total -> {
+                    boolean hasNext = fetched.size() > param.size();
+                    List<Device> devices = hasNext ? fetched.subList(0, param.size()) : fetched;
+
+                    String nextCursor = hasNext
+                            ? CursorCodec.encode(reactiveDeviceRepository.toCursor(devices.getLast(), param))
+                            : null;
+
+                    List<DeviceGetResponse> responses = devices.stream()
+                            .map(DeviceResponseMapper::toDeviceGetResponse)
+                            .toList();
+
+                    return new CursorDeviceResponse(
+                            responses.size(),
+                            param.size(),
+                            total.total(),
+                            total.mode(),
+                            nextCursor,
+                            responses
+                    );
+                }));
+    }
+
+    /**
+     * ETag version of a device, or null when it does not exist.
+     */
+    @WithSession
+    public Uni<String> findDeviceVersion(String deviceId) {
+        return reactiveDeviceRepository.findVersionByDeviceId(deviceId)
+                .map(version -> version == null ? null : ETags.version(version));
+    }
+
+    /**
+     * ETag version of a device list page and its total, as {@link DeviceService#findDevicesVersion}.
+     */
+    @WithSession
+    public Uni<PageVersion> findDevicesVersion(DeviceParam param) {
+        if (param.cursor() == null) {
+            validatePage(param);
+
+            return reactiveDeviceRepository.findPageVersions(param)
+                    .chain(rows -> countDevices(param, null).map(totalCount -> new PageVersion(
+                            ETags.version(param, totalCount, false, rows),
+                            totalCount
+                    )));
+        }
+
+        DeviceCursor cursor = decodeCursor(param);
+        return reactiveDeviceRepository.findVersionsAfter(param, cursor, param.size() + 1)
+                .chain(rows -> countDevices(param, null).map(totalCount -> {
+                    boolean hasNext = rows.size() > param.size();
+                    return new PageVersion(
+                            ETags.version(param, totalCount, hasNext, hasNext ? rows.subList(0, param.size()) : rows),
+                            totalCount
+                    );
+                }));
+    }
+
+    @WithSession
+    public Uni<DeviceGetResponse> findDeviceByDeviceId(String deviceId) {
+        return reactiveDeviceRepository.findByDeviceId(deviceId)
+                .onItem().ifNull().failWith(() -> new NotFoundException(DEVICE_NOT_FOUND))
+                .map(DeviceResponseMapper::toDeviceGetResponse);
+    }
+
+    // ===== HELPER ===== //
+    private static void validatePage(DeviceParam param) {
+        if (param.page() < 1) {
+            throw new BadRequestException(PAGE_LOWER_THAN_ONE);
+        }
+
+        if (param.size() < 1) {
+            throw new BadRequestException(SIZE_LOWER_THAN_ONE);
+        }
+    }
+
+    /**
+     * Validates a cursor request; returns null for the first page.
+     */
+    private DeviceCursor decodeCursor(DeviceParam param) {
+        if (param.size() < 1) {
+            throw new BadRequestException(SIZE_LOWER_THAN_ONE);
+        }
+
+        if (param.cursor().isBlank()) {
+            return null;
+        }
+
+        DeviceCursor cursor = CursorCodec.decode(param.cursor());
+        if (!reactiveDeviceRepository.isCursorApplicable(cursor, param)) {
+            LOG.warnf("Cursor does not match requested sort: sort=%s, order=%s", param.sort(), param.order());
+            throw new BadRequestException(CURSOR_INVALID);
+        }
+
+        return cursor;
+    }
+
+    /**
+     * The given total when already counted, otherwise as {@link DeviceService#countDevices}.
+     */
+    private Uni<TotalCount> countDevices(DeviceParam param, TotalCount totalCount) {
+        if (totalCount != null) {
+            return Uni.createFrom().item(totalCount);
+        }
+
+        boolean includeTotal = param.includeTotal() != null ? param.includeTotal() : param.cursor() == null;
+        if (!includeTotal) {
+            return Uni.createFrom().item(TotalCount.NONE);
+        }
+
+        if (param.countMode() != CountMode.APPROXIMATE) {
+            return reactiveDeviceRepository.countExistingDevices(param)
+                    .map(total -> new TotalCount(total, TotalMode.EXACT));
+        }
+
+        return totalCountService.approximateAsync(
+                Arrays.asList("devices", param.search(), param.status(), param.clusterId()),
+                reactiveDeviceRepository.isFiltered(param),
+                () -> reactiveDeviceRepository.countExistingDevices(param),
+                reactiveDeviceRepository::estimateExistingDevices
+        );
+    }
+}
@@ -0,0 +1,125 @@
+package io.plantya.iot.cluster.service;
+
+import io.plantya.iot.cluster.repository.ClusterRepository;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CaffeineCache;
+import io.smallrye.mutiny.Uni;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ClusterIdCache Unit Test")
+@ExtendWith(MockitoExtension.class)
+class ClusterIdCacheTest {
+
+    @InjectMocks
+    ClusterIdCache clusterIdCache;
+
+    @Mock
+    Cache cache;
+
+    @Mock
+    CaffeineCache caffeineCache;
+
+    @Mock
+    ClusterRepository clusterRepository;
+
+    @Mock
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @Nested
+    @DisplayName("Lookup")
+    class Lookup {
+
+        @BeforeEach
+        void setUp() {
+            when(cache.as(CaffeineCache.class)).thenReturn(caffeineCache);
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Cached id skips the database")
+        void isLive_hit() {
+            when(caffeineCache.getIfPresent("CL-00001")).thenReturn(CompletableFuture.completedFuture(true));
+
+            assertTrue(clusterIdCache.isLive("CL-00001"));
+            verifyNoInteractions(clusterRepository);
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Live id is loaded once and cached")
+        void isLive_missLive() {
+            when(clusterRepository.existsActiveByClusterId("CL-00001")).thenReturn(true);
+
+            assertTrue(clusterIdCache.isLive("CL-00001"));
+            verify(caffeineCache).put(eq("CL-00001"), any());
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Unknown id is not cached")
+        void isLive_missUnknown() {
+            when(clusterRepository.existsActiveByClusterId("CL-09999")).thenReturn(false);
+
+            assertFalse(clusterIdCache.isLive("CL-09999"));
+            verify(caffeineCache, never()).put(any(), any());
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Several ids resolve their misses with one query")
+        void findLive_mixed() {
+            when(caffeineCache.getIfPresent("CL-00001")).thenReturn(CompletableFuture.completedFuture(true));
+            when(clusterRepository.findExistingClusterIds(List.of("CL-00002", "CL-09999")))
+                    .thenReturn(Set.of("CL-00002"));
+
+            Set<String> live = clusterIdCache.findLive(List.of("CL-00001", "CL-00002", "CL-09999"));
+
+            assertEquals(Set.of("CL-00001", "CL-00002"), live);
+            verify(clusterRepository, times(1)).findExistingClusterIds(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalidate")
+    class Invalidate {
+
+        @BeforeEach
+        void setUp() {
+            when(cache.invalidate("CL-00001")).thenReturn(Uni.createFrom().voidItem());
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Inside a transaction the id is evicted again after completion")
+        void invalidate_inTransaction() {
+            when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_ACTIVE);
+            ArgumentCaptor<Synchronization> captor = ArgumentCaptor.forClass(Synchronization.class);
+
+            clusterIdCache.invalidate("CL-00001");
+            verify(transactionRegistry).registerInterposedSynchronization(captor.capture());
+            captor.getValue().afterCompletion(Status.STATUS_COMMITTED);
+
+            verify(cache, times(2)).invalidate("CL-00001");
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Outside a transaction the id is evicted once")
+        void invalidate_noTransaction() {
+            when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+
+            clusterIdCache.invalidate("CL-00001");
+
+            verify(cache, times(1)).invalidate("CL-00001");
+            verify(transactionRegistry, never()).registerInterposedSynchronization(any());
+        }
+    }
+}
@@ -8,12 +8,22 @@ import io.plantya.iot.cluster.dto.response.ClusterUpdateResponse;
 import io.plantya.iot.cluster.dto.response.PagedClusterResponse;
 import io.plantya.iot.cluster.entity.Cluster;
 import io.plantya.iot.cluster.repository.ClusterRepository;
+import io.plantya.iot.common.dto.param.DeviceParam;
+import io.plantya.iot.common.dto.query.PatchResult;
+import io.plantya.iot.common.dto.query.ClusterSummary;
+import io.plantya.iot.common.dto.query.DeviceStatusCount;
+import io.plantya.iot.common.dto.query.TotalCount;
 import io.plantya.iot.common.dto.request.ClusterQueryParam;
+import io.plantya.iot.common.dto.response.TotalMode;
 import io.plantya.iot.common.exception.BadRequestException;
 import io.plantya.iot.common.exception.ConflictException;
 import io.plantya.iot.common.exception.NotFoundException;
-import io.plantya.iot.device.domain.Device;
+import io.plantya.iot.common.service.TotalCountService;
+import io.plantya.iot.device.dto.response.PagedDeviceResponse;
 import io.plantya.iot.device.repository.DeviceRepository;
+import io.plantya.iot.device.service.DeviceEventBroadcaster;
+import io.plantya.iot.device.service.DeviceHeartbeatService;
+import io.plantya.iot.device.service.DeviceService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -24,10 +34,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,6 +55,21 @@ class ClusterServiceTest {
     @Mock
     private DeviceRepository deviceRepository;
 
+    @Mock
+    private DeviceService deviceService;
+
+    @Mock
+    private ClusterIdCache clusterIdCache;
+
+    @Mock
+    private DeviceEventBroadcaster deviceEventBroadcaster;
+
+    @Mock
+    private DeviceHeartbeatService deviceHeartbeatService;
+
+    @Mock
+    private TotalCountService totalCountService;
+
     @Nested
     @DisplayName("Find All Existing Clusters")
     class FindAllExistingClusters {
@@ -52,9 +80,9 @@ class ClusterServiceTest {
             // Arrange
             ClusterQueryParam param = createQueryParam(1, 10);
 
-            List<Cluster> clusters = List.of(
-                    createCluster("CL-001", "Cluster A"),
-                    createCluster("CL-002", "Cluster B")
+            List<ClusterSummary> clusters = List.of(
+                    new ClusterSummary("CL-001", "Cluster A"),
+                    new ClusterSummary("CL-002", "Cluster B")
             );
 
             when(clusterRepository.findAllExistingClusters(param))
@@ -77,6 +105,72 @@ class ClusterServiceTest {
             assertEquals("Cluster A", response.clusters().getFirst().clusterName());
         }
 
+        @Test
+        @DisplayName("SUCCESS: Device stats for the page come from one grouped query")
+        void findAllExistingClusters_withDeviceStats() {
+            // Arrange
+            ClusterQueryParam param = createQueryParam(1, 10);
+            param.setInclude("device_stats");
+
+            List<ClusterSummary> clusters = List.of(
+                    new ClusterSummary("CL-001", "Cluster A"),
+                    new ClusterSummary("CL-002", "Cluster B")
+            );
+
+            when(clusterRepository.findAllExistingClusters(param))
+                    .thenReturn(clusters);
+            when(clusterRepository.countExistingDevices(param))
+                    .thenReturn(2L);
+            when(deviceRepository.countDevicesByStatusForClusters(List.of("CL-001", "CL-002")))
+                    .thenReturn(Map.of("CL-001", new DeviceStatusCount(3, 1)));
+
+            // Act
+            PagedClusterResponse response = clusterService.findAllExistingClusters(param);
+
+            // Assert
+            assertEquals(4, response.clusters().get(0).deviceStats().total());
+            assertEquals(3, response.clusters().get(0).deviceStats().online());
+            assertEquals(0, response.clusters().get(1).deviceStats().total());
+
+            verify(deviceRepository, times(1)).countDevicesByStatusForClusters(anyList());
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Device stats are omitted unless requested")
+        void findAllExistingClusters_withoutDeviceStats() {
+            // Arrange
+            ClusterQueryParam param = createQueryParam(1, 10);
+
+            when(clusterRepository.findAllExistingClusters(param))
+                    .thenReturn(List.of(new ClusterSummary("CL-001", "Cluster A")));
+            when(clusterRepository.countExistingDevices(param))
+                    .thenReturn(1L);
+
+            // Act
+            PagedClusterResponse response = clusterService.findAllExistingClusters(param);
+
+            // Assert
+            assertNull(response.clusters().getFirst().deviceStats());
+            verify(deviceRepository, never()).countDevicesByStatusForClusters(anyList());
+        }
+
+        @Test
+        @DisplayName("FAIL: Unknown include value")
+        void findAllExistingClusters_invalidInclude() {
+            // Arrange
+            ClusterQueryParam param = createQueryParam(1, 10);
+            param.setInclude("devices");
+
+            // Act & Assert
+            BadRequestException exception = assertThrows(
+                    BadRequestException.class,
+                    () -> clusterService.findAllExistingClusters(param)
+            );
+
+            assertEquals("INCLUDE_INVALID", exception.getError().getCode());
+            verify(clusterRepository, never()).findAllExistingClusters(any());
+        }
+
         @Test
         @DisplayName("FAIL: Page number less than 1")
         void findAllExistingClusters_pageLessThanOne() {
@@ -119,10 +213,10 @@ class ClusterServiceTest {
             // Arrange
             ClusterQueryParam param = createQueryParam(2, 3);
 
-            List<Cluster> clusters = List.of(
-                    createCluster("CL-1", "A"),
-                    createCluster("CL-2", "B"),
-                    createCluster("CL-3", "C")
+            List<ClusterSummary> clusters = List.of(
+                    new ClusterSummary("CL-1", "A"),
+                    new ClusterSummary("CL-2", "B"),
+                    new ClusterSummary("CL-3", "C")
             );
 
             when(clusterRepository.findAllExistingClusters(param))
@@ -139,6 +233,64 @@ class ClusterServiceTest {
             assertEquals(3, response.size());
         }
 
+        @Test
+        @DisplayName("SUCCESS: Approximate count of a searched list uses the cached count")
+        void findAllExistingClusters_approximate() {
+            // Arrange
+            ClusterQueryParam param = createQueryParam(1, 10);
+            param.setCount("approximate");
+            param.setSearch("green");
+
+            when(clusterRepository.findAllExistingClusters(param))
+                    .thenReturn(List.of());
+            when(totalCountService.approximate(any(), eq(true), any(), any()))
+                    .thenReturn(new TotalCount(42L, TotalMode.CACHED));
+
+            // Act
+            PagedClusterResponse response = clusterService.findAllExistingClusters(param);
+
+            // Assert
+            assertEquals(42L, response.totalData());
+            assertEquals(5, response.totalPages());
+            assertEquals(TotalMode.CACHED, response.totalMode());
+            verify(clusterRepository, never()).countExistingDevices(any());
+        }
+
+        @Test
+        @DisplayName("SUCCESS: include_total=false skips the count")
+        void findAllExistingClusters_withoutTotal() {
+            // Arrange
+            ClusterQueryParam param = createQueryParam(1, 10);
+            param.setIncludeTotal(false);
+
+            when(clusterRepository.findAllExistingClusters(param))
+                    .thenReturn(List.of());
+
+            // Act
+            PagedClusterResponse response = clusterService.findAllExistingClusters(param);
+
+            // Assert
+            assertNull(response.totalPages());
+            assertEquals(TotalMode.NONE, response.totalMode());
+            verify(clusterRepository, never()).countExistingDevices(any());
+        }
+
+        @Test
+        @DisplayName("FAIL: Unknown count mode")
+        void findAllExistingClusters_invalidCountMode() {
+            // Arrange
+            ClusterQueryParam param = createQueryParam(1, 10);
+            param.setCount("fast");
+
+            // Act & Assert
+            BadRequestException exception = assertThrows(
+                    BadRequestException.class,
+                    () -> clusterService.findAllExistingClusters(param)
+            );
+
+            assertEquals("COUNT_MODE_INVALID", exception.getError().getCode());
+        }
+
         private Cluster createCluster(String id, String name) {
             Cluster cluster = new Cluster();
             cluster.setClusterId(id);
@@ -154,6 +306,92 @@ class ClusterServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Cluster Versions")
+    class ClusterVersions {
+
+        private final Instant updatedAt = Instant.parse("2026-02-01T00:00:00Z");
+
+        @Test
+        @DisplayName("SUCCESS: List version is taken from the loaded page")
+        void versionOf_followsPage() {
+            // Arrange
+            ClusterQueryParam param = createQueryParam();
+            param.setInclude("device_stats");
+            param.setIncludeTotal(false);
+            when(clusterRepository.findAllExistingClusters(param))
+                    .thenReturn(List.of(new ClusterSummary("CL-001", "Cluster A")));
+            when(deviceRepository.countDevicesByStatusForClusters(List.of("CL-001"))).thenReturn(
+                    Map.of("CL-001", new DeviceStatusCount(2, 0)),
+                    Map.of("CL-001", new DeviceStatusCount(2, 0)),
+                    Map.of("CL-001", new DeviceStatusCount(1, 1))
+            );
+
+            // Act
+            String first = ClusterService.versionOf(param, clusterService.findAllExistingClusters(param));
+            String same = ClusterService.versionOf(param, clusterService.findAllExistingClusters(param));
+            String changed = ClusterService.versionOf(param, clusterService.findAllExistingClusters(param));
+
+            // Assert
+            assertEquals(first, same);
+            assertNotEquals(first, changed);
+            verify(clusterRepository, never()).countExistingDevices(any());
+        }
+
+        @Test
+        @DisplayName("SUCCESS: List version follows the page's total")
+        void versionOf_followsTotal() {
+            // Arrange
+            ClusterQueryParam param = createQueryParam();
+            when(clusterRepository.findAllExistingClusters(param))
+                    .thenReturn(List.of(new ClusterSummary("CL-001", "Cluster A")));
+            when(clusterRepository.countExistingDevices(param)).thenReturn(1L, 2L);
+
+            // Act
+            String before = ClusterService.versionOf(param, clusterService.findAllExistingClusters(param));
+            String after = ClusterService.versionOf(param, clusterService.findAllExistingClusters(param));
+
+            // Assert
+            assertNotEquals(before, after);
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Detail version follows the cluster and its devices")
+        void findClusterVersion_success() {
+            // Arrange
+            when(clusterRepository.findVersionByClusterId("CL-001")).thenReturn(
+                    Optional.of(new Object[]{updatedAt, null, 2L, updatedAt}),
+                    Optional.of(new Object[]{updatedAt, null, 3L, updatedAt})
+            );
+
+            // Act
+            String before = clusterService.findClusterVersion("CL-001");
+            String after = clusterService.findClusterVersion("CL-001");
+
+            // Assert
+            assertNotNull(before);
+            assertNotEquals(before, after);
+            verify(clusterRepository, never()).findByClusterId(any());
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Missing cluster has no version")
+        void findClusterVersion_notFound() {
+            // Arrange
+            when(clusterRepository.findVersionByClusterId("CL-404")).thenReturn(Optional.empty());
+
+            // Act & Assert
+            assertNull(clusterService.findClusterVersion("CL-404"));
+        }
+
+        private ClusterQueryParam createQueryParam() {
+            ClusterQueryParam param = new ClusterQueryParam();
+            param.setPage(1);
+            param.setSize(10);
+            return param;
+        }
+    }
+
     @Nested
     @DisplayName("Create Cluster")
     class CreateCluster {
@@ -186,6 +424,7 @@ class ClusterServiceTest {
 
             verify(clusterRepository).findByClusterName("Test Cluster");
             verify(clusterRepository).save(any(Cluster.class));
+            verify(clusterIdCache).invalidate("CL-00001");
         }
 
         @Test
@@ -245,21 +484,16 @@ class ClusterServiceTest {
     class FindByClusterId {
 
         @Test
-        @DisplayName("SUCCESS: Get cluster with devices")
+        @DisplayName("SUCCESS: Get cluster with device counts")
         void findByClusterId_success() {
             // Arrange
             String clusterId = "CL-001";
             Cluster cluster = createCluster(clusterId);
 
-            List<Device> devices = List.of(
-                    createDevice("DEV-1"),
-                    createDevice("DEV-2")
-            );
-
             when(clusterRepository.findByClusterId(clusterId))
                     .thenReturn(Optional.of(cluster));
-            when(deviceRepository.findAllDevicesByClusterId(clusterId))
-                    .thenReturn(devices);
+            when(deviceRepository.countDevicesByStatus(clusterId))
+                    .thenReturn(new DeviceStatusCount(2, 1));
 
             // Act
             ClusterGetResponse response = clusterService.findByClusterId(clusterId);
@@ -268,11 +502,12 @@ class ClusterServiceTest {
             assertNotNull(response);
             assertEquals(clusterId, response.clusterId());
             assertEquals("Test Cluster", response.clusterName());
-            assertEquals(2, response.totalDevices());
-            assertEquals(2, response.devices().size());
+            assertEquals(3, response.totalDevices());
+            assertEquals(2, response.onlineDevices());
+            assertEquals(1, response.offlineDevices());
 
             verify(clusterRepository, times(1)).findByClusterId(clusterId);
-            verify(deviceRepository, times(1)).findAllDevicesByClusterId(clusterId);
+            verify(deviceRepository, times(1)).countDevicesByStatus(clusterId);
         }
 
         @Test
@@ -292,7 +527,7 @@ class ClusterServiceTest {
             assertEquals("CLUSTER_NOT_FOUND", exception.getError().getCode());
 
             verify(clusterRepository, times(1)).findByClusterId(clusterId);
-            verify(deviceRepository, never()).findAllDevicesByClusterId(any());
+            verify(deviceRepository, never()).countDevicesByStatus(any());
         }
 
         @Test
@@ -315,11 +550,11 @@ class ClusterServiceTest {
             assertEquals("CLUSTER_ALREADY_DELETED", exception.getError().getCode());
 
             verify(clusterRepository, times(1)).findByClusterId(clusterId);
-            verify(deviceRepository, never()).findAllDevicesByClusterId(any());
+            verify(deviceRepository, never()).countDevicesByStatus(any());
         }
 
         @Test
-        @DisplayName("SUCCESS: Cluster without devices returns empty list")
+        @DisplayName("SUCCESS: Cluster without devices returns zero counts")
         void findByClusterId_noDevices() {
             // Arrange
             String clusterId = "CL-004";
@@ -327,8 +562,8 @@ class ClusterServiceTest {
 
             when(clusterRepository.findByClusterId(clusterId))
                     .thenReturn(Optional.of(cluster));
-            when(deviceRepository.findAllDevicesByClusterId(clusterId))
-                    .thenReturn(List.of());
+            when(deviceRepository.countDevicesByStatus(clusterId))
+                    .thenReturn(DeviceStatusCount.EMPTY);
 
             // Act
             ClusterGetResponse response = clusterService.findByClusterId(clusterId);
@@ -336,7 +571,7 @@ class ClusterServiceTest {
             // Assert
             assertNotNull(response);
             assertEquals(0, response.totalDevices());
-            assertTrue(response.devices().isEmpty());
+            assertEquals(0, response.onlineDevices());
         }
 
         private Cluster createCluster(String clusterId) {
@@ -347,10 +582,43 @@ class ClusterServiceTest {
             return cluster;
         }
 
-        private Device createDevice(String deviceId) {
-            Device device = new Device();
-            device.setDeviceId(deviceId);
-            return device;
+        @Test
+        @DisplayName("SUCCESS: Device list is delegated with cluster filter")
+        void findDevicesByClusterId_success() {
+            // Arrange
+            String clusterId = "CL-005";
+            DeviceParam param = new DeviceParam(1, 10, null, null, null, null, null, false, null, clusterId);
+            PagedDeviceResponse paged = new PagedDeviceResponse(0, 1, 10, 0, 0L, TotalMode.EXACT, List.of());
+
+            when(clusterRepository.findByClusterId(clusterId))
+                    .thenReturn(Optional.of(createCluster(clusterId)));
+            when(deviceService.findAllExistingDevices(param))
+                    .thenReturn(paged);
+
+            // Act
+            PagedDeviceResponse response = clusterService.findDevicesByClusterId(clusterId, param);
+
+            // Assert
+            assertSame(paged, response);
+        }
+
+        @Test
+        @DisplayName("FAIL: Device list of unknown cluster")
+        void findDevicesByClusterId_notFound() {
+            // Arrange
+            String clusterId = "CL-404";
+            DeviceParam param = new DeviceParam(1, 10, null, null, null, null, null, false, null, clusterId);
+
+            when(clusterRepository.findByClusterId(clusterId))
+                    .thenReturn(Optional.empty());
+
+            // Act & Assert
+            assertThrows(
+                    NotFoundException.class,
+                    () -> clusterService.findDevicesByClusterId(clusterId, param)
+            );
+
+            verify(deviceService, never()).findAllExistingDevices(any());
         }
     }
 
@@ -359,16 +627,16 @@ class ClusterServiceTest {
     class UpdateCluster {
 
         @Test
-        @DisplayName("SUCCESS: Update cluster name")
+        @DisplayName("SUCCESS: Update cluster name in one statement")
         void updateCluster_success() {
             // Arrange
             String clusterId = "CL-100";
             ClusterUpdateRequest request = new ClusterUpdateRequest("New Cluster Name");
 
-            Cluster cluster = createCluster(clusterId);
-
-            when(clusterRepository.findByClusterId(clusterId))
-                    .thenReturn(Optional.of(cluster));
+            when(clusterRepository.patchCluster(eq(clusterId), eq("New Cluster Name"), any(Instant.class)))
+                    .thenAnswer(invocation -> PatchResult.updated(
+                            patchedCluster(clusterId, "New Cluster Name", invocation.getArgument(2))
+                    ));
 
             // Act
             ClusterUpdateResponse response = clusterService.updateCluster(clusterId, request);
@@ -379,7 +647,7 @@ class ClusterServiceTest {
             assertEquals("New Cluster Name", response.clusterName());
             assertNotNull(response.updatedAt());
 
-            verify(clusterRepository, times(1)).findByClusterId(clusterId);
+            verify(clusterRepository, never()).findByClusterId(any());
         }
 
         @Test
@@ -389,8 +657,8 @@ class ClusterServiceTest {
             String clusterId = "CL-404";
             ClusterUpdateRequest request = new ClusterUpdateRequest("New Name");
 
-            when(clusterRepository.findByClusterId(clusterId))
-                    .thenReturn(Optional.empty());
+            when(clusterRepository.patchCluster(eq(clusterId), eq("New Name"), any(Instant.class)))
+                    .thenReturn(PatchResult.notFound());
 
             // Act & Assert
             NotFoundException exception = assertThrows(
@@ -401,6 +669,25 @@ class ClusterServiceTest {
             assertEquals("CLUSTER_NOT_FOUND", exception.getError().getCode());
         }
 
+        @Test
+        @DisplayName("FAIL: Cluster already deleted")
+        void updateCluster_clusterDeleted() {
+            // Arrange
+            String clusterId = "CL-410";
+            ClusterUpdateRequest request = new ClusterUpdateRequest("New Name");
+
+            when(clusterRepository.patchCluster(eq(clusterId), eq("New Name"), any(Instant.class)))
+                    .thenReturn(PatchResult.deleted());
+
+            // Act & Assert
+            ConflictException exception = assertThrows(
+                    ConflictException.class,
+                    () -> clusterService.updateCluster(clusterId, request)
+            );
+
+            assertEquals("CLUSTER_ALREADY_DELETED", exception.getError().getCode());
+        }
+
         @Test
         @DisplayName("FAIL: Request is null")
         void updateCluster_nullRequest() {
@@ -417,17 +704,12 @@ class ClusterServiceTest {
         }
 
         @Test
-        @DisplayName("FAIL: No fields provided to update")
+        @DisplayName("FAIL: No fields provided to update, without touching the database")
         void updateCluster_emptyUpdate() {
             // Arrange
             String clusterId = "CL-002";
-            Cluster cluster = createCluster(clusterId);
-
             ClusterUpdateRequest request = new ClusterUpdateRequest(null);
 
-            when(clusterRepository.findByClusterId(clusterId))
-                    .thenReturn(Optional.of(cluster));
-
             // Act & Assert
             BadRequestException exception = assertThrows(
                     BadRequestException.class,
@@ -435,34 +717,14 @@ class ClusterServiceTest {
             );
 
             assertEquals("CLUSTER_UPDATE_EMPTY", exception.getError().getCode());
+            verifyNoInteractions(clusterRepository);
         }
 
-        @Test
-        @DisplayName("SUCCESS: Only name is updated, other fields remain unchanged")
-        void updateCluster_partialUpdate() {
-            // Arrange
-            String clusterId = "CL-200";
-            Cluster cluster = createCluster(clusterId);
-            Instant oldUpdatedAt = cluster.getUpdatedAt();
-
-            ClusterUpdateRequest request = new ClusterUpdateRequest("Updated Name");
-
-            when(clusterRepository.findByClusterId(clusterId))
-                    .thenReturn(Optional.of(cluster));
-
-            // Act
-            ClusterUpdateResponse response = clusterService.updateCluster(clusterId, request);
-
-            // Assert
-            assertEquals("Updated Name", response.clusterName());
-            assertNotEquals(oldUpdatedAt, response.updatedAt());
-        }
-
-        private Cluster createCluster(String clusterId) {
+        private Cluster patchedCluster(String clusterId, String clusterName, Instant updatedAt) {
             Cluster cluster = new Cluster();
             cluster.setClusterId(clusterId);
-            cluster.setClusterName("Old Cluster Name");
-            cluster.setUpdatedAt(Instant.now());
+            cluster.setClusterName(clusterName);
+            cluster.setUpdatedAt(updatedAt);
             return cluster;
         }
 
@@ -481,6 +743,8 @@ class ClusterServiceTest {
 
             when(clusterRepository.findByClusterId(clusterId))
                     .thenReturn(Optional.of(cluster));
+            when(deviceRepository.softDeleteDevicesByClusterId(clusterId))
+                    .thenReturn(List.of("DVC-00001", "DVC-00002"));
 
             // Act
             clusterService.deleteCluster(clusterId);
@@ -488,6 +752,8 @@ class ClusterServiceTest {
             // Assert
             verify(clusterRepository, times(1)).softDelete(clusterId);
             verify(deviceRepository, times(1)).softDeleteDevicesByClusterId(clusterId);
+            verify(deviceHeartbeatService, times(1)).forgetAll(List.of("DVC-00001", "DVC-00002"));
+            verify(clusterIdCache, times(1)).invalidate(clusterId);
             verify(clusterRepository, times(1)).findByClusterId(clusterId);
         }
 
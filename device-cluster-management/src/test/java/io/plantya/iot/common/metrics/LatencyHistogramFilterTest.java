@@ -0,0 +1,53 @@
+package io.plantya.iot.common.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LatencyHistogramFilter Unit Test")
+class LatencyHistogramFilterTest {
+
+    final LatencyHistogramFilter filter = new LatencyHistogramFilter();
+
+    @Test
+    @DisplayName("SUCCESS: HTTP server timers publish a histogram")
+    void httpServerRequests() {
+        DistributionStatisticConfig config = filter.configure(
+                timerId(LatencyHistogramFilter.HTTP_SERVER_REQUESTS),
+                DistributionStatisticConfig.DEFAULT
+        );
+
+        assertTrue(config.isPercentileHistogram());
+    }
+
+    @Test
+    @DisplayName("SUCCESS: HTTP server timers keep explicitly configured limits")
+    void httpServerRequests_keepsLimits() {
+        DistributionStatisticConfig configured = DistributionStatisticConfig.builder()
+                .maximumExpectedValue((double) Duration.ofSeconds(5).toNanos())
+                .build();
+
+        DistributionStatisticConfig config = filter.configure(timerId(LatencyHistogramFilter.HTTP_SERVER_REQUESTS), configured);
+
+        assertTrue(config.isPercentileHistogram());
+        assertEquals(configured.getMaximumExpectedValueAsDouble(), config.getMaximumExpectedValueAsDouble());
+    }
+
+    @Test
+    @DisplayName("SUCCESS: Other timers are left as configured")
+    void otherTimers() {
+        DistributionStatisticConfig config = filter.configure(timerId("single_flight.wait"), DistributionStatisticConfig.NONE);
+
+        assertSame(DistributionStatisticConfig.NONE, config);
+    }
+
+    private static Meter.Id timerId(String name) {
+        return new Meter.Id(name, Tags.of("uri", "/api/devices/{deviceId}"), null, null, Meter.Type.TIMER);
+    }
+}
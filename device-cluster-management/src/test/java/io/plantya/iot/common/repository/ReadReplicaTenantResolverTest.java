@@ -0,0 +1,90 @@
+package io.plantya.iot.common.repository;
+
+import jakarta.transaction.Status;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ReadReplicaTenantResolver Unit Test")
+@ExtendWith(MockitoExtension.class)
+class ReadReplicaTenantResolverTest {
+
+    @InjectMocks
+    ReadReplicaTenantResolver resolver;
+
+    @Mock
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @BeforeEach
+    void setUp() {
+        resolver.readPaths = Optional.empty();
+    }
+
+    @Nested
+    @DisplayName("resolveTenantId")
+    class ResolveTenantId {
+
+        @Test
+        @DisplayName("SUCCESS: Disabled replica always resolves to the primary")
+        void resolve_disabled() {
+            resolver.enabled = false;
+
+            assertEquals(ReadReplicaTenantResolver.PRIMARY, resolver.resolveTenantId());
+            verifyNoInteractions(transactionRegistry);
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Sessions opened inside a transaction use the primary")
+        void resolve_inTransaction() {
+            resolver.enabled = true;
+            when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_ACTIVE);
+
+            assertEquals(ReadReplicaTenantResolver.PRIMARY, resolver.resolveTenantId());
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Default tenant is the primary")
+        void defaultTenant() {
+            assertEquals(ReadReplicaTenantResolver.PRIMARY, resolver.getDefaultTenantId());
+        }
+    }
+
+    @Nested
+    @DisplayName("isRead")
+    class IsRead {
+
+        @Test
+        @DisplayName("SUCCESS: Safe methods are reads")
+        void isRead_safeMethods() {
+            assertTrue(resolver.isRead("GET", "/api/clusters"));
+            assertTrue(resolver.isRead("HEAD", "/api/clusters"));
+            assertTrue(resolver.isRead("OPTIONS", "/api/clusters"));
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Writes are not reads")
+        void isRead_writes() {
+            assertFalse(resolver.isRead("POST", "/api/clusters"));
+            assertFalse(resolver.isRead("PATCH", "/api/clusters/CLS-001"));
+            assertFalse(resolver.isRead("DELETE", "/api/clusters/CLS-001"));
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Configured read paths are reads whatever the method")
+        void isRead_readPaths() {
+            resolver.readPaths = Optional.of(Set.of("/api/devices/search"));
+
+            assertTrue(resolver.isRead("POST", "/api/devices/search"));
+            assertFalse(resolver.isRead("POST", "/api/devices"));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package io.plantya.iot.common.repository;
+
+import io.plantya.iot.cluster.entity.Cluster;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("SecondLevelCache Unit Test")
+@ExtendWith(MockitoExtension.class)
+class SecondLevelCacheTest {
+
+    @InjectMocks
+    SecondLevelCache secondLevelCache;
+
+    @Mock
+    SessionFactory sessionFactory;
+
+    @Mock
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @Mock
+    Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        when(sessionFactory.getCache()).thenReturn(cache);
+    }
+
+    @Test
+    @DisplayName("SUCCESS: Outside a transaction the entities and lookups are evicted once")
+    void evict_noTransaction() {
+        when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+
+        secondLevelCache.evict(Cluster.class, "cluster-lookups");
+
+        verify(cache).evictEntityData(Cluster.class);
+        verify(cache).evictQueryRegion("cluster-lookups");
+        verify(transactionRegistry, never()).registerInterposedSynchronization(any());
+    }
+
+    @Test
+    @DisplayName("SUCCESS: Inside a transaction the entities are evicted again after completion")
+    void evict_inTransaction() {
+        when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_ACTIVE);
+        ArgumentCaptor<Synchronization> captor = ArgumentCaptor.forClass(Synchronization.class);
+
+        secondLevelCache.evict(Cluster.class, null);
+
+        verify(transactionRegistry).registerInterposedSynchronization(captor.capture());
+        captor.getValue().afterCompletion(Status.STATUS_COMMITTED);
+
+        verify(cache, times(2)).evictEntityData(Cluster.class);
+        verify(cache, never()).evictQueryRegion(any());
+    }
+}
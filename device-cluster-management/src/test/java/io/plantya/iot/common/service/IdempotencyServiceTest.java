@@ -0,0 +1,131 @@
+package io.plantya.iot.common.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.plantya.iot.common.exception.BadRequestException;
+import io.plantya.iot.common.exception.ConflictException;
+import io.plantya.iot.common.exception.message.ErrorMessage;
+import io.plantya.iot.common.repository.IdempotencyKeyRepository;
+import io.plantya.iot.device.dto.request.DeviceCreateRequest;
+import io.quarkus.cache.Cache;
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("IdempotencyService Unit Test")
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    @InjectMocks
+    IdempotencyService idempotencyService;
+
+    @Mock
+    Cache cache;
+
+    @Mock
+    IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Spy
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<Object, Object> entries = new HashMap<>();
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private final DeviceCreateRequest request = new DeviceCreateRequest("Sensor 1", "SENSOR", "CL-00001");
+
+    @SuppressWarnings("unchecked")
+    private void useInMemoryCache() {
+        when(cache.get(any(), any(Function.class))).thenAnswer(invocation -> {
+            Object key = invocation.getArgument(0);
+            Function<Object, Object> loader = invocation.getArgument(1);
+            return Uni.createFrom().item(entries.computeIfAbsent(key, loader));
+        });
+    }
+
+    private Response create() {
+        executions.incrementAndGet();
+        return Response.status(Response.Status.CREATED).entity(Map.of("device_id", "DVC-00001")).build();
+    }
+
+    @Nested
+    @DisplayName("Execute")
+    class Execute {
+
+        @Test
+        @DisplayName("SUCCESS: Without a key the action simply runs")
+        void execute_withoutKey() {
+            Response response = idempotencyService.execute("POST /api/devices", null, request, IdempotencyServiceTest.this::create);
+
+            assertEquals(201, response.getStatus());
+            assertEquals(1, executions.get());
+            verifyNoInteractions(cache);
+        }
+
+        @Test
+        @DisplayName("SUCCESS: A retry replays the recorded response without running the action again")
+        void execute_replay() {
+            useInMemoryCache();
+
+            Response first = idempotencyService.execute("POST /api/devices", "k-1", request, IdempotencyServiceTest.this::create);
+            Response replay = idempotencyService.execute("POST /api/devices", "k-1", request, IdempotencyServiceTest.this::create);
+
+            assertEquals(1, executions.get());
+            assertNull(first.getHeaderString(IdempotencyService.REPLAYED_HEADER));
+            assertEquals(201, replay.getStatus());
+            assertEquals("{\"device_id\":\"DVC-00001\"}", replay.getEntity());
+            assertEquals("true", replay.getHeaderString(IdempotencyService.REPLAYED_HEADER));
+            verifyNoInteractions(idempotencyKeyRepository);
+        }
+
+        @Test
+        @DisplayName("FAILED: A key reused with a different body is rejected")
+        void execute_keyReused() {
+            useInMemoryCache();
+            idempotencyService.execute("POST /api/devices", "k-1", request, IdempotencyServiceTest.this::create);
+
+            DeviceCreateRequest other = new DeviceCreateRequest("Sensor 2", "SENSOR", "CL-00001");
+            ConflictException exception = assertThrows(
+                    ConflictException.class,
+                    () -> idempotencyService.execute("POST /api/devices", "k-1", other, IdempotencyServiceTest.this::create)
+            );
+
+            assertEquals(ErrorMessage.IDEMPOTENCY_KEY_REUSED, exception.getError());
+            assertEquals(1, executions.get());
+        }
+
+        @Test
+        @DisplayName("SUCCESS: The same key on another endpoint is a different request")
+        void execute_scoped() {
+            useInMemoryCache();
+
+            idempotencyService.execute("POST /api/devices", "k-1", request, IdempotencyServiceTest.this::create);
+            idempotencyService.execute("POST /api/devices/bulk", "k-1", request, IdempotencyServiceTest.this::create);
+
+            assertEquals(2, executions.get());
+        }
+
+        @Test
+        @DisplayName("FAILED: Blank key")
+        void execute_blankKey() {
+            BadRequestException exception = assertThrows(
+                    BadRequestException.class,
+                    () -> idempotencyService.execute("POST /api/devices", " ", request, IdempotencyServiceTest.this::create)
+            );
+
+            assertEquals(ErrorMessage.IDEMPOTENCY_KEY_INVALID, exception.getError());
+            assertEquals(0, executions.get());
+        }
+    }
+}
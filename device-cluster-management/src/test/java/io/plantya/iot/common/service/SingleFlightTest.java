@@ -0,0 +1,187 @@
+package io.plantya.iot.common.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.plantya.iot.common.dto.request.ClusterQueryParam;
+import io.plantya.iot.common.exception.NotFoundException;
+import io.plantya.iot.common.exception.message.ErrorMessage;
+import io.plantya.iot.common.repository.ReadReplicaTenantResolver;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SingleFlight Unit Test")
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private SingleFlight singleFlight;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight();
+        singleFlight.meterRegistry = meterRegistry;
+        singleFlight.endpoints = Set.of(SingleFlight.CLUSTER_DETAIL);
+        singleFlight.readReplica = new ReadReplicaTenantResolver();
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.counter(
+                "single_flight.requests", "endpoint", SingleFlight.CLUSTER_DETAIL, "outcome", outcome
+        ).count();
+    }
+
+    /**
+     * Starts {@link #CALLERS} callers on one key and holds the first computation until all others are waiting on it.
+     */
+    private List<Future<String>> callConcurrently(ExecutorService callers, AtomicInteger executions, Throwable failure)
+            throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = new ArrayList<>();
+        results.add(callers.submit(() -> singleFlight.execute(SingleFlight.CLUSTER_DETAIL, "CL-00001", () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            await(release);
+            if (failure instanceof RuntimeException e) {
+                throw e;
+            }
+            if (failure instanceof Error e) {
+                throw e;
+            }
+            return "detail";
+        })));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        for (int i = 1; i < CALLERS; i++) {
+            results.add(callers.submit(() -> singleFlight.execute(SingleFlight.CLUSTER_DETAIL, "CL-00001", () -> {
+                executions.incrementAndGet();
+                return "detail";
+            })));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count("coalesced") < CALLERS - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        return results;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Nested
+    @DisplayName("Execute")
+    class Execute {
+
+        @Test
+        @DisplayName("SUCCESS: Concurrent identical reads share one computation")
+        void execute_coalesces() throws Exception {
+            AtomicInteger executions = new AtomicInteger();
+
+            try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (Future<String> result : callConcurrently(callers, executions, null)) {
+                    assertEquals("detail", result.get(5, TimeUnit.SECONDS));
+                }
+            }
+
+            assertEquals(1, executions.get());
+            assertEquals(1, count("executed"));
+            assertEquals(CALLERS - 1, count("coalesced"));
+        }
+
+        @Test
+        @DisplayName("FAILED: A failed computation fails every waiting caller")
+        void execute_failureShared() throws Exception {
+            AtomicInteger executions = new AtomicInteger();
+            NotFoundException failure = new NotFoundException(ErrorMessage.CLUSTER_NOT_FOUND);
+
+            try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (Future<String> result : callConcurrently(callers, executions, failure)) {
+                    Exception exception = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+                    assertSame(failure, exception.getCause());
+                }
+            }
+
+            assertEquals(1, executions.get());
+        }
+
+        @Test
+        @DisplayName("FAILED: An Error in the computation fails every waiting caller instead of hanging them")
+        void execute_errorShared() throws Exception {
+            AtomicInteger executions = new AtomicInteger();
+            StackOverflowError failure = new StackOverflowError();
+
+            try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (Future<String> result : callConcurrently(callers, executions, failure)) {
+                    Exception exception = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+                    assertSame(failure, exception.getCause());
+                }
+            }
+
+            assertEquals(1, executions.get());
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Nothing is kept once a computation completes")
+        void execute_sequentialCallsRecompute() {
+            AtomicInteger executions = new AtomicInteger();
+
+            singleFlight.execute(SingleFlight.CLUSTER_DETAIL, "CL-00001", executions::incrementAndGet);
+            singleFlight.execute(SingleFlight.CLUSTER_DETAIL, "CL-00001", executions::incrementAndGet);
+
+            assertEquals(2, executions.get());
+            assertEquals(0, count("coalesced"));
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Endpoints not configured run directly and are not counted")
+        void execute_disabledEndpoint() {
+            String value = singleFlight.execute(SingleFlight.DEVICE_DETAIL, "DVC-00001", () -> "device");
+
+            assertEquals("device", value);
+            assertTrue(meterRegistry.find("single_flight.requests").counters().isEmpty());
+        }
+    
+        @Test
+        @DisplayName("SUCCESS: Cluster list requests with the same query share one key")
+        void key_clusterListByValue() {
+            SingleFlight.Key first = new SingleFlight.Key(SingleFlight.CLUSTER_LIST, clusterQuery("green", 2), null);
+            SingleFlight.Key second = new SingleFlight.Key(SingleFlight.CLUSTER_LIST, clusterQuery("green", 2), null);
+            SingleFlight.Key otherPage = new SingleFlight.Key(SingleFlight.CLUSTER_LIST, clusterQuery("green", 3), null);
+
+            assertEquals(first, second);
+            assertEquals(first.hashCode(), second.hashCode());
+            assertNotEquals(first, otherPage);
+        }
+    }
+
+    private static ClusterQueryParam clusterQuery(String search, int page) {
+        ClusterQueryParam queryParam = new ClusterQueryParam();
+        queryParam.setSearch(search);
+        queryParam.setPage(page);
+        queryParam.setSize(10);
+        return queryParam;
+    }
+}
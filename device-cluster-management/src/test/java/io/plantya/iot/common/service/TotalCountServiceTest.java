@@ -0,0 +1,120 @@
+package io.plantya.iot.common.service;
+
+import io.plantya.iot.common.dto.query.TotalCount;
+import io.plantya.iot.common.dto.response.TotalMode;
+import io.quarkus.cache.Cache;
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("TotalCountService Unit Test")
+@ExtendWith(MockitoExtension.class)
+class TotalCountServiceTest {
+
+    @InjectMocks
+    TotalCountService totalCountService;
+
+    @Mock
+    Cache cache;
+
+    @Nested
+    @DisplayName("Approximate")
+    class Approximate {
+
+        @Test
+        @DisplayName("SUCCESS: Unfiltered list uses the planner estimate and never counts")
+        void approximate_unfiltered() {
+            TotalCount total = totalCountService.approximate(
+                    List.of("devices"),
+                    false,
+                    () -> fail("exact count must not run"),
+                    () -> OptionalLong.of(120_000)
+            );
+
+            assertEquals(new TotalCount(120_000L, TotalMode.ESTIMATED), total);
+            verifyNoInteractions(cache);
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Filtered list uses the cached exact count")
+        @SuppressWarnings("unchecked")
+        void approximate_filtered() {
+            when(cache.get(eq(List.of("devices", "pump")), any(Function.class)))
+                    .thenAnswer(invocation -> {
+                        Function<Object, Long> loader = invocation.getArgument(1);
+                        return Uni.createFrom().item(loader.apply(invocation.getArgument(0)));
+                    });
+
+            TotalCount total = totalCountService.approximate(
+                    List.of("devices", "pump"),
+                    true,
+                    () -> 7L,
+                    () -> fail("estimate must not run")
+            );
+
+            assertEquals(new TotalCount(7L, TotalMode.CACHED), total);
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Missing estimate falls back to the cached count")
+        @SuppressWarnings("unchecked")
+        void approximate_noEstimate() {
+            when(cache.get(any(), any(Function.class))).thenReturn(Uni.createFrom().item(3L));
+
+            TotalCount total = totalCountService.approximate(List.of("clusters"), false, () -> 3L, OptionalLong::empty);
+
+            assertEquals(TotalMode.CACHED, total.mode());
+            assertEquals(3L, total.total());
+        }
+    }
+
+    @Nested
+    @DisplayName("Approximate Async")
+    class ApproximateAsync {
+
+        @Test
+        @DisplayName("SUCCESS: Unfiltered list uses the planner estimate and never counts")
+        void approximateAsync_unfiltered() {
+            TotalCount total = totalCountService.approximateAsync(
+                    List.of("clusters"),
+                    false,
+                    () -> fail("exact count must not run"),
+                    () -> Uni.createFrom().item(OptionalLong.of(40))
+            ).await().indefinitely();
+
+            assertEquals(new TotalCount(40L, TotalMode.ESTIMATED), total);
+            verifyNoInteractions(cache);
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Filtered list loads the exact count through the cache")
+        @SuppressWarnings("unchecked")
+        void approximateAsync_filtered() {
+            when(cache.getAsync(eq(List.of("clusters", "north")), any(Function.class)))
+                    .thenAnswer(invocation -> {
+                        Function<Object, Uni<Long>> loader = invocation.getArgument(1);
+                        return loader.apply(invocation.getArgument(0));
+                    });
+
+            TotalCount total = totalCountService.approximateAsync(
+                    List.of("clusters", "north"),
+                    true,
+                    () -> Uni.createFrom().item(4L),
+                    () -> fail("estimate must not run")
+            ).await().indefinitely();
+
+            assertEquals(new TotalCount(4L, TotalMode.CACHED), total);
+        }
+    }
+}
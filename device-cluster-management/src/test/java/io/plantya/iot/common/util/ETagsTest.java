@@ -0,0 +1,85 @@
+package io.plantya.iot.common.util;
+
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ETagsTest {
+
+    @Nested
+    @DisplayName("Version")
+    class Version {
+
+        @Test
+        @DisplayName("Same parts give the same version")
+        void version_stable() {
+            Instant updatedAt = Instant.parse("2026-01-01T00:00:00Z");
+
+            assertEquals(ETags.version(3L, updatedAt, "DVC-00001"), ETags.version(3L, updatedAt, "DVC-00001"));
+        }
+
+        @Test
+        @DisplayName("Part boundaries are significant")
+        void version_boundaries() {
+            assertNotEquals(ETags.version("ab", "c"), ETags.version("a", "bc"));
+            assertNotEquals(ETags.version(1L, null), ETags.version(1L, Instant.EPOCH));
+        }
+    }
+
+    @Nested
+    @DisplayName("Conditional")
+    class Conditional {
+
+        @Test
+        @DisplayName("Matching If-None-Match returns 304 without building the body")
+        void conditional_notModified() {
+            Request request = mock(Request.class);
+            when(request.evaluatePreconditions(any(EntityTag.class))).thenReturn(Response.notModified());
+            AtomicBoolean built = new AtomicBoolean();
+
+            Response response = ETags.conditional(request, "abc", () -> {
+                built.set(true);
+                return "body";
+            });
+
+            assertEquals(304, response.getStatus());
+            assertEquals(new EntityTag("abc", true), response.getEntityTag());
+            assertFalse(built.get());
+        }
+
+        @Test
+        @DisplayName("Changed resource returns 200 with a weak ETag")
+        void conditional_modified() {
+            Request request = mock(Request.class);
+            when(request.evaluatePreconditions(any(EntityTag.class))).thenReturn(null);
+
+            Response response = ETags.conditional(request, "abc", () -> "body");
+
+            assertEquals(200, response.getStatus());
+            assertEquals("body", response.getEntity());
+            assertTrue(response.getEntityTag().isWeak());
+        }
+
+        @Test
+        @DisplayName("Missing version skips the precondition check")
+        void conditional_noVersion() {
+            Request request = mock(Request.class);
+
+            Response response = ETags.conditional(request, null, () -> "body");
+
+            assertEquals(200, response.getStatus());
+            assertNull(response.getEntityTag());
+            verifyNoInteractions(request);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package io.plantya.iot.common.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LikePatternTest {
+
+    @Test
+    @DisplayName("Should wrap lower-cased term in wildcards")
+    void shouldWrapLowerCasedTerm() {
+        assertEquals("%soil sensor%", LikePattern.contains("Soil Sensor"));
+    }
+
+    @Test
+    @DisplayName("Should escape LIKE wildcards in the term")
+    void shouldEscapeWildcards() {
+        assertEquals("%50\\%\\_a\\\\b%", LikePattern.contains("50%_a\\b"));
+    }
+}
@@ -2,6 +2,7 @@ package io.plantya.iot.common.validator;
 
 import io.plantya.iot.cluster.dto.request.ClusterCreateRequest;
 import io.plantya.iot.common.exception.BadRequestException;
+import io.plantya.iot.device.domain.DeviceExportFormat;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -50,4 +51,32 @@ class RequestValidatorTest {
             assertEquals("CLUSTER_NAME_REQUIRED", ex.getError().getCode());
         }
     }
+
+    @Nested
+    @DisplayName("Validate Export Format")
+    class ValidateExportFormat {
+
+        @Test
+        @DisplayName("Should default to NDJSON when format is missing")
+        void shouldDefaultToNdjson() {
+            assertEquals(DeviceExportFormat.NDJSON, RequestValidator.validateExportFormat(null));
+        }
+
+        @Test
+        @DisplayName("Should accept format case-insensitively")
+        void shouldAcceptCsv() {
+            assertEquals(DeviceExportFormat.CSV, RequestValidator.validateExportFormat("CSV"));
+        }
+
+        @Test
+        @DisplayName("Should throw BadRequestException when format is unknown")
+        void shouldThrowWhenFormatUnknown() {
+            BadRequestException ex = assertThrows(
+                    BadRequestException.class,
+                    () -> RequestValidator.validateExportFormat("xml")
+            );
+
+            assertEquals("EXPORT_FORMAT_INVALID", ex.getError().getCode());
+        }
+    }
 }
@@ -0,0 +1,113 @@
+package io.plantya.iot.device.service;
+
+import io.plantya.iot.device.domain.DeviceEvent;
+import io.plantya.iot.device.domain.DeviceEventType;
+import io.plantya.iot.device.domain.DeviceStatus;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import io.smallrye.mutiny.subscription.BackPressureFailure;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("DeviceEventBroadcaster Unit Test")
+@ExtendWith(MockitoExtension.class)
+class DeviceEventBroadcasterTest {
+
+    @InjectMocks
+    DeviceEventBroadcaster deviceEventBroadcaster;
+
+    @Mock
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @Captor
+    ArgumentCaptor<Synchronization> synchronizationCaptor;
+
+    @BeforeEach
+    void setUp() {
+        deviceEventBroadcaster.subscriberBuffer = 2;
+    }
+
+    @Nested
+    @DisplayName("Publish")
+    class Publish {
+
+        @Test
+        @DisplayName("SUCCESS: Subscribers receive events of their cluster only")
+        void publish_filtersByCluster() {
+            when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+            AssertSubscriber<DeviceEvent> all = subscribe(null, 10);
+            AssertSubscriber<DeviceEvent> clusterOne = subscribe("CLS00001", 10);
+
+            deviceEventBroadcaster.publishAll(List.of(event("DVC00001", "CLS00001"), event("DVC00002", "CLS00002")));
+
+            assertEquals(2, all.getItems().size());
+            assertEquals(List.of("DVC00001"), clusterOne.getItems().stream().map(DeviceEvent::deviceId).toList());
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Events published in a transaction are delivered after commit only")
+        void publish_afterCommit() {
+            when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_ACTIVE);
+            AssertSubscriber<DeviceEvent> subscriber = subscribe(null, 10);
+
+            deviceEventBroadcaster.publish(event("DVC00001", "CLS00001"));
+            deviceEventBroadcaster.publish(event("DVC00002", "CLS00001"));
+
+            verify(transactionRegistry, times(2)).registerInterposedSynchronization(synchronizationCaptor.capture());
+            assertTrue(subscriber.getItems().isEmpty());
+
+            synchronizationCaptor.getAllValues().get(0).afterCompletion(Status.STATUS_COMMITTED);
+            synchronizationCaptor.getAllValues().get(1).afterCompletion(Status.STATUS_ROLLEDBACK);
+
+            assertEquals(List.of("DVC00001"), subscriber.getItems().stream().map(DeviceEvent::deviceId).toList());
+        }
+
+        @Test
+        @DisplayName("FAILED: A slow subscriber is disconnected without affecting the others")
+        void publish_slowSubscriberDropped() {
+            when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+            AssertSubscriber<DeviceEvent> slow = subscribe(null, 0);
+            AssertSubscriber<DeviceEvent> fast = subscribe(null, 10);
+
+            deviceEventBroadcaster.publishAll(List.of(
+                    event("DVC00001", "CLS00001"),
+                    event("DVC00002", "CLS00001"),
+                    event("DVC00003", "CLS00001")
+            ));
+
+            slow.assertFailedWith(BackPressureFailure.class);
+            assertEquals(3, fast.getItems().size());
+            assertEquals(1, deviceEventBroadcaster.subscriberCount());
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Cancelled subscribers are removed")
+        void subscribe_cancelRemoves() {
+            AssertSubscriber<DeviceEvent> subscriber = subscribe(null, 10);
+            assertEquals(1, deviceEventBroadcaster.subscriberCount());
+
+            subscriber.cancel();
+
+            assertEquals(0, deviceEventBroadcaster.subscriberCount());
+        }
+    }
+
+    // ===== HELPER ===== //
+    private AssertSubscriber<DeviceEvent> subscribe(String clusterId, long requested) {
+        return deviceEventBroadcaster.subscribe(clusterId).subscribe().withSubscriber(AssertSubscriber.create(requested));
+    }
+
+    private static DeviceEvent event(String deviceId, String clusterId) {
+        return new DeviceEvent(DeviceEventType.STATUS_CHANGED, deviceId, clusterId, DeviceStatus.ONLINE, Instant.now());
+    }
+}
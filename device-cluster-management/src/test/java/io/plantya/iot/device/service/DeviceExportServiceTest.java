@@ -0,0 +1,121 @@
+package io.plantya.iot.device.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.plantya.iot.common.dto.param.DeviceParam;
+import io.plantya.iot.device.domain.DeviceExportFormat;
+import io.plantya.iot.device.domain.DeviceStatus;
+import io.plantya.iot.device.dto.response.DeviceGetResponse;
+import io.plantya.iot.device.repository.DeviceRepository;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("DeviceExportService Unit Test")
+@ExtendWith(MockitoExtension.class)
+class DeviceExportServiceTest {
+
+    @InjectMocks
+    DeviceExportService deviceExportService;
+
+    @Mock
+    DeviceRepository deviceRepository;
+
+    private final DeviceParam param = new DeviceParam(1, 10, null, null, null, null, null, false, null, null);
+
+    private final DeviceGetResponse sensor = new DeviceGetResponse(
+            "DVC-00001", "Sensor, \"north\"", "sensor", "CLS-00001",
+            DeviceStatus.ONLINE, Instant.parse("2026-01-01T00:00:00Z"), null
+    );
+
+    private final DeviceGetResponse pump = new DeviceGetResponse(
+            "DVC-00002", "Pump", "actuator", "CLS-00001",
+            DeviceStatus.OFFLINE, Instant.parse("2026-01-02T00:00:00Z"), Instant.parse("2026-01-03T00:00:00Z")
+    );
+
+    @BeforeEach
+    void setUp() {
+        deviceExportService.objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+        deviceExportService.fetchSize = 500;
+        deviceExportService.flushEvery = 1;
+    }
+
+    @Nested
+    @DisplayName("Export")
+    class Export {
+
+        @Test
+        @DisplayName("SUCCESS: NDJSON writes one snake_case object per line")
+        void export_ndjson() throws Exception {
+            when(deviceRepository.streamExistingDevices(param, 500)).thenReturn(Stream.of(sensor, pump));
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+            deviceExportService.export(param, DeviceExportFormat.NDJSON, output);
+
+            String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+            assertEquals(2, lines.length);
+            assertTrue(lines[0].startsWith("{\"device_id\":\"DVC-00001\""));
+            assertTrue(lines[1].contains("\"updated_at\":\"2026-01-03T00:00:00Z\""));
+        }
+
+        @Test
+        @DisplayName("SUCCESS: CSV writes a header and quotes fields with separators or quotes")
+        void export_csv() throws Exception {
+            when(deviceRepository.streamExistingDevices(param, 500)).thenReturn(Stream.of(sensor, pump));
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+            deviceExportService.export(param, DeviceExportFormat.CSV, output);
+
+            assertEquals(
+                    "device_id,device_name,device_type,cluster_id,status,created_at,updated_at\n"
+                            + "DVC-00001,\"Sensor, \"\"north\"\"\",sensor,CLS-00001,ONLINE,2026-01-01T00:00:00Z,\n"
+                            + "DVC-00002,Pump,actuator,CLS-00001,OFFLINE,2026-01-02T00:00:00Z,2026-01-03T00:00:00Z\n",
+                    output.toString(StandardCharsets.UTF_8)
+            );
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Empty result writes only the CSV header")
+        void export_csvEmpty() throws Exception {
+            when(deviceRepository.streamExistingDevices(any(), eq(500))).thenReturn(Stream.empty());
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+            deviceExportService.export(param, DeviceExportFormat.CSV, output);
+
+            assertEquals(
+                    "device_id,device_name,device_type,cluster_id,status,created_at,updated_at\n",
+                    output.toString(StandardCharsets.UTF_8)
+            );
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Cursor stream is closed after writing")
+        void export_closesStream() throws Exception {
+            AtomicBoolean closed = new AtomicBoolean(false);
+            when(deviceRepository.streamExistingDevices(param, 500))
+                    .thenReturn(Stream.of(sensor).onClose(() -> closed.set(true)));
+
+            deviceExportService.export(param, DeviceExportFormat.NDJSON, new ByteArrayOutputStream());
+
+            assertTrue(closed.get());
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package io.plantya.iot.device.service;
+
+import io.plantya.iot.common.dto.query.DeviceRef;
+import io.plantya.iot.common.exception.NotFoundException;
+import io.plantya.iot.common.exception.message.ErrorMessage;
+import io.plantya.iot.device.domain.DeviceEventType;
+import io.plantya.iot.device.domain.DeviceStatus;
+import io.plantya.iot.device.repository.DeviceRepository;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("DeviceHeartbeatService Unit Test")
+@ExtendWith(MockitoExtension.class)
+class DeviceHeartbeatServiceTest {
+
+    @InjectMocks
+    DeviceHeartbeatService deviceHeartbeatService;
+
+    @Mock
+    DeviceRepository deviceRepository;
+
+    @Mock
+    DeviceEventBroadcaster deviceEventBroadcaster;
+
+    @Mock
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @BeforeEach
+    void setUp() {
+        deviceHeartbeatService.offlineAfter = Duration.ofMinutes(5);
+        deviceHeartbeatService.flushBatchSize = 2;
+    }
+
+    private void heartbeat(String... deviceIds) {
+        when(deviceRepository.findActiveStatusByDeviceId(anyString())).thenReturn(Optional.of(DeviceStatus.ONLINE));
+        for (String deviceId : deviceIds) {
+            deviceHeartbeatService.heartbeat(deviceId);
+        }
+    }
+
+    @Nested
+    @DisplayName("Heartbeat")
+    class Heartbeat {
+
+        @Test
+        @DisplayName("SUCCESS: Repeated heartbeats are coalesced and looked up once")
+        void heartbeat_coalesced() {
+            when(deviceRepository.findActiveStatusByDeviceId("DVC00001"))
+                    .thenReturn(Optional.of(DeviceStatus.OFFLINE));
+
+            deviceHeartbeatService.heartbeat("DVC00001");
+            deviceHeartbeatService.heartbeat("DVC00001");
+
+            assertEquals(1, deviceHeartbeatService.pendingHeartbeatCount());
+            assertEquals(1, deviceHeartbeatService.trackedDeviceCount());
+            verify(deviceRepository, times(1)).findActiveStatusByDeviceId("DVC00001");
+        }
+
+        @Test
+        @DisplayName("FAILED: Unknown device")
+        void heartbeat_unknownDevice() {
+            when(deviceRepository.findActiveStatusByDeviceId("DVC99999")).thenReturn(Optional.empty());
+
+            NotFoundException ex = assertThrows(
+                    NotFoundException.class,
+                    () -> deviceHeartbeatService.heartbeat("DVC99999")
+            );
+
+            assertEquals(ErrorMessage.DEVICE_NOT_FOUND, ex.getError());
+            assertEquals(0, deviceHeartbeatService.trackedDeviceCount());
+            assertEquals(0, deviceHeartbeatService.pendingHeartbeatCount());
+        }
+    }
+
+    @Nested
+    @DisplayName("Sweep")
+    class Sweep {
+
+        @Test
+        @DisplayName("SUCCESS: Heartbeats are written in chunks and devices that came online are published")
+        void sweep_flushesInChunks() {
+            heartbeat("DVC00001", "DVC00002", "DVC00003");
+            when(deviceRepository.recordHeartbeats(anyList(), any(Instant.class), any(Instant.class)))
+                    .thenReturn(List.of(new DeviceRef("DVC00001", "CLS00001")), List.of());
+
+            deviceHeartbeatService.sweep();
+
+            verify(deviceRepository, atLeast(2)).recordHeartbeats(anyList(), any(Instant.class), any(Instant.class));
+            verify(deviceEventBroadcaster).publishAll(argThat(events -> events.size() == 1
+                    && events.getFirst().type() == DeviceEventType.STATUS_CHANGED
+                    && events.getFirst().deviceId().equals("DVC00001")
+                    && events.getFirst().status() == DeviceStatus.ONLINE
+            ));
+            assertEquals(0, deviceHeartbeatService.pendingHeartbeatCount());
+            assertEquals(3, deviceHeartbeatService.trackedDeviceCount());
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Devices silent in the database go offline, including ones never heartbeating here")
+        void sweep_marksSilentDevicesOffline() {
+            when(deviceRepository.markSilentDevicesOffline(any(Instant.class), eq(2), any(Instant.class)))
+                    .thenReturn(
+                            List.of(new DeviceRef("DVC00001", "CLS00001"), new DeviceRef("DVC00002", "CLS00001")),
+                            List.of(new DeviceRef("DVC00003", "CLS00002"))
+                    );
+
+            deviceHeartbeatService.sweep();
+
+            ArgumentCaptor<Instant> silentSince = ArgumentCaptor.forClass(Instant.class);
+            verify(deviceRepository, times(2)).markSilentDevicesOffline(silentSince.capture(), eq(2), any(Instant.class));
+            assertTrue(silentSince.getValue().isBefore(Instant.now().minus(Duration.ofMinutes(4))));
+            verify(deviceEventBroadcaster, times(2)).publishAll(argThat(events -> !events.isEmpty()
+                    && events.stream().allMatch(event -> event.status() == DeviceStatus.OFFLINE)
+            ));
+            verify(deviceRepository, never()).recordHeartbeats(anyList(), any(), any());
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Devices silent on this instance are evicted after their heartbeat is written")
+        void sweep_evictsSilentDevices() {
+            deviceHeartbeatService.offlineAfter = Duration.ZERO;
+            heartbeat("DVC00001", "DVC00002");
+
+            deviceHeartbeatService.sweep();
+
+            verify(deviceRepository).recordHeartbeats(
+                    argThat(ids -> ids.containsAll(List.of("DVC00001", "DVC00002"))),
+                    any(Instant.class),
+                    any(Instant.class)
+            );
+            assertEquals(0, deviceHeartbeatService.trackedDeviceCount());
+        }
+
+        @Test
+        @DisplayName("FAILED: Failed write keeps heartbeats for the next sweep")
+        void sweep_flushFails() {
+            deviceHeartbeatService.offlineAfter = Duration.ZERO;
+            heartbeat("DVC00001");
+            when(deviceRepository.recordHeartbeats(anyList(), any(), any()))
+                    .thenThrow(new RuntimeException("db down"));
+
+            deviceHeartbeatService.sweep();
+
+            assertEquals(1, deviceHeartbeatService.pendingHeartbeatCount());
+            assertEquals(1, deviceHeartbeatService.trackedDeviceCount());
+        }
+
+        @Test
+        @DisplayName("FAILED: Failed offline sweep is retried on the next sweep")
+        void sweep_offlineSweepFails() {
+            when(deviceRepository.markSilentDevicesOffline(any(), anyInt(), any()))
+                    .thenThrow(new RuntimeException("db down"))
+                    .thenReturn(List.of());
+
+            deviceHeartbeatService.sweep();
+            deviceHeartbeatService.sweep();
+
+            verify(deviceRepository, times(2)).markSilentDevicesOffline(any(), anyInt(), any());
+            verifyNoInteractions(deviceEventBroadcaster);
+        }
+    }
+
+    @Nested
+    @DisplayName("Status Updated")
+    class StatusUpdated {
+
+        @Test
+        @DisplayName("SUCCESS: Status set in a transaction drops the pending heartbeat once it commits")
+        void onStatusUpdated_afterCommit() {
+            heartbeat("DVC00001");
+            when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_ACTIVE);
+            ArgumentCaptor<Synchronization> synchronization = ArgumentCaptor.forClass(Synchronization.class);
+
+            deviceHeartbeatService.onStatusUpdated("DVC00001", DeviceStatus.OFFLINE);
+            assertEquals(1, deviceHeartbeatService.pendingHeartbeatCount());
+            verify(transactionRegistry).registerInterposedSynchronization(synchronization.capture());
+            synchronization.getValue().afterCompletion(Status.STATUS_COMMITTED);
+            deviceHeartbeatService.sweep();
+
+            assertEquals(0, deviceHeartbeatService.pendingHeartbeatCount());
+            verify(deviceRepository, never()).recordHeartbeats(anyList(), any(), any());
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Status set outside a transaction applies immediately")
+        void onStatusUpdated_noTransaction() {
+            heartbeat("DVC00001");
+            when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+
+            deviceHeartbeatService.onStatusUpdated("DVC00001", DeviceStatus.OFFLINE);
+
+            assertEquals(0, deviceHeartbeatService.pendingHeartbeatCount());
+            assertEquals(1, deviceHeartbeatService.trackedDeviceCount());
+        }
+
+        @Test
+        @DisplayName("FAILED: Status set in a rolled back transaction is ignored")
+        void onStatusUpdated_rolledBack() {
+            heartbeat("DVC00001");
+            when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_ACTIVE);
+            ArgumentCaptor<Synchronization> synchronization = ArgumentCaptor.forClass(Synchronization.class);
+
+            deviceHeartbeatService.onStatusUpdated("DVC00001", DeviceStatus.OFFLINE);
+            verify(transactionRegistry).registerInterposedSynchronization(synchronization.capture());
+            synchronization.getValue().afterCompletion(Status.STATUS_ROLLEDBACK);
+
+            assertEquals(1, deviceHeartbeatService.pendingHeartbeatCount());
+        }
+    }
+
+    @Nested
+    @DisplayName("Forget")
+    class Forget {
+
+        @Test
+        @DisplayName("SUCCESS: Forgotten device is looked up again on its next heartbeat")
+        void forget_dropsDevice() {
+            heartbeat("DVC00001");
+            when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+
+            deviceHeartbeatService.forget("DVC00001");
+            deviceHeartbeatService.heartbeat("DVC00001");
+
+            verify(deviceRepository, times(2)).findActiveStatusByDeviceId("DVC00001");
+            assertEquals(1, deviceHeartbeatService.pendingHeartbeatCount());
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Devices deleted in a transaction are forgotten once it commits")
+        void forgetAll_afterCommit() {
+            heartbeat("DVC00001", "DVC00002");
+            when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_ACTIVE);
+            ArgumentCaptor<Synchronization> synchronization = ArgumentCaptor.forClass(Synchronization.class);
+
+            deviceHeartbeatService.forgetAll(List.of("DVC00001", "DVC00002"));
+            assertEquals(2, deviceHeartbeatService.trackedDeviceCount());
+            verify(transactionRegistry).registerInterposedSynchronization(synchronization.capture());
+            synchronization.getValue().afterCompletion(Status.STATUS_COMMITTED);
+
+            assertEquals(0, deviceHeartbeatService.trackedDeviceCount());
+            assertEquals(0, deviceHeartbeatService.pendingHeartbeatCount());
+        }
+    }
+}
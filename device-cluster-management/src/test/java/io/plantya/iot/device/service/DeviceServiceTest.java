@@ -2,18 +2,39 @@ package io.plantya.iot.device.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-import io.plantya.iot.cluster.entity.Cluster;
-import io.plantya.iot.cluster.repository.ClusterRepository;
+import io.plantya.iot.cluster.service.ClusterIdCache;
 import io.plantya.iot.cluster.service.ClusterService;
+import io.plantya.iot.common.dto.param.CountMode;
+import io.plantya.iot.common.dto.param.DeviceCursor;
+import io.plantya.iot.common.dto.param.DeviceParam;
+import io.plantya.iot.common.dto.query.DeviceBulkRow;
+import io.plantya.iot.common.dto.query.DeviceVersion;
+import io.plantya.iot.common.dto.query.PageVersion;
+import io.plantya.iot.common.dto.query.PatchResult;
+import io.plantya.iot.common.dto.query.PatchedDevice;
+import io.plantya.iot.common.dto.query.TotalCount;
+import io.plantya.iot.common.dto.response.TotalMode;
 import io.plantya.iot.common.exception.*;
 import io.plantya.iot.common.exception.message.ErrorMessage;
+import io.plantya.iot.common.service.TotalCountService;
+import io.plantya.iot.common.util.CursorCodec;
 import io.plantya.iot.device.domain.Device;
+import io.plantya.iot.device.domain.DeviceBulkOutcome;
+import io.plantya.iot.device.domain.DeviceEventType;
 import io.plantya.iot.device.domain.DeviceStatus;
+import io.plantya.iot.device.dto.request.DeviceBulkCreateRequest;
+import io.plantya.iot.device.dto.request.DeviceBulkMoveRequest;
+import io.plantya.iot.device.dto.request.DeviceBulkStatusRequest;
 import io.plantya.iot.device.dto.request.DeviceCreateRequest;
 import io.plantya.iot.device.dto.request.DeviceUpdateRequest;
+import io.plantya.iot.device.dto.response.CursorDeviceResponse;
+import io.plantya.iot.device.dto.response.DeviceBulkCreateResponse;
+import io.plantya.iot.device.dto.response.DeviceBulkResult;
+import io.plantya.iot.device.dto.response.DeviceBulkUpdateResponse;
 import io.plantya.iot.device.dto.response.DeviceCreateResponse;
 import io.plantya.iot.device.dto.response.DeviceGetResponse;
 import io.plantya.iot.device.dto.response.DeviceUpdateResponse;
+import io.plantya.iot.device.dto.response.PagedDeviceResponse;
 import io.plantya.iot.device.repository.DeviceRepository;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,7 +42,9 @@ import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.mockito.Mockito.*;
 
@@ -36,7 +59,500 @@ class DeviceServiceTest {
     DeviceRepository deviceRepository;
 
     @Mock
-    ClusterRepository clusterRepository;
+    ClusterIdCache clusterIdCache;
+
+    @Mock
+    DeviceHeartbeatService deviceHeartbeatService;
+
+    @Mock
+    DeviceEventBroadcaster deviceEventBroadcaster;
+
+    @Mock
+    TotalCountService totalCountService;
+
+    // =========================================================
+    // BULK CREATE
+    // =========================================================
+
+    @Nested
+    @DisplayName("Create Devices In Bulk")
+    class CreateDevicesInBulk {
+
+        @BeforeEach
+        void setUp() {
+            deviceService.bulkMaxSize = 3;
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Clusters checked once, ids allocated in one block, rows batch inserted")
+        void createDevices_success() {
+            DeviceBulkCreateRequest request = new DeviceBulkCreateRequest(List.of(
+                    new DeviceCreateRequest("Sensor 1", "SENSOR", "CL-00001"),
+                    new DeviceCreateRequest("Sensor 2", "SENSOR", "CL-00001"),
+                    new DeviceCreateRequest("Pump 1", "ACTUATOR", "CL-00002")
+            ));
+
+            when(clusterIdCache.findLive(Set.of("CL-00001", "CL-00002")))
+                    .thenReturn(Set.of("CL-00001", "CL-00002"));
+            when(deviceRepository.allocateDeviceIds(3))
+                    .thenReturn(List.of("DVC-00010", "DVC-00011", "DVC-00012"));
+
+            DeviceBulkCreateResponse response = deviceService.createDevices(request);
+
+            assertEquals(3, response.created());
+            assertEquals("DVC-00012", response.devices().get(2).deviceId());
+            assertEquals("CL-00002", response.devices().get(2).clusterId());
+            assertEquals(DeviceStatus.OFFLINE, response.devices().getFirst().status());
+            assertNotNull(response.devices().getFirst().createdAt());
+
+            verify(clusterIdCache, times(1)).findLive(any());
+            verify(deviceRepository, times(1)).insertBatch(argThat(devices -> devices.size() == 3));
+            verify(deviceRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("FAILED: Unknown cluster rejects the whole request")
+        void createDevices_clusterNotFound() {
+            DeviceBulkCreateRequest request = new DeviceBulkCreateRequest(List.of(
+                    new DeviceCreateRequest("Sensor 1", "SENSOR", "CL-00001"),
+                    new DeviceCreateRequest("Sensor 2", "SENSOR", "CL-09999")
+            ));
+
+            when(clusterIdCache.findLive(any()))
+                    .thenReturn(Set.of("CL-00001"));
+
+            NotFoundException ex = assertThrows(
+                    NotFoundException.class,
+                    () -> deviceService.createDevices(request)
+            );
+
+            assertEquals(ErrorMessage.CLUSTER_NOT_FOUND, ex.getError());
+            assertTrue(ex.getDetail().contains("CL-09999"));
+            verify(deviceRepository, never()).allocateDeviceIds(anyInt());
+            verify(deviceRepository, never()).insertBatch(any());
+        }
+
+        @Test
+        @DisplayName("FAILED: Empty device list")
+        void createDevices_empty() {
+            BadRequestException ex = assertThrows(
+                    BadRequestException.class,
+                    () -> deviceService.createDevices(new DeviceBulkCreateRequest(List.of()))
+            );
+
+            assertEquals(ErrorMessage.DEVICE_BULK_EMPTY, ex.getError());
+        }
+
+        @Test
+        @DisplayName("FAILED: More devices than allowed")
+        void createDevices_tooMany() {
+            DeviceCreateRequest item = new DeviceCreateRequest("Sensor", "SENSOR", "CL-00001");
+
+            BadRequestException ex = assertThrows(
+                    BadRequestException.class,
+                    () -> deviceService.createDevices(new DeviceBulkCreateRequest(List.of(item, item, item, item)))
+            );
+
+            assertEquals(ErrorMessage.DEVICE_BULK_TOO_MANY, ex.getError());
+            verifyNoInteractions(clusterIdCache);
+        }
+    }
+
+    // =========================================================
+    // BULK UPDATE
+    // =========================================================
+
+    @Nested
+    @DisplayName("Update Devices In Bulk")
+    class UpdateDevicesInBulk {
+
+        @BeforeEach
+        void setUp() {
+            deviceService.bulkMaxSize = 5;
+            deviceService.bulkUpdateChunkSize = 2;
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Status set per chunk with one result per requested id")
+        void updateDevicesStatus_byIds() {
+            DeviceBulkStatusRequest request = new DeviceBulkStatusRequest(
+                    List.of("D1", "D2", "D3", "D1"), null, DeviceStatus.ONLINE
+            );
+
+            when(deviceRepository.bulkUpdateStatus(eq(DeviceStatus.ONLINE), eq(List.of("D1", "D2")), any(Instant.class)))
+                    .thenReturn(List.of(
+                            new DeviceBulkRow("D1", "CL-00001", DeviceStatus.ONLINE, DeviceBulkOutcome.UPDATED),
+                            new DeviceBulkRow("D2", "CL-00001", DeviceStatus.OFFLINE, DeviceBulkOutcome.DELETED)
+                    ));
+            when(deviceRepository.bulkUpdateStatus(eq(DeviceStatus.ONLINE), eq(List.of("D3")), any(Instant.class)))
+                    .thenReturn(List.of());
+
+            DeviceBulkUpdateResponse response = deviceService.updateDevicesStatus(request);
+
+            assertEquals(3, response.requested());
+            assertEquals(1, response.updated());
+            assertEquals(
+                    List.of(
+                            new DeviceBulkResult("D1", DeviceBulkOutcome.UPDATED),
+                            new DeviceBulkResult("D2", DeviceBulkOutcome.DELETED),
+                            new DeviceBulkResult("D3", DeviceBulkOutcome.NOT_FOUND)
+                    ),
+                    response.results()
+            );
+            verify(deviceHeartbeatService).onStatusUpdated("D1", DeviceStatus.ONLINE);
+            verify(deviceHeartbeatService, never()).onStatusUpdated(eq("D2"), any());
+            verify(deviceEventBroadcaster).publishAll(argThat(events -> events.size() == 1
+                    && events.getFirst().type() == DeviceEventType.STATUS_CHANGED));
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Whole cluster is updated chunk by chunk until a short chunk")
+        void updateDevicesStatus_byCluster() {
+            DeviceBulkStatusRequest request = new DeviceBulkStatusRequest(null, "CL-00001", DeviceStatus.OFFLINE);
+
+            when(clusterIdCache.isLive("CL-00001")).thenReturn(true);
+            when(deviceRepository.bulkUpdateStatusByClusterId(eq("CL-00001"), eq(DeviceStatus.OFFLINE), eq(2), any(Instant.class)))
+                    .thenReturn(List.of("D1", "D2"), List.of("D3"));
+
+            DeviceBulkUpdateResponse response = deviceService.updateDevicesStatus(request);
+
+            assertEquals(3, response.updated());
+            assertEquals("D3", response.results().get(2).deviceId());
+            verify(deviceRepository, times(2)).bulkUpdateStatusByClusterId(any(), any(), anyInt(), any());
+            verify(deviceHeartbeatService, times(3)).onStatusUpdated(any(), eq(DeviceStatus.OFFLINE));
+        }
+
+        @Test
+        @DisplayName("FAILED: Both device ids and cluster id given")
+        void updateDevicesStatus_ambiguousTarget() {
+            DeviceBulkStatusRequest request = new DeviceBulkStatusRequest(
+                    List.of("D1"), "CL-00001", DeviceStatus.OFFLINE
+            );
+
+            BadRequestException ex = assertThrows(
+                    BadRequestException.class,
+                    () -> deviceService.updateDevicesStatus(request)
+            );
+
+            assertEquals(ErrorMessage.DEVICE_BULK_TARGET_INVALID, ex.getError());
+            verifyNoInteractions(deviceRepository);
+        }
+
+        @Test
+        @DisplayName("FAILED: Unknown cluster for a cluster-wide update")
+        void updateDevicesStatus_clusterNotFound() {
+            when(clusterIdCache.isLive("CL-09999")).thenReturn(false);
+
+            NotFoundException ex = assertThrows(
+                    NotFoundException.class,
+                    () -> deviceService.updateDevicesStatus(
+                            new DeviceBulkStatusRequest(null, "CL-09999", DeviceStatus.OFFLINE))
+            );
+
+            assertEquals(ErrorMessage.CLUSTER_NOT_FOUND, ex.getError());
+            verifyNoInteractions(deviceRepository);
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Move reports devices already in the target cluster as unchanged")
+        void moveDevices_success() {
+            when(clusterIdCache.isLive("CL-00002")).thenReturn(true);
+            when(deviceRepository.bulkMove(eq("CL-00002"), eq(List.of("D1", "D2")), any(Instant.class)))
+                    .thenReturn(List.of(
+                            new DeviceBulkRow("D1", "CL-00002", DeviceStatus.ONLINE, DeviceBulkOutcome.UPDATED),
+                            new DeviceBulkRow("D2", "CL-00002", DeviceStatus.ONLINE, DeviceBulkOutcome.UNCHANGED)
+                    ));
+
+            DeviceBulkUpdateResponse response = deviceService.moveDevices(
+                    new DeviceBulkMoveRequest(List.of("D1", "D2"), "CL-00002")
+            );
+
+            assertEquals(1, response.updated());
+            assertEquals(DeviceBulkOutcome.UNCHANGED, response.results().get(1).result());
+            verify(deviceEventBroadcaster).publishAll(argThat(events -> events.size() == 1
+                    && events.getFirst().clusterId().equals("CL-00002")));
+        }
+
+        @Test
+        @DisplayName("FAILED: Move to an unknown cluster")
+        void moveDevices_clusterNotFound() {
+            when(clusterIdCache.isLive("CL-09999")).thenReturn(false);
+
+            NotFoundException ex = assertThrows(
+                    NotFoundException.class,
+                    () -> deviceService.moveDevices(new DeviceBulkMoveRequest(List.of("D1"), "CL-09999"))
+            );
+
+            assertEquals(ErrorMessage.CLUSTER_NOT_FOUND, ex.getError());
+            verifyNoInteractions(deviceRepository);
+        }
+    }
+
+    // =========================================================
+    // PAGED LIST
+    // =========================================================
+
+    @Nested
+    @DisplayName("Find All Existing Devices")
+    class FindAllExistingDevices {
+
+        private DeviceParam pagedParam(Boolean includeTotal, CountMode countMode) {
+            return new DeviceParam(1, 10, null, null, null, null, null, includeTotal, countMode, null);
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Exact total is counted by default")
+        void findAll_exactByDefault() {
+            DeviceParam param = pagedParam(null, null);
+            when(deviceRepository.findAllExistingDevices(param)).thenReturn(List.of());
+            when(deviceRepository.countExistingDevices(param)).thenReturn(25L);
+
+            PagedDeviceResponse response = deviceService.findAllExistingDevices(param);
+
+            assertEquals(25L, response.totalData());
+            assertEquals(3, response.totalPages());
+            assertEquals(TotalMode.EXACT, response.totalMode());
+        }
+
+        @Test
+        @DisplayName("SUCCESS: include_total=false skips the count")
+        void findAll_withoutTotal() {
+            DeviceParam param = pagedParam(false, CountMode.EXACT);
+            when(deviceRepository.findAllExistingDevices(param)).thenReturn(List.of());
+
+            PagedDeviceResponse response = deviceService.findAllExistingDevices(param);
+
+            assertNull(response.totalData());
+            assertNull(response.totalPages());
+            assertEquals(TotalMode.NONE, response.totalMode());
+            verify(deviceRepository, never()).countExistingDevices(any());
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Approximate mode reports how the total was obtained")
+        void findAll_approximate() {
+            DeviceParam param = pagedParam(null, CountMode.APPROXIMATE);
+            when(deviceRepository.findAllExistingDevices(param)).thenReturn(List.of());
+            when(totalCountService.approximate(any(), eq(false), any(), any()))
+                    .thenReturn(new TotalCount(1000L, TotalMode.ESTIMATED));
+
+            PagedDeviceResponse response = deviceService.findAllExistingDevices(param);
+
+            assertEquals(1000L, response.totalData());
+            assertEquals(TotalMode.ESTIMATED, response.totalMode());
+            verify(deviceRepository, never()).countExistingDevices(any());
+        }
+
+        @Test
+        @DisplayName("FAIL: Page size lower than one")
+        void findAll_sizeLowerThanOne() {
+            DeviceParam param = new DeviceParam(1, 0, null, null, null, null, null, null, null, null);
+
+            BadRequestException ex = assertThrows(
+                    BadRequestException.class,
+                    () -> deviceService.findAllExistingDevices(param)
+            );
+
+            assertEquals(ErrorMessage.SIZE_LOWER_THAN_ONE, ex.getError());
+            verifyNoInteractions(deviceRepository);
+        }
+    }
+
+    // =========================================================
+    // CURSOR PAGINATION
+    // =========================================================
+
+    @Nested
+    @DisplayName("Find Existing Devices By Cursor")
+    class FindByCursor {
+
+        private DeviceParam cursorParam(String cursor, int size, boolean includeTotal) {
+            return new DeviceParam(1, size, null, "deviceName", "asc", null, cursor, includeTotal, null, null);
+        }
+
+        private Device device(String deviceId) {
+            Device device = new Device();
+            device.setDeviceId(deviceId);
+            device.setDeviceName(deviceId);
+            return device;
+        }
+
+        @Test
+        @DisplayName("SUCCESS: First page returns next cursor and skips count")
+        void findByCursor_firstPage() {
+            DeviceParam param = cursorParam("", 2, false);
+            DeviceCursor last = new DeviceCursor("deviceName", "ASC", "D2", 2L);
+
+            when(deviceRepository.findExistingDevicesAfter(param, null, 3))
+                    .thenReturn(List.of(device("D1"), device("D2"), device("D3")));
+            when(deviceRepository.toCursor(any(Device.class), eq(param)))
+                    .thenReturn(last);
+
+            CursorDeviceResponse response = deviceService.findExistingDevicesByCursor(param);
+
+            assertEquals(2, response.countData());
+            assertEquals(2, response.devices().size());
+            assertEquals(CursorCodec.encode(last), response.nextCursor());
+            assertNull(response.totalData());
+            assertEquals(TotalMode.NONE, response.totalMode());
+            verify(deviceRepository, never()).countExistingDevices(any());
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Last page has no next cursor and counts when asked")
+        void findByCursor_lastPageWithTotal() {
+            DeviceCursor cursor = new DeviceCursor("deviceName", "ASC", "D2", 2L);
+            DeviceParam param = cursorParam(CursorCodec.encode(cursor), 2, true);
+
+            when(deviceRepository.isCursorApplicable(cursor, param)).thenReturn(true);
+            when(deviceRepository.findExistingDevicesAfter(param, cursor, 3))
+                    .thenReturn(List.of(device("D3")));
+            when(deviceRepository.countExistingDevices(param)).thenReturn(3L);
+
+            CursorDeviceResponse response = deviceService.findExistingDevicesByCursor(param);
+
+            assertEquals(1, response.devices().size());
+            assertNull(response.nextCursor());
+            assertEquals(3L, response.totalData());
+        }
+
+        @Test
+        @DisplayName("FAIL: Malformed cursor")
+        void findByCursor_malformed() {
+            DeviceParam param = cursorParam("not-a-cursor", 2, false);
+
+            BadRequestException ex = assertThrows(
+                    BadRequestException.class,
+                    () -> deviceService.findExistingDevicesByCursor(param)
+            );
+
+            assertEquals(ErrorMessage.CURSOR_INVALID, ex.getError());
+            verifyNoInteractions(deviceRepository);
+        }
+
+        @Test
+        @DisplayName("FAIL: Cursor issued for a different sort")
+        void findByCursor_sortMismatch() {
+            DeviceCursor cursor = new DeviceCursor("createdAt", "DESC", "2026-01-01T00:00:00Z", 9L);
+            DeviceParam param = cursorParam(CursorCodec.encode(cursor), 2, false);
+
+            when(deviceRepository.isCursorApplicable(cursor, param)).thenReturn(false);
+
+            BadRequestException ex = assertThrows(
+                    BadRequestException.class,
+                    () -> deviceService.findExistingDevicesByCursor(param)
+            );
+
+            assertEquals(ErrorMessage.CURSOR_INVALID, ex.getError());
+            verify(deviceRepository, never()).findExistingDevicesAfter(any(), any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("FAIL: Page size lower than one")
+        void findByCursor_sizeLowerThanOne() {
+            DeviceParam param = cursorParam("", 0, false);
+
+            BadRequestException ex = assertThrows(
+                    BadRequestException.class,
+                    () -> deviceService.findExistingDevicesByCursor(param)
+            );
+
+            assertEquals(ErrorMessage.SIZE_LOWER_THAN_ONE, ex.getError());
+            verifyNoInteractions(deviceRepository);
+        }
+    }
+
+    // =========================================================
+    // LIST VERSION
+    // =========================================================
+
+    @Nested
+    @DisplayName("Find Devices Version")
+    class FindDevicesVersion {
+
+        private final Instant createdAt = Instant.parse("2026-01-01T00:00:00Z");
+        private final Instant updatedAt = Instant.parse("2026-02-01T00:00:00Z");
+
+        private Device device(String deviceId) {
+            Device device = new Device();
+            device.setDeviceId(deviceId);
+            device.setDeviceName(deviceId);
+            device.setCreatedAt(createdAt);
+            device.setUpdatedAt(updatedAt);
+            return device;
+        }
+
+        private DeviceGetResponse response(String deviceId) {
+            return new DeviceGetResponse(deviceId, deviceId, null, null, null, createdAt, updatedAt);
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Paged version matches the loaded page and reuses its count")
+        void findDevicesVersion_paged() {
+            DeviceParam param = new DeviceParam(1, 10, null, null, null, null, null, null, null, null);
+            when(deviceRepository.findPageVersions(param))
+                    .thenReturn(List.of(new DeviceVersion("D1", createdAt, updatedAt)));
+            when(deviceRepository.countExistingDevices(param)).thenReturn(1L);
+            when(deviceRepository.findAllExistingDevices(param)).thenReturn(List.of(response("D1")));
+
+            PageVersion version = deviceService.findDevicesVersion(param);
+            PagedDeviceResponse page = deviceService.findAllExistingDevices(param, version.totalCount());
+
+            assertEquals(DeviceService.versionOf(param, page), version.version());
+            assertEquals(1L, page.totalData());
+            verify(deviceRepository, times(1)).countExistingDevices(param);
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Cursor version matches the loaded page without counting")
+        void findDevicesVersion_cursor() {
+            DeviceParam param = new DeviceParam(1, 1, null, "deviceName", "asc", null, "", null, null, null);
+            when(deviceRepository.findVersionsAfter(param, null, 2)).thenReturn(List.of(
+                    new DeviceVersion("D1", createdAt, updatedAt),
+                    new DeviceVersion("D2", createdAt, updatedAt)
+            ));
+            when(deviceRepository.findExistingDevicesAfter(param, null, 2))
+                    .thenReturn(List.of(device("D1"), device("D2")));
+            when(deviceRepository.toCursor(any(Device.class), eq(param)))
+                    .thenReturn(new DeviceCursor("deviceName", "ASC", "D1", 1L));
+
+            PageVersion version = deviceService.findDevicesVersion(param);
+            CursorDeviceResponse page = deviceService.findExistingDevicesByCursor(param, version.totalCount());
+
+            assertEquals(DeviceService.versionOf(param, page), version.version());
+            assertEquals(TotalMode.NONE, version.totalCount().mode());
+            verify(deviceRepository, never()).countExistingDevices(any());
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Version changes when a row on the page changes")
+        void findDevicesVersion_rowChanged() {
+            DeviceParam param = new DeviceParam(1, 10, null, null, null, null, null, false, null, null);
+            when(deviceRepository.findPageVersions(param)).thenReturn(
+                    List.of(new DeviceVersion("D1", createdAt, null)),
+                    List.of(new DeviceVersion("D1", createdAt, updatedAt))
+            );
+
+            String before = deviceService.findDevicesVersion(param).version();
+            String after = deviceService.findDevicesVersion(param).version();
+
+            assertNotEquals(before, after);
+        }
+
+        @Test
+        @DisplayName("FAIL: Page size lower than one")
+        void findDevicesVersion_sizeLowerThanOne() {
+            DeviceParam param = new DeviceParam(1, 0, null, null, null, null, null, null, null, null);
+
+            BadRequestException ex = assertThrows(
+                    BadRequestException.class,
+                    () -> deviceService.findDevicesVersion(param)
+            );
+
+            assertEquals(ErrorMessage.SIZE_LOWER_THAN_ONE, ex.getError());
+            verifyNoInteractions(deviceRepository);
+        }
+    }
 
     // =========================================================
     // CREATE DEVICE
@@ -71,8 +587,8 @@ class DeviceServiceTest {
             // Arrange
             DeviceCreateRequest request = validRequest();
 
-            when(clusterRepository.findByClusterId("CL-001"))
-                    .thenReturn(Optional.of(new Cluster()));
+            when(clusterIdCache.isLive("CL-001"))
+                    .thenReturn(true);
 
             when(deviceRepository.save(any(Device.class)))
                     .thenReturn(createSavedDevice());
@@ -89,7 +605,7 @@ class DeviceServiceTest {
             assertEquals(DeviceStatus.OFFLINE, response.status());
             assertNotNull(response.createdAt());
 
-            verify(clusterRepository, times(1)).findByClusterId("CL-001");
+            verify(clusterIdCache, times(1)).isLive("CL-001");
             verify(deviceRepository, times(1)).save(any(Device.class));
         }
 
@@ -99,8 +615,8 @@ class DeviceServiceTest {
             // Arrange
             DeviceCreateRequest request = validRequest();
 
-            when(clusterRepository.findByClusterId("CL-001"))
-                    .thenReturn(Optional.empty());
+            when(clusterIdCache.isLive("CL-001"))
+                    .thenReturn(false);
 
             // Act & Assert
             NotFoundException exception = assertThrows(
@@ -216,17 +732,22 @@ class DeviceServiceTest {
     @DisplayName("Update Device")
     class UpdateDevice {
 
-        @Test
-        @DisplayName("Success - partial update")
-        void updateDevice_partial() {
+        private PatchResult<PatchedDevice> patched(String deviceName, String deviceType, DeviceStatus status,
+                                                   DeviceStatus previousStatus) {
             Device device = new Device();
             device.setDeviceId("D1");
-            device.setDeviceName("old");
-            device.setDeviceType("oldType");
-            device.setStatus(DeviceStatus.OFFLINE);
+            device.setDeviceName(deviceName);
+            device.setDeviceType(deviceType);
+            device.setStatus(status);
+            device.setClusterId("CL-00001");
+            return PatchResult.updated(new PatchedDevice(device, previousStatus));
+        }
 
-            when(deviceRepository.findByDeviceId("D1"))
-                    .thenReturn(Optional.of(device));
+        @Test
+        @DisplayName("Success - partial update in one statement")
+        void updateDevice_partial() {
+            when(deviceRepository.patchDevice(eq("D1"), eq("newName"), isNull(), eq(DeviceStatus.ONLINE), any(Instant.class)))
+                    .thenReturn(patched("newName", "oldType", DeviceStatus.ONLINE, DeviceStatus.OFFLINE));
 
             DeviceUpdateRequest req =
                     new DeviceUpdateRequest("newName", null, DeviceStatus.ONLINE);
@@ -237,15 +758,29 @@ class DeviceServiceTest {
             assertEquals("newName", response.deviceName());
             assertEquals(DeviceStatus.ONLINE, response.status());
             assertEquals("oldType", response.deviceType());
+            verify(deviceRepository, never()).findByDeviceId(any());
+            verify(deviceHeartbeatService).onStatusUpdated("D1", DeviceStatus.ONLINE);
+            verify(deviceEventBroadcaster).publish(argThat(event ->
+                    event.type() == DeviceEventType.STATUS_CHANGED
+                            && event.deviceId().equals("D1")
+                            && event.status() == DeviceStatus.ONLINE
+            ));
         }
 
         @Test
-        @DisplayName("Fail - no fields to update")
-        void updateDevice_emptyRequest() {
-            Device device = new Device();
-            when(deviceRepository.findByDeviceId("D1"))
-                    .thenReturn(Optional.of(device));
+        @DisplayName("Success - unchanged status publishes a plain update")
+        void updateDevice_sameStatus() {
+            when(deviceRepository.patchDevice(eq("D1"), eq("newName"), isNull(), eq(DeviceStatus.OFFLINE), any(Instant.class)))
+                    .thenReturn(patched("newName", "type", DeviceStatus.OFFLINE, DeviceStatus.OFFLINE));
+
+            deviceService.updateDevice("D1", new DeviceUpdateRequest("newName", null, DeviceStatus.OFFLINE));
 
+            verify(deviceEventBroadcaster).publish(argThat(event -> event.type() == DeviceEventType.UPDATED));
+        }
+
+        @Test
+        @DisplayName("Fail - no fields to update, without touching the database")
+        void updateDevice_emptyRequest() {
             DeviceUpdateRequest request =
                     new DeviceUpdateRequest(null, null, null);
 
@@ -254,16 +789,30 @@ class DeviceServiceTest {
                             () -> deviceService.updateDevice("D1", request));
 
             assertEquals(ErrorMessage.DEVICE_UPDATE_EMPTY, ex.getError());
+            verifyNoInteractions(deviceRepository);
+        }
+
+        @Test
+        @DisplayName("Fail - not found")
+        void updateDevice_notFound() {
+            when(deviceRepository.patchDevice(eq("D404"), eq("x"), isNull(), isNull(), any(Instant.class)))
+                    .thenReturn(PatchResult.notFound());
+
+            NotFoundException ex =
+                    assertThrows(NotFoundException.class,
+                            () -> deviceService.updateDevice(
+                                    "D404",
+                                    new DeviceUpdateRequest("x", null, null)));
+
+            assertEquals(ErrorMessage.DEVICE_NOT_FOUND, ex.getError());
+            verifyNoInteractions(deviceEventBroadcaster);
         }
 
         @Test
         @DisplayName("Fail - already deleted")
         void updateDevice_deleted() {
-            Device device = new Device();
-            device.setDeletedAt(Instant.now());
-
-            when(deviceRepository.findByDeviceId("D1"))
-                    .thenReturn(Optional.of(device));
+            when(deviceRepository.patchDevice(eq("D1"), eq("x"), isNull(), isNull(), any(Instant.class)))
+                    .thenReturn(PatchResult.deleted());
 
             ConflictException ex =
                     assertThrows(ConflictException.class,
@@ -272,6 +821,7 @@ class DeviceServiceTest {
                                     new DeviceUpdateRequest("x", null, null)));
 
             assertEquals(ErrorMessage.DEVICE_ALREADY_DELETED, ex.getError());
+            verifyNoInteractions(deviceEventBroadcaster);
         }
     }
 
@@ -0,0 +1,276 @@
+package io.plantya.iot.loadtest;
+
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares throughput and latency of the same endpoints served by two execution models. Needs two
+ * running instances of the service under test, a candidate and a baseline. By default the candidate
+ * runs on virtual threads and the baseline on the worker pool:
+ *
+ * <pre>
+ * QUARKUS_VIRTUAL_THREADS_ENABLED=true  QUARKUS_HTTP_PORT=8081 java -jar target/quarkus-app/quarkus-run.jar
+ * QUARKUS_VIRTUAL_THREADS_ENABLED=false QUARKUS_HTTP_PORT=8082 java -jar target/quarkus-app/quarkus-run.jar
+ *
+ * mvn test -Dtest=ExecutionModelLoadTest \
+ *     -Dload-test.candidate-url=http://localhost:8081 \
+ *     -Dload-test.baseline-url=http://localhost:8082
+ * </pre>
+ *
+ * To compare the reactive read path, package a second build with {@code -Dquarkus.profile=reactive},
+ * run it as the candidate and set {@code -Dload-test.candidate-label=reactive}.
+ *
+ * Any of the three services can be targeted through {@code load-test.paths}; set {@code load-test.body}
+ * to send the requests as JSON POSTs (e.g. {@code /api/auth/login}). Start the virtual-thread instance
+ * with {@code -Djdk.tracePinnedThreads=short} to have the JVM report any carrier pinning seen under load.
+ *
+ * Server-side allocation per request is read from {@code jvm_gc_memory_allocated_bytes_total} before and
+ * after the measured window, at {@code <url>/q/metrics} unless {@code load-test.candidate-metrics-url} or
+ * {@code load-test.baseline-metrics-url} say otherwise. To see what a change costs per page, run the build
+ * before it as the baseline, e.g. entity lists against projected lists:
+ *
+ * <pre>
+ * mvn test -Dtest=ExecutionModelLoadTest \
+ *     -Dload-test.paths=/api/devices?size=100,/api/clusters?size=100 \
+ *     -Dload-test.candidate-url=http://localhost:8081 -Dload-test.candidate-label=projection \
+ *     -Dload-test.baseline-url=http://localhost:8082 -Dload-test.baseline-label=entities
+ * </pre>
+ */
+@DisplayName("Execution Model Load Test")
+@EnabledIfSystemProperty(named = "load-test.candidate-url", matches = ".+")
+class ExecutionModelLoadTest {
+
+    private static final Logger LOG = Logger.getLogger(ExecutionModelLoadTest.class);
+
+    private static final Pattern ALLOCATED_BYTES =
+            Pattern.compile("^jvm_gc_memory_allocated_bytes_total(?:\\{[^}]*})? (\\S+)$", Pattern.MULTILINE);
+
+    private final List<String> paths = Arrays.asList(
+            System.getProperty("load-test.paths", "/api/devices?size=20,/api/clusters?size=20").split(",")
+    );
+    private final String body = System.getProperty("load-test.body");
+    private final int concurrency = Integer.getInteger("load-test.concurrency", 200);
+    private final Duration warmup = Duration.parse(System.getProperty("load-test.warmup", "PT10S"));
+    private final Duration duration = Duration.parse(System.getProperty("load-test.duration", "PT30S"));
+    private final double maxErrorRate = Double.parseDouble(System.getProperty("load-test.max-error-rate", "0.01"));
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    @DisplayName("Candidate against baseline")
+    void compareExecutionModels() throws Exception {
+        String candidateUrl = System.getProperty("load-test.candidate-url");
+        String baselineUrl = System.getProperty("load-test.baseline-url");
+
+        Result candidate = run(
+                System.getProperty("load-test.candidate-label", "virtual-threads"),
+                candidateUrl,
+                System.getProperty("load-test.candidate-metrics-url", candidateUrl + "/q/metrics")
+        );
+        LOG.info(candidate);
+        assertTrue(candidate.errorRate() <= maxErrorRate, candidate.label() + " error rate: " + candidate.errorRate());
+
+        if (baselineUrl == null || baselineUrl.isBlank()) {
+            return;
+        }
+
+        Result baseline = run(
+                System.getProperty("load-test.baseline-label", "worker-pool"),
+                baselineUrl,
+                System.getProperty("load-test.baseline-metrics-url", baselineUrl + "/q/metrics")
+        );
+        LOG.info(baseline);
+        assertTrue(baseline.errorRate() <= maxErrorRate, baseline.label() + " error rate: " + baseline.errorRate());
+
+        LOG.infof(
+                "%s vs %s: throughput x%.2f, p99 x%.2f",
+                candidate.label(),
+                baseline.label(),
+                candidate.throughput() / baseline.throughput(),
+                (double) candidate.p99Micros() / baseline.p99Micros()
+        );
+        if (candidate.bytesPerRequest() >= 0 && baseline.bytesPerRequest() >= 0) {
+            LOG.infof(
+                    "%s vs %s: allocation per request x%.2f",
+                    candidate.label(),
+                    baseline.label(),
+                    (double) candidate.bytesPerRequest() / baseline.bytesPerRequest()
+            );
+        }
+    }
+
+    // ===== HELPER ===== //
+
+    private Result run(String label, String baseUrl, String metricsUrl) throws Exception {
+        drive(baseUrl, warmup);
+        double allocatedBefore = allocatedBytes(metricsUrl);
+        List<long[]> samples = drive(baseUrl, duration);
+        double allocatedAfter = allocatedBytes(metricsUrl);
+
+        long errors = 0;
+        int count = 0;
+        for (long[] sample : samples) {
+            errors += sample[0];
+            count += sample.length - 1;
+        }
+
+        long[] latencies = new long[count];
+        int offset = 0;
+        for (long[] sample : samples) {
+            System.arraycopy(sample, 1, latencies, offset, sample.length - 1);
+            offset += sample.length - 1;
+        }
+        Arrays.sort(latencies);
+
+        long total = count + errors;
+        long bytesPerRequest = allocatedBefore < 0 || allocatedAfter < 0 || total == 0
+                ? -1
+                : (long) ((allocatedAfter - allocatedBefore) / total);
+
+        return new Result(
+                label,
+                count,
+                errors,
+                count / (double) duration.toSeconds(),
+                percentile(latencies, 0.50),
+                percentile(latencies, 0.99),
+                bytesPerRequest
+        );
+    }
+
+    /**
+     * Each client keeps one request in flight until the deadline. Returns one array per client:
+     * the error count first, then the latency of every request in nanoseconds.
+     */
+    private List<long[]> drive(String baseUrl, Duration window) throws Exception {
+        long deadline = System.nanoTime() + window.toNanos();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<long[]>> futures = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                int clientIndex = i;
+                futures.add(clients.submit(() -> client(baseUrl, clientIndex, deadline)));
+            }
+
+            List<long[]> samples = new ArrayList<>(concurrency);
+            for (Future<long[]> future : futures) {
+                samples.add(future.get());
+            }
+            return samples;
+        }
+    }
+
+    private long[] client(String baseUrl, int clientIndex, long deadline) {
+        long[] samples = new long[1024];
+        int size = 1;
+        int requestIndex = clientIndex;
+
+        while (System.nanoTime() < deadline) {
+            HttpRequest request = request(baseUrl + paths.get(requestIndex++ % paths.size()));
+
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                ok = response.statusCode() < 500;
+            } catch (Exception e) {
+                ok = false;
+            }
+            long elapsed = System.nanoTime() - start;
+
+            if (!ok) {
+                samples[0]++;
+                continue;
+            }
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = elapsed;
+        }
+
+        return Arrays.copyOf(samples, size);
+    }
+
+    private HttpRequest request(String url) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+
+        if (body == null) {
+            return builder.GET().build();
+        }
+        return builder.header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    /**
+     * Bytes the server JVM has allocated so far, or -1 when its metrics cannot be read.
+     */
+    private double allocatedBytes(String metricsUrl) {
+        try {
+            HttpResponse<String> response = client.send(
+                    HttpRequest.newBuilder(URI.create(metricsUrl)).timeout(Duration.ofSeconds(10)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString()
+            );
+            Matcher matcher = ALLOCATED_BYTES.matcher(response.body());
+            return response.statusCode() == 200 && matcher.find() ? Double.parseDouble(matcher.group(1)) : -1;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000;
+    }
+
+    private record Result(
+            String label,
+            int requests,
+            long errors,
+            double throughput,
+            long p50Micros,
+            long p99Micros,
+            long bytesPerRequest
+    ) {
+
+        double errorRate() {
+            long total = requests + errors;
+            return total == 0 ? 1.0 : errors / (double) total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "%s: %d requests, %d errors, %.1f req/s, p50 %d us, p99 %d us, %s",
+                    label, requests, errors, throughput, p50Micros, p99Micros,
+                    bytesPerRequest < 0 ? "allocation n/a" : bytesPerRequest + " bytes/request"
+            );
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package io.plantya.iot.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks which datasource serves each kind of request. Needs a running instance whose primary and replica
+ * are two separate databases with the same schema and no replication between them, so a row written to
+ * the primary is never visible on the "replica":
+ *
+ * <pre>
+ * READ_REPLICA_ENABLED=true \
+ * QUARKUS_DATASOURCE_JDBC_URL=jdbc:postgresql://localhost:5432/primary \
+ * QUARKUS_DATASOURCE_REPLICA_JDBC_URL=jdbc:postgresql://localhost:5432/replica \
+ * QUARKUS_HTTP_PORT=8081 java -jar target/quarkus-app/quarkus-run.jar
+ *
+ * mvn test -Dtest=ReadReplicaRoutingTest -Dreplica-test.url=http://localhost:8081
+ * </pre>
+ */
+@DisplayName("Read Replica Routing Test")
+@EnabledIfSystemProperty(named = "replica-test.url", matches = ".+")
+class ReadReplicaRoutingTest {
+
+    private static final Pattern CLUSTER_ID = Pattern.compile("\"cluster_id\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final String url = System.getProperty("replica-test.url");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    @DisplayName("SUCCESS: Reads go to the replica unless pinned to the primary by header or cookie")
+    void routesReadsByPin() throws Exception {
+        String clusterName = "replica-test-" + UUID.randomUUID().toString().substring(0, 8);
+        HttpResponse<String> created = client.send(HttpRequest.newBuilder(URI.create(url + "/api/clusters"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"cluster_name\":\"" + clusterName + "\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(201, created.statusCode(), created.body());
+
+        String cookie = created.headers().firstValue("Set-Cookie").orElseThrow().split(";", 2)[0];
+        assertTrue(cookie.startsWith("read-primary="), cookie);
+
+        Matcher matcher = CLUSTER_ID.matcher(created.body());
+        assertTrue(matcher.find(), created.body());
+        URI cluster = URI.create(url + "/api/clusters/" + matcher.group(1));
+
+        try {
+            assertEquals(404, get(cluster, null, null), "unpinned read should hit the replica");
+            assertEquals(200, get(cluster, "Read-Primary", "true"), "header should pin the read to the primary");
+            assertEquals(200, get(cluster, "Cookie", cookie), "cookie should pin the read to the primary");
+        } finally {
+            client.send(HttpRequest.newBuilder(cluster).DELETE().build(), HttpResponse.BodyHandlers.discarding());
+        }
+    }
+
+    private int get(URI uri, String header, String value) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri).GET();
+        if (header != null) {
+            request.header(header, value);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
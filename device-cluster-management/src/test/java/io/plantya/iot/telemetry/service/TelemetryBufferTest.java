@@ -0,0 +1,143 @@
+package io.plantya.iot.telemetry.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.plantya.iot.telemetry.domain.TelemetryRecord;
+import io.plantya.iot.telemetry.repository.TelemetryRepository;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@DisplayName("TelemetryBuffer Unit Test")
+@ExtendWith(MockitoExtension.class)
+class TelemetryBufferTest {
+
+    @InjectMocks
+    TelemetryBuffer telemetryBuffer;
+
+    @Mock
+    TelemetryRepository telemetryRepository;
+
+    @BeforeEach
+    void setUp() {
+        telemetryBuffer.capacity = 5;
+        telemetryBuffer.batchSize = 3;
+        telemetryBuffer.flushInterval = Duration.ofMillis(10);
+        telemetryBuffer.maxAttempts = 3;
+        telemetryBuffer.retryBackoff = Duration.ofMillis(1);
+        telemetryBuffer.meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private double dropped() {
+        return telemetryBuffer.meterRegistry.counter("telemetry.readings.dropped").count();
+    }
+
+    private List<TelemetryRecord> records(int count) {
+        Instant now = Instant.now();
+        List<TelemetryRecord> records = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            records.add(new TelemetryRecord("DVC00001", "temperature", i, now, now));
+        }
+        return records;
+    }
+
+    @Nested
+    @DisplayName("Offer")
+    class Offer {
+
+        @Test
+        @DisplayName("SUCCESS: Records within capacity are accepted")
+        void offer_withinCapacity() {
+            assertTrue(telemetryBuffer.offer(records(5)));
+            assertEquals(5, telemetryBuffer.pending());
+        }
+
+        @Test
+        @DisplayName("FAILED: Request exceeding remaining capacity is rejected as a whole")
+        void offer_overCapacity() {
+            assertTrue(telemetryBuffer.offer(records(3)));
+
+            assertFalse(telemetryBuffer.offer(records(3)));
+            assertEquals(3, telemetryBuffer.pending());
+        }
+    }
+
+    @Nested
+    @DisplayName("Flush")
+    class Flush {
+
+        @Test
+        @DisplayName("SUCCESS: Flush writes at most one batch and releases capacity")
+        void flush_writesBatch() throws Exception {
+            telemetryBuffer.offer(records(5));
+
+            int flushed = telemetryBuffer.flushOnce(0);
+
+            assertEquals(3, flushed);
+            assertEquals(2, telemetryBuffer.pending());
+            verify(telemetryRepository).insertBatch(argThat(batch -> batch.size() == 3));
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Empty queue flushes nothing")
+        void flush_emptyQueue() throws Exception {
+            assertEquals(0, telemetryBuffer.flushOnce(0));
+            verify(telemetryRepository, never()).insertBatch(anyList());
+        }
+
+        @Test
+        @DisplayName("FAILED: Failed write still releases capacity")
+        void flush_writeFails() throws Exception {
+            doThrow(new SQLException("boom")).when(telemetryRepository).insertBatch(anyList());
+            telemetryBuffer.offer(records(2));
+
+            int flushed = telemetryBuffer.flushOnce(0);
+
+            assertEquals(2, flushed);
+            assertEquals(0, telemetryBuffer.pending());
+            assertTrue(telemetryBuffer.offer(records(5)));
+            assertEquals(2, dropped());
+            verify(telemetryRepository, times(1)).insertBatch(anyList());
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Transient failure is retried and the batch is written")
+        void flush_transientFailureRetried() throws Exception {
+            doThrow(new SQLException("connection reset", "08006"))
+                    .doNothing()
+                    .when(telemetryRepository).insertBatch(anyList());
+            telemetryBuffer.offer(records(2));
+
+            telemetryBuffer.flushOnce(0);
+
+            verify(telemetryRepository, times(2)).insertBatch(anyList());
+            assertEquals(0, telemetryBuffer.pending());
+            assertEquals(0, dropped());
+        }
+
+        @Test
+        @DisplayName("FAILED: Transient failure is dropped and counted once attempts run out")
+        void flush_transientFailureExhausted() throws Exception {
+            doThrow(new SQLTransientConnectionException("pool exhausted"))
+                    .when(telemetryRepository).insertBatch(anyList());
+            telemetryBuffer.offer(records(2));
+
+            telemetryBuffer.flushOnce(0);
+
+            verify(telemetryRepository, times(3)).insertBatch(anyList());
+            assertEquals(0, telemetryBuffer.pending());
+            assertEquals(2, dropped());
+        }
+    }
+}
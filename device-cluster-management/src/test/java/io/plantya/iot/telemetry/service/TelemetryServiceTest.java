@@ -0,0 +1,199 @@
+package io.plantya.iot.telemetry.service;
+
+import io.plantya.iot.common.exception.BadRequestException;
+import io.plantya.iot.common.exception.TooManyRequestsException;
+import io.plantya.iot.common.exception.message.ErrorMessage;
+import io.plantya.iot.telemetry.domain.TelemetryRecord;
+import io.plantya.iot.telemetry.dto.request.TelemetryBatchReadingRequest;
+import io.plantya.iot.telemetry.dto.request.TelemetryBatchRequest;
+import io.plantya.iot.telemetry.dto.request.TelemetryIngestRequest;
+import io.plantya.iot.telemetry.dto.request.TelemetryReadingRequest;
+import io.plantya.iot.telemetry.dto.response.TelemetryAcceptedResponse;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@DisplayName("TelemetryService Unit Test")
+@ExtendWith(MockitoExtension.class)
+class TelemetryServiceTest {
+
+    @InjectMocks
+    TelemetryService telemetryService;
+
+    @Mock
+    TelemetryBuffer telemetryBuffer;
+
+    @Captor
+    ArgumentCaptor<List<TelemetryRecord>> recordsCaptor;
+
+    @BeforeEach
+    void setUp() {
+        telemetryService.maxReadings = 2;
+        telemetryService.maxClockSkew = Duration.ofMinutes(5);
+    }
+
+    @Nested
+    @DisplayName("Ingest")
+    class Ingest {
+
+        @Test
+        @DisplayName("SUCCESS: Readings are buffered and recordedAt defaults to receivedAt")
+        void ingest_success() {
+            Instant recordedAt = Instant.parse("2026-01-01T00:00:00Z");
+            TelemetryIngestRequest request = new TelemetryIngestRequest(List.of(
+                    new TelemetryReadingRequest("temperature", 21.5, recordedAt),
+                    new TelemetryReadingRequest("humidity", 40.0, null)
+            ));
+            when(telemetryBuffer.offer(anyList())).thenReturn(true);
+
+            TelemetryAcceptedResponse response = telemetryService.ingest("DVC00001", request);
+
+            assertEquals(2, response.accepted());
+            verify(telemetryBuffer).offer(recordsCaptor.capture());
+            List<TelemetryRecord> records = recordsCaptor.getValue();
+            assertEquals("DVC00001", records.get(0).deviceId());
+            assertEquals(recordedAt, records.get(0).recordedAt());
+            assertEquals(response.receivedAt(), records.get(1).recordedAt());
+        }
+
+        @Test
+        @DisplayName("FAILED: Full buffer is rejected with too many requests")
+        void ingest_bufferFull() {
+            TelemetryIngestRequest request = new TelemetryIngestRequest(List.of(
+                    new TelemetryReadingRequest("temperature", 21.5, null)
+            ));
+            when(telemetryBuffer.offer(anyList())).thenReturn(false);
+
+            TooManyRequestsException ex = assertThrows(
+                    TooManyRequestsException.class,
+                    () -> telemetryService.ingest("DVC00001", request)
+            );
+
+            assertEquals(ErrorMessage.TELEMETRY_QUEUE_FULL, ex.getError());
+        }
+
+        @Test
+        @DisplayName("FAILED: Too many readings in one request")
+        void ingest_tooManyReadings() {
+            TelemetryIngestRequest request = new TelemetryIngestRequest(List.of(
+                    new TelemetryReadingRequest("a", 1.0, null),
+                    new TelemetryReadingRequest("b", 2.0, null),
+                    new TelemetryReadingRequest("c", 3.0, null)
+            ));
+
+            BadRequestException ex = assertThrows(
+                    BadRequestException.class,
+                    () -> telemetryService.ingest("DVC00001", request)
+            );
+
+            assertEquals(ErrorMessage.TELEMETRY_READINGS_TOO_MANY, ex.getError());
+            verifyNoInteractions(telemetryBuffer);
+        }
+
+        @Test
+        @DisplayName("FAILED: Non-finite value is rejected")
+        void ingest_invalidValue() {
+            TelemetryIngestRequest request = new TelemetryIngestRequest(List.of(
+                    new TelemetryReadingRequest("temperature", Double.NaN, null)
+            ));
+
+            BadRequestException ex = assertThrows(
+                    BadRequestException.class,
+                    () -> telemetryService.ingest("DVC00001", request)
+            );
+
+            assertEquals(ErrorMessage.TELEMETRY_VALUE_INVALID, ex.getError());
+        }
+
+        @Test
+        @DisplayName("FAILED: Reading recorded too far in the future is rejected")
+        void ingest_recordedAtInFuture() {
+            TelemetryIngestRequest request = new TelemetryIngestRequest(List.of(
+                    new TelemetryReadingRequest("temperature", 21.5, Instant.now().plus(Duration.ofDays(400)))
+            ));
+
+            BadRequestException ex = assertThrows(
+                    BadRequestException.class,
+                    () -> telemetryService.ingest("DVC00001", request)
+            );
+
+            assertEquals(ErrorMessage.TELEMETRY_RECORDED_AT_IN_FUTURE, ex.getError());
+            verifyNoInteractions(telemetryBuffer);
+        }
+
+        @Test
+        @DisplayName("SUCCESS: Reading slightly ahead of the server clock is accepted")
+        void ingest_recordedAtWithinSkew() {
+            TelemetryIngestRequest request = new TelemetryIngestRequest(List.of(
+                    new TelemetryReadingRequest("temperature", 21.5, Instant.now().plus(Duration.ofMinutes(1)))
+            ));
+            when(telemetryBuffer.offer(anyList())).thenReturn(true);
+
+            TelemetryAcceptedResponse response = telemetryService.ingest("DVC00001", request);
+
+            assertEquals(1, response.accepted());
+        }
+    }
+
+    @Nested
+    @DisplayName("Ingest Batch")
+    class IngestBatch {
+
+        @Test
+        @DisplayName("SUCCESS: Readings for several devices are buffered together")
+        void ingestBatch_success() {
+            TelemetryBatchRequest request = new TelemetryBatchRequest(List.of(
+                    new TelemetryBatchReadingRequest("DVC00001", "temperature", 21.5, null),
+                    new TelemetryBatchReadingRequest("DVC00002", "temperature", 19.0, null)
+            ));
+            when(telemetryBuffer.offer(anyList())).thenReturn(true);
+
+            TelemetryAcceptedResponse response = telemetryService.ingestBatch(request);
+
+            assertEquals(2, response.accepted());
+            verify(telemetryBuffer).offer(recordsCaptor.capture());
+            assertEquals("DVC00002", recordsCaptor.getValue().get(1).deviceId());
+        }
+
+        @Test
+        @DisplayName("FAILED: Reading without device id")
+        void ingestBatch_missingDevice() {
+            TelemetryBatchRequest request = new TelemetryBatchRequest(List.of(
+                    new TelemetryBatchReadingRequest(" ", "temperature", 21.5, null)
+            ));
+
+            BadRequestException ex = assertThrows(
+                    BadRequestException.class,
+                    () -> telemetryService.ingestBatch(request)
+            );
+
+            assertEquals(ErrorMessage.TELEMETRY_DEVICE_REQUIRED, ex.getError());
+        }
+
+        @Test
+        @DisplayName("FAILED: Reading recorded too far in the future is rejected")
+        void ingestBatch_recordedAtInFuture() {
+            TelemetryBatchRequest request = new TelemetryBatchRequest(List.of(
+                    new TelemetryBatchReadingRequest("DVC00001", "temperature", 21.5, null),
+                    new TelemetryBatchReadingRequest("DVC00002", "temperature", 19.0, Instant.now().plus(Duration.ofHours(1)))
+            ));
+
+            BadRequestException ex = assertThrows(
+                    BadRequestException.class,
+                    () -> telemetryService.ingestBatch(request)
+            );
+
+            assertEquals(ErrorMessage.TELEMETRY_RECORDED_AT_IN_FUTURE, ex.getError());
+            verifyNoInteractions(telemetryBuffer);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package io.plantya.auth;
+
+import com.password4j.Argon2Function;
+import com.password4j.types.Argon2;
+import io.plantya.auth.dto.request.LoginRequest;
+import io.plantya.auth.dto.request.RegisterRequest;
+import io.plantya.auth.dto.response.*;
+import io.plantya.auth.enums.UserRole;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.jose4j.jws.RsaUsingShaAlgorithm;
+
+/**
+ * Classes the native image only reaches through reflection: the DTOs Jackson serializes behind a
+ * {@code Response} or in {@code JsonHelper}, password4j's Argon2 function, and the RS256 algorithm
+ * {@code JwtUtil} signs tokens with.
+ */
+@RegisterForReflection(targets = {
+        LoginRequest.class,
+        RegisterRequest.class,
+        AppResponse.class,
+        ErrorResponse.class,
+        LoginResponse.class,
+        RegisterResponse.class,
+        UserRole.class,
+
+        Argon2Function.class,
+        Argon2.class,
+
+        RsaUsingShaAlgorithm.class,
+        RsaUsingShaAlgorithm.RsaSha256.class
+})
+public class NativeImageReflection {
+}
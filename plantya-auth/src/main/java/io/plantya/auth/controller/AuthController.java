@@ -7,6 +7,7 @@ import io.plantya.auth.dto.response.LoginResult;
 import io.plantya.auth.dto.response.RegisterResponse;
 import io.plantya.auth.service.AuthService;
 import io.plantya.auth.service.CookieService;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
@@ -14,6 +15,7 @@ import jakarta.ws.rs.core.NewCookie;
 import jakarta.ws.rs.core.Response;
 
 @Path("/api/auth")
+@RunOnVirtualThread
 @ApplicationScoped
 public class AuthController {
 
@@ -0,0 +1,30 @@
+package io.plantya.auth.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import jakarta.inject.Singleton;
+
+/**
+ * Publishes {@code http_server_requests_seconds} as a histogram, so per-endpoint latency percentiles can be
+ * aggregated across pods in Prometheus ({@code histogram_quantile}). Quarkus already tags the timer with the
+ * templated path, e.g. {@code /api/auth/login}. The repository, password and token timers declare
+ * their histograms themselves.
+ */
+@Singleton
+public class LatencyHistogramFilter implements MeterFilter {
+
+    static final String HTTP_SERVER_REQUESTS = "http.server.requests";
+
+    @Override
+    public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+        if (!HTTP_SERVER_REQUESTS.equals(id.getName())) {
+            return config;
+        }
+
+        return DistributionStatisticConfig.builder()
+                .percentilesHistogram(true)
+                .build()
+                .merge(config);
+    }
+}
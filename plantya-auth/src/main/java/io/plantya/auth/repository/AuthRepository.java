@@ -1,10 +1,12 @@
 package io.plantya.auth.repository;
 
+import io.micrometer.core.annotation.Timed;
 import io.plantya.auth.entity.User;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 
 @ApplicationScoped
+@Timed(value = "repository.method", histogram = true)
 public class AuthRepository implements PanacheRepository<User> {
 
     public boolean existsByUsername(String username) {
@@ -0,0 +1,41 @@
+package io.plantya.auth.repository;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.arc.InjectableInstance;
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import io.quarkus.hibernate.orm.runtime.customized.QuarkusConnectionProvider;
+import io.quarkus.hibernate.orm.runtime.tenant.TenantConnectionResolver;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+
+/**
+ * Hands out connections for the datasource chosen by {@link ReadReplicaTenantResolver}.
+ *
+ * <p>The primary uses the default datasource. The replica uses the {@code replica} datasource, which is
+ * only looked up when replica reads are enabled.
+ */
+@PersistenceUnitExtension
+@ApplicationScoped
+public class ReadReplicaConnectionResolver implements TenantConnectionResolver {
+
+    private final AgroalDataSource primary;
+    private final InjectableInstance<AgroalDataSource> replica;
+
+    public ReadReplicaConnectionResolver(
+            AgroalDataSource primary,
+            @DataSource(ReadReplicaTenantResolver.REPLICA) InjectableInstance<AgroalDataSource> replica
+    ) {
+        this.primary = primary;
+        this.replica = replica;
+    }
+
+    @Override
+    public ConnectionProvider resolve(String tenantId) {
+        if (ReadReplicaTenantResolver.REPLICA.equals(tenantId)) {
+            return new QuarkusConnectionProvider(replica.get());
+        }
+
+        return new QuarkusConnectionProvider(primary);
+    }
+}
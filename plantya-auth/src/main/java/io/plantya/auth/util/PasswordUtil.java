@@ -1,15 +1,52 @@
 package io.plantya.auth.util;
 
 import com.password4j.Password;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
 
 public class PasswordUtil {
 
+    // Argon2 is CPU bound and never yields. On virtual threads every hash holds a carrier thread,
+    // so the number of concurrent hashes is capped below the carrier count to keep the rest of the
+    // requests moving. Waiting for a permit parks the virtual thread without pinning it.
+    private static final Semaphore HASH_PERMITS =
+            new Semaphore(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), true);
+
+    // Only the Argon2 work is timed. Time spent waiting for a permit shows in the endpoint latency.
+    private static final Timer HASH_TIMER = argon2Timer("hash");
+    private static final Timer VERIFY_TIMER = argon2Timer("verify");
+
     public static String hash(String password) {
-        return Password.hash(password).withArgon2().getResult();
+        return withPermit(HASH_TIMER, () -> Password.hash(password).withArgon2().getResult());
     }
 
     public static boolean verify(String password, String hashedPassword) {
-        return Password.check(password, hashedPassword).withArgon2();
+        return withPermit(VERIFY_TIMER, () -> Password.check(password, hashedPassword).withArgon2());
+    }
+
+    private static <T> T withPermit(Timer timer, Supplier<T> work) {
+        try {
+            HASH_PERMITS.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to hash a password", e);
+        }
+
+        try {
+            return timer.record(work);
+        } finally {
+            HASH_PERMITS.release();
+        }
+    }
+
+    private static Timer argon2Timer(String operation) {
+        return Timer.builder("password.argon2")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(Metrics.globalRegistry);
     }
 
-}
\ No newline at end of file
+}
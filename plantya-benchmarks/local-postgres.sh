@@ -0,0 +1,38 @@
+#!/usr/bin/env bash
+# =========================================
+# Starts a local Postgres for the end-to-end load test and creates the service databases
+#
+# Usage:
+#   ./local-postgres.sh            container "plantya-load-test" on port 5432
+#   PORT=5433 ./local-postgres.sh
+#
+# Creates plantya_device, plantya_management and plantya_auth (user postgres, password postgres) and
+# applies management's migrations, which that service does not run itself. Device and auth migrate
+# their own schema when started with QUARKUS_FLYWAY_MIGRATE_AT_START=true. Then seed with
+# io.plantya.loadtest.SyntheticDataGenerator and drive the services with io.plantya.loadtest.LoadTest.
+# =========================================
+set -euo pipefail
+
+cd "$(dirname "$0")"
+
+port=${PORT:-5432}
+container=plantya-load-test
+
+docker run -d --name "$container" -p "$port:5432" \
+    -e POSTGRES_PASSWORD=postgres \
+    postgres:16 \
+    -c shared_buffers=1GB -c max_wal_size=8GB -c checkpoint_timeout=30min >/dev/null
+
+until docker exec "$container" pg_isready -U postgres >/dev/null 2>&1; do
+    sleep 1
+done
+
+for database in plantya_device plantya_management plantya_auth; do
+    docker exec "$container" psql -U postgres -q -c "CREATE DATABASE $database"
+done
+
+for migration in $(ls ../plantya-management/src/main/resources/db/migration/*.sql | sort -V); do
+    docker exec -i "$container" psql -U postgres -d plantya_management -q -v ON_ERROR_STOP=1 < "$migration"
+done
+
+echo "Postgres is up on localhost:$port"
@@ -0,0 +1,29 @@
+#!/usr/bin/env bash
+# =========================================
+# Runs the JMH benchmarks and stores the results per commit
+#
+# Usage (after `mvn package`):
+#   ./run.sh                         all benchmarks
+#   ./run.sh SerializationBenchmark  any JMH arguments, e.g. a benchmark regex or -f 3
+#   BASELINE=results/1a2b3c4.json ./run.sh
+#
+# Results go to results/<short-sha>.json (with a -dirty suffix for uncommitted trees) in JMH's JSON
+# format. With BASELINE set, the new results are compared against it afterwards and the script exits
+# non-zero when a benchmark regressed by more than THRESHOLD percent (default 10).
+# =========================================
+set -euo pipefail
+
+cd "$(dirname "$0")"
+
+revision=$(git rev-parse --short HEAD)
+if ! git diff --quiet HEAD -- ..; then
+    revision="$revision-dirty"
+fi
+
+mkdir -p results
+java -jar target/benchmarks.jar -rf json -rff "results/$revision.json" "$@"
+
+if [ -n "${BASELINE:-}" ]; then
+    java -cp target/benchmarks.jar io.plantya.benchmark.CompareResults \
+        "$BASELINE" "results/$revision.json" "${THRESHOLD:-10}"
+fi
@@ -0,0 +1,55 @@
+package io.plantya.benchmark;
+
+import io.plantya.auth.dto.request.LoginRequest;
+import io.plantya.auth.dto.request.RegisterRequest;
+import io.plantya.auth.exception.RegistrationException;
+import io.plantya.auth.util.AuthValidator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request validation on login and registration, including the username, email and password patterns.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthValidatorBenchmark {
+
+    private final LoginRequest login = new LoginRequest("maria@plantya.io", "Greenhouse42");
+
+    private final RegisterRequest register =
+            new RegisterRequest("maria_42", "maria.rossi@plantya.io", "Greenhouse42", "Greenhouse42");
+
+    // Fails on the last pattern, after the username and email checks have run
+    private final RegisterRequest weakPassword =
+            new RegisterRequest("maria_42", "maria.rossi@plantya.io", "greenhouse-forever", "greenhouse-forever");
+
+    @Benchmark
+    public void login() throws Exception {
+        AuthValidator.login(login);
+    }
+
+    @Benchmark
+    public void registerValid() throws Exception {
+        AuthValidator.register(register);
+    }
+
+    @Benchmark
+    public void registerWeakPassword(Blackhole blackhole) {
+        try {
+            AuthValidator.register(weakPassword);
+        } catch (RegistrationException e) {
+            blackhole.consume(e);
+        }
+    }
+
+    @Benchmark
+    public boolean emailPattern() {
+        return AuthValidator.EMAIL_PATTERN.matcher(register.email()).matches();
+    }
+}
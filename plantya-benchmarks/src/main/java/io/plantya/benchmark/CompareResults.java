@@ -0,0 +1,84 @@
+package io.plantya.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Compares two JMH JSON result files, typically from two commits:
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar io.plantya.benchmark.CompareResults results/base.json results/head.json [threshold%]
+ * </pre>
+ *
+ * A benchmark regresses when its score gets worse by more than the threshold (10% by default) and by more
+ * than the combined error margins of both runs. The exit status is 1 when any benchmark regressed.
+ */
+public class CompareResults {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10;
+
+    record Score(String mode, double score, double error, String unit) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CompareResults <baseline.json> <candidate.json> [threshold%]");
+            System.exit(2);
+        }
+
+        Map<String, Score> baseline = read(new File(args[0]));
+        Map<String, Score> candidate = read(new File(args[1]));
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+
+        int regressions = 0;
+        System.out.printf("%-80s %14s %14s %-8s %9s%n", "benchmark", "baseline", "candidate", "unit", "change");
+        for (Map.Entry<String, Score> entry : candidate.entrySet()) {
+            Score head = entry.getValue();
+            Score base = baseline.get(entry.getKey());
+            if (base == null) {
+                System.out.printf("%-80s %14s %14.3f %-8s %9s%n", entry.getKey(), "-", head.score(), head.unit(), "new");
+                continue;
+            }
+
+            // Time per operation gets worse upwards, throughput downwards
+            boolean higherIsWorse = !"thrpt".equals(head.mode());
+            double change = (head.score() - base.score()) / base.score() * 100;
+            double worsening = higherIsWorse ? change : -change;
+            boolean beyondNoise = Math.abs(head.score() - base.score()) > base.error() + head.error();
+            boolean regressed = worsening > threshold && beyondNoise;
+            if (regressed) {
+                regressions++;
+            }
+
+            System.out.printf("%-80s %14.3f %14.3f %-8s %+8.1f%%%s%n",
+                    entry.getKey(), base.score(), head.score(), head.unit(), change, regressed ? "  REGRESSION" : "");
+        }
+
+        System.out.printf("%n%d regression(s) beyond %.1f%%%n", regressions, threshold);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringJoiner key = new StringJoiner(",", run.path("benchmark").asText() + "[", "]").setEmptyValue(run.path("benchmark").asText());
+            run.path("params").properties().forEach(param -> key.add(param.getKey() + "=" + param.getValue().asText()));
+
+            JsonNode metric = run.path("primaryMetric");
+            double error = metric.path("scoreError").asDouble(0);
+            scores.put(key.toString(), new Score(
+                    run.path("mode").asText(),
+                    metric.path("score").asDouble(),
+                    Double.isNaN(error) ? 0 : error,
+                    metric.path("scoreUnit").asText()
+            ));
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,79 @@
+package io.plantya.benchmark;
+
+import io.plantya.iot.cluster.dto.response.ClusterGetResponse;
+import io.plantya.iot.cluster.dto.response.ClusterListResponse;
+import io.plantya.iot.cluster.entity.Cluster;
+import io.plantya.iot.common.dto.query.ClusterSummary;
+import io.plantya.iot.common.dto.query.DeviceStatusCount;
+import io.plantya.iot.common.mapper.ClusterResponseMapper;
+import io.plantya.iot.common.mapper.DeviceResponseMapper;
+import io.plantya.iot.device.domain.Device;
+import io.plantya.iot.device.domain.DeviceStatus;
+import io.plantya.iot.device.dto.response.DeviceGetResponse;
+import io.plantya.management.common.mapper.ResponseMapper;
+import io.plantya.management.dto.response.UserResponse;
+import io.plantya.management.entity.User;
+import io.plantya.management.enums.UserRole;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response mapping of the device, cluster and user services.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private final Device device = new Device();
+    private final Cluster cluster = new Cluster();
+    private final ClusterSummary clusterSummary = new ClusterSummary("CLS-000042", "North Greenhouse");
+    private final DeviceStatusCount statusCount = new DeviceStatusCount(118, 7);
+    private final User user = new User("USR-000042", "maria@plantya.io", "Maria", UserRole.STAFF);
+
+    @Setup
+    public void setUp() {
+        Instant now = Instant.now();
+
+        device.setDeviceId("DVC-000001");
+        device.setDeviceName("Soil moisture probe 1");
+        device.setDeviceType("SOIL_MOISTURE");
+        device.setClusterId("CLS-000042");
+        device.setStatus(DeviceStatus.ONLINE);
+        device.setCreatedAt(now);
+        device.setUpdatedAt(now);
+
+        cluster.setClusterId("CLS-000042");
+        cluster.setClusterName("North Greenhouse");
+        cluster.setCreatedAt(now);
+        cluster.setUpdatedAt(now);
+
+        user.setCreatedAt(now);
+        user.setUpdatedAt(now);
+    }
+
+    @Benchmark
+    public DeviceGetResponse device() {
+        return DeviceResponseMapper.toDeviceGetResponse(device);
+    }
+
+    @Benchmark
+    public ClusterListResponse clusterListItem() {
+        return ClusterResponseMapper.toClusterListResponse(clusterSummary, statusCount);
+    }
+
+    @Benchmark
+    public ClusterGetResponse clusterDetail() {
+        return ClusterResponseMapper.toClusterGetResponse(cluster, statusCount);
+    }
+
+    @Benchmark
+    public UserResponse user() {
+        return ResponseMapper.toUserResponse(user);
+    }
+}
@@ -0,0 +1,39 @@
+package io.plantya.benchmark;
+
+import io.plantya.auth.util.PasswordUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Argon2 hashing and verification at the parameters in {@code psw4j.properties}, which auth and
+ * management ship identically and password4j reads from the classpath. Management's
+ * {@code PasswordUtil} is the same code, so only auth's is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordBenchmark {
+
+    private static final String PASSWORD = "Greenhouse42";
+
+    private String hashed;
+
+    @Setup
+    public void setUp() {
+        hashed = PasswordUtil.hash(PASSWORD);
+    }
+
+    @Benchmark
+    public String hash() {
+        return PasswordUtil.hash(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return PasswordUtil.verify(PASSWORD, hashed);
+    }
+}
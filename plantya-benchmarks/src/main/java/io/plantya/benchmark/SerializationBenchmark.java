@@ -0,0 +1,82 @@
+package io.plantya.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import io.plantya.iot.common.dto.response.TotalMode;
+import io.plantya.iot.device.domain.DeviceStatus;
+import io.plantya.iot.device.dto.response.DeviceGetResponse;
+import io.plantya.iot.device.dto.response.PagedDeviceResponse;
+import io.plantya.management.dto.response.ListUserResponse;
+import io.plantya.management.dto.response.UserResponse;
+import io.plantya.management.enums.UserRole;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes list pages the way the services do: Quarkus' default mapper with
+ * {@code quarkus.jackson.property-naming-strategy=SNAKE_CASE}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"20", "100"})
+    int pageSize;
+
+    private ObjectMapper objectMapper;
+    private PagedDeviceResponse devices;
+    private ListUserResponse<UserResponse> users;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .addModule(new Jdk8Module())
+                .addModule(new ParameterNamesModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .build();
+
+        Instant now = Instant.now();
+        List<DeviceGetResponse> devicePage = new ArrayList<>(pageSize);
+        List<UserResponse> userPage = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            devicePage.add(new DeviceGetResponse(
+                    "DVC-%06d".formatted(i), "Soil moisture probe " + i, "SOIL_MOISTURE",
+                    "CLS-%06d".formatted(i % 7), i % 5 == 0 ? DeviceStatus.OFFLINE : DeviceStatus.ONLINE, now, now
+            ));
+            userPage.add(new UserResponse(
+                    "USR-%06d".formatted(i), "user" + i + "@plantya.io", "User " + i, UserRole.USER, now, now
+            ));
+        }
+
+        devices = new PagedDeviceResponse(pageSize, 1, pageSize, 500, 10_000L, TotalMode.EXACT, devicePage);
+        users = new ListUserResponse<>((long) pageSize, 1, pageSize, 500, io.plantya.management.enums.TotalMode.EXACT, userPage);
+    }
+
+    @Benchmark
+    public byte[] pagedDevices() throws Exception {
+        return objectMapper.writeValueAsBytes(devices);
+    }
+
+    @Benchmark
+    public byte[] listUsers() throws Exception {
+        return objectMapper.writeValueAsBytes(users);
+    }
+}
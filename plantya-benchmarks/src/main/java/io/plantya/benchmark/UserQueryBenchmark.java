@@ -0,0 +1,35 @@
+package io.plantya.benchmark;
+
+import io.plantya.management.common.repository.UserQueryBuilder;
+import io.plantya.management.common.repository.UserQuerySpec;
+import io.plantya.management.enums.UserRole;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JPQL string building for the active and deleted user lists.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserQueryBenchmark {
+
+    @Benchmark
+    public UserQuerySpec activeUnfiltered() {
+        return UserQueryBuilder.active(null, null);
+    }
+
+    @Benchmark
+    public UserQuerySpec activeSearchAndRole() {
+        return UserQueryBuilder.active("Maria", UserRole.STAFF);
+    }
+
+    @Benchmark
+    public UserQuerySpec deletedSearch() {
+        return UserQueryBuilder.deleted("plantya.io", null);
+    }
+}
@@ -0,0 +1,43 @@
+package io.plantya.iot.cluster.repository;
+
+import io.plantya.iot.common.dto.query.QueryData;
+import io.plantya.iot.common.dto.request.ClusterQueryParam;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JPQL string building for the cluster list. Lives in the repository's package because
+ * {@link ClusterRepository#buildQuery} is package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClusterQueryBenchmark {
+
+    private final ClusterQueryParam unfiltered = new ClusterQueryParam();
+    private final ClusterQueryParam search = new ClusterQueryParam();
+
+    @Setup
+    public void setUp() {
+        unfiltered.setPage(1);
+        unfiltered.setSize(20);
+
+        search.setPage(2);
+        search.setSize(50);
+        search.setSearch("north_field 10%");
+    }
+
+    @Benchmark
+    public QueryData unfiltered() {
+        return ClusterRepository.buildQuery(unfiltered);
+    }
+
+    @Benchmark
+    public QueryData search() {
+        return ClusterRepository.buildQuery(search);
+    }
+}
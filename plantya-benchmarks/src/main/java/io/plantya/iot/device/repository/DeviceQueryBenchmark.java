@@ -0,0 +1,37 @@
+package io.plantya.iot.device.repository;
+
+import io.plantya.iot.common.dto.param.DeviceParam;
+import io.plantya.iot.common.dto.query.QueryData;
+import io.plantya.iot.device.domain.DeviceStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JPQL string building for the device list. Lives in the repository's package because
+ * {@link DeviceRepository#buildQuery} is package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeviceQueryBenchmark {
+
+    private final DeviceParam unfiltered =
+            new DeviceParam(1, 20, null, null, null, null, null, null, null, null);
+
+    private final DeviceParam filtered =
+            new DeviceParam(3, 50, "greenhouse 4", "deviceName", "asc", DeviceStatus.ONLINE, null, true, null, "CLS-000042");
+
+    @Benchmark
+    public QueryData unfiltered() {
+        return DeviceRepository.buildQuery(unfiltered);
+    }
+
+    @Benchmark
+    public QueryData searchStatusClusterSorted() {
+        return DeviceRepository.buildQuery(filtered);
+    }
+}
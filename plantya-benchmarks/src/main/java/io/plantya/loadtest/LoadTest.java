@@ -0,0 +1,384 @@
+package io.plantya.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+/**
+ * Drives the REST endpoints of all three services with a weighted mix of operations against a
+ * {@link SyntheticData} set seeded by {@link SyntheticDataGenerator}, and reports throughput and latency
+ * percentiles per endpoint:
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar \
+ *     -Dload-test.device-url=http://localhost:8080 \
+ *     -Dload-test.management-url=http://localhost:8081 \
+ *     -Dload-test.auth-url=http://localhost:8082 \
+ *     -Dload-test.mix=list=40,search=15,get=30,create=5,patch=5,login=5 \
+ *     io.plantya.loadtest.LoadTest
+ * </pre>
+ *
+ * Each operation is spread evenly over the services that offer it and whose URL is set: list, search, get,
+ * create and patch over devices, clusters and users, login over auth. Gets and patches only address rows
+ * that are live in the seeded set, so a 4xx points at the service rather than at the test. The other
+ * knobs are {@code load-test.concurrency} (64 closed-loop workers on virtual threads),
+ * {@code load-test.warmup} (PT10S, not recorded), {@code load-test.duration} (PT60S),
+ * {@code load-test.page-size} (20) and {@code load-test.max-error-rate} (0.01): the exit status is 1 when
+ * 5xx responses and failed requests exceed that share of all requests.
+ */
+public class LoadTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final List<String> OPERATIONS = List.of("list", "search", "get", "create", "patch", "login");
+
+    private static final String[] DEVICE_TERMS = {"soil", "temperature", "humidity", "light", "ph meter", "water"};
+    private static final String[] CLUSTER_TERMS = {"greenhouse", "north", "south", "east", "west", "central"};
+
+    private final SyntheticData data = SyntheticData.fromSystemProperties();
+    private final int concurrency = Integer.getInteger("load-test.concurrency", 64);
+    private final Duration warmup = Duration.parse(System.getProperty("load-test.warmup", "PT10S"));
+    private final Duration duration = Duration.parse(System.getProperty("load-test.duration", "PT60S"));
+    private final int pageSize = Integer.getInteger("load-test.page-size", 20);
+    private final double maxErrorRate = Double.parseDouble(System.getProperty("load-test.max-error-rate", "0.01"));
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    /** An endpoint under load, e.g. "get device", and how to build one random request for it. */
+    private record Target(String name, Function<RandomGenerator, HttpRequest> request) {
+    }
+
+    /** One operation of the mix with its weight and the targets it is spread over. */
+    private record Operation(String name, int weight, List<Target> targets) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.exit(new LoadTest().run());
+    }
+
+    private int run() throws Exception {
+        List<Operation> mix = mix(System.getProperty("load-test.mix", "list=40,search=15,get=30,create=5,patch=5,login=5"));
+        if (mix.isEmpty()) {
+            System.err.println("No operation has a target: set load-test.device-url, load-test.management-url or load-test.auth-url");
+            return 2;
+        }
+
+        int totalWeight = mix.stream().mapToInt(Operation::weight).sum();
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long until = measureFrom + duration.toNanos();
+
+        List<Future<Map<String, Samples>>> workers = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(executor.submit(() -> work(mix, totalWeight, measureFrom, until)));
+            }
+        }
+
+        Map<String, Samples> results = new LinkedHashMap<>();
+        for (Operation operation : mix) {
+            for (Target target : operation.targets()) {
+                results.put(target.name(), new Samples());
+            }
+        }
+        for (Future<Map<String, Samples>> worker : workers) {
+            worker.get().forEach((name, samples) -> results.get(name).merge(samples));
+        }
+
+        Samples total = new Samples();
+        results.values().forEach(total::merge);
+        return report(results, total);
+    }
+
+    // ===== MIX ===== //
+
+    private List<Operation> mix(String spec) {
+        String deviceUrl = System.getProperty("load-test.device-url");
+        String managementUrl = System.getProperty("load-test.management-url");
+        String authUrl = System.getProperty("load-test.auth-url");
+
+        List<Operation> mix = new ArrayList<>();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split("=");
+            String name = parts[0];
+            int weight = Integer.parseInt(parts[1]);
+            if (!OPERATIONS.contains(name)) {
+                throw new IllegalArgumentException("Unknown operation in load-test.mix: " + name + ", expected one of " + OPERATIONS);
+            }
+
+            List<Target> targets = new ArrayList<>();
+            if (!isBlank(deviceUrl)) {
+                targets.addAll(deviceTargets(name, deviceUrl));
+            }
+            if (!isBlank(managementUrl)) {
+                targets.addAll(userTargets(name, managementUrl));
+            }
+            if (!isBlank(authUrl) && name.equals("login")) {
+                targets.add(new Target("login", random -> {
+                    int i = random.nextInt(data.authUsers) + 1;
+                    return post(authUrl + "/api/auth/login",
+                            Map.of("username_or_email", SyntheticData.username(i), "password", data.password));
+                }));
+            }
+
+            if (weight > 0 && !targets.isEmpty()) {
+                mix.add(new Operation(name, weight, targets));
+            }
+        }
+        return mix;
+    }
+
+    private List<Target> deviceTargets(String operation, String baseUrl) {
+        String devices = baseUrl + "/api/devices";
+        String clusters = baseUrl + "/api/clusters";
+        return switch (operation) {
+            case "list" -> List.of(
+                    new Target("list devices", random -> get(devices + "?page=" + page(random) + "&size=" + pageSize)),
+                    new Target("list clusters", random -> get(clusters + "?page=" + page(random) + "&size=" + pageSize))
+            );
+            case "search" -> List.of(
+                    new Target("search devices", random -> get(devices + "?page=1&size=" + pageSize + "&search="
+                            + (random.nextBoolean()
+                                    ? pick(random, DEVICE_TERMS)
+                                    : SyntheticData.clusterId(data.liveCluster(random)).toLowerCase()))),
+                    new Target("search clusters", random -> get(clusters + "?page=1&size=" + pageSize + "&search="
+                            + pick(random, CLUSTER_TERMS)))
+            );
+            case "get" -> List.of(
+                    new Target("get device", random -> get(devices + "/" + SyntheticData.deviceId(data.liveDevice(random)))),
+                    new Target("get cluster", random -> get(clusters + "/" + SyntheticData.clusterId(data.liveCluster(random))))
+            );
+            case "create" -> List.of(
+                    new Target("create device", random -> post(devices, Map.of(
+                            "device_name", "Load test probe " + UUID.randomUUID(),
+                            "device_type", SyntheticData.deviceType(random.nextInt(6)),
+                            "cluster_id", SyntheticData.clusterId(data.liveCluster(random))
+                    ))),
+                    new Target("create cluster", random -> post(clusters,
+                            Map.of("cluster_name", "Load test greenhouse " + UUID.randomUUID())))
+            );
+            case "patch" -> List.of(
+                    new Target("patch device", random -> patch(devices + "/" + SyntheticData.deviceId(data.liveDevice(random)),
+                            Map.of("status", random.nextBoolean() ? "ONLINE" : "OFFLINE"))),
+                    new Target("patch cluster", random -> {
+                        int i = data.liveCluster(random);
+                        return patch(clusters + "/" + SyntheticData.clusterId(i), Map.of("cluster_name", SyntheticData.clusterName(i)));
+                    })
+            );
+            default -> List.of();
+        };
+    }
+
+    private List<Target> userTargets(String operation, String baseUrl) {
+        String users = baseUrl + "/api/users";
+        return switch (operation) {
+            case "list" -> List.of(
+                    new Target("list users", random -> get(users + "?page=" + page(random) + "&size=" + pageSize))
+            );
+            case "search" -> List.of(
+                    new Target("search users", random -> get(users + "?page=1&size=" + pageSize + "&search="
+                            + SyntheticData.username(data.liveUser(random)).substring(0, 8)))
+            );
+            case "get" -> List.of(
+                    new Target("get user", random -> get(users + "/" + SyntheticData.userId(data.liveUser(random))))
+            );
+            case "create" -> List.of(
+                    new Target("create user", random -> post(users, Map.of(
+                            "email", "load-" + UUID.randomUUID() + "@plantya.io",
+                            "name", "Load test grower",
+                            "role", "USER"
+                    )))
+            );
+            case "patch" -> List.of(
+                    new Target("patch user", random -> {
+                        int i = data.liveUser(random);
+                        return patch(users + "/" + SyntheticData.userId(i), Map.of("name", SyntheticData.userName(i)));
+                    })
+            );
+            default -> List.of();
+        };
+    }
+
+    // ===== WORKER ===== //
+
+    private Map<String, Samples> work(List<Operation> mix, int totalWeight, long measureFrom, long until) {
+        RandomGenerator random = ThreadLocalRandom.current();
+        Map<String, Samples> samples = new LinkedHashMap<>();
+
+        while (System.nanoTime() < until) {
+            Target target = choose(mix, totalWeight, random);
+            HttpRequest request = target.request().apply(random);
+
+            long start = System.nanoTime();
+            int status;
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                status = -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            long micros = (System.nanoTime() - start) / 1_000;
+
+            if (start >= measureFrom) {
+                samples.computeIfAbsent(target.name(), name -> new Samples()).add(status, micros);
+            }
+        }
+        return samples;
+    }
+
+    private static Target choose(List<Operation> mix, int totalWeight, RandomGenerator random) {
+        int roll = random.nextInt(totalWeight);
+        for (Operation operation : mix) {
+            roll -= operation.weight();
+            if (roll < 0) {
+                return pick(random, operation.targets());
+            }
+        }
+        throw new IllegalStateException("weights do not add up");
+    }
+
+    // ===== REPORT ===== //
+
+    private int report(Map<String, Samples> results, Samples total) {
+        double seconds = duration.toNanos() / 1e9;
+        System.out.printf("%-16s %10s %10s %9s %9s %9s %9s %7s %7s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "4xx", "5xx");
+        results.forEach((name, samples) -> print(name, samples, seconds));
+        print("total", total, seconds);
+
+        long errors = total.serverErrors + total.failures;
+        double errorRate = total.size == 0 ? 1 : (double) errors / total.size;
+        System.out.printf("%n%d concurrent workers, %s measured after %s warmup, error rate %.4f (%d failed requests)%n",
+                concurrency, duration, warmup, errorRate, total.failures);
+        return errorRate > maxErrorRate ? 1 : 0;
+    }
+
+    private static void print(String name, Samples samples, double seconds) {
+        if (samples.size == 0) {
+            System.out.printf("%-16s %10d%n", name, 0);
+            return;
+        }
+        long[] sorted = Arrays.copyOf(samples.latencies, samples.size);
+        Arrays.sort(sorted);
+        System.out.printf("%-16s %,10d %,10.1f %9.2f %9.2f %9.2f %9.2f %,7d %,7d%n",
+                name,
+                samples.size,
+                samples.size / seconds,
+                percentile(sorted, 0.50) / 1_000.0,
+                percentile(sorted, 0.90) / 1_000.0,
+                percentile(sorted, 0.99) / 1_000.0,
+                sorted[sorted.length - 1] / 1_000.0,
+                samples.clientErrors,
+                samples.serverErrors + samples.failures);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    /** Latencies in microseconds and response classes of one endpoint. */
+    private static final class Samples {
+
+        private long[] latencies = new long[1024];
+        private int size;
+        private long clientErrors;
+        private long serverErrors;
+        private long failures;
+
+        void add(int status, long micros) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = micros;
+
+            if (status < 0) {
+                failures++;
+            } else if (status >= 500) {
+                serverErrors++;
+            } else if (status >= 400) {
+                clientErrors++;
+            }
+        }
+
+        void merge(Samples other) {
+            if (size + other.size > latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, size + other.size));
+            }
+            System.arraycopy(other.latencies, 0, latencies, size, other.size);
+            size += other.size;
+            clientErrors += other.clientErrors;
+            serverErrors += other.serverErrors;
+            failures += other.failures;
+        }
+    }
+
+    // ===== HELPER ===== //
+
+    private static int page(RandomGenerator random) {
+        // Most traffic reads the first pages, a tail goes deep
+        return random.nextInt(10) < 8 ? random.nextInt(5) + 1 : random.nextInt(500) + 1;
+    }
+
+    private static HttpRequest get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri.replace(" ", "%20")))
+                .timeout(Duration.ofSeconds(10))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    private static HttpRequest post(String uri, Map<String, String> body) {
+        return withBody(uri, "POST", body);
+    }
+
+    private static HttpRequest patch(String uri, Map<String, String> body) {
+        return withBody(uri, "PATCH", body);
+    }
+
+    private static HttpRequest withBody(String uri, String method, Map<String, String> body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(uri))
+                    .timeout(Duration.ofSeconds(10))
+                    .header("Content-Type", "application/json")
+                    .header("Accept", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(JSON.writeValueAsString(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static <T> T pick(RandomGenerator random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String pick(RandomGenerator random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,207 @@
+package io.plantya.loadtest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.random.RandomGenerator;
+
+/**
+ * The shape of the synthetic data set, shared by {@link SyntheticDataGenerator} and {@link LoadTest}.
+ * Every attribute of row {@code i} is derived from {@code i} alone, so the load test knows which ids
+ * exist and which of them are soft-deleted without reading them back from the database. Both sides must
+ * run with the same {@code synthetic.*} properties:
+ *
+ * <ul>
+ *   <li>{@code synthetic.clusters} (default 5,000), {@code synthetic.devices} (2,000,000),
+ *   {@code synthetic.users} (300,000) and {@code synthetic.auth-users} (same as users)</li>
+ *   <li>{@code synthetic.deleted-ratio} (0.1): share of clusters, devices and users that are
+ *   soft-deleted; devices of a deleted cluster are deleted with it</li>
+ *   <li>{@code synthetic.password} ({@code Greenhouse42}): password of every seeded account</li>
+ * </ul>
+ *
+ * Seeded ids are padded to seven digits. The insert triggers pad to five, so rows the services create
+ * later never collide with seeded ones.
+ */
+public final class SyntheticData {
+
+    static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final String[] DEVICE_TYPES = {
+            "SOIL_MOISTURE", "TEMPERATURE", "HUMIDITY", "LIGHT", "PH", "WATER_LEVEL"
+    };
+    private static final String[] DEVICE_LABELS = {
+            "Soil moisture probe", "Temperature sensor", "Humidity sensor", "Light sensor", "pH meter", "Water level gauge"
+    };
+    private static final String[] REGIONS = {"North", "South", "East", "West", "Central"};
+
+    static final long CLUSTER_SALT = 0x1L;
+    static final long DEVICE_SALT = 0x2L;
+    static final long USER_SALT = 0x3L;
+    private static final long PLACEMENT_SALT = 0x4L;
+    private static final long TIME_SALT = 0x100L;
+
+    /** Seeded rows were created over the two years before this instant. */
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final long HISTORY_SECONDS = 2L * 365 * 24 * 3600;
+
+    final int clusters;
+    final int devices;
+    final int users;
+    final int authUsers;
+    final double deletedRatio;
+    final String password;
+
+    private SyntheticData(int clusters, int devices, int users, int authUsers, double deletedRatio, String password) {
+        this.clusters = clusters;
+        this.devices = devices;
+        this.users = users;
+        this.authUsers = authUsers;
+        this.deletedRatio = deletedRatio;
+        this.password = password;
+    }
+
+    static SyntheticData fromSystemProperties() {
+        int users = Integer.getInteger("synthetic.users", 300_000);
+        return new SyntheticData(
+                Integer.getInteger("synthetic.clusters", 5_000),
+                Integer.getInteger("synthetic.devices", 2_000_000),
+                users,
+                Integer.getInteger("synthetic.auth-users", users),
+                Double.parseDouble(System.getProperty("synthetic.deleted-ratio", "0.1")),
+                System.getProperty("synthetic.password", "Greenhouse42")
+        );
+    }
+
+    // ===== CLUSTERS (1-based) ===== //
+
+    static String clusterId(int i) {
+        return "CL-%07d".formatted(i);
+    }
+
+    static String clusterName(int i) {
+        return "Greenhouse " + REGIONS[i % REGIONS.length] + " " + i;
+    }
+
+    boolean clusterDeleted(int i) {
+        return unit(CLUSTER_SALT, i) < deletedRatio;
+    }
+
+    // ===== DEVICES (1-based) ===== //
+
+    static String deviceId(int i) {
+        return "DVC-%07d".formatted(i);
+    }
+
+    static String deviceType(int i) {
+        return DEVICE_TYPES[i % DEVICE_TYPES.length];
+    }
+
+    static String deviceName(int i) {
+        return DEVICE_LABELS[i % DEVICE_LABELS.length] + " " + i;
+    }
+
+    static String deviceStatus(int i) {
+        return unit(DEVICE_SALT ^ 0xFF, i) < 0.7 ? "ONLINE" : "OFFLINE";
+    }
+
+    /**
+     * Squaring a uniform draw skews placement towards low cluster numbers, so a few clusters hold
+     * thousands of devices while most hold a handful, as in production.
+     */
+    int clusterOf(int device) {
+        double u = unit(PLACEMENT_SALT, device);
+        return (int) (clusters * u * u) + 1;
+    }
+
+    boolean deviceDeleted(int i) {
+        return clusterDeleted(clusterOf(i)) || unit(DEVICE_SALT, i) < deletedRatio;
+    }
+
+    // ===== MANAGEMENT USERS (1-based) ===== //
+
+    static String userRole(int i) {
+        if (i % 50 == 0) {
+            return "ADMIN";
+        }
+        return i % 10 == 0 ? "STAFF" : "USER";
+    }
+
+    static String userId(int i) {
+        return userRole(i).charAt(0) + "%07d".formatted(i);
+    }
+
+    static String userName(int i) {
+        return "Grower " + i;
+    }
+
+    static String email(int i) {
+        return "user%07d@plantya.io".formatted(i);
+    }
+
+    boolean userDeleted(int i) {
+        return unit(USER_SALT, i) < deletedRatio;
+    }
+
+    // ===== AUTH USERS (1-based) ===== //
+
+    static String username(int i) {
+        return "user%07d".formatted(i);
+    }
+
+    static String authRole(int i) {
+        return i % 50 == 0 ? "ADMIN" : "USER";
+    }
+
+    // ===== TIMESTAMPS ===== //
+
+    static LocalDateTime createdAt(long salt, int i) {
+        return EPOCH.minusSeconds((long) (unit(TIME_SALT ^ salt, i) * HISTORY_SECONDS));
+    }
+
+    /** Most rows were touched after creation; the rest keep a null {@code updated_at}. */
+    static LocalDateTime updatedAt(long salt, int i, LocalDateTime createdAt) {
+        double u = unit(TIME_SALT ^ salt ^ 0xF0, i);
+        if (u >= 0.6) {
+            return null;
+        }
+        long sinceCreated = Duration.between(createdAt, EPOCH).toSeconds();
+        return createdAt.plusSeconds((long) (u / 0.6 * sinceCreated));
+    }
+
+    // ===== PICKING LIVE ROWS ===== //
+
+    int liveCluster(RandomGenerator random) {
+        int i;
+        do {
+            i = random.nextInt(clusters) + 1;
+        } while (clusterDeleted(i));
+        return i;
+    }
+
+    int liveDevice(RandomGenerator random) {
+        int i;
+        do {
+            i = random.nextInt(devices) + 1;
+        } while (deviceDeleted(i));
+        return i;
+    }
+
+    int liveUser(RandomGenerator random) {
+        int i;
+        do {
+            i = random.nextInt(users) + 1;
+        } while (userDeleted(i));
+        return i;
+    }
+
+    // ===== HELPER ===== //
+
+    /** Uniform value in [0, 1) for row {@code i}, decorrelated per attribute by the salt (SplitMix64). */
+    static double unit(long salt, int i) {
+        long z = (salt << 32 ^ i) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return (z >>> 11) * 0x1.0p-53;
+    }
+}
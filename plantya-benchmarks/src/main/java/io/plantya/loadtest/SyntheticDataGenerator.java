@@ -0,0 +1,239 @@
+package io.plantya.loadtest;
+
+import io.plantya.auth.util.PasswordUtil;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+
+/**
+ * Seeds the service databases with a production-sized {@link SyntheticData} set through batched
+ * {@code COPY ... FROM STDIN}. The schemas must exist already: start each service once with
+ * {@code QUARKUS_FLYWAY_MIGRATE_AT_START=true}.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar \
+ *     -Dsynthetic.device-db='jdbc:postgresql://localhost:5432/plantya_device?user=postgres&amp;password=postgres' \
+ *     -Dsynthetic.management-db='jdbc:postgresql://localhost:5432/plantya_management?user=postgres&amp;password=postgres' \
+ *     -Dsynthetic.auth-db='jdbc:postgresql://localhost:5432/plantya_auth?user=postgres&amp;password=postgres' \
+ *     io.plantya.loadtest.SyntheticDataGenerator
+ * </pre>
+ *
+ * A database whose URL is not set is skipped. Every batch of {@code synthetic.batch-size} rows (default
+ * 50,000) is one COPY in its own transaction. The tables must not hold seeded rows yet; set
+ * {@code synthetic.truncate=true} to empty them first. Every account gets the same Argon2 hash of
+ * {@code synthetic.password}, hashed once up front. Restart management after seeding: it hands out user
+ * ids from blocks of {@code users_seq} it reserved before the seeded rows existed.
+ */
+public class SyntheticDataGenerator {
+
+    private static final String NULL = "\\N";
+
+    private final SyntheticData data = SyntheticData.fromSystemProperties();
+    private final int batchSize = Integer.getInteger("synthetic.batch-size", 50_000);
+    private final boolean truncate = Boolean.getBoolean("synthetic.truncate");
+
+    public static void main(String[] args) throws SQLException {
+        new SyntheticDataGenerator().run();
+    }
+
+    private void run() throws SQLException {
+        String deviceDb = System.getProperty("synthetic.device-db");
+        String managementDb = System.getProperty("synthetic.management-db");
+        String authDb = System.getProperty("synthetic.auth-db");
+        if (isBlank(deviceDb) && isBlank(managementDb) && isBlank(authDb)) {
+            System.err.println("Set at least one of synthetic.device-db, synthetic.management-db, synthetic.auth-db");
+            System.exit(2);
+        }
+
+        if (!isBlank(deviceDb)) {
+            seedDevices(deviceDb);
+        }
+
+        String hashedPassword = isBlank(managementDb) && isBlank(authDb) ? null : PasswordUtil.hash(data.password);
+        if (!isBlank(managementDb)) {
+            seedManagementUsers(managementDb, hashedPassword);
+        }
+        if (!isBlank(authDb)) {
+            seedAuthUsers(authDb, hashedPassword);
+        }
+    }
+
+    // ===== DEVICE DATABASE ===== //
+
+    private void seedDevices(String url) throws SQLException {
+        try (Connection connection = connect(url)) {
+            if (truncate) {
+                execute(connection, "TRUNCATE devices, clusters");
+            }
+
+            copy(connection, "clusters",
+                    "COPY clusters (cluster_id, cluster_name, created_at, updated_at, deleted_at) FROM STDIN",
+                    data.clusters,
+                    (row, i) -> {
+                        LocalDateTime createdAt = SyntheticData.createdAt(SyntheticData.CLUSTER_SALT, i);
+                        LocalDateTime updatedAt = SyntheticData.updatedAt(SyntheticData.CLUSTER_SALT, i, createdAt);
+                        boolean deleted = data.clusterDeleted(i);
+                        field(row, SyntheticData.clusterId(i));
+                        field(row, SyntheticData.clusterName(i));
+                        field(row, timestamp(createdAt));
+                        field(row, timestamp(deleted && updatedAt == null ? createdAt : updatedAt));
+                        last(row, deleted ? timestamp(updatedAt == null ? createdAt : updatedAt) : NULL);
+                    });
+
+            copy(connection, "devices",
+                    "COPY devices (device_id, device_name, device_type, status, cluster_id, created_at, updated_at, deleted_at) FROM STDIN",
+                    data.devices,
+                    (row, i) -> {
+                        LocalDateTime createdAt = SyntheticData.createdAt(SyntheticData.DEVICE_SALT, i);
+                        LocalDateTime updatedAt = SyntheticData.updatedAt(SyntheticData.DEVICE_SALT, i, createdAt);
+                        boolean deleted = data.deviceDeleted(i);
+                        field(row, SyntheticData.deviceId(i));
+                        field(row, SyntheticData.deviceName(i));
+                        field(row, SyntheticData.deviceType(i));
+                        field(row, SyntheticData.deviceStatus(i));
+                        field(row, SyntheticData.clusterId(data.clusterOf(i)));
+                        field(row, timestamp(createdAt));
+                        field(row, timestamp(deleted && updatedAt == null ? createdAt : updatedAt));
+                        last(row, deleted ? timestamp(updatedAt == null ? createdAt : updatedAt) : NULL);
+                    });
+
+            execute(connection, "ANALYZE clusters");
+            execute(connection, "ANALYZE devices");
+        }
+    }
+
+    // ===== MANAGEMENT DATABASE ===== //
+
+    private void seedManagementUsers(String url, String hashedPassword) throws SQLException {
+        try (Connection connection = connect(url)) {
+            if (truncate) {
+                execute(connection, "DELETE FROM users WHERE user_id ~ '^[USA][0-9]{7}$'");
+            }
+
+            copy(connection, "users",
+                    "COPY users (user_id, email, password, name, role, created_at, updated_at, deleted_at) FROM STDIN",
+                    data.users,
+                    (row, i) -> {
+                        LocalDateTime createdAt = SyntheticData.createdAt(SyntheticData.USER_SALT, i);
+                        LocalDateTime updatedAt = SyntheticData.updatedAt(SyntheticData.USER_SALT, i, createdAt);
+                        String touched = timestampTz(updatedAt == null ? createdAt : updatedAt);
+                        field(row, SyntheticData.userId(i));
+                        field(row, SyntheticData.email(i));
+                        field(row, hashedPassword);
+                        field(row, SyntheticData.userName(i));
+                        field(row, SyntheticData.userRole(i));
+                        field(row, timestampTz(createdAt));
+                        field(row, touched);
+                        last(row, data.userDeleted(i) ? touched : NULL);
+                    });
+
+            // COPY draws ids from the column default, Hibernate from users_seq in pooled blocks
+            execute(connection, "SELECT setval('users_seq', (SELECT max(id) FROM users) + 100)");
+            execute(connection, "ANALYZE users");
+        }
+    }
+
+    // ===== AUTH DATABASE ===== //
+
+    private void seedAuthUsers(String url, String hashedPassword) throws SQLException {
+        try (Connection connection = connect(url)) {
+            if (truncate) {
+                execute(connection, "TRUNCATE auth.users");
+            }
+
+            copy(connection, "auth.users",
+                    "COPY auth.users (username, email, password, role, created_at, updated_at) FROM STDIN",
+                    data.authUsers,
+                    (row, i) -> {
+                        LocalDateTime createdAt = SyntheticData.createdAt(SyntheticData.USER_SALT, i);
+                        LocalDateTime updatedAt = SyntheticData.updatedAt(SyntheticData.USER_SALT, i, createdAt);
+                        field(row, SyntheticData.username(i));
+                        field(row, SyntheticData.email(i));
+                        field(row, hashedPassword);
+                        field(row, SyntheticData.authRole(i));
+                        field(row, timestamp(createdAt));
+                        last(row, timestamp(updatedAt == null ? createdAt : updatedAt));
+                    });
+
+            execute(connection, "ANALYZE auth.users");
+        }
+    }
+
+    // ===== HELPER ===== //
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(StringBuilder row, int i);
+    }
+
+    /**
+     * Streams rows {@code 1..count} in COPY's text format, one COPY (and so one transaction) per batch,
+     * and reports progress after each batch.
+     */
+    private void copy(Connection connection, String table, String sql, int count, RowWriter writer) throws SQLException {
+        CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        StringBuilder rows = new StringBuilder(batchSize * 128);
+        long started = System.nanoTime();
+
+        for (int from = 1; from <= count; from += batchSize) {
+            int to = Math.min(count, from + batchSize - 1);
+            rows.setLength(0);
+            for (int i = from; i <= to; i++) {
+                writer.write(rows, i);
+            }
+
+            byte[] bytes = rows.toString().getBytes(StandardCharsets.UTF_8);
+            CopyIn copyIn = copyManager.copyIn(sql);
+            try {
+                copyIn.writeToCopy(bytes, 0, bytes.length);
+                copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+
+            double seconds = (System.nanoTime() - started) / 1e9;
+            System.out.printf("%-12s %,12d / %,d rows  %,10.0f rows/s%n", table, to, count, to / seconds);
+        }
+    }
+
+    private static void field(StringBuilder row, String value) {
+        row.append(value).append('\t');
+    }
+
+    private static void last(StringBuilder row, String value) {
+        row.append(value).append('\n');
+    }
+
+    private static String timestamp(LocalDateTime value) {
+        return value == null ? NULL : SyntheticData.TIMESTAMP.format(value);
+    }
+
+    private static String timestampTz(LocalDateTime value) {
+        return value == null ? NULL : SyntheticData.TIMESTAMP.format(value) + "+00";
+    }
+
+    private static Connection connect(String url) throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        execute(connection, "SET synchronous_commit = off");
+        return connection;
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
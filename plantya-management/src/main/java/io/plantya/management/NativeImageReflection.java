@@ -0,0 +1,36 @@
+package io.plantya.management;
+
+import com.password4j.Argon2Function;
+import com.password4j.types.Argon2;
+import io.plantya.management.dto.request.UserPatchRequest;
+import io.plantya.management.dto.request.UserRequest;
+import io.plantya.management.dto.response.*;
+import io.plantya.management.enums.TotalMode;
+import io.plantya.management.enums.UserRole;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Registers the classes a native image only reaches through reflection.
+ *
+ * <p>The controllers return a plain {@code Response}, so Quarkus cannot tell which DTOs Jackson serializes.
+ * The list queries build {@link UserResponse} and {@link UserDeletedResponse} through their constructors.
+ * Argon2 hashing goes through password4j, which reads its parameters from {@code psw4j.properties}; that
+ * file is added as a native resource in {@code application.properties}.
+ */
+@RegisterForReflection(targets = {
+        UserPatchRequest.class,
+        UserRequest.class,
+        ErrorResponse.class,
+        ListUserResponse.class,
+        UserCreatedResponse.class,
+        UserDeletedResponse.class,
+        UserResponse.class,
+        UserUpdatedResponse.class,
+        UserRole.class,
+        TotalMode.class,
+
+        Argon2Function.class,
+        Argon2.class
+})
+public class NativeImageReflection {
+}
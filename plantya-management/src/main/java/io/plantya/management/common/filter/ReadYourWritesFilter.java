@@ -0,0 +1,51 @@
+package io.plantya.management.common.filter;
+
+import io.plantya.management.common.repository.ReadReplicaTenantResolver;
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.NewCookie;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+
+/**
+ * Pins a client to the primary after each successful write.
+ *
+ * <p>The cookie lives for {@code read-replica.read-your-writes-window}, so the client's next reads see what
+ * it just wrote even while the replica lags behind.
+ */
+@Provider
+public class ReadYourWritesFilter implements ContainerResponseFilter {
+
+    private final ReadReplicaTenantResolver readReplica;
+    private final Duration window;
+
+    public ReadYourWritesFilter(
+            @PersistenceUnitExtension ReadReplicaTenantResolver readReplica,
+            @ConfigProperty(name = "read-replica.read-your-writes-window", defaultValue = "5S") Duration window
+    ) {
+        this.readReplica = readReplica;
+        this.window = window;
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        if (!readReplica.isEnabled()
+                || response.getStatus() >= 400
+                || readReplica.isRead(request.getMethod(), request.getUriInfo().getRequestUri().getPath())) {
+            return;
+        }
+
+        response.getHeaders().add(HttpHeaders.SET_COOKIE, new NewCookie.Builder(ReadReplicaTenantResolver.COOKIE)
+                .value("1")
+                .path("/")
+                .httpOnly(true)
+                .sameSite(NewCookie.SameSite.LAX)
+                .maxAge((int) window.toSeconds())
+                .build());
+    }
+}
@@ -0,0 +1,8 @@
+package io.plantya.management.common.repository;
+
+import java.time.Instant;
+
+/**
+ * The columns of a deleted user that change with its list entry, projected for list ETags.
+ */
+public record DeletedUserVersion(String userId, Instant deletedAt) {}
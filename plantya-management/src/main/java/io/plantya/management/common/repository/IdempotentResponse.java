@@ -0,0 +1,6 @@
+package io.plantya.management.common.repository;
+
+/**
+ * A completed response recorded under an idempotency key, with the fingerprint of the request that produced it.
+ */
+public record IdempotentResponse(String fingerprint, int status, String body) {}
@@ -0,0 +1,115 @@
+package io.plantya.management.common.repository;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import io.quarkus.hibernate.orm.runtime.tenant.TenantResolver;
+import io.quarkus.vertx.http.runtime.CurrentVertxRequest;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Status;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Chooses the datasource for each Hibernate session as it opens.
+ *
+ * <p>A session reads from the {@code replica} datasource only when {@code read-replica.enabled} is set, no
+ * transaction is active, and the HTTP request is a read: GET, HEAD, OPTIONS, or a path in
+ * {@code read-replica.read-paths}. Every {@code @Transactional} method, and so every write, runs on the
+ * primary.
+ *
+ * <p>A client that must read its own writes is pinned to the primary by the {@value #HEADER} header, or by
+ * the {@value #COOKIE} cookie set on responses to writes.
+ */
+@PersistenceUnitExtension
+@ApplicationScoped
+public class ReadReplicaTenantResolver implements TenantResolver {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    public static final String HEADER = "Read-Primary";
+    public static final String COOKIE = "read-primary";
+
+    private final boolean enabled;
+    private final Optional<Set<String>> readPaths;
+    private final TransactionSynchronizationRegistry transactionRegistry;
+    private final CurrentVertxRequest currentVertxRequest;
+
+    public ReadReplicaTenantResolver(
+            @ConfigProperty(name = "read-replica.enabled", defaultValue = "false") boolean enabled,
+            @ConfigProperty(name = "read-replica.read-paths") Optional<Set<String>> readPaths,
+            TransactionSynchronizationRegistry transactionRegistry,
+            CurrentVertxRequest currentVertxRequest
+    ) {
+        this.enabled = enabled;
+        this.readPaths = readPaths;
+        this.transactionRegistry = transactionRegistry;
+        this.currentVertxRequest = currentVertxRequest;
+    }
+
+    @Override
+    public String getDefaultTenantId() {
+        return PRIMARY;
+    }
+
+    @Override
+    public String resolveTenantId() {
+        if (!enabled
+                || transactionRegistry.getTransactionStatus() != Status.STATUS_NO_TRANSACTION
+                || !Arc.container().requestContext().isActive()) {
+            return PRIMARY;
+        }
+
+        RoutingContext context = currentVertxRequest.getCurrent();
+        if (context == null) {
+            return PRIMARY;
+        }
+
+        HttpServerRequest request = context.request();
+        boolean pinnedToPrimary = "true".equalsIgnoreCase(request.getHeader(HEADER)) || request.getCookie(COOKIE) != null;
+        if (pinnedToPrimary || !isRead(request.method().name(), request.path())) {
+            return PRIMARY;
+        }
+
+        return REPLICA;
+    }
+
+    /**
+     * Checks whether a request only reads.
+     *
+     * @param method the HTTP method
+     * @param path   the request path
+     * @return {@code true} for safe methods and configured read paths
+     */
+    public boolean isRead(String method, String path) {
+        return "GET".equals(method)
+                || "HEAD".equals(method)
+                || "OPTIONS".equals(method)
+                || readPaths.map(paths -> paths.contains(path)).orElse(false);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Keeps a replica session out of the second-level cache, so rows read during replication lag are never
+     * cached. Sessions on the primary keep using the cache.
+     *
+     * @param entityManager the current entity manager
+     */
+    public static void bypassCacheOnReplica(EntityManager entityManager) {
+        Session session = entityManager.unwrap(Session.class);
+        if (REPLICA.equals(session.getTenantIdentifier())) {
+            session.setCacheMode(CacheMode.IGNORE);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package io.plantya.management.common.repository;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.hibernate.SessionFactory;
+
+/**
+ * Evicts second-level cache entries for rows changed by native SQL.
+ *
+ * <p>Hibernate cleans the cache up after JPQL bulk updates and native {@code executeUpdate}, but not after a
+ * native {@code UPDATE ... RETURNING} read through {@code getResultList}. The entry is evicted right away and
+ * again when the transaction completes, so a concurrent reader cannot cache the pre-commit row in between.
+ *
+ * <p>Cache keys carry the datasource the row was read from (see {@link ReadReplicaTenantResolver}), so a
+ * single key cannot be addressed from here and the whole entity region is evicted instead.
+ */
+@ApplicationScoped
+public class SecondLevelCache {
+
+    private final SessionFactory sessionFactory;
+    private final TransactionSynchronizationRegistry transactionRegistry;
+
+    public SecondLevelCache(
+            SessionFactory sessionFactory,
+            TransactionSynchronizationRegistry transactionRegistry
+    ) {
+        this.sessionFactory = sessionFactory;
+        this.transactionRegistry = transactionRegistry;
+    }
+
+    /**
+     * Evicts the cached entities of one type now and after the current transaction, if any, completes.
+     *
+     * @param entityClass the cached entity type
+     */
+    public void evict(Class<?> entityClass) {
+        sessionFactory.getCache().evictEntityData(entityClass);
+
+        if (transactionRegistry.getTransactionStatus() == Status.STATUS_ACTIVE) {
+            transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    sessionFactory.getCache().evictEntityData(entityClass);
+                }
+            });
+        }
+    }
+}
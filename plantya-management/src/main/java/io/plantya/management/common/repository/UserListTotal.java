@@ -0,0 +1,8 @@
+package io.plantya.management.common.repository;
+
+import io.plantya.management.enums.TotalMode;
+
+/**
+ * Total of a user list and how it was obtained; {@code total} is {@code null} with {@link TotalMode#NONE}.
+ */
+public record UserListTotal(Long total, TotalMode mode) {}
@@ -0,0 +1,6 @@
+package io.plantya.management.common.repository;
+
+/**
+ * ETag version of a user list page, with the total it was computed from for the page to reuse.
+ */
+public record UserListVersion(String version, UserListTotal total) {}
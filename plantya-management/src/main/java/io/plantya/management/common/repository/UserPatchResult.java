@@ -0,0 +1,22 @@
+package io.plantya.management.common.repository;
+
+import io.plantya.management.entity.User;
+import io.plantya.management.enums.PatchOutcome;
+
+/**
+ * Outcome of a single-statement user patch. {@code user} is only set when the row was updated.
+ */
+public record UserPatchResult(PatchOutcome outcome, User user) {
+
+    public static UserPatchResult updated(User user) {
+        return new UserPatchResult(PatchOutcome.UPDATED, user);
+    }
+
+    public static UserPatchResult notFound() {
+        return new UserPatchResult(PatchOutcome.NOT_FOUND, null);
+    }
+
+    public static UserPatchResult deleted() {
+        return new UserPatchResult(PatchOutcome.DELETED, null);
+    }
+}
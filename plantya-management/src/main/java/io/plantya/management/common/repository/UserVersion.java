@@ -0,0 +1,8 @@
+package io.plantya.management.common.repository;
+
+import java.time.Instant;
+
+/**
+ * The columns of an active user that change with its list entry, projected for list ETags.
+ */
+public record UserVersion(String userId, Instant createdAt, Instant updatedAt) {}
@@ -0,0 +1,60 @@
+package io.plantya.management.common.util;
+
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+public class ETagUtil {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final byte SEPARATOR = 0x1f;
+
+    public ETagUtil() {}
+
+    /**
+     * Computes a version string for a weak ETag as a 64-bit FNV-1a hash over the string form of the parts.
+     * The parts should be cheap values that change whenever the response would, such as timestamps,
+     * row counts and query parameters.
+     *
+     * @param parts the values identifying the current state of the resource
+     * @return the hexadecimal version string
+     */
+    public static String version(Object... parts) {
+        long hash = FNV_OFFSET_BASIS;
+        for (Object part : parts) {
+            for (byte b : String.valueOf(part).getBytes(StandardCharsets.UTF_8)) {
+                hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+            }
+            hash = (hash ^ SEPARATOR) * FNV_PRIME;
+        }
+
+        return Long.toHexString(hash);
+    }
+
+    /**
+     * Builds a conditional GET response. When the request's {@code If-None-Match} matches the version,
+     * a 304 response is returned and the body is never built; otherwise the body is returned with the ETag.
+     *
+     * @param request the current request, used to evaluate {@code If-None-Match}
+     * @param version the current version, or {@code null} when the resource does not exist
+     * @param body    supplies the response body; may throw the usual not-found errors
+     * @return a 304 or 200 response carrying a weak ETag, or a plain 200 response when no version is known
+     */
+    public static Response conditional(Request request, String version, Supplier<?> body) {
+        if (version == null) {
+            return Response.ok(body.get()).build();
+        }
+
+        EntityTag tag = new EntityTag(version, true);
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return notModified.tag(tag).build();
+        }
+
+        return Response.ok(body.get()).tag(tag).build();
+    }
+}
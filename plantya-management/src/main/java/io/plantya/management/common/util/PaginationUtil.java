@@ -1,5 +1,6 @@
 package io.plantya.management.common.util;
 
+import io.plantya.management.enums.CountMode;
 import io.plantya.management.enums.UserBadRequestMessage;
 import io.plantya.management.exception.BadRequestException;
 
@@ -21,6 +22,20 @@ public class PaginationUtil {
         return usePaging;
     }
 
+    public static CountMode validateCountMode(String count) {
+        if (count == null || count.isBlank()) {
+            return CountMode.EXACT;
+        }
+
+        for (CountMode mode : CountMode.values()) {
+            if (mode.name().equalsIgnoreCase(count.trim())) {
+                return mode;
+            }
+        }
+
+        throw new BadRequestException(UserBadRequestMessage.USER_COUNT_MODE_INVALID);
+    }
+
     public static void validateOrder(String order) {
         if (order == null || order.isBlank()) {
             return;
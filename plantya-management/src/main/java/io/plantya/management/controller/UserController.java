@@ -1,23 +1,33 @@
 package io.plantya.management.controller;
 
+import io.plantya.management.common.repository.UserListVersion;
+import io.plantya.management.common.util.ETagUtil;
 import io.plantya.management.dto.request.UserPatchRequest;
 import io.plantya.management.dto.request.UserRequest;
 import io.plantya.management.dto.response.*;
 import io.plantya.management.enums.UserRole;
+import io.plantya.management.service.IdempotencyService;
 import io.plantya.management.service.UserService;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 
 @Path("/api/users")
+@RunOnVirtualThread
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
 public class UserController {
 
     private final UserService service;
+    private final IdempotencyService idempotencyService;
 
-    public UserController(UserService service) {
+    public UserController(UserService service, IdempotencyService idempotencyService) {
         this.service = service;
+        this.idempotencyService = idempotencyService;
     }
 
     @GET
@@ -27,31 +37,49 @@ public class UserController {
             @QueryParam("sort") String sort,
             @QueryParam("order") String order,
             @QueryParam("search") String search,
-            @QueryParam("role") UserRole role
+            @QueryParam("role") UserRole role,
+            @QueryParam("include_total") Boolean includeTotal,
+            @QueryParam("count") String count,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+            @Context Request request
     ) {
-        ListUserResponse<UserResponse> userResponseList = service.findAllActive(page, size, sort, order, search, role);
-
-        return Response.status(Response.Status.OK)
-                .entity(userResponseList)
-                .build();
+        // Nothing to compare against: load the list once and tag it with the version of its own rows
+        if (ifNoneMatch == null) {
+            ListUserResponse<UserResponse> response =
+                    service.findAllActive(page, size, sort, order, search, role, includeTotal, count);
+            String version = UserService.activeListVersionOf(
+                    page, size, sort, order, search, role, includeTotal, count, response
+            );
+
+            return ETagUtil.conditional(request, version, () -> response);
+        }
+
+        UserListVersion version =
+                service.findActiveUsersVersion(page, size, sort, order, search, role, includeTotal, count);
+
+        return ETagUtil.conditional(
+                request,
+                version.version(),
+                () -> service.findAllActive(page, size, sort, order, search, role, includeTotal, count, version.total())
+        );
     }
 
     @POST
-    public Response createUser(UserRequest request) {
-        UserCreatedResponse response = service.createUser(request);
-        return Response.status(Response.Status.CREATED)
-                .entity(response)
-                .build();
+    public Response createUser(@HeaderParam(IdempotencyService.HEADER) String idempotencyKey, UserRequest request) {
+        return idempotencyService.execute("POST /api/users", idempotencyKey, request, () -> {
+            UserCreatedResponse response = service.createUser(request);
+            return Response.status(Response.Status.CREATED)
+                    .entity(response)
+                    .build();
+        });
     }
 
     @GET
     @Path("/{userId}")
-    public Response findById(@PathParam("userId") String userId) {
-        Object user = service.findById(userId);
+    public Response findById(@PathParam("userId") String userId, @Context Request request) {
+        String version = service.findUserVersion(userId);
 
-        return Response.status(Response.Status.OK)
-                .entity(user)
-                .build();
+        return ETagUtil.conditional(request, version, () -> service.findById(userId));
     }
 
     @PATCH
@@ -87,13 +115,24 @@ public class UserController {
             @QueryParam("sort") String sort,
             @QueryParam("order") String order,
             @QueryParam("search") String search,
-            @QueryParam("role") UserRole role
+            @QueryParam("role") UserRole role,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+            @Context Request request
     ) {
-        ListUserResponse<UserDeletedResponse> response = service.findAllDeleted(page, size, sort, order, search, role);
+        if (ifNoneMatch == null) {
+            ListUserResponse<UserDeletedResponse> response = service.findAllDeleted(page, size, sort, order, search, role);
+            String version = UserService.deletedListVersionOf(page, size, sort, order, search, role, response);
 
-        return Response.status(Response.Status.OK)
-                .entity(response)
-                .build();
+            return ETagUtil.conditional(request, version, () -> response);
+        }
+
+        UserListVersion version = service.findDeletedUsersVersion(page, size, sort, order, search, role);
+
+        return ETagUtil.conditional(
+                request,
+                version.version(),
+                () -> service.findAllDeleted(page, size, sort, order, search, role, version.total())
+        );
     }
 
     @GET
@@ -1,11 +1,14 @@
 package io.plantya.management.dto.response;
 
+import io.plantya.management.enums.TotalMode;
+
 import java.util.List;
 
 public record ListUserResponse<T>(
-        long countData,
+        Long countData,
         int page,
         int size,
-        int totalPages,
+        Integer totalPages,
+        TotalMode totalMode,
         List<T> data
 ) {}
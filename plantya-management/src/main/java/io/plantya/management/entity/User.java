@@ -5,14 +5,19 @@ import io.quarkus.hibernate.orm.panache.PanacheEntity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import org.hibernate.annotations.JdbcType;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.dialect.type.PostgreSQLEnumJdbcType;
 
 import java.time.Instant;
 
 @Entity
+@Cacheable
+@NaturalIdCache
 @Table(name = "users")
 public class User extends PanacheEntity {
 
+    @NaturalId
     @Column(name = "user_id", nullable = false, unique = true)
     private String userId;
 
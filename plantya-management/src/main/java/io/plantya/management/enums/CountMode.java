@@ -0,0 +1,6 @@
+package io.plantya.management.enums;
+
+public enum CountMode {
+    EXACT,
+    APPROXIMATE
+}
@@ -0,0 +1,10 @@
+package io.plantya.management.enums;
+
+/**
+ * Result of a single-statement patch: the row was updated, does not exist, or is soft deleted.
+ */
+public enum PatchOutcome {
+    UPDATED,
+    NOT_FOUND,
+    DELETED
+}
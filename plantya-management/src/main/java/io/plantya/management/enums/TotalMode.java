@@ -0,0 +1,12 @@
+package io.plantya.management.enums;
+
+/**
+ * How the total of a list response was obtained: not at all, by an exact count,
+ * from planner statistics, or from a recently cached exact count.
+ */
+public enum TotalMode {
+    NONE,
+    EXACT,
+    ESTIMATED,
+    CACHED
+}
@@ -17,6 +17,10 @@ public enum UserBadRequestMessage implements ApiError {
             "USER_PAGINATION_PARAMETER_INVALID",
             "page and size must be greater than or equal to 1"
     ),
+    USER_COUNT_MODE_INVALID(
+            "USER_COUNT_MODE_INVALID",
+            "count must be one of: exact, approximate"
+    ),
 
     USER_FIELD_REQUIRED(
             "USER_FIELD_REQUIRED",
@@ -51,6 +55,11 @@ public enum UserBadRequestMessage implements ApiError {
     USER_PATCH_EMPTY(
             "USER_PATCH_EMPTY",
             "at least one field must be provided"
+    ),
+
+    IDEMPOTENCY_KEY_INVALID(
+            "IDEMPOTENCY_KEY_INVALID",
+            "Idempotency-Key must be 1 to 255 characters"
     );
 
     private final String code;
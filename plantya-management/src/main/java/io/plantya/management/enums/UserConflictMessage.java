@@ -6,7 +6,9 @@ public enum UserConflictMessage implements ApiError {
 
     USER_EMAIL_ALREADY_EXISTS("USER_EMAIL_ALREADY_EXISTS", "email is already in use"),
     USER_ALREADY_DELETED("USER_ALREADY_DELETED", "user is already deleted"),
-    USER_ALREADY_ACTIVE("USER_ALREADY_ACTIVE", "user is already active");
+    USER_ALREADY_ACTIVE("USER_ALREADY_ACTIVE", "user is already active"),
+    IDEMPOTENCY_KEY_REUSED("IDEMPOTENCY_KEY_REUSED", "Idempotency-Key was already used with a different request"),
+    IDEMPOTENCY_KEY_IN_PROGRESS("IDEMPOTENCY_KEY_IN_PROGRESS", "a request with this Idempotency-Key is still in progress");
 
     private final String code;
     private final String defaultDetail;
@@ -0,0 +1,98 @@
+package io.plantya.management.repository;
+
+import io.plantya.management.common.repository.IdempotentResponse;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@ApplicationScoped
+public class IdempotencyKeyRepository {
+
+    /**
+     * Query space of the native writes, so they leave the second-level cache alone.
+     */
+    private static final String TABLE = "idempotency_keys";
+
+    private final EntityManager entityManager;
+
+    public IdempotencyKeyRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Inserts the key, or takes over a row older than {@code expiredBefore}. While another transaction
+     * holds the same key this blocks until it ends, so a {@code false} result means a committed response exists.
+     *
+     * @return {@code true} when this transaction now owns the key
+     */
+    public boolean claim(String scope, String idempotencyKey, String fingerprint, Instant now, Instant expiredBefore) {
+        int claimed = entityManager
+                .createNativeQuery("""
+                        INSERT INTO idempotency_keys (scope, idempotency_key, fingerprint, created_at)
+                        VALUES (:scope, :idempotencyKey, :fingerprint, :now)
+                        ON CONFLICT (scope, idempotency_key) DO UPDATE
+                            SET fingerprint = EXCLUDED.fingerprint,
+                                status_code = NULL,
+                                response_body = NULL,
+                                created_at = EXCLUDED.created_at
+                            WHERE idempotency_keys.created_at < :expiredBefore
+                        """)
+                .setParameter("scope", scope)
+                .setParameter("idempotencyKey", idempotencyKey)
+                .setParameter("fingerprint", fingerprint)
+                .setParameter("now", now)
+                .setParameter("expiredBefore", expiredBefore)
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, TABLE)
+                .executeUpdate();
+
+        return claimed > 0;
+    }
+
+    public void complete(String scope, String idempotencyKey, IdempotentResponse response) {
+        entityManager
+                .createNativeQuery("""
+                        UPDATE idempotency_keys SET status_code = :status, response_body = :body
+                        WHERE scope = :scope AND idempotency_key = :idempotencyKey
+                        """)
+                .setParameter("status", response.status())
+                .setParameter("body", response.body())
+                .setParameter("scope", scope)
+                .setParameter("idempotencyKey", idempotencyKey)
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, TABLE)
+                .executeUpdate();
+    }
+
+    public Optional<IdempotentResponse> findCompleted(String scope, String idempotencyKey) {
+        List<?> rows = entityManager
+                .createNativeQuery("""
+                        SELECT fingerprint, status_code, response_body FROM idempotency_keys
+                        WHERE scope = :scope AND idempotency_key = :idempotencyKey AND status_code IS NOT NULL
+                        """)
+                .setParameter("scope", scope)
+                .setParameter("idempotencyKey", idempotencyKey)
+                .getResultList();
+
+        return rows.stream()
+                .map(row -> (Object[]) row)
+                .map(columns -> new IdempotentResponse(
+                        (String) columns[0],
+                        ((Number) columns[1]).intValue(),
+                        (String) columns[2]
+                ))
+                .findFirst();
+    }
+
+    @Transactional
+    public int deleteExpired(Instant expiredBefore) {
+        return entityManager
+                .createNativeQuery("DELETE FROM idempotency_keys WHERE created_at < :expiredBefore")
+                .setParameter("expiredBefore", expiredBefore)
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, TABLE)
+                .executeUpdate();
+    }
+}
@@ -1,27 +1,58 @@
 package io.plantya.management.repository;
 
+import io.micrometer.core.annotation.Timed;
 import io.plantya.management.dto.response.UserDeletedResponse;
 import io.plantya.management.dto.response.UserResponse;
 import io.plantya.management.entity.User;
 import io.plantya.management.enums.UserRole;
-import io.plantya.management.common.mapper.ResponseMapper;
+import io.plantya.management.common.repository.DeletedUserVersion;
+import io.plantya.management.common.repository.ReadReplicaTenantResolver;
+import io.plantya.management.common.repository.SecondLevelCache;
+import io.plantya.management.common.repository.UserPatchResult;
 import io.plantya.management.common.repository.UserQueryBuilder;
 import io.plantya.management.common.repository.UserQuerySpec;
 import io.plantya.management.common.repository.UserSortResolver;
+import io.plantya.management.common.repository.UserVersion;
+import io.quarkus.cache.CacheKey;
+import io.quarkus.cache.CacheResult;
 import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import io.quarkus.panache.common.Page;
 import io.quarkus.panache.common.Parameters;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @ApplicationScoped
+@Timed(value = "repository.method", histogram = true)
 public class UserRepository implements PanacheRepository<User> {
 
+    public static final String USER_TOTAL_COUNTS_CACHE = "user-total-counts";
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    private final SecondLevelCache secondLevelCache;
+
+    public UserRepository(SecondLevelCache secondLevelCache) {
+        this.secondLevelCache = secondLevelCache;
+    }
+
+    /**
+     * Natural id lookup: the user id resolves through the natural id cache and the user comes from the
+     * entity cache, so a repeated lookup does not reach the database. Replica reads skip both caches.
+     */
     public Optional<User> findByUserId(String userId) {
-        return find("userId", userId).firstResultOptional();
+        ReadReplicaTenantResolver.bypassCacheOnReplica(getEntityManager());
+        return getEntityManager()
+                .unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(userId);
     }
 
     public boolean isEmailExists(String email) {
@@ -32,6 +63,66 @@ public class UserRepository implements PanacheRepository<User> {
         persist(user);
     }
 
+    /**
+     * Applies the non-null fields in one round trip. The CTE locks the row by business id and only
+     * updates it when it is not soft deleted, so a missing row, a deleted row and an updated row are
+     * told apart without a prior read. Hibernate does not see the native update, so the cached user
+     * is evicted here.
+     */
+    public UserPatchResult patchUser(String userId, String email, String name, UserRole role, Instant updatedAt) {
+        Map<String, String> assignments = new LinkedHashMap<>();
+        if (email != null) assignments.put("email", ":email");
+        if (name != null) assignments.put("name", ":name");
+        if (role != null) assignments.put("role", "CAST(:role AS user_role)");
+        assignments.put("updated_at", ":updatedAt");
+
+        StringJoiner set = new StringJoiner(", ");
+        assignments.forEach((column, value) -> set.add(column + " = " + value));
+
+        NativeQuery<Object[]> query = getEntityManager()
+                .createNativeQuery("""
+                        WITH target AS (
+                            SELECT id, deleted_at FROM users WHERE user_id = :userId FOR UPDATE
+                        ), updated AS (
+                            UPDATE users u SET %s
+                            FROM target t
+                            WHERE u.id = t.id AND t.deleted_at IS NULL
+                            RETURNING u.user_id, u.email, u.name, CAST(u.role AS VARCHAR) AS role
+                        )
+                        SELECT p.* FROM target LEFT JOIN updated p ON true
+                        """.formatted(set))
+                .unwrap(NativeQuery.class)
+                .addScalar("user_id", String.class)
+                .addScalar("email", String.class)
+                .addScalar("name", String.class)
+                .addScalar("role", String.class);
+
+        query.setParameter("userId", userId);
+        query.setParameter("updatedAt", updatedAt);
+        if (email != null) query.setParameter("email", email);
+        if (name != null) query.setParameter("name", name);
+        if (role != null) query.setParameter("role", role.name());
+
+        List<Object[]> rows = query.getResultList();
+        if (rows.isEmpty()) {
+            return UserPatchResult.notFound();
+        }
+
+        Object[] row = rows.getFirst();
+        if (row[0] == null) {
+            return UserPatchResult.deleted();
+        }
+
+        secondLevelCache.evict(User.class);
+
+        User user = new User((String) row[0], (String) row[1], (String) row[2], UserRole.valueOf((String) row[3]));
+        user.setUpdatedAt(updatedAt);
+        return UserPatchResult.updated(user);
+    }
+
+    /**
+     * Soft delete and restore are JPQL bulk updates, so Hibernate evicts the cached users itself.
+     */
     public void softDelete(String userId) {
         update(
                 "deletedAt = :deletedAt WHERE userId = :userId AND deletedAt IS NULL",
@@ -41,7 +132,61 @@ public class UserRepository implements PanacheRepository<User> {
     }
 
     public void restoreUser(String userId) {
-        update("deletedAt = NULL WHERE userId = :userId", Parameters.with("userId", userId));
+        update(
+                "deletedAt = NULL, updatedAt = :updatedAt WHERE userId = :userId",
+                Parameters.with("updatedAt", Instant.now())
+                        .and("userId", userId)
+        );
+    }
+
+    // ===== VERSION ===== //
+    public Optional<Object[]> findActiveVersionByUserId(String userId) {
+        return getEntityManager()
+                .createQuery(
+                        "SELECT u.createdAt, u.updatedAt FROM User u WHERE u.userId = :userId AND u.deletedAt IS NULL",
+                        Object[].class
+                )
+                .setParameter("userId", userId)
+                .getResultStream()
+                .findFirst();
+    }
+
+    /**
+     * Ids and timestamps of exactly the users {@link #findAllActive} returns for the same page, for ETags.
+     */
+    public List<UserVersion> findActivePageVersions(
+            Integer page,
+            Integer size,
+            String sort,
+            String order,
+            String search,
+            UserRole role
+    ) {
+        UserQuerySpec spec = UserQueryBuilder.active(search, role);
+
+        return buildQuery(spec, sort, order, page, size)
+                .project(UserVersion.class)
+                .withHint(HibernateHints.HINT_READ_ONLY, true)
+                .list();
+    }
+
+    /**
+     * Ids and deletion times of exactly the users {@link #findAllDeleted} returns for the same page, for ETags.
+     */
+    public List<DeletedUserVersion> findDeletedPageVersions(
+            Integer page,
+            Integer size,
+            String sort,
+            String order,
+            String search,
+            UserRole role
+    ) {
+        UserQuerySpec spec = UserQueryBuilder.deleted(search, role);
+
+        return buildQuery(spec, sort, order, page, size)
+                .project(DeletedUserVersion.class)
+                .withHint(HibernateHints.HINT_READ_ONLY, true)
+                .list();
     }
 
     // ===== ACTIVE ===== //
@@ -50,6 +195,33 @@ public class UserRepository implements PanacheRepository<User> {
         return count(spec.query(), spec.params());
     }
 
+    /**
+     * Exact active user count, cached per filter for {@code quarkus.cache.caffeine."user-total-counts".expire-after-write}.
+     */
+    @CacheResult(cacheName = USER_TOTAL_COUNTS_CACHE)
+    public long countActiveUsersCached(@CacheKey String cacheKey, String search, UserRole role) {
+        return countActiveUsers(search, role);
+    }
+
+    /**
+     * Planner row estimate of all active users, read from table statistics without scanning.
+     * Empty when the plan cannot be read.
+     */
+    public OptionalLong estimateActiveUsers() {
+        List<?> plan = getEntityManager()
+                .createNativeQuery("EXPLAIN SELECT 1 FROM users WHERE deleted_at IS NULL")
+                .getResultList();
+        if (plan.isEmpty()) {
+            return OptionalLong.empty();
+        }
+
+        Matcher matcher = PLAN_ROWS.matcher(String.valueOf(plan.getFirst()));
+        return matcher.find() ? OptionalLong.of(Long.parseLong(matcher.group(1))) : OptionalLong.empty();
+    }
+
+    /**
+     * A page of active users projected straight into responses, so no entity is loaded or snapshotted.
+     */
     public List<UserResponse> findAllActive(
             Integer page,
             Integer size,
@@ -60,10 +232,10 @@ public class UserRepository implements PanacheRepository<User> {
     ) {
         UserQuerySpec spec = UserQueryBuilder.active(search, role);
 
-        return buildQuery(spec, sort, order, page, size).list()
-                .stream()
-                .map(ResponseMapper::toUserResponse)
-                .toList();
+        return buildQuery(spec, sort, order, page, size)
+                .project(UserResponse.class)
+                .withHint(HibernateHints.HINT_READ_ONLY, true)
+                .list();
     }
 
     // ===== DELETED ===== //
@@ -72,6 +244,9 @@ public class UserRepository implements PanacheRepository<User> {
         return count(spec.query(), spec.params());
     }
 
+    /**
+     * A page of deleted users, projected like {@link #findAllActive}.
+     */
     public List<UserDeletedResponse> findAllDeleted(
             Integer page,
             Integer size,
@@ -82,10 +257,10 @@ public class UserRepository implements PanacheRepository<User> {
     ) {
         UserQuerySpec spec = UserQueryBuilder.deleted(search, role);
 
-        return buildQuery(spec, sort, order, page, size).list()
-                .stream()
-                .map(ResponseMapper::toUserDeletedResponse)
-                .toList();
+        return buildQuery(spec, sort, order, page, size)
+                .project(UserDeletedResponse.class)
+                .withHint(HibernateHints.HINT_READ_ONLY, true)
+                .list();
     }
 
     // ===== HELPER ===== //
@@ -0,0 +1,189 @@
+package io.plantya.management.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.plantya.management.common.repository.IdempotentResponse;
+import io.plantya.management.exception.BadRequestException;
+import io.plantya.management.exception.ConflictException;
+import io.plantya.management.repository.IdempotencyKeyRepository;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static io.plantya.management.enums.UserBadRequestMessage.IDEMPOTENCY_KEY_INVALID;
+import static io.plantya.management.enums.UserConflictMessage.IDEMPOTENCY_KEY_IN_PROGRESS;
+import static io.plantya.management.enums.UserConflictMessage.IDEMPOTENCY_KEY_REUSED;
+
+/**
+ * Handles the {@code Idempotency-Key} header of POST endpoints.
+ * <p>
+ * The first request with a key runs the action and records its response; a retry with the same key and body
+ * gets the recorded response back without running the action again, and concurrent duplicates wait for the
+ * execution already in flight. A failed action records nothing, so it can be retried with the same key.
+ * <p>
+ * Responses are held in a bounded cache configured under {@code quarkus.cache.caffeine."idempotency-keys"}.
+ * When {@code idempotency.database.enabled} is set they are also stored in {@code idempotency_keys}, in the
+ * same transaction as the action, so retries landing on another instance are deduplicated as well.
+ */
+@ApplicationScoped
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final String CACHE_NAME = "idempotency-keys";
+
+    private static final int KEY_MAX_LENGTH = 255;
+
+    private final Logger LOG = Logger.getLogger(IdempotencyService.class);
+
+    private final Cache cache;
+    private final IdempotencyKeyRepository repository;
+    private final ObjectMapper objectMapper;
+    private final boolean databaseEnabled;
+    private final Duration retention;
+
+    public IdempotencyService(
+            @CacheName(CACHE_NAME) Cache cache,
+            IdempotencyKeyRepository repository,
+            ObjectMapper objectMapper,
+            @ConfigProperty(name = "idempotency.database.enabled", defaultValue = "false") boolean databaseEnabled,
+            @ConfigProperty(name = "idempotency.database.retention", defaultValue = "24H") Duration retention
+    ) {
+        this.cache = cache;
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.databaseEnabled = databaseEnabled;
+        this.retention = retention;
+    }
+
+    record Key(String scope, String idempotencyKey) {
+    }
+
+    /**
+     * Runs the action at most once per scope and idempotency key.
+     *
+     * @param scope          the endpoint, so the same key can be used against different endpoints
+     * @param idempotencyKey the header value; when {@code null} the action simply runs
+     * @param request        the request body, fingerprinted to detect a key reused with a different body
+     * @param action         runs the endpoint and builds its JSON response
+     * @return the action's response, or the recorded one marked with {@code Idempotent-Replayed: true}
+     * @throws BadRequestException if the key is blank or longer than 255 characters
+     * @throws ConflictException if the key was already used with a different request body
+     */
+    public Response execute(String scope, String idempotencyKey, Object request, Supplier<Response> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > KEY_MAX_LENGTH) {
+            throw new BadRequestException(IDEMPOTENCY_KEY_INVALID);
+        }
+
+        String fingerprint = fingerprint(request);
+        AtomicReference<Response> executed = new AtomicReference<>();
+
+        IdempotentResponse recorded = cache.<Key, IdempotentResponse>get(
+                new Key(scope, idempotencyKey),
+                key -> databaseEnabled
+                        ? QuarkusTransaction.joiningExisting().call(() -> executeOnce(key, fingerprint, action, executed))
+                        : record(fingerprint, run(action, executed))
+        ).await().indefinitely();
+
+        if (executed.get() != null) {
+            return executed.get();
+        }
+
+        if (!recorded.fingerprint().equals(fingerprint)) {
+            LOG.warnf("Idempotency key reused with a different request: scope=%s, key=%s", scope, idempotencyKey);
+            throw new ConflictException(IDEMPOTENCY_KEY_REUSED);
+        }
+
+        LOG.debugf("Replaying recorded response: scope=%s, key=%s", scope, idempotencyKey);
+        return Response.status(recorded.status())
+                .entity(recorded.body())
+                .type(MediaType.APPLICATION_JSON)
+                .header(REPLAYED_HEADER, "true")
+                .build();
+    }
+
+    /**
+     * Deletes stored keys older than {@code idempotency.database.retention}; expired keys can be reused.
+     */
+    @Scheduled(
+            identity = "idempotency-key-purge",
+            every = "${idempotency.database.purge-interval:1h}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP
+    )
+    void purgeExpiredKeys() {
+        if (!databaseEnabled) {
+            return;
+        }
+
+        int deleted = repository.deleteExpired(Instant.now().minus(retention));
+        if (deleted > 0) {
+            LOG.infof("Expired idempotency keys purged: count=%d", deleted);
+        }
+    }
+
+    // ===== HELPER ===== //
+    private IdempotentResponse executeOnce(
+            Key key,
+            String fingerprint,
+            Supplier<Response> action,
+            AtomicReference<Response> executed
+    ) {
+        Instant now = Instant.now();
+        if (!repository.claim(key.scope(), key.idempotencyKey(), fingerprint, now, now.minus(retention))) {
+            // Another instance owned the key; its claim blocked ours until it committed
+            return repository.findCompleted(key.scope(), key.idempotencyKey())
+                    .orElseThrow(() -> new ConflictException(IDEMPOTENCY_KEY_IN_PROGRESS));
+        }
+
+        IdempotentResponse response = record(fingerprint, run(action, executed));
+        repository.complete(key.scope(), key.idempotencyKey(), response);
+        return response;
+    }
+
+    private Response run(Supplier<Response> action, AtomicReference<Response> executed) {
+        Response response = action.get();
+        executed.set(response);
+        return response;
+    }
+
+    private IdempotentResponse record(String fingerprint, Response response) {
+        return new IdempotentResponse(fingerprint, response.getStatus(), toJson(response.getEntity()));
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(toJson(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Idempotent request or response is not serializable", e);
+        }
+    }
+}
@@ -1,5 +1,11 @@
 package io.plantya.management.service;
 
+import io.plantya.management.common.repository.DeletedUserVersion;
+import io.plantya.management.common.repository.UserListTotal;
+import io.plantya.management.common.repository.UserListVersion;
+import io.plantya.management.common.repository.UserPatchResult;
+import io.plantya.management.common.repository.UserVersion;
+import io.plantya.management.common.util.ETagUtil;
 import io.plantya.management.common.util.PaginationUtil;
 import io.plantya.management.common.util.PasswordUtil;
 import io.plantya.management.common.util.UserGeneratorUtil;
@@ -7,6 +13,9 @@ import io.plantya.management.dto.request.UserPatchRequest;
 import io.plantya.management.dto.request.UserRequest;
 import io.plantya.management.dto.response.*;
 import io.plantya.management.entity.User;
+import io.plantya.management.enums.CountMode;
+import io.plantya.management.enums.PatchOutcome;
+import io.plantya.management.enums.TotalMode;
 import io.plantya.management.enums.UserConflictMessage;
 import io.plantya.management.enums.UserRole;
 import io.plantya.management.exception.BadRequestException;
@@ -22,6 +31,7 @@ import org.jboss.logging.Logger;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.OptionalLong;
 
 import static io.plantya.management.enums.UserBadRequestMessage.USER_PATCH_EMPTY;
 import static io.plantya.management.enums.UserErrorMessage.USER_ALREADY_ACTIVE;
@@ -67,17 +77,65 @@ public class UserService {
             String order,
             String search,
             UserRole role
+    ) {
+        return findAllActive(page, size, sort, order, search, role, null, null);
+    }
+
+    /**
+     * Retrieves a list of all active users like {@link #findAllActive(Integer, Integer, String, String, String, UserRole)},
+     * with control over how the total is obtained.
+     * <p>
+     * With {@code count=approximate}, an unfiltered list takes its total from the planner's row estimate,
+     * and a filtered list from an exact count cached for a short time. The response reports the mode used.
+     *
+     * @param includeTotal whether to compute the total; {@code null} means {@code true}.
+     * @param count        {@code exact} (default) or {@code approximate}.
+     * @return a {@code ListUserResponse<UserResponse>} containing the active users along with pagination details.
+     * @throws BadRequestException if pagination parameters or the count mode are invalid.
+     */
+    public ListUserResponse<UserResponse> findAllActive(
+            Integer page,
+            Integer size,
+            String sort,
+            String order,
+            String search,
+            UserRole role,
+            Boolean includeTotal,
+            String count
+    ) {
+        return findAllActive(page, size, sort, order, search, role, includeTotal, count, null);
+    }
+
+    /**
+     * Retrieves a list of all active users like
+     * {@link #findAllActive(Integer, Integer, String, String, String, UserRole, Boolean, String)}.
+     *
+     * @param listTotal the total already counted for the list's ETag version, or {@code null} to count it here.
+     * @return a {@code ListUserResponse<UserResponse>} containing the active users along with pagination details.
+     * @throws BadRequestException if pagination parameters or the count mode are invalid.
+     */
+    public ListUserResponse<UserResponse> findAllActive(
+            Integer page,
+            Integer size,
+            String sort,
+            String order,
+            String search,
+            UserRole role,
+            Boolean includeTotal,
+            String count,
+            UserListTotal listTotal
     ) {
         boolean usePaging = PaginationUtil.validateAndUsePaging(page, size);
         PaginationUtil.validateOrder(order);
+        CountMode countMode = PaginationUtil.validateCountMode(count);
 
-        boolean useSearch = search != null && !search.isBlank();
-        boolean useRoleFilter = role != null;
-
-        String searchParam = useSearch ? search : null;
-        UserRole roleParam = useRoleFilter ? role : null;
+        String searchParam = search != null && !search.isBlank() ? search : null;
 
-        long count = repository.countActiveUsers(searchParam, roleParam);
+        if (listTotal == null) {
+            listTotal = countActiveUsers(includeTotal, countMode, searchParam, role);
+        }
+        Long total = listTotal.total();
+        TotalMode totalMode = listTotal.mode();
 
         if (!usePaging) {
             List<UserResponse> list = repository.findAllActive(
@@ -86,9 +144,9 @@ public class UserService {
                     sort,
                     order,
                     searchParam,
-                    roleParam
+                    role
             );
-            return new ListUserResponse<>(count, 1, list.size(), 1, list);
+            return new ListUserResponse<>(total, 1, list.size(), 1, totalMode, list);
         }
 
         List<UserResponse> list = repository.findAllActive(
@@ -97,12 +155,12 @@ public class UserService {
                 sort,
                 order,
                 searchParam,
-                roleParam
+                role
         );
 
-        int totalPages = (int) Math.ceil((double) count / size);
+        Integer totalPages = total == null ? null : (int) Math.ceil((double) total / size);
 
-        return new ListUserResponse<>(count, page, size, totalPages, list);
+        return new ListUserResponse<>(total, page, size, totalPages, totalMode, list);
     }
 
     /**
@@ -129,6 +187,7 @@ public class UserService {
      * Updates partial user information based on the provided request.
      * This method validates the input and ensures that the user exists and is not yet deleted.
      * At least one valid field in the request must be provided for the update to proceed.
+     * The existence check and the update run as a single {@code UPDATE ... RETURNING} statement.
      *
      * @param userId the unique identifier of the user to be patched
      * @param request the request object containing partial user updates
@@ -144,31 +203,19 @@ public class UserService {
     public UserUpdatedResponse patchUser(String userId, UserPatchRequest request) {
         LOG.infof("Patch user: userId=%s", userId);
 
-        User user = repository.findByUserId(userId)
-                .orElseThrow(() -> new NotFoundException(USER_NOT_FOUND));
-
-        if (user.getDeletedAt() != null) {
-            throw new ConflictException(USER_ALREADY_DELETED);
-        }
-
-        boolean isUpdated = false;
-
-        if (request.getEmail() != null) {
-            user.setEmail(request.getEmail());
-            isUpdated = true;
-        }
+        boolean isUpdated = request.getEmail() != null
+                || request.getName() != null
+                || request.getRole() != null;
 
-        if (request.getName() != null) {
-            user.setName(request.getName());
-            isUpdated = true;
-        }
+        if (!isUpdated) {
+            // Keep the not-found and deleted answers ahead of the empty-patch one
+            User user = repository.findByUserId(userId)
+                    .orElseThrow(() -> new NotFoundException(USER_NOT_FOUND));
 
-        if (request.getRole() != null) {
-            user.setRole(request.getRole());
-            isUpdated = true;
-        }
+            if (user.getDeletedAt() != null) {
+                throw new ConflictException(USER_ALREADY_DELETED);
+            }
 
-        if (!isUpdated) {
             LOG.warnf("Patch user ignored - no fields provided: userId=%s", userId);
             throw new BadRequestException(USER_PATCH_EMPTY);
         }
@@ -180,10 +227,24 @@ public class UserService {
                 request.getRole()
         );
 
-        user.setUpdatedAt(Instant.now());
+        UserPatchResult result = repository.patchUser(
+                userId,
+                request.getEmail(),
+                request.getName(),
+                request.getRole(),
+                Instant.now()
+        );
+
+        if (result.outcome() == PatchOutcome.NOT_FOUND) {
+            throw new NotFoundException(USER_NOT_FOUND);
+        }
+
+        if (result.outcome() == PatchOutcome.DELETED) {
+            throw new ConflictException(USER_ALREADY_DELETED);
+        }
 
         LOG.infof("User patched successfully: userId=%s", userId);
-        return ResponseMapper.toUserUpdatedResponse(user);
+        return ResponseMapper.toUserUpdatedResponse(result.user());
     }
 
 
@@ -281,21 +342,32 @@ public class UserService {
             String order,
             String search,
             UserRole role
+    ) {
+        return findAllDeleted(page, size, sort, order, search, role, null);
+    }
+
+    /**
+     * Retrieves a list of deleted users like {@link #findAllDeleted(Integer, Integer, String, String, String, UserRole)}.
+     *
+     * @param listTotal the total already counted for the list's ETag version, or {@code null} to count it here.
+     */
+    public ListUserResponse<UserDeletedResponse> findAllDeleted(
+            Integer page,
+            Integer size,
+            String sort,
+            String order,
+            String search,
+            UserRole role,
+            UserListTotal listTotal
     ) {
         boolean usePaging = PaginationUtil.validateAndUsePaging(page, size);
         PaginationUtil.validateOrder(order);
 
-        boolean useSearch = search != null && !search.isBlank();
-        boolean useRoleFilter = role != null;
-
-        long count = repository.countDeletedUser(
-                useSearch ? search : null,
-                useRoleFilter ? role : null
-        );
+        long count = (listTotal != null ? listTotal : countDeletedUsers(search, role)).total();
 
         if (!usePaging) {
             List<UserDeletedResponse> list = repository.findAllDeleted(null, null, sort, order, search, role);
-            return new ListUserResponse<>(count, 1, list.size(), 1, list);
+            return new ListUserResponse<>(count, 1, list.size(), 1, TotalMode.EXACT, list);
         }
 
         List<UserDeletedResponse> list = repository.findAllDeleted(page, size, sort, order, search, role);
@@ -307,7 +379,7 @@ public class UserService {
                 "Find deleted users: page=%s, size=%s, sort=%s, order=%s, search=%s, role=%s",
                 page, size, sort, order, search, role
         );
-        return new ListUserResponse<>(count, page, size, totalPages, list);
+        return new ListUserResponse<>(count, page, size, totalPages, TotalMode.EXACT, list);
     }
 
     public UserDeletedResponse findDeletedById(String userId) {
@@ -322,6 +394,194 @@ public class UserService {
         return ResponseMapper.toUserDeletedResponse(user);
     }
 
+    /**
+     * Computes the ETag version of an active user from a projection of its timestamps,
+     * without loading the entity.
+     *
+     * @param userId the unique identifier of the user
+     * @return the version string, or {@code null} if the user does not exist or is deleted
+     */
+    public String findUserVersion(String userId) {
+        return repository.findActiveVersionByUserId(userId)
+                .map(ETagUtil::version)
+                .orElse(null);
+    }
+
+    /**
+     * Computes the ETag version of an active user list page, for requests carrying {@code If-None-Match}.
+     * It is read from the ids and timestamps of the page's own rows plus its total, so it never aggregates
+     * over the whole filter, and it equals {@link #activeListVersionOf} of the page it describes.
+     *
+     * @param page         the requested page number, may be {@code null}
+     * @param size         the requested page size, may be {@code null}
+     * @param sort         the requested sort field
+     * @param order        the requested sort order
+     * @param search       the search keyword
+     * @param role         the role filter
+     * @param includeTotal the requested total inclusion
+     * @param count        the requested count mode
+     * @return the version, with the total for the page to reuse
+     * @throws BadRequestException if pagination parameters or the count mode are invalid.
+     */
+    public UserListVersion findActiveUsersVersion(
+            Integer page,
+            Integer size,
+            String sort,
+            String order,
+            String search,
+            UserRole role,
+            Boolean includeTotal,
+            String count
+    ) {
+        PaginationUtil.validateAndUsePaging(page, size);
+        PaginationUtil.validateOrder(order);
+        CountMode countMode = PaginationUtil.validateCountMode(count);
+
+        String searchParam = search != null && !search.isBlank() ? search : null;
+
+        List<UserVersion> rows = repository.findActivePageVersions(page, size, sort, order, searchParam, role);
+        UserListTotal listTotal = countActiveUsers(includeTotal, countMode, searchParam, role);
+
+        return new UserListVersion(
+                ETagUtil.version(page, size, sort, order, search, role, includeTotal, count, listTotal, rows),
+                listTotal
+        );
+    }
+
+    /**
+     * Computes the ETag version of a loaded active user list page, for requests without {@code If-None-Match}.
+     *
+     * @return the version string
+     */
+    public static String activeListVersionOf(
+            Integer page,
+            Integer size,
+            String sort,
+            String order,
+            String search,
+            UserRole role,
+            Boolean includeTotal,
+            String count,
+            ListUserResponse<UserResponse> response
+    ) {
+        List<UserVersion> rows = response.data().stream()
+                .map(user -> new UserVersion(user.userId(), user.createdAt(), user.updatedAt()))
+                .toList();
+
+        return ETagUtil.version(
+                page, size, sort, order, search, role, includeTotal, count,
+                new UserListTotal(response.countData(), response.totalMode()),
+                rows
+        );
+    }
+
+    /**
+     * Computes the ETag version of a deleted user list page, see {@link #findActiveUsersVersion}.
+     *
+     * @return the version, with the total for the page to reuse
+     * @throws BadRequestException if pagination parameters are invalid.
+     */
+    public UserListVersion findDeletedUsersVersion(
+            Integer page,
+            Integer size,
+            String sort,
+            String order,
+            String search,
+            UserRole role
+    ) {
+        PaginationUtil.validateAndUsePaging(page, size);
+        PaginationUtil.validateOrder(order);
+
+        List<DeletedUserVersion> rows = repository.findDeletedPageVersions(page, size, sort, order, search, role);
+        UserListTotal listTotal = countDeletedUsers(search, role);
+
+        return new UserListVersion(
+                ETagUtil.version(page, size, sort, order, search, role, listTotal, rows),
+                listTotal
+        );
+    }
+
+    /**
+     * Computes the ETag version of a loaded deleted user list page, see {@link #activeListVersionOf}.
+     *
+     * @return the version string
+     */
+    public static String deletedListVersionOf(
+            Integer page,
+            Integer size,
+            String sort,
+            String order,
+            String search,
+            UserRole role,
+            ListUserResponse<UserDeletedResponse> response
+    ) {
+        List<DeletedUserVersion> rows = response.data().stream()
+                .map(user -> new DeletedUserVersion(user.userId(), user.deletedAt()))
+                .toList();
+
+        return ETagUtil.version(
+                page, size, sort, order, search, role,
+                new UserListTotal(response.countData(), response.totalMode()),
+                rows
+        );
+    }
+
+    private TotalMode resolveTotalMode(boolean includeTotal, CountMode countMode, boolean filtered) {
+        if (!includeTotal) {
+            return TotalMode.NONE;
+        }
+
+        if (countMode == CountMode.EXACT) {
+            return TotalMode.EXACT;
+        }
+
+        return filtered ? TotalMode.CACHED : TotalMode.ESTIMATED;
+    }
+
+    /**
+     * Counts the active users for the requested total; an estimate that cannot be read falls back to
+     * the cached count.
+     */
+    private UserListTotal countActiveUsers(Boolean includeTotal, CountMode countMode, String search, UserRole role) {
+        TotalMode totalMode = resolveTotalMode(
+                !Boolean.FALSE.equals(includeTotal),
+                countMode,
+                search != null || role != null
+        );
+        Long total = countActiveUsers(totalMode, search, role);
+        if (total == null && totalMode == TotalMode.ESTIMATED) {
+            totalMode = TotalMode.CACHED;
+            total = countActiveUsers(totalMode, search, role);
+        }
+
+        return new UserListTotal(total, totalMode);
+    }
+
+    /**
+     * Returns the active user total for the given mode, or {@code null} when it is not wanted
+     * or when no planner estimate is available.
+     */
+    private Long countActiveUsers(TotalMode totalMode, String search, UserRole role) {
+        return switch (totalMode) {
+            case NONE -> null;
+            case EXACT -> repository.countActiveUsers(search, role);
+            case ESTIMATED -> {
+                OptionalLong estimate = repository.estimateActiveUsers();
+                yield estimate.isPresent() ? estimate.getAsLong() : null;
+            }
+            case CACHED -> repository.countActiveUsersCached(role + "|" + (search == null ? "" : "?" + search), search, role);
+        };
+    }
+
+    private UserListTotal countDeletedUsers(String search, UserRole role) {
+        long count = repository.countDeletedUser(
+                search != null && !search.isBlank() ? search : null,
+                role
+        );
+
+        return new UserListTotal(count, TotalMode.EXACT);
+    }
+
     private User getUser(String userId) {
         return repository.findByUserId(userId)
                 .orElseThrow(() -> new NotFoundException(USER_NOT_FOUND));
@@ -0,0 +1,80 @@
+package io.plantya.management.common;
+
+import io.plantya.management.common.util.ETagUtil;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link ETagUtil}.
+ * <p>
+ * Covers version stability and the conditional GET flow: a matching {@code If-None-Match}
+ * must yield 304 without building the body, otherwise the body is returned with a weak ETag.
+ */
+public class ETagUtilTest {
+
+    @Test
+    void testVersion_SameParts_ReturnsSameVersion() {
+        Assertions.assertEquals(ETagUtil.version("USR-00001", 3L), ETagUtil.version("USR-00001", 3L));
+    }
+
+    @Test
+    void testVersion_DifferentPartBoundaries_ReturnsDifferentVersion() {
+        Assertions.assertNotEquals(ETagUtil.version("ab", "c"), ETagUtil.version("a", "bc"));
+    }
+
+    @Test
+    void testConditional_MatchingTag_ReturnsNotModifiedWithoutBody() {
+        // Arrange
+        Request request = mock(Request.class);
+        when(request.evaluatePreconditions(any(EntityTag.class))).thenReturn(Response.notModified());
+        AtomicBoolean bodyBuilt = new AtomicBoolean(false);
+
+        // Act
+        Response response = ETagUtil.conditional(request, "abc", () -> {
+            bodyBuilt.set(true);
+            return "body";
+        });
+
+        // Assert
+        Assertions.assertEquals(304, response.getStatus());
+        Assertions.assertEquals(new EntityTag("abc", true), response.getEntityTag());
+        Assertions.assertFalse(bodyBuilt.get());
+    }
+
+    @Test
+    void testConditional_StaleTag_ReturnsBodyWithTag() {
+        // Arrange
+        Request request = mock(Request.class);
+        when(request.evaluatePreconditions(any(EntityTag.class))).thenReturn(null);
+
+        // Act
+        Response response = ETagUtil.conditional(request, "abc", () -> "body");
+
+        // Assert
+        Assertions.assertEquals(200, response.getStatus());
+        Assertions.assertEquals("body", response.getEntity());
+        Assertions.assertEquals(new EntityTag("abc", true), response.getEntityTag());
+    }
+
+    @Test
+    void testConditional_NullVersion_ReturnsBodyWithoutTag() {
+        // Arrange
+        Request request = mock(Request.class);
+
+        // Act
+        Response response = ETagUtil.conditional(request, null, () -> "body");
+
+        // Assert
+        Assertions.assertEquals(200, response.getStatus());
+        Assertions.assertNull(response.getEntityTag());
+        verifyNoInteractions(request);
+    }
+}
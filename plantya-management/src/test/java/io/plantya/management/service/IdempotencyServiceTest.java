@@ -0,0 +1,133 @@
+package io.plantya.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.plantya.management.dto.request.UserRequest;
+import io.plantya.management.enums.UserBadRequestMessage;
+import io.plantya.management.enums.UserConflictMessage;
+import io.plantya.management.enums.UserRole;
+import io.plantya.management.exception.BadRequestException;
+import io.plantya.management.exception.ConflictException;
+import io.plantya.management.repository.IdempotencyKeyRepository;
+import io.quarkus.cache.Cache;
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private IdempotencyKeyRepository repository;
+
+    private IdempotencyService idempotencyService;
+
+    private final Map<Object, Object> entries = new HashMap<>();
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private final UserRequest request = new UserRequest("new@mail.com", "New", UserRole.USER);
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(cache, repository, new ObjectMapper(), false, Duration.ofHours(24));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void useInMemoryCache() {
+        when(cache.get(any(), any(Function.class))).thenAnswer(invocation -> {
+            Object key = invocation.getArgument(0);
+            Function<Object, Object> loader = invocation.getArgument(1);
+            return Uni.createFrom().item(entries.computeIfAbsent(key, loader));
+        });
+    }
+
+    private Response create() {
+        executions.incrementAndGet();
+        return Response.status(Response.Status.CREATED).entity(Map.of("user_id", "U00001")).build();
+    }
+
+    @Test
+    @DisplayName("Should run the action directly when no key is sent")
+    void execute_withoutKey_runsAction() {
+        Response response = idempotencyService.execute("POST /api/users", null, request, this::create);
+
+        assertEquals(201, response.getStatus());
+        assertEquals(1, executions.get());
+        verifyNoInteractions(cache);
+    }
+
+    @Test
+    @DisplayName("Should replay the recorded response without creating the user again")
+    void execute_withSameKey_replaysResponse() {
+        useInMemoryCache();
+
+        idempotencyService.execute("POST /api/users", "k-1", request, this::create);
+        Response replay = idempotencyService.execute("POST /api/users", "k-1", request, this::create);
+
+        assertEquals(1, executions.get());
+        assertEquals(201, replay.getStatus());
+        assertEquals("{\"user_id\":\"U00001\"}", replay.getEntity());
+        assertEquals("true", replay.getHeaderString(IdempotencyService.REPLAYED_HEADER));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Should throw ConflictException when the key is reused with a different body")
+    void execute_withReusedKey_throwsConflictException() {
+        useInMemoryCache();
+        idempotencyService.execute("POST /api/users", "k-1", request, this::create);
+
+        UserRequest other = new UserRequest("other@mail.com", "Other", UserRole.USER);
+        ConflictException exception = assertThrows(
+                ConflictException.class,
+                () -> idempotencyService.execute("POST /api/users", "k-1", other, this::create)
+        );
+
+        assertEquals(UserConflictMessage.IDEMPOTENCY_KEY_REUSED, exception.getError());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should run the action again after a failed attempt with the same key")
+    void execute_afterFailure_runsAgain() {
+        useInMemoryCache();
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> idempotencyService.execute("POST /api/users", "k-1", request, () -> {
+                    throw new IllegalStateException("boom");
+                })
+        );
+        idempotencyService.execute("POST /api/users", "k-1", request, this::create);
+
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should throw BadRequestException when the key is too long")
+    void execute_withTooLongKey_throwsBadRequestException() {
+        BadRequestException exception = assertThrows(
+                BadRequestException.class,
+                () -> idempotencyService.execute("POST /api/users", "k".repeat(256), request, this::create)
+        );
+
+        assertEquals(UserBadRequestMessage.IDEMPOTENCY_KEY_INVALID, exception.getError());
+    }
+}
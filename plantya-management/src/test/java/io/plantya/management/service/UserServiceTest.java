@@ -1,5 +1,9 @@
 package io.plantya.management.service;
 
+import io.plantya.management.common.repository.DeletedUserVersion;
+import io.plantya.management.common.repository.UserListVersion;
+import io.plantya.management.common.repository.UserPatchResult;
+import io.plantya.management.common.repository.UserVersion;
 import io.plantya.management.dto.request.UserPatchRequest;
 import io.plantya.management.dto.request.UserRequest;
 import io.plantya.management.dto.response.UserCreatedResponse;
@@ -7,6 +11,7 @@ import io.plantya.management.dto.response.UserDeletedResponse;
 import io.plantya.management.dto.response.UserResponse;
 import io.plantya.management.dto.response.UserUpdatedResponse;
 import io.plantya.management.entity.User;
+import io.plantya.management.enums.TotalMode;
 import io.plantya.management.enums.UserBadRequestMessage;
 import io.plantya.management.enums.UserConflictMessage;
 import io.plantya.management.enums.UserRole;
@@ -30,6 +35,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -173,6 +179,75 @@ class UserServiceTest {
             assertTrue(response.data().isEmpty());
         }
 
+        @Test
+        @DisplayName("Should skip the count when include_total is false")
+        void findAllActive_withoutTotal_skipsCount() {
+            when(repository.findAllActive(1, 5, null, null, null, null))
+                    .thenReturn(List.of());
+
+            var response = userService.findAllActive(1, 5, null, null, null, null, false, null);
+
+            assertNull(response.countData());
+            assertNull(response.totalPages());
+            assertEquals(TotalMode.NONE, response.totalMode());
+            verify(repository, never()).countActiveUsers(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should use the planner estimate for an unfiltered approximate count")
+        void findAllActive_approximateUnfiltered_usesEstimate() {
+            when(repository.estimateActiveUsers()).thenReturn(OptionalLong.of(120));
+            when(repository.findAllActive(1, 50, null, null, null, null))
+                    .thenReturn(List.of());
+
+            var response = userService.findAllActive(1, 50, null, null, null, null, null, "approximate");
+
+            assertEquals(120L, response.countData());
+            assertEquals(3, response.totalPages());
+            assertEquals(TotalMode.ESTIMATED, response.totalMode());
+            verify(repository, never()).countActiveUsers(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should fall back to the cached count when no estimate is available")
+        void findAllActive_approximateWithoutEstimate_usesCachedCount() {
+            when(repository.estimateActiveUsers()).thenReturn(OptionalLong.empty());
+            when(repository.countActiveUsersCached(anyString(), isNull(), isNull())).thenReturn(4L);
+            when(repository.findAllActive(1, 5, null, null, null, null))
+                    .thenReturn(List.of());
+
+            var response = userService.findAllActive(1, 5, null, null, null, null, null, "approximate");
+
+            assertEquals(4L, response.countData());
+            assertEquals(TotalMode.CACHED, response.totalMode());
+        }
+
+        @Test
+        @DisplayName("Should use the cached count for a filtered approximate count")
+        void findAllActive_approximateFiltered_usesCachedCount() {
+            when(repository.countActiveUsersCached(anyString(), eq("john"), eq(UserRole.STAFF))).thenReturn(6L);
+            when(repository.findAllActive(1, 5, null, null, "john", UserRole.STAFF))
+                    .thenReturn(List.of());
+
+            var response = userService.findAllActive(1, 5, null, null, "john", UserRole.STAFF, null, "APPROXIMATE");
+
+            assertEquals(6L, response.countData());
+            assertEquals(2, response.totalPages());
+            assertEquals(TotalMode.CACHED, response.totalMode());
+            verify(repository, never()).estimateActiveUsers();
+        }
+
+        @Test
+        @DisplayName("Should throw BadRequestException when count mode is unknown")
+        void findAllActive_withInvalidCountMode_throwsBadRequestException() {
+            BadRequestException exception = assertThrows(
+                    BadRequestException.class,
+                    () -> userService.findAllActive(1, 5, null, null, null, null, null, "fast")
+            );
+
+            assertEquals(UserBadRequestMessage.USER_COUNT_MODE_INVALID.getDefaultDetail(), exception.getMessage());
+        }
+
         @Nested
         @DisplayName("Create User")
         class CreateUser {
@@ -404,20 +479,18 @@ class UserServiceTest {
             }
 
             @Test
-            @DisplayName("Should update name successfully when provided")
+            @DisplayName("Should update email in a single statement when provided")
             void patchUser_withEmailOnly_updatesSuccessfully() {
                 // arrange
-                User user = new User();
-                user.setUserId("U00001");
-                user.setEmail("old@mail.com");
-                user.setName("Old");
-                user.setRole(UserRole.USER);
-                user.setDeletedAt(null);
-
                 UserPatchRequest request = new UserPatchRequest();
                 request.setEmail("new@mail.com");
 
-                when(repository.findByUserId("U00001")).thenReturn(Optional.of(user));
+                when(repository.patchUser(eq("U00001"), eq("new@mail.com"), isNull(), isNull(), any(Instant.class)))
+                        .thenAnswer(invocation -> {
+                            User user = new User("U00001", "new@mail.com", "Old", UserRole.USER);
+                            user.setUpdatedAt(invocation.getArgument(4));
+                            return UserPatchResult.updated(user);
+                        });
 
                 // act
                 UserUpdatedResponse response = userService.patchUser("U00001", request);
@@ -427,6 +500,37 @@ class UserServiceTest {
                 assertEquals("new@mail.com", response.email());
                 assertEquals("Old", response.name());
                 assertNotNull(response.updatedAt());
+                verify(repository, never()).findByUserId(any());
+            }
+
+            @Test
+            @DisplayName("Should throw ConflictException when patching fields of a deleted user")
+            void patchUser_withFieldsOnDeletedUser_throwsConflictException() {
+                UserPatchRequest request = new UserPatchRequest();
+                request.setRole(UserRole.STAFF);
+
+                when(repository.patchUser(eq("U00001"), isNull(), isNull(), eq(UserRole.STAFF), any(Instant.class)))
+                        .thenReturn(UserPatchResult.deleted());
+
+                assertThrows(
+                        ConflictException.class,
+                        () -> userService.patchUser("U00001", request)
+                );
+            }
+
+            @Test
+            @DisplayName("Should throw NotFoundException when patching fields of a missing user")
+            void patchUser_withFieldsOnMissingUser_throwsNotFoundException() {
+                UserPatchRequest request = new UserPatchRequest();
+                request.setName("New");
+
+                when(repository.patchUser(eq("U00001"), isNull(), eq("New"), isNull(), any(Instant.class)))
+                        .thenReturn(UserPatchResult.notFound());
+
+                assertThrows(
+                        NotFoundException.class,
+                        () -> userService.patchUser("U00001", request)
+                );
             }
 
             @Test
@@ -686,5 +790,67 @@ class UserServiceTest {
             }
         }
 
+
+        @Nested
+        @DisplayName("User List Version")
+        class UserListVersions {
+
+            private final Instant createdAt = Instant.parse("2026-01-01T00:00:00Z");
+            private final Instant updatedAt = Instant.parse("2026-02-01T00:00:00Z");
+
+            @Test
+            @DisplayName("Should match the version of the loaded page and reuse its total")
+            void findActiveUsersVersion_matchesLoadedPage() {
+                when(repository.findActivePageVersions(1, 5, null, null, null, null))
+                        .thenReturn(List.of(new UserVersion("U00001", createdAt, updatedAt)));
+                when(repository.findAllActive(1, 5, null, null, null, null))
+                        .thenReturn(List.of(new UserResponse("U00001", "a@mail.com", "A", UserRole.USER, createdAt, updatedAt)));
+                when(repository.countActiveUsers(null, null)).thenReturn(1L);
+
+                UserListVersion version = userService.findActiveUsersVersion(1, 5, null, null, null, null, null, null);
+                var response = userService.findAllActive(1, 5, null, null, null, null, null, null, version.total());
+
+                assertEquals(
+                        version.version(),
+                        UserService.activeListVersionOf(1, 5, null, null, null, null, null, null, response)
+                );
+                assertEquals(1L, response.countData());
+                verify(repository, times(1)).countActiveUsers(null, null);
+            }
+
+            @Test
+            @DisplayName("Should change when the approximate total changes")
+            void findActiveUsersVersion_followsEstimate() {
+                when(repository.findActivePageVersions(1, 5, null, null, null, null))
+                        .thenReturn(List.of(new UserVersion("U00001", createdAt, updatedAt)));
+                when(repository.estimateActiveUsers()).thenReturn(OptionalLong.of(120), OptionalLong.of(121));
+
+                String before = userService.findActiveUsersVersion(1, 5, null, null, null, null, null, "approximate").version();
+                String after = userService.findActiveUsersVersion(1, 5, null, null, null, null, null, "approximate").version();
+
+                assertNotEquals(before, after);
+                verify(repository, never()).countActiveUsers(any(), any());
+            }
+
+            @Test
+            @DisplayName("Should match the version of the loaded deleted page")
+            void findDeletedUsersVersion_matchesLoadedPage() {
+                when(repository.findDeletedPageVersions(1, 5, null, null, null, null))
+                        .thenReturn(List.of(new DeletedUserVersion("U00001", updatedAt)));
+                when(repository.findAllDeleted(1, 5, null, null, null, null))
+                        .thenReturn(List.of(new UserDeletedResponse("U00001", "a@mail.com", "A", UserRole.USER, updatedAt)));
+                when(repository.countDeletedUser(null, null)).thenReturn(1L);
+
+                UserListVersion version = userService.findDeletedUsersVersion(1, 5, null, null, null, null);
+                var response = userService.findAllDeleted(1, 5, null, null, null, null, version.total());
+
+                assertEquals(
+                        version.version(),
+                        UserService.deletedListVersionOf(1, 5, null, null, null, null, response)
+                );
+                verify(repository, times(1)).countDeletedUser(null, null);
+            }
+        }
+
     }
 }
\ No newline at end of file